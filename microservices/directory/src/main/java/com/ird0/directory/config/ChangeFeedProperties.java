@@ -0,0 +1,21 @@
+package com.ird0.directory.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/** Configuration properties for the directory change feed. */
+@Data
+@Component
+@ConfigurationProperties(prefix = "directory.change-feed")
+public class ChangeFeedProperties {
+
+  /**
+   * How long a change must be committed before it is served. Sequence numbers are assigned at
+   * insert time but become visible at commit time, so a concurrent transaction can commit a lower
+   * sequence after a higher one. Holding back recent changes keeps consumers from skipping past it;
+   * the delay must exceed the longest write transaction.
+   */
+  private Duration settleDelay = Duration.ofSeconds(2);
+}
@@ -0,0 +1,33 @@
+package com.ird0.directory.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/** Configuration properties for the in-process directory entry cache. */
+@Data
+@Component
+@ConfigurationProperties(prefix = "directory.cache")
+public class EntryCacheProperties {
+
+  /** Maximum number of cached entries; 0 disables the cache. */
+  private long maximumSize = 10_000;
+
+  /** How long an entry stays cached after being loaded, bounding staleness if a message is lost. */
+  private Duration timeToLive = Duration.ofMinutes(10);
+
+  private Invalidation invalidation = new Invalidation();
+
+  @Data
+  public static class Invalidation {
+
+    /** Whether replicas invalidate each other through PostgreSQL LISTEN/NOTIFY. */
+    private boolean enabled = true;
+
+    private String channel = "directory_entry_changed";
+
+    /** Delay before reconnecting the listener after its connection failed. */
+    private Duration reconnectDelay = Duration.ofSeconds(5);
+  }
+}
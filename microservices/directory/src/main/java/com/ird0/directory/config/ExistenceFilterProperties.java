@@ -0,0 +1,31 @@
+package com.ird0.directory.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/** Configuration properties for the in-memory existence filter behind HEAD requests. */
+@Data
+@Component
+@ConfigurationProperties(prefix = "directory.existence-filter")
+public class ExistenceFilterProperties {
+
+  /** When disabled, every existence check goes to the database. */
+  private boolean enabled = true;
+
+  /** Minimum number of ids the filter is sized for; it grows with the directory. */
+  private long expectedEntries = 1_000_000;
+
+  private double falsePositiveRate = 0.01;
+
+  /** How often ids written on other replicas are taken from the change feed. */
+  private Duration syncInterval = Duration.ofSeconds(1);
+
+  /**
+   * How long a new id is reported as possibly present, and so checked against the database, in case
+   * the change feed has not brought it here yet. Must exceed the sync interval plus the change
+   * feed's settle delay, and the clock skew between replicas.
+   */
+  private Duration recentWindow = Duration.ofMinutes(1);
+}
@@ -1,12 +1,24 @@
 package com.ird0.directory.controller;
 
+import com.ird0.commons.exception.ValidationException;
 import com.ird0.directory.dto.AuditRecord;
+import com.ird0.directory.dto.BatchLookupRequest;
+import com.ird0.directory.dto.BatchLookupResult;
+import com.ird0.directory.dto.BulkResult;
+import com.ird0.directory.dto.ChangeFeedPage;
+import com.ird0.directory.dto.CursorPage;
 import com.ird0.directory.dto.DirectoryEntryDTO;
 import com.ird0.directory.dto.ImportResult;
 import com.ird0.directory.mapper.DirectoryEntryMapper;
 import com.ird0.directory.model.DirectoryEntry;
 import com.ird0.directory.service.CsvImportService;
+import com.ird0.directory.service.DirectoryBulkService;
+import com.ird0.directory.service.DirectoryChangeFeedService;
 import com.ird0.directory.service.DirectoryEntryService;
+import com.ird0.directory.service.DirectoryEntrySort;
+import com.ird0.directory.service.DirectoryExportService;
+import com.ird0.directory.service.DirectorySearchService;
+import com.ird0.directory.service.ExportFormat;
 import com.ird0.directory.service.ImportAuditService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -19,10 +31,15 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.HexFormat;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -31,9 +48,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Slf4j
 @RestController
@@ -42,26 +62,174 @@ import org.springframework.web.multipart.MultipartFile;
 @Tag(name = "Directory Entries", description = "CRUD operations for directory entries")
 public class DirectoryEntryController {
 
+  private static final String EXPORT_FILE_NAME = "directory-export";
+  private static final String GZIP_CONTENT_TYPE = "application/gzip";
+
   private final DirectoryEntryService service;
   private final DirectoryEntryMapper mapper;
   private final CsvImportService csvImportService;
   private final ImportAuditService auditService;
+  private final DirectoryExportService exportService;
+  private final DirectorySearchService searchService;
+  private final DirectoryChangeFeedService changeFeedService;
+  private final DirectoryBulkService bulkService;
 
-  @Operation(summary = "List all directory entries", operationId = "getAllEntries")
-  @ApiResponse(responseCode = "200", description = "List of entries")
+  @Operation(
+      summary = "List directory entries",
+      description =
+          "Keyset-paginated listing. Pass the nextCursor of a page back as cursor to get the"
+              + " following page.",
+      operationId = "getAllEntries")
+  @ApiResponse(responseCode = "200", description = "Page of entries")
+  @ApiResponse(responseCode = "304", description = "Page unchanged since the given ETag")
+  @ApiResponse(responseCode = "400", description = "Invalid cursor, sort or limit")
   @GetMapping
-  public List<DirectoryEntryDTO> getAll() {
-    List<DirectoryEntry> entities = service.getAll();
-    return mapper.toDTOList(entities);
+  public ResponseEntity<CursorPage<DirectoryEntryDTO>> getAll(
+      @RequestParam(required = false) String type,
+      @RequestParam(required = false) String namePrefix,
+      @RequestParam(required = false) String sort,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "" + DirectoryEntryService.DEFAULT_PAGE_SIZE) int limit,
+      WebRequest request) {
+    CursorPage<DirectoryEntry> page =
+        service.findPage(type, namePrefix, DirectoryEntrySort.fromParameter(sort), cursor, limit);
+    String etag = EntityTags.forPage(page);
+    if (request.checkNotModified(etag)) {
+      return null;
+    }
+    return ResponseEntity.ok().eTag(etag).body(page.map(mapper::toDTO));
+  }
+
+  @Operation(
+      summary = "Search entries",
+      description =
+          "Typeahead search. Give exactly one of q (name; prefix match, or trigram match with"
+              + " fuzzy=true), email (case-insensitive) or phone (exact).",
+      operationId = "searchEntries")
+  @ApiResponse(responseCode = "200", description = "Matching entries, best match first")
+  @ApiResponse(responseCode = "400", description = "Missing, ambiguous or too short criteria")
+  @GetMapping("/search")
+  public List<DirectoryEntryDTO> search(
+      @RequestParam(required = false) String q,
+      @RequestParam(defaultValue = "false") boolean fuzzy,
+      @RequestParam(required = false) String email,
+      @RequestParam(required = false) String phone,
+      @RequestParam(defaultValue = "" + DirectorySearchService.DEFAULT_LIMIT) int limit) {
+    long criteria = Stream.of(q, email, phone).filter(Objects::nonNull).count();
+    if (criteria != 1) {
+      throw new ValidationException("Exactly one of q, email or phone is required");
+    }
+
+    List<DirectoryEntry> results;
+    if (email != null) {
+      results = searchService.searchByEmail(email);
+    } else if (phone != null) {
+      results = searchService.searchByPhone(phone, limit);
+    } else {
+      results = searchService.searchByName(q, fuzzy, limit);
+    }
+    return mapper.toDTOList(results);
+  }
+
+  @Operation(
+      summary = "Read the change feed",
+      description =
+          "Returns the entries created, updated or deleted (as tombstones) after the given"
+              + " cursor. Without since, only returns the current cursor, to be taken before"
+              + " loading a snapshot.",
+      operationId = "getEntryChanges")
+  @ApiResponse(responseCode = "200", description = "Changes and the cursor to continue from")
+  @ApiResponse(responseCode = "400", description = "Invalid cursor or limit")
+  @GetMapping("/changes")
+  public ChangeFeedPage<DirectoryEntryDTO> getChanges(
+      @RequestParam(required = false) Long since,
+      @RequestParam(defaultValue = "" + DirectoryChangeFeedService.DEFAULT_LIMIT) int limit) {
+    return changeFeedService.readChanges(since, limit).map(mapper::toDTO);
   }
 
-  @Operation(summary = "Get entry by ID", operationId = "getEntryById")
+  @Operation(
+      summary = "Export all entries",
+      description =
+          "Streams the whole directory as NDJSON or CSV (importable as is), optionally"
+              + " gzip-compressed.",
+      operationId = "exportEntries")
+  @ApiResponse(responseCode = "200", description = "Export stream")
+  @ApiResponse(responseCode = "400", description = "Unsupported format")
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> export(
+      @RequestParam(defaultValue = "ndjson") String format,
+      @RequestParam(defaultValue = "false") boolean gzip) {
+    ExportFormat exportFormat = ExportFormat.fromParameter(format);
+    String filename =
+        EXPORT_FILE_NAME + "." + exportFormat.getFileExtension() + (gzip ? ".gz" : "");
+
+    StreamingResponseBody body = out -> exportService.export(exportFormat, gzip, out);
+    return ResponseEntity.ok()
+        .header(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename(filename).build().toString())
+        .contentType(
+            MediaType.parseMediaType(gzip ? GZIP_CONTENT_TYPE : exportFormat.getContentType()))
+        .body(body);
+  }
+
+  @Operation(
+      summary = "Get entry by ID",
+      description =
+          "Returns the entry's version as a strong ETag. With If-None-Match, only the version is"
+              + " read and 304 is returned when it still matches.",
+      operationId = "getEntryById")
   @ApiResponse(responseCode = "200", description = "Entry found")
+  @ApiResponse(responseCode = "304", description = "Entry unchanged since the given ETag")
   @ApiResponse(responseCode = "404", description = "Entry not found")
   @GetMapping("/{id}")
-  public DirectoryEntryDTO getOne(@PathVariable UUID id) {
+  public ResponseEntity<DirectoryEntryDTO> getOne(@PathVariable UUID id, WebRequest request) {
+    if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+        && request.checkNotModified(EntityTags.forVersion(service.getVersion(id)))) {
+      return null;
+    }
     DirectoryEntry entity = service.getById(id);
-    return mapper.toDTO(entity);
+    return ResponseEntity.ok()
+        .eTag(EntityTags.forVersion(entity.getVersion()))
+        .body(mapper.toDTO(entity));
+  }
+
+  @Operation(
+      summary = "Check that an entry exists",
+      description =
+          "Answers from an in-memory filter and the primary key, without loading the entry.",
+      operationId = "entryExists")
+  @ApiResponse(responseCode = "200", description = "Entry exists")
+  @ApiResponse(responseCode = "404", description = "Entry not found")
+  @RequestMapping(path = "/{id}", method = RequestMethod.HEAD)
+  public ResponseEntity<Void> exists(@PathVariable UUID id) {
+    return service.exists(id) ? ResponseEntity.ok().build() : ResponseEntity.notFound().build();
+  }
+
+  @Operation(
+      summary = "Get entries by IDs",
+      description =
+          "Resolves up to "
+              + DirectoryEntryService.MAX_BATCH_SIZE
+              + " ids in one query and lists the ids that were not found.",
+      operationId = "getEntriesByIds")
+  @ApiResponse(responseCode = "200", description = "Found entries and missing ids")
+  @ApiResponse(responseCode = "400", description = "No ids or too many ids")
+  @PostMapping("/batch")
+  public BatchLookupResult<DirectoryEntryDTO> getBatch(
+      @Valid @RequestBody BatchLookupRequest request) {
+    return service.getByIds(request.ids()).map(mapper::toDTO);
+  }
+
+  @Operation(
+      summary = "Check which entries exist",
+      description = "Existence-only variant of the batch lookup: returns ids, not entries.",
+      operationId = "checkEntriesExist")
+  @ApiResponse(responseCode = "200", description = "Existing and missing ids")
+  @ApiResponse(responseCode = "400", description = "No ids or too many ids")
+  @PostMapping("/batch/exists")
+  public BatchLookupResult<UUID> checkBatchExists(@Valid @RequestBody BatchLookupRequest request) {
+    return service.findExistingIds(request.ids());
   }
 
   @Operation(summary = "Create new entry", operationId = "createEntry")
@@ -85,6 +253,35 @@ public class DirectoryEntryController {
     return mapper.toDTO(updated);
   }
 
+  @Operation(
+      summary = "Create or update entries in bulk",
+      description =
+          "Accepts a JSON array or NDJSON stream of up to "
+              + DirectoryBulkService.MAX_ITEMS
+              + " entries, matched by email like the CSV import. Invalid items are reported and"
+              + " skipped.",
+      operationId = "bulkUpsertEntries")
+  @ApiResponse(responseCode = "200", description = "Per-item results")
+  @ApiResponse(responseCode = "400", description = "Malformed body or too many items")
+  @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public BulkResult bulkUpsert(@RequestBody List<DirectoryEntryDTO> items) {
+    return bulkService.upsert(items);
+  }
+
+  @Operation(hidden = true)
+  @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+  public BulkResult bulkUpsertNdjson(InputStream body) {
+    return bulkService.upsertNdjson(body);
+  }
+
+  @Operation(summary = "Delete entries in bulk", operationId = "bulkDeleteEntries")
+  @ApiResponse(responseCode = "200", description = "Per-id results")
+  @ApiResponse(responseCode = "400", description = "No ids or too many ids")
+  @PostMapping("/bulk/delete")
+  public BulkResult bulkDelete(@Valid @RequestBody BatchLookupRequest request) {
+    return bulkService.delete(request.ids());
+  }
+
   @Operation(summary = "Delete entry by ID", operationId = "deleteEntry")
   @ApiResponse(responseCode = "200", description = "Entry deleted")
   @ApiResponse(responseCode = "404", description = "Entry not found")
@@ -0,0 +1,32 @@
+package com.ird0.directory.controller;
+
+import com.ird0.directory.dto.CursorPage;
+import com.ird0.directory.model.DirectoryEntry;
+import java.nio.charset.StandardCharsets;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Builds strong ETag values from entry versions, so a response's tag can be computed without
+ * serializing the response.
+ */
+final class EntityTags {
+
+  private EntityTags() {}
+
+  static String forVersion(long version) {
+    return Long.toString(version);
+  }
+
+  /**
+   * Tags a listing page. The page's representation depends only on the ids and versions of its
+   * entries and on its cursor, so hashing those is enough.
+   */
+  static String forPage(CursorPage<DirectoryEntry> page) {
+    StringBuilder key = new StringBuilder();
+    for (DirectoryEntry entry : page.content()) {
+      key.append(entry.getId()).append(':').append(entry.getVersion()).append(';');
+    }
+    key.append(page.nextCursor());
+    return DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,13 @@
+package com.ird0.directory.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Ids to resolve in a single batch lookup.
+ *
+ * @param ids Entry ids to look up; duplicates are ignored
+ */
+public record BatchLookupRequest(
+    @NotEmpty(message = "At least one id is required") List<UUID> ids) {}
@@ -0,0 +1,24 @@
+package com.ird0.directory.dto;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Outcome of a batch lookup by id.
+ *
+ * @param found Entries (or ids, for existence checks) that exist, in request order
+ * @param missing Requested ids that do not exist, in request order
+ */
+public record BatchLookupResult<T>(List<T> found, List<UUID> missing) {
+
+  /**
+   * Converts the found entries while keeping the missing ids.
+   *
+   * @param mapper the conversion applied to each found entry
+   * @return a new result with converted entries
+   */
+  public <R> BatchLookupResult<R> map(Function<? super T, ? extends R> mapper) {
+    return new BatchLookupResult<>(found.stream().<R>map(mapper).toList(), missing);
+  }
+}
@@ -0,0 +1,33 @@
+package com.ird0.directory.dto;
+
+import java.util.UUID;
+
+/**
+ * Outcome of one item of a bulk request.
+ *
+ * @param index Position of the item in the request
+ * @param id Id of the entry written or deleted (null if the item was rejected before lookup)
+ * @param status What happened to the item
+ * @param error Why the item was rejected or failed (null on success)
+ */
+public record BulkItemResult(int index, UUID id, Status status, String error) {
+
+  public enum Status {
+    CREATED,
+    UPDATED,
+    UNCHANGED,
+    DELETED,
+    NOT_FOUND,
+    INVALID,
+    FAILED;
+
+    public boolean isSuccess() {
+      return this != INVALID && this != FAILED;
+    }
+  }
+
+  /** Returns the same outcome at another position, to map batch positions to request positions. */
+  public BulkItemResult atIndex(int newIndex) {
+    return new BulkItemResult(newIndex, id, status, error);
+  }
+}
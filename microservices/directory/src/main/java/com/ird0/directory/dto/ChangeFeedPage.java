@@ -0,0 +1,35 @@
+package com.ird0.directory.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A slice of the change feed.
+ *
+ * @param changes Latest change of each entry touched in this slice, in sequence order
+ * @param nextCursor Sequence to pass back as {@code since} to continue the feed
+ * @param hasMore Whether further changes are already available
+ */
+public record ChangeFeedPage<T>(
+    List<DirectoryChangeEvent<T>> changes, long nextCursor, boolean hasMore) {
+
+  /**
+   * Converts the entries carried by this slice while keeping its cursor.
+   *
+   * @param mapper the conversion applied to each non-tombstone entry
+   * @return a new slice with converted entries
+   */
+  public <R> ChangeFeedPage<R> map(Function<? super T, ? extends R> mapper) {
+    List<DirectoryChangeEvent<R>> converted =
+        changes.stream()
+            .map(
+                change ->
+                    new DirectoryChangeEvent<R>(
+                        change.sequence(),
+                        change.id(),
+                        change.type(),
+                        change.entry() == null ? null : mapper.apply(change.entry())))
+            .toList();
+    return new ChangeFeedPage<>(converted, nextCursor, hasMore);
+  }
+}
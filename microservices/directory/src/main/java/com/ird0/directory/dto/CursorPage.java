@@ -0,0 +1,24 @@
+package com.ird0.directory.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A page of results addressed by an opaque keyset cursor instead of an offset.
+ *
+ * @param content Entries of the current page, in sort order
+ * @param nextCursor Cursor to pass back to fetch the next page (null on the last page)
+ * @param hasNext Whether more entries exist after this page
+ */
+public record CursorPage<T>(List<T> content, String nextCursor, boolean hasNext) {
+
+  /**
+   * Converts the content of this page while keeping its cursor.
+   *
+   * @param mapper the conversion applied to each entry
+   * @return a new page with converted content
+   */
+  public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+    return new CursorPage<>(content.stream().<R>map(mapper).toList(), nextCursor, hasNext);
+  }
+}
@@ -0,0 +1,14 @@
+package com.ird0.directory.dto;
+
+import com.ird0.directory.model.DirectoryChange;
+import java.util.UUID;
+
+/**
+ * One entry of the change feed.
+ *
+ * @param sequence Position of the change in the feed
+ * @param id Id of the changed entry
+ * @param type UPSERT with the current state of the entry, or DELETE as a tombstone
+ * @param entry Current state of the entry (null for tombstones)
+ */
+public record DirectoryChangeEvent<T>(long sequence, UUID id, DirectoryChange.Type type, T entry) {}
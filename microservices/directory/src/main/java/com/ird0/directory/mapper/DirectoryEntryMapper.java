@@ -4,6 +4,7 @@ import com.ird0.directory.dto.DirectoryEntryDTO;
 import com.ird0.directory.model.DirectoryEntry;
 import java.util.List;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 
@@ -14,8 +15,10 @@ public interface DirectoryEntryMapper {
 
   DirectoryEntryDTO toDTO(DirectoryEntry entity);
 
+  @Mapping(target = "version", ignore = true)
   DirectoryEntry toEntity(DirectoryEntryDTO dto);
 
+  @Mapping(target = "version", ignore = true)
   void updateEntityFromDTO(DirectoryEntryDTO dto, @MappingTarget DirectoryEntry entity);
 
   List<DirectoryEntryDTO> toDTOList(List<DirectoryEntry> entities);
@@ -0,0 +1,54 @@
+package com.ird0.directory.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SourceType;
+
+/**
+ * One row of the directory change log. The identity column gives every write a monotonically
+ * increasing sequence number, which consumers use as their change-feed cursor.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(indexes = @Index(name = "idx_directory_change_changed_at", columnList = "changedAt"))
+public class DirectoryChange {
+
+  public enum Type {
+    UPSERT,
+    DELETE
+  }
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long sequence;
+
+  @Column(columnDefinition = "uuid", nullable = false, updatable = false)
+  private UUID entryId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, updatable = false, length = 16)
+  private Type type;
+
+  /** Stamped by the database so that every replica writes with the same clock. */
+  @CreationTimestamp(source = SourceType.DB)
+  @Column(nullable = false, updatable = false)
+  private Instant changedAt;
+
+  public DirectoryChange(UUID entryId, Type type) {
+    this.entryId = entryId;
+    this.type = type;
+  }
+}
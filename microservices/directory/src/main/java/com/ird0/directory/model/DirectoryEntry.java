@@ -3,17 +3,26 @@ package com.ird0.directory.model;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import java.util.UUID;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
 
 @Data
 @Entity
 @Table(
     uniqueConstraints = {
       @UniqueConstraint(name = "uk_directory_entry_email", columnNames = "email")
+    },
+    indexes = {
+      @Index(name = "idx_directory_entry_name_id", columnList = "name, id"),
+      @Index(name = "idx_directory_entry_type_id", columnList = "type, id"),
+      @Index(name = "idx_directory_entry_type_name_id", columnList = "type, name, id"),
+      @Index(name = "idx_directory_entry_phone", columnList = "phone")
     })
 public class DirectoryEntry {
 
@@ -34,10 +43,19 @@ public class DirectoryEntry {
 
   private String webhookUrl;
 
+  /**
+   * Incremented on every change, by Hibernate for entity updates and by the CSV upsert. Exposed to
+   * clients as the entry's ETag.
+   */
+  @Version
+  @ColumnDefault("0")
+  @Column(nullable = false)
+  private Long version;
+
   @PrePersist
   public void generateId() {
     if (this.id == null) {
-      this.id = UUID.randomUUID();
+      this.id = EntryIds.next();
     }
   }
 }
@@ -0,0 +1,28 @@
+package com.ird0.directory.model;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Entry ids: version 7 UUIDs, whose leading 48 bits are the creation time in Unix milliseconds, so
+ * that the age of an id can be told without looking it up.
+ */
+public final class EntryIds {
+
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  private EntryIds() {}
+
+  public static UUID next() {
+    long mostSignificant =
+        (System.currentTimeMillis() << 16) | 0x7000L | (RANDOM.nextLong() & 0x0FFFL);
+    long leastSignificant = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    return new UUID(mostSignificant, leastSignificant);
+  }
+
+  /** Returns when a version 7 id was created, or null for ids of other versions. */
+  public static Instant createdAt(UUID id) {
+    return id.version() == 7 ? Instant.ofEpochMilli(id.getMostSignificantBits() >>> 16) : null;
+  }
+}
@@ -0,0 +1,33 @@
+package com.ird0.directory.repository;
+
+import com.ird0.directory.model.DirectoryChange;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface DirectoryChangeRepository extends JpaRepository<DirectoryChange, Long> {
+
+  /**
+   * Reads the changes after a sequence number and below another, in sequence order, served from the
+   * primary key.
+   */
+  @Query(
+      "SELECT c FROM DirectoryChange c WHERE c.sequence > :since AND c.sequence < :until"
+          + " ORDER BY c.sequence")
+  List<DirectoryChange> findSince(
+      @Param("since") long since, @Param("until") long until, Limit limit);
+
+  /**
+   * Returns the lowest sequence number recorded after a point in time, or null if there is none.
+   * Served from the {@code changed_at} index, which only holds a few such recent rows.
+   */
+  @Query("SELECT min(c.sequence) FROM DirectoryChange c WHERE c.changedAt > :settledBefore")
+  Long findFirstUnsettledSequence(@Param("settledBefore") Instant settledBefore);
+
+  /** Returns the highest sequence number, or 0 when the log is empty. */
+  @Query("SELECT coalesce(max(c.sequence), 0) FROM DirectoryChange c")
+  long findHeadSequence();
+}
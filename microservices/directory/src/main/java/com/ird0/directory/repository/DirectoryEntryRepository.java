@@ -1,35 +1,92 @@
 package com.ird0.directory.repository;
 
 import com.ird0.directory.model.DirectoryEntry;
+import jakarta.persistence.QueryHint;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
-public interface DirectoryEntryRepository extends JpaRepository<DirectoryEntry, UUID> {
+public interface DirectoryEntryRepository
+    extends JpaRepository<DirectoryEntry, UUID>, JpaSpecificationExecutor<DirectoryEntry> {
 
   Optional<DirectoryEntry> findByEmail(String email);
 
   List<DirectoryEntry> findByEmailIn(Collection<String> emails);
 
-  @Modifying
+  /** Reads only the version of an entry, to revalidate a client's ETag without loading it. */
+  @Query("SELECT e.version FROM DirectoryEntry e WHERE e.id = :id")
+  Optional<Long> findVersionById(@Param("id") UUID id);
+
+  /**
+   * Returns which of the given ids exist. Only the primary key is read, so PostgreSQL can answer
+   * from the index alone.
+   */
+  @Query("SELECT e.id FROM DirectoryEntry e WHERE e.id IN :ids")
+  List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+  /**
+   * Case-insensitive name prefix search, backed by the {@code lower(name) text_pattern_ops} index.
+   *
+   * @param pattern lower-cased, LIKE-escaped prefix followed by {@code %}
+   */
+  @Query(
+      "SELECT e FROM DirectoryEntry e WHERE lower(e.name) LIKE :pattern ESCAPE '\\'"
+          + " ORDER BY lower(e.name), e.id")
+  List<DirectoryEntry> searchByNamePrefix(@Param("pattern") String pattern, Limit limit);
+
+  /**
+   * Fuzzy name search ranked by trigram word similarity, backed by the {@code gin_trgm_ops} index.
+   * Requires the PostgreSQL {@code pg_trgm} extension.
+   */
   @Query(
       value =
           """
-        INSERT INTO directory_entry (id, name, type, email, phone, address, additional_info)
-        VALUES (CAST(:#{#entry.id} AS uuid), :#{#entry.name}, :#{#entry.type}, :#{#entry.email},
-                :#{#entry.phone}, :#{#entry.address}, :#{#entry.additionalInfo})
-        ON CONFLICT (email) DO UPDATE SET
-            name = EXCLUDED.name,
-            type = EXCLUDED.type,
-            phone = EXCLUDED.phone,
-            address = EXCLUDED.address,
-            additional_info = EXCLUDED.additional_info
+        SELECT * FROM directory_entry
+        WHERE :query <% name
+        ORDER BY word_similarity(:query, name) DESC, name, id
+        LIMIT :limit
         """,
       nativeQuery = true)
-  void upsertByEmail(@Param("entry") DirectoryEntry entry);
+  List<DirectoryEntry> searchByNameSimilarity(
+      @Param("query") String query, @Param("limit") int limit);
+
+  @Query("SELECT e FROM DirectoryEntry e WHERE lower(e.email) = lower(:email)")
+  Optional<DirectoryEntry> findByEmailIgnoringCase(@Param("email") String email);
+
+  List<DirectoryEntry> findByPhoneOrderByName(String phone, Limit limit);
+
+  /** Number of rows fetched per round trip when streaming the whole table. */
+  int STREAM_FETCH_SIZE = 1000;
+
+  /**
+   * Streams every entry in primary key order through a server-side JDBC cursor.
+   *
+   * <p>Must be consumed inside a read-only transaction (PostgreSQL only honours the fetch size when
+   * auto-commit is off) and closed by the caller. Entities are loaded read-only so Hibernate keeps
+   * no dirty-checking snapshot for them.
+   */
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+    @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+  })
+  @Query("SELECT e FROM DirectoryEntry e ORDER BY e.id")
+  Stream<DirectoryEntry> streamAll();
+
+  /** Streams every entry id, under the same constraints as {@link #streamAll()}. */
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+    @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+  })
+  @Query("SELECT e.id FROM DirectoryEntry e")
+  Stream<UUID> streamAllIds();
 }
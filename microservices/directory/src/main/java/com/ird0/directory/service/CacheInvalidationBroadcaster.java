@@ -0,0 +1,153 @@
+package com.ird0.directory.service;
+
+import com.ird0.directory.config.EntryCacheProperties;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps the entry caches of all replicas of a directory consistent through PostgreSQL
+ * LISTEN/NOTIFY.
+ *
+ * <p>The ids of written entries are sent with {@code pg_notify} inside the writing transaction, so
+ * PostgreSQL delivers them exactly when (and only if) the write commits. A dedicated connection
+ * listens on the channel, invalidates the local cache and adds the ids to the local {@link
+ * EntryExistenceFilter}. Notifications may be missed while that connection is down, so on every
+ * reconnection the whole cache is dropped and the existence filter rebuilt. Other databases (H2 in
+ * tests) are skipped.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(
+    prefix = "directory.cache.invalidation",
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class CacheInvalidationBroadcaster implements SmartLifecycle {
+
+  /** Keeps NOTIFY payloads (36-character ids plus separators) well under the 8000-byte limit. */
+  static final int IDS_PER_NOTIFICATION = 150;
+
+  private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+  private static final int POLL_TIMEOUT_MILLIS = 1000;
+
+  private final DataSource dataSource;
+  private final JdbcTemplate jdbcTemplate;
+  private final DirectoryEntryCache cache;
+  private final EntryExistenceFilter existenceFilter;
+  private final EntryCacheProperties properties;
+
+  private volatile boolean supported;
+  private volatile boolean running;
+
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+  public void onEntriesChanged(DirectoryEntriesChangedEvent event) {
+    if (!supported) {
+      return;
+    }
+    List<UUID> ids = List.copyOf(event.ids());
+    for (int from = 0; from < ids.size(); from += IDS_PER_NOTIFICATION) {
+      String payload =
+          String.join(
+              ",",
+              ids.subList(from, Math.min(from + IDS_PER_NOTIFICATION, ids.size())).stream()
+                  .map(UUID::toString)
+                  .toList());
+      jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel(), payload);
+    }
+  }
+
+  @Override
+  public void start() {
+    String channel = channel();
+    if (!CHANNEL_NAME.matcher(channel).matches()) {
+      throw new IllegalStateException("Invalid cache invalidation channel: " + channel);
+    }
+    try (Connection connection = dataSource.getConnection()) {
+      supported = connection.isWrapperFor(PGConnection.class);
+    } catch (SQLException e) {
+      log.warn("Could not determine database product: {}", e.getMessage());
+    }
+    if (!supported) {
+      log.debug("Skipping cache invalidation broadcast: database is not PostgreSQL");
+      return;
+    }
+    running = true;
+    Thread.ofPlatform().daemon().name("directory-cache-invalidation").start(this::listen);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void listen() {
+    boolean connected = false;
+    while (running) {
+      try (Connection connection = dataSource.getConnection();
+          Statement statement = connection.createStatement()) {
+        statement.execute("LISTEN " + channel());
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        if (connected) {
+          cache.invalidateAll();
+          existenceFilter.rebuildInBackground();
+        }
+        connected = true;
+        log.info("Listening for cache invalidations on channel {}", channel());
+
+        while (running) {
+          PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+          if (notifications != null) {
+            for (PGNotification notification : notifications) {
+              List<UUID> ids = parseIds(notification.getParameter());
+              cache.invalidate(ids);
+              existenceFilter.add(ids);
+            }
+          }
+        }
+      } catch (SQLException e) {
+        log.warn("Cache invalidation listener failed, reconnecting: {}", e.getMessage());
+        cache.invalidateAll();
+        pauseBeforeReconnect();
+      }
+    }
+  }
+
+  private void pauseBeforeReconnect() {
+    try {
+      Thread.sleep(properties.getInvalidation().getReconnectDelay());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      running = false;
+    }
+  }
+
+  private String channel() {
+    return properties.getInvalidation().getChannel();
+  }
+
+  static List<UUID> parseIds(String payload) {
+    return Arrays.stream(payload.split(",")).map(UUID::fromString).toList();
+  }
+}
@@ -1,31 +1,69 @@
 package com.ird0.directory.service;
 
+import com.ird0.directory.dto.BulkItemResult;
+import com.ird0.directory.dto.BulkItemResult.Status;
 import com.ird0.directory.dto.ImportResult;
 import com.ird0.directory.model.DirectoryEntry;
 import com.ird0.directory.repository.DirectoryEntryRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
 /**
  * Handles batch persistence of directory entries with proper transaction boundaries.
  *
  * <p>This service is separated from CsvImportService to ensure Spring AOP proxy works correctly for
  * transactional methods. Each batch is processed in its own transaction (REQUIRES_NEW), allowing
- * partial success: if one batch fails, previously committed batches are not rolled back.
+ * partial success: if one batch fails, previously committed batches are not rolled back. The CSV
+ * import and the bulk REST endpoints both write through it, so they detect changes identically.
+ *
+ * <p>A batch costs one lookup query and at most one JDBC batch of inserts and one of updates,
+ * whatever its size.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class CsvBatchWriter {
 
+  /** Skips rows whose email was taken since the lookup; the untargeted form also runs on H2. */
+  static final String INSERT_SQL =
+      """
+      INSERT INTO directory_entry
+          (id, name, type, email, phone, address, additional_info, webhook_url, version)
+      VALUES (:id, :name, :type, :email, :phone, :address, :additionalInfo, :webhookUrl, 0)
+      ON CONFLICT DO NOTHING
+      """;
+
+  static final String UPDATE_SQL =
+      """
+      UPDATE directory_entry
+      SET name = :name, type = :type, phone = :phone, address = :address,
+          additional_info = :additionalInfo, webhook_url = :webhookUrl, version = version + 1
+      WHERE id = :id
+      """;
+
   private final DirectoryEntryRepository repository;
+  private final DirectoryChangeFeedService changeFeed;
+  private final NamedParameterJdbcTemplate jdbcTemplate;
 
   /**
    * Processes a batch of directory entries, persisting them to the database.
@@ -45,36 +83,141 @@ public class CsvBatchWriter {
   public ImportResult processBatch(List<DirectoryEntry> batch) {
     log.debug("Processing batch of {} entries", batch.size());
 
-    int newRows = 0;
-    int updatedRows = 0;
-    int unchangedRows = 0;
-    int failedRows = 0;
-
-    for (DirectoryEntry entry : batch) {
-      try {
-        Optional<DirectoryEntry> existing = repository.findByEmail(entry.getEmail());
-
-        if (existing.isEmpty()) {
-          entry.generateId();
-          repository.upsertByEmail(entry);
-          newRows++;
-        } else {
-          DirectoryEntry existingEntry = existing.get();
-          if (hasChanged(existingEntry, entry)) {
-            entry.generateId();
-            repository.upsertByEmail(entry);
-            updatedRows++;
-          } else {
-            unchangedRows++;
-          }
+    Map<Status, Long> counts =
+        upsert(batch).stream()
+            .collect(Collectors.groupingBy(BulkItemResult::status, Collectors.counting()));
+    return new ImportResult(
+        batch.size(),
+        counts.getOrDefault(Status.CREATED, 0L).intValue(),
+        counts.getOrDefault(Status.UPDATED, 0L).intValue(),
+        counts.getOrDefault(Status.UNCHANGED, 0L).intValue(),
+        counts.getOrDefault(Status.FAILED, 0L).intValue());
+  }
+
+  /**
+   * Creates or updates a batch of entries, matched by email, in its own transaction.
+   *
+   * <p>Items are applied in order: an item repeating the email of an earlier one in the same batch
+   * is compared with, and replaces, that earlier item. An item without a webhook URL keeps the one
+   * of the entry it replaces, since CSV imports have no such column.
+   *
+   * @param batch the entries to write
+   * @return one result per entry, in batch order, indexed by position in the batch
+   */
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public List<BulkItemResult> writeBatch(List<DirectoryEntry> batch) {
+    return upsert(batch);
+  }
+
+  /**
+   * Deletes a batch of entries by id in its own transaction, with a single statement.
+   *
+   * @param ids distinct ids to delete
+   * @return one DELETED or NOT_FOUND result per id, in order, indexed by position in the batch
+   */
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public List<BulkItemResult> deleteBatch(List<UUID> ids) {
+    Set<UUID> existing = new HashSet<>(repository.findExistingIds(ids));
+    repository.deleteAllByIdInBatch(existing);
+    changeFeed.recordDeletes(existing);
+
+    List<BulkItemResult> results = new ArrayList<>(ids.size());
+    for (int i = 0; i < ids.size(); i++) {
+      UUID id = ids.get(i);
+      results.add(
+          existing.contains(id)
+              ? new BulkItemResult(i, id, Status.DELETED, null)
+              : new BulkItemResult(i, id, Status.NOT_FOUND, "Entry not found"));
+    }
+    return results;
+  }
+
+  private List<BulkItemResult> upsert(List<DirectoryEntry> batch) {
+    Map<String, DirectoryEntry> current =
+        repository
+            .findByEmailIn(batch.stream().map(DirectoryEntry::getEmail).distinct().toList())
+            .stream()
+            .collect(Collectors.toMap(DirectoryEntry::getEmail, Function.identity()));
+    Set<String> stored = new HashSet<>(current.keySet());
+
+    List<BulkItemResult> results = new ArrayList<>(batch.size());
+    Map<String, DirectoryEntry> inserts = new LinkedHashMap<>();
+    Map<String, DirectoryEntry> updates = new LinkedHashMap<>();
+    Map<String, List<Integer>> positionsByEmail = new HashMap<>();
+
+    for (int i = 0; i < batch.size(); i++) {
+      DirectoryEntry entry = batch.get(i);
+      DirectoryEntry existing = current.get(entry.getEmail());
+      positionsByEmail.computeIfAbsent(entry.getEmail(), email -> new ArrayList<>()).add(i);
+      if (existing != null && entry.getWebhookUrl() == null) {
+        entry.setWebhookUrl(existing.getWebhookUrl());
+      }
+
+      if (existing == null) {
+        entry.generateId();
+        inserts.put(entry.getEmail(), entry);
+        current.put(entry.getEmail(), entry);
+        results.add(new BulkItemResult(i, entry.getId(), Status.CREATED, null));
+      } else if (hasChanged(existing, entry)) {
+        entry.setId(existing.getId());
+        (stored.contains(entry.getEmail()) ? updates : inserts).put(entry.getEmail(), entry);
+        current.put(entry.getEmail(), entry);
+        results.add(new BulkItemResult(i, entry.getId(), Status.UPDATED, null));
+      } else {
+        results.add(new BulkItemResult(i, existing.getId(), Status.UNCHANGED, null));
+      }
+    }
+
+    try {
+      int[] inserted =
+          inserts.isEmpty()
+              ? new int[0]
+              : jdbcTemplate.batchUpdate(INSERT_SQL, parameters(inserts.values()));
+      if (!updates.isEmpty()) {
+        jdbcTemplate.batchUpdate(UPDATE_SQL, parameters(updates.values()));
+      }
+
+      List<DirectoryEntry> insertList = List.copyOf(inserts.values());
+      for (int i = 0; i < inserted.length; i++) {
+        if (inserted[i] == 0) {
+          String email = insertList.get(i).getEmail();
+          log.warn("Entry with email {} was created concurrently", email);
+          markFailed(results, positionsByEmail.get(email), "Entry was created concurrently");
         }
-      } catch (DataAccessException | IllegalStateException e) {
-        log.warn("Failed to process entry with email {}: {}", entry.getEmail(), e.getMessage());
-        failedRows++;
       }
+    } catch (DataAccessException e) {
+      log.warn("Failed to write batch of {} entries: {}", batch.size(), e.getMessage());
+      TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+      markFailed(
+          results,
+          positionsByEmail.values().stream().flatMap(List::stream).toList(),
+          e.getMostSpecificCause().getMessage());
+      return results;
     }
 
-    return new ImportResult(batch.size(), newRows, updatedRows, unchangedRows, failedRows);
+    changeFeed.recordUpserts(
+        results.stream()
+            .filter(r -> r.status() == Status.CREATED || r.status() == Status.UPDATED)
+            .map(BulkItemResult::id)
+            .distinct()
+            .toList());
+    return results;
+  }
+
+  private static SqlParameterSource[] parameters(Collection<DirectoryEntry> entries) {
+    return entries.stream()
+        .map(BeanPropertySqlParameterSource::new)
+        .toArray(SqlParameterSource[]::new);
+  }
+
+  private static void markFailed(
+      List<BulkItemResult> results, List<Integer> positions, String message) {
+    for (int position : positions) {
+      BulkItemResult result = results.get(position);
+      if (result.status() != Status.UNCHANGED) {
+        results.set(position, new BulkItemResult(position, result.id(), Status.FAILED, message));
+      }
+    }
   }
 
   /**
@@ -87,6 +230,7 @@ public class CsvBatchWriter {
         || !Objects.equals(existing.getType(), newEntry.getType())
         || !Objects.equals(existing.getPhone(), newEntry.getPhone())
         || !Objects.equals(existing.getAddress(), newEntry.getAddress())
-        || !Objects.equals(existing.getAdditionalInfo(), newEntry.getAdditionalInfo());
+        || !Objects.equals(existing.getAdditionalInfo(), newEntry.getAdditionalInfo())
+        || !Objects.equals(existing.getWebhookUrl(), newEntry.getWebhookUrl());
   }
 }
@@ -32,6 +32,11 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class CsvImportService {
 
+  /** CSV header understood by the import, in the order written by the export. */
+  public static final String[] CSV_COLUMNS = {
+    "name", "type", "email", "phone", "address", "additionalInfo"
+  };
+
   private static final int BATCH_SIZE = 500;
   private static final String EMAIL_REGEX = "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$";
 
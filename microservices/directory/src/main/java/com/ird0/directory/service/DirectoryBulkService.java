@@ -0,0 +1,162 @@
+package com.ird0.directory.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ird0.commons.exception.ValidationException;
+import com.ird0.directory.dto.BulkItemResult;
+import com.ird0.directory.dto.BulkItemResult.Status;
+import com.ird0.directory.dto.BulkResult;
+import com.ird0.directory.dto.DirectoryEntryDTO;
+import com.ird0.directory.mapper.DirectoryEntryMapper;
+import com.ird0.directory.model.DirectoryEntry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Bulk create, update and delete of directory entries for integration partners.
+ *
+ * <p>Items are validated one by one; invalid items are reported and skipped, never failing the
+ * request. Valid items are written by {@link CsvBatchWriter} in batches of {@value #BATCH_SIZE},
+ * each in its own transaction, with the same email-keyed change detection as the CSV import.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DirectoryBulkService {
+
+  public static final int MAX_ITEMS = 10_000;
+  static final int BATCH_SIZE = 500;
+
+  private final CsvBatchWriter batchWriter;
+  private final DirectoryEntryMapper mapper;
+  private final Validator validator;
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Creates or updates entries, matched by email. Ids in the items are ignored.
+   *
+   * @param items the entries to write
+   * @return one result per item, in request order
+   */
+  public BulkResult upsert(List<DirectoryEntryDTO> items) {
+    checkSize(items.size());
+    List<BulkItemResult> results = new ArrayList<>(items.size());
+    List<DirectoryEntry> batch = new ArrayList<>(BATCH_SIZE);
+    List<Integer> batchPositions = new ArrayList<>(BATCH_SIZE);
+
+    for (int i = 0; i < items.size(); i++) {
+      DirectoryEntryDTO item = items.get(i);
+      String violations = validate(item);
+      if (violations != null) {
+        results.add(new BulkItemResult(i, null, Status.INVALID, violations));
+        continue;
+      }
+      results.add(null);
+      DirectoryEntry entry = mapper.toEntity(item);
+      entry.setId(null);
+      batch.add(entry);
+      batchPositions.add(i);
+      if (batch.size() == BATCH_SIZE) {
+        flush(batch, batchPositions, results);
+      }
+    }
+    flush(batch, batchPositions, results);
+    return logged("upsert", BulkResult.of(results));
+  }
+
+  /**
+   * Creates or updates entries read from newline-delimited JSON, one entry per line.
+   *
+   * @throws ValidationException if a line is not a JSON object
+   */
+  public BulkResult upsertNdjson(InputStream ndjson) {
+    List<DirectoryEntryDTO> items = new ArrayList<>();
+    try (MappingIterator<DirectoryEntryDTO> lines =
+        objectMapper.readerFor(DirectoryEntryDTO.class).readValues(ndjson)) {
+      while (lines.hasNextValue()) {
+        items.add(lines.nextValue());
+        checkSize(items.size());
+      }
+    } catch (IOException e) {
+      throw new ValidationException("Malformed NDJSON at item " + (items.size() + 1));
+    }
+    return upsert(items);
+  }
+
+  /**
+   * Deletes entries by id. Ids that do not exist are reported as NOT_FOUND.
+   *
+   * @param ids the ids to delete; duplicates are reported once, at their first position
+   * @return one result per distinct id, in request order
+   */
+  public BulkResult delete(List<UUID> ids) {
+    Set<UUID> distinct = new LinkedHashSet<>(ids);
+    distinct.remove(null);
+    checkSize(distinct.size());
+    List<UUID> ordered = List.copyOf(distinct);
+
+    List<BulkItemResult> results = new ArrayList<>(ordered.size());
+    for (int from = 0; from < ordered.size(); from += BATCH_SIZE) {
+      List<UUID> chunk = ordered.subList(from, Math.min(from + BATCH_SIZE, ordered.size()));
+      int offset = from;
+      batchWriter.deleteBatch(chunk).stream()
+          .map(result -> result.atIndex(offset + result.index()))
+          .forEach(results::add);
+    }
+    return logged("delete", BulkResult.of(results));
+  }
+
+  private void flush(
+      List<DirectoryEntry> batch, List<Integer> positions, List<BulkItemResult> results) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    for (BulkItemResult result : batchWriter.writeBatch(batch)) {
+      int position = positions.get(result.index());
+      results.set(position, result.atIndex(position));
+    }
+    batch.clear();
+    positions.clear();
+  }
+
+  private String validate(DirectoryEntryDTO item) {
+    if (item == null) {
+      return "Item must be a JSON object";
+    }
+    Set<ConstraintViolation<DirectoryEntryDTO>> violations = validator.validate(item);
+    if (violations.isEmpty()) {
+      return null;
+    }
+    return violations.stream()
+        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+        .sorted()
+        .collect(Collectors.joining("; "));
+  }
+
+  private static void checkSize(int size) {
+    if (size > MAX_ITEMS) {
+      throw new ValidationException("Bulk requests are limited to " + MAX_ITEMS + " items");
+    }
+  }
+
+  private static BulkResult logged(String operation, BulkResult result) {
+    log.info(
+        "Bulk {} completed: {} total, {} succeeded, {} failed",
+        operation,
+        result.total(),
+        result.succeeded(),
+        result.failed());
+    return result;
+  }
+}
@@ -0,0 +1,142 @@
+package com.ird0.directory.service;
+
+import com.ird0.commons.exception.ValidationException;
+import com.ird0.directory.config.ChangeFeedProperties;
+import com.ird0.directory.dto.ChangeFeedPage;
+import com.ird0.directory.dto.DirectoryChangeEvent;
+import com.ird0.directory.model.DirectoryChange;
+import com.ird0.directory.model.DirectoryEntry;
+import com.ird0.directory.repository.DirectoryChangeRepository;
+import com.ird0.directory.repository.DirectoryEntryRepository;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records every write to the directory in a change log and serves it as an incremental feed.
+ *
+ * <p>The recording methods must run inside the transaction of the write they describe, so that the
+ * change becomes visible exactly when the write does. Consumers keep a replica in sync by taking
+ * the current cursor ({@code since} omitted), loading a snapshot (listing or export), then
+ * replaying the feed from that cursor; replaying a change twice is harmless.
+ *
+ * <p>Every recorded write is also published as a {@link DirectoryEntriesChangedEvent} for
+ * in-process consumers such as the entry cache.
+ */
+@Service
+@RequiredArgsConstructor
+public class DirectoryChangeFeedService {
+
+  public static final int DEFAULT_LIMIT = 500;
+  public static final int MAX_LIMIT = 1000;
+
+  private final DirectoryChangeRepository changeRepository;
+  private final DirectoryEntryRepository entryRepository;
+  private final ChangeFeedProperties properties;
+  private final ApplicationEventPublisher eventPublisher;
+
+  @Transactional
+  public void recordUpsert(UUID entryId) {
+    recordUpserts(List.of(entryId));
+  }
+
+  @Transactional
+  public void recordUpserts(Collection<UUID> entryIds) {
+    record(DirectoryChange.Type.UPSERT, entryIds);
+  }
+
+  @Transactional
+  public void recordDelete(UUID entryId) {
+    recordDeletes(List.of(entryId));
+  }
+
+  @Transactional
+  public void recordDeletes(Collection<UUID> entryIds) {
+    record(DirectoryChange.Type.DELETE, entryIds);
+  }
+
+  /**
+   * Reads the changes committed after a cursor.
+   *
+   * <p>Several changes to the same entry within the slice are collapsed into the latest one, and
+   * upserts carry the entry as it is now. An upsert whose entry has since been deleted is served as
+   * a tombstone.
+   *
+   * @param since the cursor returned by the previous call, or null to only obtain the current one
+   * @param limit maximum number of log rows to read, capped at {@value #MAX_LIMIT}
+   * @return the changes and the cursor to continue from
+   */
+  @Transactional(readOnly = true)
+  public ChangeFeedPage<DirectoryEntry> readChanges(Long since, int limit) {
+    if (limit < 1) {
+      throw new ValidationException("limit must be at least 1");
+    }
+    if (since != null && since < 0) {
+      throw new ValidationException("since must not be negative");
+    }
+    // The timestamps are taken at transaction start, so they are not in sequence order: stop below
+    // the first unsettled change, so that the cursor never moves past it
+    Long unsettled =
+        changeRepository.findFirstUnsettledSequence(
+            Instant.now().minus(properties.getSettleDelay()));
+    if (since == null) {
+      long head = unsettled != null ? unsettled - 1 : changeRepository.findHeadSequence();
+      return new ChangeFeedPage<>(List.of(), head, false);
+    }
+
+    int pageSize = Math.min(limit, MAX_LIMIT);
+    List<DirectoryChange> rows =
+        changeRepository.findSince(
+            since, unsettled != null ? unsettled : Long.MAX_VALUE, Limit.of(pageSize + 1));
+    boolean hasMore = rows.size() > pageSize;
+    if (hasMore) {
+      rows = rows.subList(0, pageSize);
+    }
+    if (rows.isEmpty()) {
+      return new ChangeFeedPage<>(List.of(), since, false);
+    }
+
+    Map<UUID, DirectoryChange> latest = new LinkedHashMap<>();
+    for (DirectoryChange row : rows) {
+      latest.remove(row.getEntryId());
+      latest.put(row.getEntryId(), row);
+    }
+    List<UUID> upserted =
+        latest.values().stream()
+            .filter(change -> change.getType() == DirectoryChange.Type.UPSERT)
+            .map(DirectoryChange::getEntryId)
+            .toList();
+    Map<UUID, DirectoryEntry> entries =
+        entryRepository.findAllById(upserted).stream()
+            .collect(Collectors.toMap(DirectoryEntry::getId, Function.identity()));
+
+    List<DirectoryChangeEvent<DirectoryEntry>> changes =
+        latest.values().stream().map(change -> toEvent(change, entries)).toList();
+    return new ChangeFeedPage<>(changes, rows.get(rows.size() - 1).getSequence(), hasMore);
+  }
+
+  private void record(DirectoryChange.Type type, Collection<UUID> entryIds) {
+    if (entryIds.isEmpty()) {
+      return;
+    }
+    changeRepository.saveAll(entryIds.stream().map(id -> new DirectoryChange(id, type)).toList());
+    eventPublisher.publishEvent(new DirectoryEntriesChangedEvent(type, List.copyOf(entryIds)));
+  }
+
+  private static DirectoryChangeEvent<DirectoryEntry> toEvent(
+      DirectoryChange change, Map<UUID, DirectoryEntry> entries) {
+    DirectoryEntry entry = entries.get(change.getEntryId());
+    DirectoryChange.Type type = entry == null ? DirectoryChange.Type.DELETE : change.getType();
+    return new DirectoryChangeEvent<>(change.getSequence(), change.getEntryId(), type, entry);
+  }
+}
@@ -0,0 +1,14 @@
+package com.ird0.directory.service;
+
+import com.ird0.directory.model.DirectoryChange;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Published inside the transaction of every directory write, alongside the change-log rows.
+ * Listeners that must only react to committed data use {@code @TransactionalEventListener}.
+ *
+ * @param type whether the entries were created/updated or deleted
+ * @param ids ids of the entries written
+ */
+public record DirectoryEntriesChangedEvent(DirectoryChange.Type type, Collection<UUID> ids) {}
@@ -0,0 +1,86 @@
+package com.ird0.directory.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ird0.directory.config.EntryCacheProperties;
+import com.ird0.directory.model.DirectoryEntry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Bounded read-through cache of directory entries by id.
+ *
+ * <p>Entries are invalidated after every committed write of this replica, and by {@link
+ * CacheInvalidationBroadcaster} for writes of other replicas. Cached entities are never handed out
+ * directly: callers get a copy they may modify freely. Hit, miss and eviction counts are published
+ * as the {@code cache.*} metrics with {@code cache=directory.entries}.
+ */
+@Slf4j
+@Component
+public class DirectoryEntryCache {
+
+  static final String METRICS_NAME = "directory.entries";
+
+  private final Cache<UUID, DirectoryEntry> cache;
+
+  public DirectoryEntryCache(
+      EntryCacheProperties properties, @Nullable MeterRegistry meterRegistry) {
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumSize())
+            .expireAfterWrite(properties.getTimeToLive())
+            .recordStats()
+            .build();
+    if (meterRegistry != null) {
+      CaffeineCacheMetrics.monitor(meterRegistry, cache, METRICS_NAME);
+    }
+  }
+
+  /**
+   * Returns a copy of the cached entry, loading and caching it on a miss.
+   *
+   * @param id the entry id
+   * @param loader reads the entry from the database; a missing entry is not cached
+   * @return a copy of the entry, or empty if it does not exist
+   */
+  public Optional<DirectoryEntry> get(UUID id, Function<UUID, Optional<DirectoryEntry>> loader) {
+    DirectoryEntry cached = cache.get(id, key -> loader.apply(key).orElse(null));
+    return Optional.ofNullable(cached).map(DirectoryEntryCache::copyOf);
+  }
+
+  public void invalidate(Collection<UUID> ids) {
+    cache.invalidateAll(ids);
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  @TransactionalEventListener
+  public void onEntriesChanged(DirectoryEntriesChangedEvent event) {
+    log.debug("Invalidating {} cached entries after commit", event.ids().size());
+    invalidate(event.ids());
+  }
+
+  private static DirectoryEntry copyOf(DirectoryEntry entry) {
+    DirectoryEntry copy = new DirectoryEntry();
+    copy.setId(entry.getId());
+    copy.setName(entry.getName());
+    copy.setType(entry.getType());
+    copy.setEmail(entry.getEmail());
+    copy.setPhone(entry.getPhone());
+    copy.setAddress(entry.getAddress());
+    copy.setAdditionalInfo(entry.getAdditionalInfo());
+    copy.setWebhookUrl(entry.getWebhookUrl());
+    copy.setVersion(entry.getVersion());
+    return copy;
+  }
+}
@@ -1,45 +1,216 @@
 package com.ird0.directory.service;
 
 import com.ird0.commons.exception.EntityNotFoundException;
+import com.ird0.commons.exception.ValidationException;
+import com.ird0.directory.dto.BatchLookupResult;
+import com.ird0.directory.dto.CursorPage;
 import com.ird0.directory.model.DirectoryEntry;
 import com.ird0.directory.repository.DirectoryEntryRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 public class DirectoryEntryService {
 
+  public static final int DEFAULT_PAGE_SIZE = 50;
+  public static final int MAX_PAGE_SIZE = 500;
+  public static final int MAX_BATCH_SIZE = 1000;
+
   private final DirectoryEntryRepository repository;
+  private final DirectoryChangeFeedService changeFeed;
+  private final DirectoryEntryCache cache;
+  private final EntryExistenceFilter existenceFilter;
+
+  /**
+   * Returns one page of entries using keyset pagination.
+   *
+   * <p>The next page starts strictly after the entry identified by the cursor, so the database
+   * seeks directly into the matching index instead of skipping an offset: fetching page N costs the
+   * same as fetching page 1. One extra row is read to detect whether a next page exists.
+   *
+   * @param type exact type to filter on, or null for all types
+   * @param namePrefix case-sensitive name prefix to filter on, or null
+   * @param sort the ordering of the listing
+   * @param cursor the cursor returned with the previous page, or null for the first page
+   * @param limit maximum number of entries to return, capped at {@value #MAX_PAGE_SIZE}
+   * @return the page of entries and the cursor of the next page
+   */
+  public CursorPage<DirectoryEntry> findPage(
+      String type, String namePrefix, DirectoryEntrySort sort, String cursor, int limit) {
+    if (limit < 1) {
+      throw new ValidationException("limit must be at least 1");
+    }
+    int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+
+    List<Specification<DirectoryEntry>> filters = new ArrayList<>();
+    if (type != null && !type.isBlank()) {
+      filters.add((root, query, cb) -> cb.equal(root.get("type"), type));
+    }
+    if (namePrefix != null && !namePrefix.isEmpty()) {
+      String pattern = escapeLike(namePrefix) + "%";
+      filters.add((root, query, cb) -> cb.like(root.get("name"), pattern, '\\'));
+    }
+    if (cursor != null && !cursor.isBlank()) {
+      filters.add(after(KeysetCursor.decode(cursor, sort)));
+    }
+
+    List<DirectoryEntry> rows =
+        repository.findBy(
+            Specification.allOf(filters), q -> q.sortBy(sort.toSort()).limit(pageSize + 1).all());
+
+    boolean hasNext = rows.size() > pageSize;
+    List<DirectoryEntry> content = hasNext ? rows.subList(0, pageSize) : rows;
+    String nextCursor = hasNext ? KeysetCursor.after(sort, content.getLast()).encode() : null;
+    return new CursorPage<>(content, nextCursor, hasNext);
+  }
 
-  public List<DirectoryEntry> getAll() {
-    return repository.findAll();
+  /**
+   * Resolves many entries with a single {@code IN} query.
+   *
+   * @param ids the ids to resolve, at most {@value #MAX_BATCH_SIZE} distinct ones
+   * @return the entries found and the ids that do not exist, both in request order
+   */
+  public BatchLookupResult<DirectoryEntry> getByIds(Collection<UUID> ids) {
+    Set<UUID> requested = distinctIds(ids);
+    Map<UUID, DirectoryEntry> byId =
+        repository.findAllById(requested).stream()
+            .collect(Collectors.toMap(DirectoryEntry::getId, Function.identity()));
+    return partition(requested, byId::get);
   }
 
+  /**
+   * Checks which entries exist with a single primary-key-only {@code IN} query.
+   *
+   * @param ids the ids to check, at most {@value #MAX_BATCH_SIZE} distinct ones
+   * @return the existing ids and the missing ids, both in request order
+   */
+  public BatchLookupResult<UUID> findExistingIds(Collection<UUID> ids) {
+    Set<UUID> requested = distinctIds(ids);
+    Set<UUID> existing = new HashSet<>(repository.findExistingIds(requested));
+    return partition(requested, id -> existing.contains(id) ? id : null);
+  }
+
+  /**
+   * Returns an entry through the entry cache. The result is a detached copy, safe to modify.
+   *
+   * @throws EntityNotFoundException if no entry has this id
+   */
   public DirectoryEntry getById(UUID id) {
+    return cache
+        .get(id, repository::findById)
+        .orElseThrow(() -> new EntityNotFoundException("Entry not found with id: " + id));
+  }
+
+  /**
+   * Checks whether an entry exists. Ids the existence filter has never seen, and that were not
+   * created recently, are rejected without a query; the others are confirmed by a primary-key-only
+   * lookup.
+   */
+  public boolean exists(UUID id) {
+    return existenceFilter.mightContain(id) && repository.existsById(id);
+  }
+
+  /**
+   * Returns the current version of an entry without loading it.
+   *
+   * @throws EntityNotFoundException if no entry has this id
+   */
+  public long getVersion(UUID id) {
     return repository
-        .findById(id)
+        .findVersionById(id)
         .orElseThrow(() -> new EntityNotFoundException("Entry not found with id: " + id));
   }
 
+  @Transactional
   public DirectoryEntry create(DirectoryEntry entry) {
-    return repository.save(entry);
+    DirectoryEntry saved = repository.save(entry);
+    changeFeed.recordUpsert(saved.getId());
+    return saved;
   }
 
+  @Transactional
   public DirectoryEntry update(UUID id, DirectoryEntry entry) {
-    DirectoryEntry existing = getById(id);
+    DirectoryEntry existing =
+        repository
+            .findById(id)
+            .orElseThrow(() -> new EntityNotFoundException("Entry not found with id: " + id));
     existing.setName(entry.getName());
     existing.setType(entry.getType());
     existing.setEmail(entry.getEmail());
     existing.setPhone(entry.getPhone());
     existing.setAddress(entry.getAddress());
     existing.setAdditionalInfo(entry.getAdditionalInfo());
-    return repository.save(existing);
+    existing.setWebhookUrl(entry.getWebhookUrl());
+    DirectoryEntry saved = repository.save(existing);
+    changeFeed.recordUpsert(id);
+    return saved;
   }
 
+  @Transactional
   public void delete(UUID id) {
-    repository.deleteById(id);
+    repository
+        .findById(id)
+        .ifPresent(
+            entry -> {
+              repository.delete(entry);
+              changeFeed.recordDelete(id);
+            });
+  }
+
+  private static Set<UUID> distinctIds(Collection<UUID> ids) {
+    Set<UUID> distinct = new LinkedHashSet<>(ids);
+    distinct.remove(null);
+    if (distinct.size() > MAX_BATCH_SIZE) {
+      throw new ValidationException(
+          "Batch lookups are limited to " + MAX_BATCH_SIZE + " ids, got " + distinct.size());
+    }
+    return distinct;
+  }
+
+  private static <T> BatchLookupResult<T> partition(
+      Set<UUID> requested, Function<UUID, T> resolver) {
+    List<T> found = new ArrayList<>(requested.size());
+    List<UUID> missing = new ArrayList<>();
+    for (UUID id : requested) {
+      T value = resolver.apply(id);
+      if (value != null) {
+        found.add(value);
+      } else {
+        missing.add(id);
+      }
+    }
+    return new BatchLookupResult<>(found, missing);
+  }
+
+  private static Specification<DirectoryEntry> after(KeysetCursor cursor) {
+    if (cursor.sort() == DirectoryEntrySort.NAME) {
+      // The redundant name >= bound is what the index seeks to; the OR alone is only a filter
+      return (root, query, cb) ->
+          cb.and(
+              cb.greaterThanOrEqualTo(root.get("name"), cursor.name()),
+              cb.or(
+                  cb.greaterThan(root.get("name"), cursor.name()),
+                  cb.and(
+                      cb.equal(root.get("name"), cursor.name()),
+                      cb.greaterThan(root.get("id"), cursor.id()))));
+    }
+    return (root, query, cb) -> cb.greaterThan(root.get("id"), cursor.id());
+  }
+
+  private static String escapeLike(String value) {
+    return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
   }
 }
@@ -0,0 +1,44 @@
+package com.ird0.directory.service;
+
+import com.ird0.commons.exception.ValidationException;
+import java.util.Locale;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Orderings supported by the keyset-paginated directory listing.
+ *
+ * <p>Every ordering ends with the primary key so that the sort is total and a cursor identifies
+ * exactly one position, even when several entries share the same name.
+ */
+public enum DirectoryEntrySort {
+  ID(Sort.by("id")),
+  NAME(Sort.by("name", "id"));
+
+  private final Sort sort;
+
+  DirectoryEntrySort(Sort sort) {
+    this.sort = sort;
+  }
+
+  public Sort toSort() {
+    return sort;
+  }
+
+  /**
+   * Resolves a sort from its request parameter value, ignoring case.
+   *
+   * @param value the parameter value ({@code id} or {@code name}), null for the default
+   * @return the matching sort, {@link #ID} when value is null
+   * @throws ValidationException if the value does not name a supported sort
+   */
+  public static DirectoryEntrySort fromParameter(String value) {
+    if (value == null || value.isBlank()) {
+      return ID;
+    }
+    try {
+      return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new ValidationException("Unsupported sort: " + value + " (expected id or name)");
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package com.ird0.directory.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ird0.directory.mapper.DirectoryEntryMapper;
+import com.ird0.directory.model.DirectoryEntry;
+import com.ird0.directory.repository.DirectoryEntryRepository;
+import jakarta.persistence.EntityManager;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Streams the full content of a directory to an output stream.
+ *
+ * <p>Rows are read through a server-side cursor ({@link DirectoryEntryRepository#streamAll()}) and
+ * written one at a time, each entity being detached once written. Memory use therefore stays
+ * constant regardless of table size. The CSV output uses the {@link CsvImportService#CSV_COLUMNS}
+ * header so an export can be fed back to the import unchanged.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DirectoryExportService {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final DirectoryEntryRepository repository;
+  private final DirectoryEntryMapper mapper;
+  private final ObjectMapper objectMapper;
+  private final EntityManager entityManager;
+
+  /**
+   * Writes every directory entry to the given stream.
+   *
+   * <p>The stream is flushed and, when compressed, finished but never closed: it belongs to the
+   * caller.
+   *
+   * @param format the output format
+   * @param gzip whether to gzip-compress the output
+   * @param out the destination stream
+   * @return the number of entries written
+   * @throws IOException if writing to the stream fails
+   */
+  @Transactional(readOnly = true)
+  public long export(ExportFormat format, boolean gzip, OutputStream out) throws IOException {
+    GZIPOutputStream gzipStream = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+    OutputStream target =
+        new BufferedOutputStream(gzipStream != null ? gzipStream : out, BUFFER_SIZE);
+
+    long count;
+    try (Stream<DirectoryEntry> entries = repository.streamAll()) {
+      count =
+          switch (format) {
+            case NDJSON -> writeNdjson(entries.iterator(), target);
+            case CSV -> writeCsv(entries.iterator(), target);
+          };
+    }
+
+    target.flush();
+    if (gzipStream != null) {
+      gzipStream.finish();
+    }
+    log.info("Exported {} directory entries as {}", count, format);
+    return count;
+  }
+
+  private long writeNdjson(Iterator<DirectoryEntry> entries, OutputStream out) throws IOException {
+    long count = 0;
+    while (entries.hasNext()) {
+      DirectoryEntry entry = entries.next();
+      out.write(objectMapper.writeValueAsBytes(mapper.toDTO(entry)));
+      out.write('\n');
+      entityManager.detach(entry);
+      count++;
+    }
+    return count;
+  }
+
+  private long writeCsv(Iterator<DirectoryEntry> entries, OutputStream out) throws IOException {
+    Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+    CSVPrinter printer =
+        CSVFormat.DEFAULT.builder().setHeader(CsvImportService.CSV_COLUMNS).build().print(writer);
+
+    long count = 0;
+    while (entries.hasNext()) {
+      DirectoryEntry entry = entries.next();
+      printer.printRecord(
+          entry.getName(),
+          entry.getType(),
+          entry.getEmail(),
+          entry.getPhone(),
+          entry.getAddress(),
+          entry.getAdditionalInfo());
+      entityManager.detach(entry);
+      count++;
+    }
+    printer.flush();
+    return count;
+  }
+}
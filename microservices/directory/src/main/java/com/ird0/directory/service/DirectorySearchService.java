@@ -0,0 +1,88 @@
+package com.ird0.directory.service;
+
+import com.ird0.commons.exception.ValidationException;
+import com.ird0.directory.model.DirectoryEntry;
+import com.ird0.directory.repository.DirectoryEntryRepository;
+import java.util.List;
+import java.util.Locale;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+/**
+ * Typeahead search over directory entries.
+ *
+ * <p>Every lookup is answered from a dedicated index (created by the {@code V2__search_indexes}
+ * migration) and bounded by a small limit, so response time does not depend on directory size:
+ *
+ * <ul>
+ *   <li>name prefix: {@code lower(name) text_pattern_ops} b-tree
+ *   <li>fuzzy name: {@code pg_trgm} GIN index, ranked by word similarity
+ *   <li>email: {@code lower(email)} b-tree
+ *   <li>phone: plain b-tree
+ * </ul>
+ */
+@Service
+@RequiredArgsConstructor
+public class DirectorySearchService {
+
+  public static final int DEFAULT_LIMIT = 10;
+  public static final int MAX_LIMIT = 50;
+
+  /** Trigram matching is meaningless below three characters. */
+  private static final int MIN_FUZZY_QUERY_LENGTH = 3;
+
+  private final DirectoryEntryRepository repository;
+
+  /**
+   * Searches entries by name.
+   *
+   * @param query the text typed by the user
+   * @param fuzzy false for a case-insensitive prefix match, true for a typo-tolerant trigram match
+   * @param limit maximum number of results, capped at {@value #MAX_LIMIT}
+   * @return matching entries, best match first
+   */
+  public List<DirectoryEntry> searchByName(String query, boolean fuzzy, int limit) {
+    String text = requireText(query, "q");
+    int cappedLimit = capLimit(limit);
+
+    if (fuzzy) {
+      if (text.length() < MIN_FUZZY_QUERY_LENGTH) {
+        throw new ValidationException(
+            "Fuzzy search needs at least " + MIN_FUZZY_QUERY_LENGTH + " characters");
+      }
+      return repository.searchByNameSimilarity(text, cappedLimit);
+    }
+    String pattern = escapeLike(text.toLowerCase(Locale.ROOT)) + "%";
+    return repository.searchByNamePrefix(pattern, Limit.of(cappedLimit));
+  }
+
+  /** Finds the entry with the given email, ignoring case. */
+  public List<DirectoryEntry> searchByEmail(String email) {
+    return repository.findByEmailIgnoringCase(requireText(email, "email")).stream().toList();
+  }
+
+  /** Finds the entries with exactly the given phone number. */
+  public List<DirectoryEntry> searchByPhone(String phone, int limit) {
+    return repository.findByPhoneOrderByName(
+        requireText(phone, "phone"), Limit.of(capLimit(limit)));
+  }
+
+  private static String requireText(String value, String parameter) {
+    if (value == null || value.isBlank()) {
+      throw new ValidationException(parameter + " must not be blank");
+    }
+    return value.trim();
+  }
+
+  private static int capLimit(int limit) {
+    if (limit < 1) {
+      throw new ValidationException("limit must be at least 1");
+    }
+    return Math.min(limit, MAX_LIMIT);
+  }
+
+  private static String escapeLike(String value) {
+    return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+  }
+}
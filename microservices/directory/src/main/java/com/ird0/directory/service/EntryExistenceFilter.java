@@ -0,0 +1,224 @@
+package com.ird0.directory.service;
+
+import com.ird0.directory.config.ExistenceFilterProperties;
+import com.ird0.directory.dto.ChangeFeedPage;
+import com.ird0.directory.dto.DirectoryChangeEvent;
+import com.ird0.directory.model.DirectoryChange;
+import com.ird0.directory.model.DirectoryEntry;
+import com.ird0.directory.model.EntryIds;
+import com.ird0.directory.repository.DirectoryEntryRepository;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Bloom filter over the ids of all entries, answering "definitely absent" without a query.
+ *
+ * <p>The filter is built from an id-only scan once the application is ready and whenever it has
+ * taken more ids than it was sized for. Ids written by this replica are added inside the writing
+ * transaction, so they are present before the write becomes visible; a rebuild replays the ones
+ * whose transaction is still open, since its scan cannot see them. Ids written by other replicas
+ * are taken from the change feed every {@code sync-interval}, starting from the cursor read before
+ * the scan, and sooner through {@link CacheInvalidationBroadcaster} when it is enabled. Until they
+ * arrive, ids created within {@code recent-window} are reported as possibly present, which their
+ * time-ordered form ({@link EntryIds}) tells without a query. Deleted ids cannot be removed and
+ * simply remain positives until the next rebuild. Until the first build completes, and when the
+ * filter is disabled, every id is reported as possibly present.
+ */
+@Slf4j
+@Component
+public class EntryExistenceFilter {
+
+  private final DirectoryEntryRepository repository;
+  private final DirectoryChangeFeedService changeFeed;
+  private final ExistenceFilterProperties properties;
+  private final TransactionTemplate readOnlyTransaction;
+
+  private final Object lock = new Object();
+  private volatile UuidBloomFilter filter;
+  private List<UUID> writtenDuringRebuild;
+  private final Set<List<UUID>> uncommitted = Collections.newSetFromMap(new IdentityHashMap<>());
+  private Long feedPosition;
+  private ScheduledExecutorService syncExecutor;
+
+  public EntryExistenceFilter(
+      DirectoryEntryRepository repository,
+      DirectoryChangeFeedService changeFeed,
+      ExistenceFilterProperties properties,
+      PlatformTransactionManager transactionManager) {
+    this.repository = repository;
+    this.changeFeed = changeFeed;
+    this.properties = properties;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+  }
+
+  /** Returns false only if no entry with this id exists. */
+  public boolean mightContain(UUID id) {
+    UuidBloomFilter current = filter;
+    return current == null || current.mightContain(id) || isRecent(id);
+  }
+
+  /** Adds ids whose write has committed. */
+  public void add(Collection<UUID> ids) {
+    UuidBloomFilter current;
+    synchronized (lock) {
+      current = filter;
+      if (current != null) {
+        ids.forEach(current::put);
+      }
+      if (writtenDuringRebuild != null) {
+        writtenDuringRebuild.addAll(ids);
+      }
+    }
+    if (current != null && current.isSaturated()) {
+      rebuildInBackground();
+    }
+  }
+
+  /** Adds the ids of a local write, within its transaction. */
+  @EventListener
+  public void onEntriesChanged(DirectoryEntriesChangedEvent event) {
+    if (event.type() != DirectoryChange.Type.UPSERT) {
+      return;
+    }
+    List<UUID> ids = List.copyOf(event.ids());
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      synchronized (lock) {
+        uncommitted.add(ids);
+      }
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+              synchronized (lock) {
+                uncommitted.remove(ids);
+              }
+            }
+          });
+    }
+    add(ids);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuildInBackground() {
+    if (properties.isEnabled()) {
+      Thread.ofVirtual().name("directory-existence-filter").start(this::rebuild);
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void startSync() {
+    if (properties.isEnabled()) {
+      long interval = properties.getSyncInterval().toMillis();
+      syncExecutor =
+          Executors.newSingleThreadScheduledExecutor(
+              Thread.ofVirtual().name("directory-existence-filter-sync").factory());
+      syncExecutor.scheduleWithFixedDelay(this::sync, interval, interval, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @PreDestroy
+  public void stopSync() {
+    if (syncExecutor != null) {
+      syncExecutor.shutdownNow();
+    }
+  }
+
+  /**
+   * Rebuilds the filter from the database, sized for twice the current number of entries. Local
+   * writes still uncommitted when the scan starts, and ids added while it runs, are replayed into
+   * the new filter before it replaces the old one; the change feed cursor read before the scan
+   * becomes the sync position. Does nothing if a rebuild is already running.
+   */
+  public void rebuild() {
+    synchronized (lock) {
+      if (writtenDuringRebuild != null) {
+        return;
+      }
+      writtenDuringRebuild = new ArrayList<>();
+      uncommitted.forEach(writtenDuringRebuild::addAll);
+    }
+    UuidBloomFilter rebuilt = null;
+    long position = 0;
+    try {
+      position = changeFeed.readChanges(null, 1).nextCursor();
+      long entryCount = repository.count();
+      long capacity = Math.max(properties.getExpectedEntries(), entryCount * 2);
+      UuidBloomFilter candidate = new UuidBloomFilter(capacity, properties.getFalsePositiveRate());
+      readOnlyTransaction.executeWithoutResult(
+          status -> {
+            try (Stream<UUID> ids = repository.streamAllIds()) {
+              ids.forEach(candidate::put);
+            }
+          });
+      rebuilt = candidate;
+      log.info("Existence filter rebuilt with {} entries (capacity {})", entryCount, capacity);
+    } catch (DataAccessException e) {
+      log.warn("Could not rebuild existence filter: {}", e.getMessage());
+    } finally {
+      synchronized (lock) {
+        if (rebuilt != null) {
+          writtenDuringRebuild.forEach(rebuilt::put);
+          filter = rebuilt;
+          feedPosition = position;
+        }
+        writtenDuringRebuild = null;
+      }
+    }
+  }
+
+  /** Adds the ids written on any replica since the last sync, as read from the change feed. */
+  public void sync() {
+    Long position;
+    synchronized (lock) {
+      position = feedPosition;
+    }
+    if (position == null) {
+      return;
+    }
+    try {
+      ChangeFeedPage<DirectoryEntry> page;
+      do {
+        page = changeFeed.readChanges(position, DirectoryChangeFeedService.MAX_LIMIT);
+        add(
+            page.changes().stream()
+                .filter(change -> change.type() == DirectoryChange.Type.UPSERT)
+                .map(DirectoryChangeEvent::id)
+                .toList());
+        position = page.nextCursor();
+      } while (page.hasMore());
+    } catch (DataAccessException e) {
+      log.warn("Could not sync existence filter: {}", e.getMessage());
+    }
+    synchronized (lock) {
+      feedPosition = position;
+    }
+  }
+
+  /** Created so recently that the change feed may not have brought it here yet. */
+  private boolean isRecent(UUID id) {
+    Instant createdAt = EntryIds.createdAt(id);
+    return createdAt != null
+        && createdAt.isAfter(Instant.now().minus(properties.getRecentWindow()));
+  }
+}
@@ -0,0 +1,39 @@
+package com.ird0.directory.service;
+
+import com.ird0.commons.exception.ValidationException;
+import java.util.Locale;
+
+/** Output formats of the directory export. */
+public enum ExportFormat {
+  NDJSON("application/x-ndjson", "ndjson"),
+  CSV("text/csv", "csv");
+
+  private final String contentType;
+  private final String fileExtension;
+
+  ExportFormat(String contentType, String fileExtension) {
+    this.contentType = contentType;
+    this.fileExtension = fileExtension;
+  }
+
+  public String getContentType() {
+    return contentType;
+  }
+
+  public String getFileExtension() {
+    return fileExtension;
+  }
+
+  /**
+   * Resolves a format from its request parameter value, ignoring case.
+   *
+   * @throws ValidationException if the value does not name a supported format
+   */
+  public static ExportFormat fromParameter(String value) {
+    try {
+      return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new ValidationException("Unsupported format: " + value + " (expected ndjson or csv)");
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package com.ird0.directory.service;
+
+import com.ird0.commons.exception.ValidationException;
+import com.ird0.directory.model.DirectoryEntry;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last entry returned by a keyset-paginated listing.
+ *
+ * <p>The cursor is serialized as an opaque URL-safe token carrying the sort it was issued for, the
+ * id of the last entry and, for name ordering, its name. Clients must treat the token as opaque.
+ */
+record KeysetCursor(DirectoryEntrySort sort, UUID id, String name) {
+
+  private static final char SEPARATOR = '|';
+
+  static KeysetCursor after(DirectoryEntrySort sort, DirectoryEntry last) {
+    return new KeysetCursor(
+        sort, last.getId(), sort == DirectoryEntrySort.NAME ? last.getName() : null);
+  }
+
+  String encode() {
+    String raw = sort.name() + SEPARATOR + id + SEPARATOR + (name != null ? name : "");
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decodes a cursor token and checks it was issued for the requested sort.
+   *
+   * @throws ValidationException if the token is malformed or belongs to another sort
+   */
+  static KeysetCursor decode(String token, DirectoryEntrySort expectedSort) {
+    String[] parts;
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      parts = raw.split("\\" + SEPARATOR, 3);
+    } catch (IllegalArgumentException e) {
+      throw new ValidationException("Invalid cursor");
+    }
+    if (parts.length != 3) {
+      throw new ValidationException("Invalid cursor");
+    }
+
+    DirectoryEntrySort sort;
+    UUID id;
+    try {
+      sort = DirectoryEntrySort.valueOf(parts[0]);
+      id = UUID.fromString(parts[1]);
+    } catch (IllegalArgumentException e) {
+      throw new ValidationException("Invalid cursor");
+    }
+    if (sort != expectedSort) {
+      throw new ValidationException("Cursor was issued for sort " + sort.name().toLowerCase());
+    }
+    return new KeysetCursor(sort, id, sort == DirectoryEntrySort.NAME ? parts[2] : null);
+  }
+}
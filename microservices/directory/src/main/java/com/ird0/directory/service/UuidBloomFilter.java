@@ -0,0 +1,67 @@
+package com.ird0.directory.service;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread-safe Bloom filter over UUIDs.
+ *
+ * <p>Random UUIDs are already uniformly distributed, so their two 64-bit halves serve directly as
+ * the two base hashes of the Kirsch-Mitzenmacher scheme ({@code h1 + i * h2}); no hashing function
+ * is needed. Bits are only ever set, so concurrent {@link #put} calls need no locking.
+ */
+final class UuidBloomFilter {
+
+  private final AtomicLongArray words;
+  private final long bitCount;
+  private final int hashCount;
+  private final long capacity;
+  private final AtomicLong insertions = new AtomicLong();
+
+  /**
+   * @param capacity the number of ids the filter is sized for
+   * @param falsePositiveRate the expected false positive rate once {@code capacity} ids are added
+   */
+  UuidBloomFilter(long capacity, double falsePositiveRate) {
+    long bits =
+        (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+    int wordCount = (int) Math.max(1, (bits + 63) / 64);
+    this.words = new AtomicLongArray(wordCount);
+    this.bitCount = wordCount * 64L;
+    this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+    this.capacity = capacity;
+  }
+
+  void put(UUID id) {
+    long h1 = id.getMostSignificantBits();
+    long h2 = id.getLeastSignificantBits();
+    for (int i = 0; i < hashCount; i++) {
+      long bit = Math.floorMod(h1 + i * h2, bitCount);
+      int word = (int) (bit >>> 6);
+      long mask = 1L << bit;
+      long current;
+      do {
+        current = words.get(word);
+      } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+    }
+    insertions.incrementAndGet();
+  }
+
+  boolean mightContain(UUID id) {
+    long h1 = id.getMostSignificantBits();
+    long h2 = id.getLeastSignificantBits();
+    for (int i = 0; i < hashCount; i++) {
+      long bit = Math.floorMod(h1 + i * h2, bitCount);
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Whether more ids were added than the filter was sized for. */
+  boolean isSaturated() {
+    return insertions.get() > capacity;
+  }
+}
@@ -0,0 +1,15 @@
+-- Schema as previously created by Hibernate's ddl-auto=update. Existing databases are
+-- baselined at this version (spring.flyway.baseline-on-migrate), so it only runs on empty ones.
+
+CREATE TABLE directory_entry (
+    id              uuid         NOT NULL,
+    name            varchar(255),
+    type            varchar(255),
+    email           varchar(255) NOT NULL,
+    phone           varchar(255),
+    address         varchar(255),
+    additional_info varchar(255),
+    webhook_url     varchar(255),
+    CONSTRAINT directory_entry_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_directory_entry_email UNIQUE (email)
+);
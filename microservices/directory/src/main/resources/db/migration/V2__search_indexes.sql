@@ -0,0 +1,16 @@
+-- Typeahead search indexes (DirectorySearchService). Databases baselined at V1 may already have
+-- them from the startup initializer this migration replaces, hence IF NOT EXISTS.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Fuzzy name search: word_similarity (<%) over trigrams
+CREATE INDEX IF NOT EXISTS idx_directory_entry_name_trgm
+    ON directory_entry USING gin (name gin_trgm_ops);
+
+-- Case-insensitive name prefix (lower(name) LIKE 'abc%'), independent of the database collation
+CREATE INDEX IF NOT EXISTS idx_directory_entry_lower_name
+    ON directory_entry (lower(name) text_pattern_ops);
+
+-- Case-insensitive exact email lookup
+CREATE INDEX IF NOT EXISTS idx_directory_entry_lower_email
+    ON directory_entry (lower(email));
@@ -0,0 +1,3 @@
+-- Version of every entry, incremented on each change and exposed to clients as its ETag. Existing
+-- entries start at 0.
+ALTER TABLE directory_entry ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
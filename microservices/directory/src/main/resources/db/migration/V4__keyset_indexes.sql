@@ -0,0 +1,11 @@
+-- Keyset pagination of the listing: (sort key, id) for every supported order, so that each page
+-- seeks into the index after the cursor instead of skipping an offset
+CREATE INDEX IF NOT EXISTS idx_directory_entry_name_id ON directory_entry (name, id);
+CREATE INDEX IF NOT EXISTS idx_directory_entry_type_id ON directory_entry (type, id);
+CREATE INDEX IF NOT EXISTS idx_directory_entry_type_name_id ON directory_entry (type, name, id);
+CREATE INDEX IF NOT EXISTS idx_directory_entry_phone ON directory_entry (phone);
+
+-- Case-sensitive name prefix of the listing (name LIKE 'abc%'): a plain btree only serves LIKE
+-- under the C collation, text_pattern_ops under any
+CREATE INDEX IF NOT EXISTS idx_directory_entry_name_pattern
+    ON directory_entry (name text_pattern_ops);
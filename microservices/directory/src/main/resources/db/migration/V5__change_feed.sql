@@ -0,0 +1,13 @@
+-- Change log behind the change feed (DirectoryChangeFeedService): one row per write, numbered by
+-- the identity column that consumers use as their cursor
+CREATE TABLE IF NOT EXISTS directory_change (
+    sequence   bigint GENERATED BY DEFAULT AS IDENTITY,
+    entry_id   uuid                        NOT NULL,
+    type       varchar(16)                 NOT NULL,
+    changed_at timestamp(6) with time zone NOT NULL,
+    CONSTRAINT directory_change_pkey PRIMARY KEY (sequence)
+);
+
+-- Finds the first change not settled yet (changed_at within the settle delay), which every read
+-- stops below
+CREATE INDEX IF NOT EXISTS idx_directory_change_changed_at ON directory_change (changed_at);
@@ -1,22 +1,45 @@
 package com.ird0.directory.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ird0.commons.exception.EntityNotFoundException;
 import com.ird0.commons.exception.GlobalExceptionHandler;
+import com.ird0.directory.dto.BatchLookupRequest;
+import com.ird0.directory.dto.BatchLookupResult;
+import com.ird0.directory.dto.BulkItemResult;
+import com.ird0.directory.dto.BulkResult;
+import com.ird0.directory.dto.ChangeFeedPage;
+import com.ird0.directory.dto.CursorPage;
+import com.ird0.directory.dto.DirectoryChangeEvent;
 import com.ird0.directory.dto.DirectoryEntryDTO;
 import com.ird0.directory.mapper.DirectoryEntryMapper;
+import com.ird0.directory.model.DirectoryChange;
 import com.ird0.directory.model.DirectoryEntry;
 import com.ird0.directory.service.CsvImportService;
+import com.ird0.directory.service.DirectoryBulkService;
+import com.ird0.directory.service.DirectoryChangeFeedService;
 import com.ird0.directory.service.DirectoryEntryService;
+import com.ird0.directory.service.DirectoryEntrySort;
+import com.ird0.directory.service.DirectoryExportService;
+import com.ird0.directory.service.DirectorySearchService;
+import com.ird0.directory.service.ExportFormat;
 import com.ird0.directory.service.ImportAuditService;
 import java.util.List;
 import java.util.UUID;
@@ -28,6 +51,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 @WebMvcTest(DirectoryEntryController.class)
 @Import(GlobalExceptionHandler.class)
@@ -45,6 +69,14 @@ class DirectoryEntryControllerTest {
 
   @MockBean private ImportAuditService auditService;
 
+  @MockBean private DirectoryExportService exportService;
+
+  @MockBean private DirectorySearchService searchService;
+
+  @MockBean private DirectoryChangeFeedService changeFeedService;
+
+  @MockBean private DirectoryBulkService bulkService;
+
   private DirectoryEntry testEntity;
   private DirectoryEntryDTO testDto;
   private UUID testId;
@@ -60,6 +92,7 @@ class DirectoryEntryControllerTest {
     testEntity.setEmail("john@example.com");
     testEntity.setPhone("555-1234");
     testEntity.setAddress("123 Main St");
+    testEntity.setVersion(3L);
 
     testDto =
         new DirectoryEntryDTO(
@@ -74,15 +107,91 @@ class DirectoryEntryControllerTest {
   }
 
   @Test
-  void getAll_ReturnsListOfEntries() throws Exception {
-    when(service.getAll()).thenReturn(List.of(testEntity));
-    when(mapper.toDTOList(any())).thenReturn(List.of(testDto));
+  void getAll_ReturnsPageOfEntries() throws Exception {
+    when(service.findPage(null, null, DirectoryEntrySort.ID, null, 50))
+        .thenReturn(new CursorPage<>(List.of(testEntity), "next-token", true));
+    when(mapper.toDTO(testEntity)).thenReturn(testDto);
 
     mockMvc
         .perform(get("/api/entries"))
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$[0].name").value("John Doe"))
-        .andExpect(jsonPath("$[0].email").value("john@example.com"));
+        .andExpect(jsonPath("$.content[0].name").value("John Doe"))
+        .andExpect(jsonPath("$.content[0].email").value("john@example.com"))
+        .andExpect(jsonPath("$.nextCursor").value("next-token"))
+        .andExpect(jsonPath("$.hasNext").value(true));
+  }
+
+  @Test
+  void getAll_WithFiltersAndCursor_PassesThemToService() throws Exception {
+    when(service.findPage("individual", "Jo", DirectoryEntrySort.NAME, "abc", 10))
+        .thenReturn(new CursorPage<>(List.of(), null, false));
+
+    mockMvc
+        .perform(
+            get("/api/entries")
+                .param("type", "individual")
+                .param("namePrefix", "Jo")
+                .param("sort", "name")
+                .param("cursor", "abc")
+                .param("limit", "10"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content").isEmpty())
+        .andExpect(jsonPath("$.hasNext").value(false));
+  }
+
+  @Test
+  void getAll_UnsupportedSort_Returns400() throws Exception {
+    mockMvc.perform(get("/api/entries").param("sort", "email")).andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void getChanges_ReturnsUpsertsAndTombstones() throws Exception {
+    UUID deletedId = UUID.randomUUID();
+    when(changeFeedService.readChanges(10L, 500))
+        .thenReturn(
+            new ChangeFeedPage<>(
+                List.of(
+                    new DirectoryChangeEvent<>(11, testId, DirectoryChange.Type.UPSERT, testEntity),
+                    new DirectoryChangeEvent<>(12, deletedId, DirectoryChange.Type.DELETE, null)),
+                12,
+                false));
+    when(mapper.toDTO(testEntity)).thenReturn(testDto);
+
+    mockMvc
+        .perform(get("/api/entries/changes").param("since", "10"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.changes[0].type").value("UPSERT"))
+        .andExpect(jsonPath("$.changes[0].entry.name").value("John Doe"))
+        .andExpect(jsonPath("$.changes[1].id").value(deletedId.toString()))
+        .andExpect(jsonPath("$.changes[1].type").value("DELETE"))
+        .andExpect(jsonPath("$.changes[1].entry").doesNotExist())
+        .andExpect(jsonPath("$.nextCursor").value(12))
+        .andExpect(jsonPath("$.hasMore").value(false));
+  }
+
+  @Test
+  void export_CsvGzip_StreamsAttachment() throws Exception {
+    MvcResult result =
+        mockMvc
+            .perform(get("/api/entries/export").param("format", "csv").param("gzip", "true"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Type", "application/gzip"))
+        .andExpect(
+            header()
+                .string("Content-Disposition", "attachment; filename=\"directory-export.csv.gz\""));
+    verify(exportService).export(eq(ExportFormat.CSV), eq(true), any());
+  }
+
+  @Test
+  void export_UnsupportedFormat_Returns400() throws Exception {
+    mockMvc
+        .perform(get("/api/entries/export").param("format", "xml"))
+        .andExpect(status().isBadRequest());
   }
 
   @Test
@@ -97,6 +206,77 @@ class DirectoryEntryControllerTest {
         .andExpect(jsonPath("$.email").value("john@example.com"));
   }
 
+  @Test
+  void getOne_ReturnsVersionAsETag() throws Exception {
+    when(service.getById(testId)).thenReturn(testEntity);
+    when(mapper.toDTO(testEntity)).thenReturn(testDto);
+
+    mockMvc
+        .perform(get("/api/entries/{id}", testId))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"3\""));
+  }
+
+  @Test
+  void getOne_IfNoneMatchCurrentVersion_Returns304WithoutLoadingEntry() throws Exception {
+    when(service.getVersion(testId)).thenReturn(3L);
+
+    mockMvc
+        .perform(get("/api/entries/{id}", testId).header("If-None-Match", "\"3\""))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", "\"3\""));
+    verify(service, never()).getById(any());
+  }
+
+  @Test
+  void getOne_IfNoneMatchStaleVersion_ReturnsEntry() throws Exception {
+    when(service.getVersion(testId)).thenReturn(3L);
+    when(service.getById(testId)).thenReturn(testEntity);
+    when(mapper.toDTO(testEntity)).thenReturn(testDto);
+
+    mockMvc
+        .perform(get("/api/entries/{id}", testId).header("If-None-Match", "\"2\""))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"3\""))
+        .andExpect(jsonPath("$.name").value("John Doe"));
+  }
+
+  @Test
+  void getAll_IfNoneMatchCurrentPage_Returns304() throws Exception {
+    when(service.findPage(null, null, DirectoryEntrySort.ID, null, 50))
+        .thenReturn(new CursorPage<>(List.of(testEntity), null, false));
+
+    String etag =
+        mockMvc
+            .perform(get("/api/entries"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader("ETag");
+
+    mockMvc
+        .perform(get("/api/entries").header("If-None-Match", etag))
+        .andExpect(status().isNotModified());
+
+    testEntity.setVersion(4L);
+    mockMvc.perform(get("/api/entries").header("If-None-Match", etag)).andExpect(status().isOk());
+  }
+
+  @Test
+  void head_ExistingEntry_Returns200WithoutLoadingIt() throws Exception {
+    when(service.exists(testId)).thenReturn(true);
+
+    mockMvc.perform(head("/api/entries/{id}", testId)).andExpect(status().isOk());
+    verify(service, never()).getById(any());
+  }
+
+  @Test
+  void head_UnknownEntry_Returns404() throws Exception {
+    when(service.exists(testId)).thenReturn(false);
+
+    mockMvc.perform(head("/api/entries/{id}", testId)).andExpect(status().isNotFound());
+  }
+
   @Test
   void getOne_NotFound_Returns404() throws Exception {
     UUID unknownId = UUID.randomUUID();
@@ -106,6 +286,50 @@ class DirectoryEntryControllerTest {
     mockMvc.perform(get("/api/entries/{id}", unknownId)).andExpect(status().isNotFound());
   }
 
+  @Test
+  void getBatch_ReturnsFoundEntriesAndMissingIds() throws Exception {
+    UUID missingId = UUID.randomUUID();
+    when(service.getByIds(List.of(testId, missingId)))
+        .thenReturn(new BatchLookupResult<>(List.of(testEntity), List.of(missingId)));
+    when(mapper.toDTO(testEntity)).thenReturn(testDto);
+
+    mockMvc
+        .perform(
+            post("/api/entries/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    objectMapper.writeValueAsString(
+                        new BatchLookupRequest(List.of(testId, missingId)))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.found[0].id").value(testId.toString()))
+        .andExpect(jsonPath("$.missing[0]").value(missingId.toString()));
+  }
+
+  @Test
+  void checkBatchExists_ReturnsIdsOnly() throws Exception {
+    when(service.findExistingIds(List.of(testId)))
+        .thenReturn(new BatchLookupResult<>(List.of(testId), List.of()));
+
+    mockMvc
+        .perform(
+            post("/api/entries/batch/exists")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BatchLookupRequest(List.of(testId)))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.found[0]").value(testId.toString()))
+        .andExpect(jsonPath("$.missing").isEmpty());
+  }
+
+  @Test
+  void getBatch_EmptyIds_Returns400() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/entries/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\": []}"))
+        .andExpect(status().isBadRequest());
+  }
+
   @Test
   void create_ValidDto_ReturnsCreatedEntry() throws Exception {
     DirectoryEntryDTO createDto =
@@ -195,8 +419,152 @@ class DirectoryEntryControllerTest {
         .andExpect(jsonPath("$.name").value("John Updated"));
   }
 
+  @Test
+  void update_NewWebhookUrl_IsPassedToServiceAndReturned() throws Exception {
+    String webhookUrl = "https://insurer.example.com/webhook";
+    DirectoryEntryDTO updateDto =
+        new DirectoryEntryDTO(
+            null,
+            "John Doe",
+            "individual",
+            "john@example.com",
+            "555-1234",
+            "123 Main St",
+            null,
+            webhookUrl);
+    DirectoryEntryDTO responseDto =
+        new DirectoryEntryDTO(
+            testId,
+            "John Doe",
+            "individual",
+            "john@example.com",
+            "555-1234",
+            "123 Main St",
+            null,
+            webhookUrl);
+
+    when(service.getById(testId)).thenReturn(testEntity);
+    doAnswer(
+            invocation -> {
+              invocation
+                  .<DirectoryEntry>getArgument(1)
+                  .setWebhookUrl(invocation.<DirectoryEntryDTO>getArgument(0).webhookUrl());
+              return null;
+            })
+        .when(mapper)
+        .updateEntityFromDTO(any(DirectoryEntryDTO.class), eq(testEntity));
+    when(service.update(eq(testId), argThat(entry -> webhookUrl.equals(entry.getWebhookUrl()))))
+        .thenReturn(testEntity);
+    when(mapper.toDTO(testEntity)).thenReturn(responseDto);
+
+    mockMvc
+        .perform(
+            put("/api/entries/{id}", testId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateDto)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.webhookUrl").value(webhookUrl));
+  }
+
   @Test
   void delete_ExistingEntry_Returns200() throws Exception {
     mockMvc.perform(delete("/api/entries/{id}", testId)).andExpect(status().isOk());
   }
+
+  @Test
+  void search_ByNamePrefix_ReturnsMatches() throws Exception {
+    when(searchService.searchByName("joh", false, 10)).thenReturn(List.of(testEntity));
+    when(mapper.toDTOList(List.of(testEntity))).thenReturn(List.of(testDto));
+
+    mockMvc
+        .perform(get("/api/entries/search").param("q", "joh"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].name").value("John Doe"));
+  }
+
+  @Test
+  void search_FuzzyWithLimit_PassesOptions() throws Exception {
+    when(searchService.searchByName("jhon", true, 5)).thenReturn(List.of(testEntity));
+    when(mapper.toDTOList(List.of(testEntity))).thenReturn(List.of(testDto));
+
+    mockMvc
+        .perform(
+            get("/api/entries/search")
+                .param("q", "jhon")
+                .param("fuzzy", "true")
+                .param("limit", "5"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].id").value(testId.toString()));
+  }
+
+  @Test
+  void search_ByEmail_UsesEmailLookup() throws Exception {
+    when(searchService.searchByEmail("JOHN@example.com")).thenReturn(List.of(testEntity));
+    when(mapper.toDTOList(List.of(testEntity))).thenReturn(List.of(testDto));
+
+    mockMvc
+        .perform(get("/api/entries/search").param("email", "JOHN@example.com"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].email").value("john@example.com"));
+  }
+
+  @Test
+  void search_NoCriteria_ReturnsBadRequest() throws Exception {
+    mockMvc.perform(get("/api/entries/search")).andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void search_SeveralCriteria_ReturnsBadRequest() throws Exception {
+    mockMvc
+        .perform(get("/api/entries/search").param("q", "joh").param("phone", "555-1234"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void bulkUpsert_JsonArray_ReturnsPerItemResults() throws Exception {
+    when(bulkService.upsert(List.of(testDto)))
+        .thenReturn(
+            BulkResult.of(
+                List.of(new BulkItemResult(0, testId, BulkItemResult.Status.CREATED, null))));
+
+    mockMvc
+        .perform(
+            post("/api/entries/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(testDto))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.succeeded").value(1))
+        .andExpect(jsonPath("$.items[0].status").value("CREATED"))
+        .andExpect(jsonPath("$.items[0].id").value(testId.toString()));
+  }
+
+  @Test
+  void bulkUpsert_Ndjson_IsDispatchedToStreamParser() throws Exception {
+    when(bulkService.upsertNdjson(any())).thenReturn(BulkResult.of(List.of()));
+
+    mockMvc
+        .perform(
+            post("/api/entries/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(objectMapper.writeValueAsString(testDto) + "\n"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.total").value(0));
+    verify(bulkService).upsertNdjson(any());
+  }
+
+  @Test
+  void bulkDelete_ReturnsPerIdResults() throws Exception {
+    when(bulkService.delete(List.of(testId)))
+        .thenReturn(
+            BulkResult.of(
+                List.of(new BulkItemResult(0, testId, BulkItemResult.Status.DELETED, null))));
+
+    mockMvc
+        .perform(
+            post("/api/entries/bulk/delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BatchLookupRequest(List.of(testId)))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items[0].status").value("DELETED"));
+  }
 }
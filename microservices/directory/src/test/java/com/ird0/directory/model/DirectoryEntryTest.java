@@ -2,6 +2,8 @@ package com.ird0.directory.model;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
 
@@ -39,4 +41,16 @@ class DirectoryEntryTest {
 
     assertNotEquals(entry1.getId(), entry2.getId(), "Generated UUIDs should be unique");
   }
+
+  @Test
+  void testGenerateId_IsTimeOrderedWithCreationTime() {
+    Instant before = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    DirectoryEntry entry = new DirectoryEntry();
+
+    entry.generateId();
+
+    assertEquals(7, entry.getId().version());
+    assertFalse(EntryIds.createdAt(entry.getId()).isBefore(before));
+    assertNull(EntryIds.createdAt(UUID.randomUUID()));
+  }
 }
@@ -1,27 +1,73 @@
 package com.ird0.directory.repository;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.ird0.directory.config.ChangeFeedProperties;
+import com.ird0.directory.config.EntryCacheProperties;
+import com.ird0.directory.config.ExistenceFilterProperties;
+import com.ird0.directory.dto.BulkItemResult;
+import com.ird0.directory.dto.ChangeFeedPage;
+import com.ird0.directory.dto.CursorPage;
+import com.ird0.directory.model.DirectoryChange;
 import com.ird0.directory.model.DirectoryEntry;
+import com.ird0.directory.service.CsvBatchWriter;
+import com.ird0.directory.service.DirectoryChangeFeedService;
+import com.ird0.directory.service.DirectoryEntryCache;
+import com.ird0.directory.service.DirectoryEntryService;
+import com.ird0.directory.service.DirectoryEntrySort;
+import com.ird0.directory.service.EntryExistenceFilter;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 @DataJpaTest
+@Import({
+  DirectoryEntryService.class,
+  DirectoryChangeFeedService.class,
+  ChangeFeedProperties.class,
+  DirectoryEntryCache.class,
+  EntryCacheProperties.class,
+  EntryExistenceFilter.class,
+  ExistenceFilterProperties.class,
+  CsvBatchWriter.class
+})
 @ActiveProfiles("test")
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 class DirectoryEntryRepositoryTest {
 
   @Autowired private DirectoryEntryRepository repository;
 
+  @Autowired private DirectoryEntryService service;
+
+  @Autowired private DirectoryChangeFeedService changeFeedService;
+
+  @Autowired private ChangeFeedProperties changeFeedProperties;
+
+  @Autowired private EntryExistenceFilter existenceFilter;
+
+  @Autowired private CsvBatchWriter batchWriter;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
   private DirectoryEntry testEntry;
 
   @BeforeEach
@@ -123,4 +169,236 @@ class DirectoryEntryRepositoryTest {
     assertEquals("555-9999", updated.getPhone());
     assertEquals(saved.getId(), updated.getId());
   }
+
+  @Test
+  void update_ThroughService_IncrementsVersion() {
+    DirectoryEntry saved = repository.saveAndFlush(testEntry);
+    assertEquals(0L, saved.getVersion());
+
+    DirectoryEntry changes = new DirectoryEntry();
+    changes.setName("John Updated");
+    changes.setType(saved.getType());
+    changes.setEmail(saved.getEmail());
+    changes.setPhone(saved.getPhone());
+    service.update(saved.getId(), changes);
+    repository.flush();
+
+    assertEquals(1L, service.getVersion(saved.getId()));
+  }
+
+  @Test
+  void update_CachedCopyWithNewWebhookUrl_PersistsIt() {
+    DirectoryEntry saved = repository.saveAndFlush(testEntry);
+
+    // As the PUT endpoint does: the cached copy, changed, is handed back to update()
+    DirectoryEntry copy = service.getById(saved.getId());
+    copy.setWebhookUrl("https://insurer.example.com/webhook");
+    service.update(saved.getId(), copy);
+    repository.flush();
+
+    assertEquals(
+        "https://insurer.example.com/webhook",
+        repository.findById(saved.getId()).orElseThrow().getWebhookUrl());
+  }
+
+  @Test
+  void readChanges_AfterServiceWrites_ReturnsLatestStateAndTombstones() {
+    changeFeedProperties.setSettleDelay(Duration.ZERO);
+    long cursor = changeFeedService.readChanges(null, 10).nextCursor();
+
+    DirectoryEntry kept = service.create(testEntry);
+    DirectoryEntry removed = service.create(entry("Mary Jones", "mary@example.com"));
+    kept.setName("John Updated");
+    service.update(kept.getId(), kept);
+    service.delete(removed.getId());
+
+    ChangeFeedPage<DirectoryEntry> page = changeFeedService.readChanges(cursor, 10);
+
+    assertEquals(2, page.changes().size());
+    assertEquals(kept.getId(), page.changes().get(0).id());
+    assertEquals("John Updated", page.changes().get(0).entry().getName());
+    assertEquals(removed.getId(), page.changes().get(1).id());
+    assertEquals(DirectoryChange.Type.DELETE, page.changes().get(1).type());
+    assertTrue(page.nextCursor() > cursor);
+    assertTrue(changeFeedService.readChanges(page.nextCursor(), 10).changes().isEmpty());
+  }
+
+  @Test
+  void readChanges_LowerSequenceSettlesLast_IsNotSkipped() {
+    changeFeedProperties.setSettleDelay(Duration.ofMinutes(1));
+    long cursor = changeFeedService.readChanges(null, 10).nextCursor();
+    DirectoryEntry first = service.create(testEntry);
+    DirectoryEntry second = service.create(entry("Mary Jones", "mary@example.com"));
+    // The second change is settled, but the first, lower one is still within the settle delay
+    stampChanges(second.getId(), Instant.now().minus(Duration.ofMinutes(10)));
+    stampChanges(first.getId(), Instant.now());
+
+    ChangeFeedPage<DirectoryEntry> page = changeFeedService.readChanges(cursor, 10);
+
+    assertTrue(page.changes().isEmpty());
+    assertEquals(cursor, page.nextCursor());
+    long head = changeFeedService.readChanges(null, 10).nextCursor();
+
+    stampChanges(first.getId(), Instant.now().minus(Duration.ofMinutes(5)));
+
+    for (long from : List.of(cursor, head)) {
+      assertEquals(
+          List.of(first.getId(), second.getId()),
+          changeFeedService.readChanges(from, 10).changes().stream()
+              .map(change -> change.id())
+              .toList());
+    }
+  }
+
+  @Test
+  void findPage_NameSortAcrossPages_VisitsEveryEntryOnceInOrder() {
+    for (String name : List.of("Carol", "Alice", "Bob", "Alice", "Dave")) {
+      DirectoryEntry entry = new DirectoryEntry();
+      entry.setName(name);
+      entry.setType("individual");
+      entry.setEmail(UUID.randomUUID() + "@example.com");
+      entry.setPhone("555-0000");
+      repository.save(entry);
+    }
+
+    List<String> names = new ArrayList<>();
+    String cursor = null;
+    int pages = 0;
+    do {
+      CursorPage<DirectoryEntry> page =
+          service.findPage(null, null, DirectoryEntrySort.NAME, cursor, 2);
+      page.content().forEach(entry -> names.add(entry.getName()));
+      cursor = page.nextCursor();
+      pages++;
+    } while (cursor != null);
+
+    assertEquals(List.of("Alice", "Alice", "Bob", "Carol", "Dave"), names);
+    assertEquals(3, pages);
+  }
+
+  @Test
+  void findPage_TypeAndNamePrefix_FiltersEntries() {
+    repository.save(testEntry);
+    DirectoryEntry corporate = new DirectoryEntry();
+    corporate.setName("Johnson Corp");
+    corporate.setType("corporate");
+    corporate.setEmail("contact@johnson.example.com");
+    corporate.setPhone("555-2222");
+    repository.save(corporate);
+
+    CursorPage<DirectoryEntry> page =
+        service.findPage("corporate", "John", DirectoryEntrySort.ID, null, 10);
+
+    assertEquals(1, page.content().size());
+    assertEquals("Johnson Corp", page.content().get(0).getName());
+  }
+
+  @Test
+  void streamAll_ReturnsEveryEntry() {
+    DirectoryEntry saved = repository.save(testEntry);
+    DirectoryEntry other = new DirectoryEntry();
+    other.setName("Jane Doe");
+    other.setType("individual");
+    other.setEmail("jane@example.com");
+    other.setPhone("555-5678");
+    DirectoryEntry savedOther = repository.save(other);
+
+    try (Stream<DirectoryEntry> stream = repository.streamAll()) {
+      List<UUID> ids = stream.map(DirectoryEntry::getId).toList();
+
+      assertEquals(2, ids.size());
+      assertTrue(ids.containsAll(List.of(saved.getId(), savedOther.getId())));
+    }
+  }
+
+  @Test
+  void exists_AfterFilterRebuild_AnswersStoredAndUnknownIds() {
+    DirectoryEntry saved = repository.save(testEntry);
+    existenceFilter.rebuild();
+
+    assertTrue(service.exists(saved.getId()));
+    assertFalse(service.exists(UUID.randomUUID()));
+  }
+
+  /** The batch writer commits its own transactions, so this test runs without one and cleans up. */
+  @Test
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  void writeBatch_OnRealDatabase_InsertsThenUpdatesWithVersionBump() {
+    try {
+      testEntry.setWebhookUrl("https://insurer.example.com/webhook");
+      List<BulkItemResult> created = batchWriter.writeBatch(List.of(testEntry));
+      DirectoryEntry changed = entry("John Updated", "john@example.com");
+      List<BulkItemResult> updated = batchWriter.writeBatch(List.of(changed));
+
+      assertEquals(BulkItemResult.Status.CREATED, created.get(0).status());
+      assertEquals(BulkItemResult.Status.UPDATED, updated.get(0).status());
+      DirectoryEntry stored = repository.findByEmail("john@example.com").orElseThrow();
+      assertEquals(created.get(0).id(), stored.getId());
+      assertEquals("John Updated", stored.getName());
+      assertEquals("https://insurer.example.com/webhook", stored.getWebhookUrl());
+      assertEquals(1L, stored.getVersion());
+    } finally {
+      repository.deleteAll();
+      // Its changes are committed too, and would stay unsettled for the change feed tests
+      jdbcTemplate.update("DELETE FROM directory_change");
+    }
+  }
+
+  @Test
+  void findExistingIds_ReturnsOnlyStoredIds() {
+    DirectoryEntry saved = repository.save(testEntry);
+
+    List<UUID> existing = repository.findExistingIds(List.of(saved.getId(), UUID.randomUUID()));
+
+    assertEquals(List.of(saved.getId()), existing);
+  }
+
+  @Test
+  void searchByNamePrefix_MatchesCaseInsensitivelyInNameOrder() {
+    repository.save(testEntry);
+    repository.save(entry("johanna Smith", "johanna@example.com"));
+    repository.save(entry("Mary Jones", "mary@example.com"));
+
+    List<DirectoryEntry> found = repository.searchByNamePrefix("joh%", Limit.of(10));
+
+    assertEquals(
+        List.of("johanna Smith", "John Doe"), found.stream().map(DirectoryEntry::getName).toList());
+  }
+
+  @Test
+  void searchByNamePrefix_EscapedWildcard_MatchesLiterally() {
+    repository.save(entry("50% Insurance", "fifty@example.com"));
+    repository.save(entry("500 Insurance", "fivehundred@example.com"));
+
+    List<DirectoryEntry> found = repository.searchByNamePrefix("50\\%%", Limit.of(10));
+
+    assertEquals(1, found.size());
+    assertEquals("50% Insurance", found.get(0).getName());
+  }
+
+  @Test
+  void findByEmailIgnoringCase_DifferentCase_ReturnsEntry() {
+    repository.save(testEntry);
+
+    Optional<DirectoryEntry> found = repository.findByEmailIgnoringCase("JOHN@Example.COM");
+
+    assertTrue(found.isPresent());
+    assertEquals("John Doe", found.get().getName());
+  }
+
+  private static DirectoryEntry entry(String name, String email) {
+    DirectoryEntry entry = new DirectoryEntry();
+    entry.setName(name);
+    entry.setType("individual");
+    entry.setEmail(email);
+    entry.setPhone("555-0000");
+    return entry;
+  }
+
+  private void stampChanges(UUID entryId, Instant changedAt) {
+    jdbcTemplate.update(
+        "UPDATE directory_change SET changed_at = ? WHERE entry_id = ?",
+        Timestamp.from(changedAt),
+        entryId);
+  }
 }
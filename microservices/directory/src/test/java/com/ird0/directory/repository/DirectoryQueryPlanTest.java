@@ -0,0 +1,140 @@
+package com.ird0.directory.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs the Flyway migrations against PostgreSQL, validates the entity mappings against the
+ * resulting schema, and checks with EXPLAIN that the directory queries use the indexes the
+ * migrations create. Skipped when Docker is not available.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DirectoryQueryPlanTest {
+
+  private static final int ENTRIES = 20_000;
+
+  @Container
+  static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  @DynamicPropertySource
+  static void postgresProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+    registry.add("spring.datasource.username", POSTGRES::getUsername);
+    registry.add("spring.datasource.password", POSTGRES::getPassword);
+    registry.add("spring.datasource.driver-class-name", POSTGRES::getDriverClassName);
+    registry.add("spring.flyway.enabled", () -> "true");
+    registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+  }
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @BeforeAll
+  void seed() {
+    jdbcTemplate.update(
+        """
+        INSERT INTO directory_entry (id, name, type, email, phone, version)
+        SELECT gen_random_uuid(),
+               'Name ' || i,
+               (ARRAY['individual', 'family', 'corporate'])[1 + i % 3],
+               'user' || i || '@example.com',
+               '555-' || lpad(i::text, 6, '0'),
+               0
+        FROM generate_series(1, ?) AS i
+        """,
+        ENTRIES);
+    jdbcTemplate.execute("ANALYZE directory_entry");
+  }
+
+  @Test
+  void namePrefixSearch_UsesLowerNamePatternIndex() {
+    assertUsesIndex(
+        "idx_directory_entry_lower_name",
+        "SELECT * FROM directory_entry WHERE lower(name) LIKE 'name 1234%'"
+            + " ORDER BY lower(name), id LIMIT 10");
+  }
+
+  @Test
+  void listingNamePrefix_UsesNamePatternIndex() {
+    // LIKE 'x%' can only use a plain btree under the C collation
+    assertUsesIndex(
+        "idx_directory_entry_name_pattern",
+        "SELECT * FROM directory_entry WHERE name LIKE 'Name 1234%' ORDER BY id LIMIT 51");
+  }
+
+  @Test
+  void fuzzyNameSearch_UsesTrigramIndex() {
+    assertUsesIndex(
+        "idx_directory_entry_name_trgm",
+        "SELECT * FROM directory_entry WHERE 'nmae 1234' <% name"
+            + " ORDER BY word_similarity('nmae 1234', name) DESC, name, id LIMIT 10");
+  }
+
+  @Test
+  void emailLookup_UsesLowerEmailIndex() {
+    assertUsesIndex(
+        "idx_directory_entry_lower_email",
+        "SELECT * FROM directory_entry WHERE lower(email) = lower('USER42@example.com')");
+  }
+
+  @Test
+  void phoneLookup_UsesPhoneIndex() {
+    assertUsesIndex(
+        "idx_directory_entry_phone",
+        "SELECT * FROM directory_entry WHERE phone = '555-000042' ORDER BY name LIMIT 10");
+  }
+
+  @Test
+  void keysetPageByName_UsesNameIdIndexWithoutSort() {
+    String plan =
+        explain(
+            "SELECT * FROM directory_entry WHERE name >= 'Name 5' AND (name > 'Name 5'"
+                + " OR (name = 'Name 5' AND id > '00000000-0000-0000-0000-000000000000'))"
+                + " ORDER BY name, id LIMIT 21");
+
+    assertTrue(plan.contains("idx_directory_entry_name_id"), plan);
+    // Seeks to the cursor instead of filtering the index from its start
+    assertTrue(plan.matches("(?s).*Index Cond: [^\\n]*name\\)?(::text)? >= .*"), plan);
+    assertFalse(plan.contains("Sort"), plan);
+  }
+
+  @Test
+  void keysetPageByTypeAndName_UsesTypeNameIdIndex() {
+    String plan =
+        explain(
+            "SELECT * FROM directory_entry WHERE type = 'family'"
+                + " AND name >= 'Name 5' AND (name > 'Name 5' OR (name = 'Name 5'"
+                + " AND id > '00000000-0000-0000-0000-000000000000'))"
+                + " ORDER BY name, id LIMIT 21");
+
+    assertTrue(plan.contains("idx_directory_entry_type_name_id"), plan);
+    assertTrue(plan.matches("(?s).*Index Cond: [^\\n]*name\\)?(::text)? >= .*"), plan);
+    assertFalse(plan.contains("Sort"), plan);
+  }
+
+  private void assertUsesIndex(String index, String sql) {
+    String plan = explain(sql);
+    assertTrue(plan.contains(index), plan);
+  }
+
+  private String explain(String sql) {
+    return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+  }
+}
@@ -0,0 +1,170 @@
+package com.ird0.directory.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ird0.directory.dto.BulkItemResult;
+import com.ird0.directory.dto.BulkItemResult.Status;
+import com.ird0.directory.dto.ImportResult;
+import com.ird0.directory.model.DirectoryEntry;
+import com.ird0.directory.repository.DirectoryEntryRepository;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+@ExtendWith(MockitoExtension.class)
+class CsvBatchWriterTest {
+
+  @Mock private DirectoryEntryRepository repository;
+
+  @Mock private DirectoryChangeFeedService changeFeed;
+
+  @Mock private NamedParameterJdbcTemplate jdbcTemplate;
+
+  @InjectMocks private CsvBatchWriter batchWriter;
+
+  private DirectoryEntry stored;
+
+  @BeforeEach
+  void setUp() {
+    stored = entry("John Doe", "john@example.com");
+    stored.setId(UUID.randomUUID());
+  }
+
+  @Test
+  void writeBatch_NewChangedAndUnchanged_WritesOneJdbcBatchEach() {
+    DirectoryEntry created = entry("Jane Doe", "jane@example.com");
+    DirectoryEntry changed = entry("John Updated", "john@example.com");
+    DirectoryEntry unchanged = entry("Mary Jones", "mary@example.com");
+    DirectoryEntry storedMary = entry("Mary Jones", "mary@example.com");
+    storedMary.setId(UUID.randomUUID());
+    when(repository.findByEmailIn(
+            List.of("jane@example.com", "john@example.com", "mary@example.com")))
+        .thenReturn(List.of(stored, storedMary));
+    when(jdbcTemplate.batchUpdate(eq(CsvBatchWriter.INSERT_SQL), any(SqlParameterSource[].class)))
+        .thenReturn(new int[] {1});
+
+    List<BulkItemResult> results = batchWriter.writeBatch(List.of(created, changed, unchanged));
+
+    assertEquals(
+        List.of(Status.CREATED, Status.UPDATED, Status.UNCHANGED),
+        results.stream().map(BulkItemResult::status).toList());
+    assertNotNull(results.get(0).id());
+    assertEquals(stored.getId(), results.get(1).id());
+    ArgumentCaptor<SqlParameterSource[]> updates =
+        ArgumentCaptor.forClass(SqlParameterSource[].class);
+    verify(jdbcTemplate).batchUpdate(eq(CsvBatchWriter.UPDATE_SQL), updates.capture());
+    assertEquals(1, updates.getValue().length);
+    assertEquals("John Updated", updates.getValue()[0].getValue("name"));
+    verify(changeFeed).recordUpserts(List.of(results.get(0).id(), stored.getId()));
+  }
+
+  @Test
+  void writeBatch_WebhookUrl_IsWrittenAndKeptWhenAbsent() {
+    stored.setWebhookUrl("https://old.example.com/webhook");
+    DirectoryEntry storedMary = entry("Mary Jones", "mary@example.com");
+    storedMary.setId(UUID.randomUUID());
+    storedMary.setWebhookUrl("https://mary.example.com/webhook");
+    DirectoryEntry changed = entry("John Doe", "john@example.com");
+    changed.setWebhookUrl("https://new.example.com/webhook");
+    when(repository.findByEmailIn(List.of("john@example.com", "mary@example.com")))
+        .thenReturn(List.of(stored, storedMary));
+
+    List<BulkItemResult> results =
+        batchWriter.writeBatch(List.of(changed, entry("Mary Jones", "mary@example.com")));
+
+    assertEquals(
+        List.of(Status.UPDATED, Status.UNCHANGED),
+        results.stream().map(BulkItemResult::status).toList());
+    ArgumentCaptor<SqlParameterSource[]> updates =
+        ArgumentCaptor.forClass(SqlParameterSource[].class);
+    verify(jdbcTemplate).batchUpdate(eq(CsvBatchWriter.UPDATE_SQL), updates.capture());
+    assertEquals(1, updates.getValue().length);
+    assertEquals("https://new.example.com/webhook", updates.getValue()[0].getValue("webhookUrl"));
+  }
+
+  @Test
+  void writeBatch_SameNewEmailTwice_InsertsLatestValuesOnce() {
+    when(repository.findByEmailIn(List.of("jane@example.com"))).thenReturn(List.of());
+    when(jdbcTemplate.batchUpdate(eq(CsvBatchWriter.INSERT_SQL), any(SqlParameterSource[].class)))
+        .thenReturn(new int[] {1});
+
+    List<BulkItemResult> results =
+        batchWriter.writeBatch(
+            List.of(
+                entry("Jane Doe", "jane@example.com"), entry("Jane Smith", "jane@example.com")));
+
+    assertEquals(Status.CREATED, results.get(0).status());
+    assertEquals(Status.UPDATED, results.get(1).status());
+    assertEquals(results.get(0).id(), results.get(1).id());
+    ArgumentCaptor<SqlParameterSource[]> inserts =
+        ArgumentCaptor.forClass(SqlParameterSource[].class);
+    verify(jdbcTemplate).batchUpdate(eq(CsvBatchWriter.INSERT_SQL), inserts.capture());
+    assertEquals(1, inserts.getValue().length);
+    assertEquals("Jane Smith", inserts.getValue()[0].getValue("name"));
+  }
+
+  @Test
+  void writeBatch_EmailTakenConcurrently_ReportsFailure() {
+    when(repository.findByEmailIn(List.of("jane@example.com"))).thenReturn(List.of());
+    when(jdbcTemplate.batchUpdate(eq(CsvBatchWriter.INSERT_SQL), any(SqlParameterSource[].class)))
+        .thenReturn(new int[] {0});
+
+    List<BulkItemResult> results =
+        batchWriter.writeBatch(List.of(entry("Jane", "jane@example.com")));
+
+    assertEquals(Status.FAILED, results.get(0).status());
+    verify(changeFeed).recordUpserts(List.of());
+  }
+
+  @Test
+  void processBatch_SummarizesOutcomes() {
+    when(repository.findByEmailIn(List.of("jane@example.com", "john@example.com")))
+        .thenReturn(List.of(stored));
+    when(jdbcTemplate.batchUpdate(eq(CsvBatchWriter.INSERT_SQL), any(SqlParameterSource[].class)))
+        .thenReturn(new int[] {1});
+
+    ImportResult result =
+        batchWriter.processBatch(
+            List.of(entry("Jane Doe", "jane@example.com"), entry("John Doe", "john@example.com")));
+
+    assertEquals(new ImportResult(2, 1, 0, 1, 0), result);
+  }
+
+  @Test
+  void deleteBatch_ReportsDeletedAndMissingIds() {
+    UUID missingId = UUID.randomUUID();
+    when(repository.findExistingIds(List.of(stored.getId(), missingId)))
+        .thenReturn(List.of(stored.getId()));
+
+    List<BulkItemResult> results = batchWriter.deleteBatch(List.of(stored.getId(), missingId));
+
+    assertEquals(Status.DELETED, results.get(0).status());
+    assertEquals(Status.NOT_FOUND, results.get(1).status());
+    verify(repository).deleteAllByIdInBatch(anyCollection());
+    verify(changeFeed).recordDeletes(Set.of(stored.getId()));
+  }
+
+  private static DirectoryEntry entry(String name, String email) {
+    DirectoryEntry entry = new DirectoryEntry();
+    entry.setName(name);
+    entry.setType("individual");
+    entry.setEmail(email);
+    entry.setPhone("555-1234");
+    return entry;
+  }
+}
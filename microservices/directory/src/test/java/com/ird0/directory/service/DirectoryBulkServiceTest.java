@@ -0,0 +1,159 @@
+package com.ird0.directory.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ird0.commons.exception.ValidationException;
+import com.ird0.directory.dto.BulkItemResult;
+import com.ird0.directory.dto.BulkItemResult.Status;
+import com.ird0.directory.dto.BulkResult;
+import com.ird0.directory.dto.DirectoryEntryDTO;
+import com.ird0.directory.mapper.DirectoryEntryMapper;
+import com.ird0.directory.model.DirectoryEntry;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DirectoryBulkServiceTest {
+
+  @Mock private CsvBatchWriter batchWriter;
+
+  private DirectoryBulkService bulkService;
+
+  @BeforeEach
+  void setUp() {
+    bulkService =
+        new DirectoryBulkService(
+            batchWriter,
+            Mappers.getMapper(DirectoryEntryMapper.class),
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            new ObjectMapper());
+  }
+
+  @Test
+  void upsert_InvalidItem_IsReportedAndNotWritten() {
+    when(batchWriter.writeBatch(anyList()))
+        .thenAnswer(invocation -> created(invocation.getArgument(0)));
+
+    BulkResult result = bulkService.upsert(List.of(dto("jane@example.com"), dto("not-an-email")));
+
+    assertEquals(2, result.total());
+    assertEquals(1, result.succeeded());
+    assertEquals(Status.CREATED, result.items().get(0).status());
+    assertEquals(Status.INVALID, result.items().get(1).status());
+    assertEquals(1, result.items().get(1).index());
+    assertTrue(result.items().get(1).error().startsWith("email"));
+  }
+
+  @Test
+  void upsert_MoreItemsThanBatchSize_WritesSeveralBatchesInRequestOrder() {
+    when(batchWriter.writeBatch(anyList()))
+        .thenAnswer(invocation -> created(invocation.getArgument(0)));
+    List<DirectoryEntryDTO> items =
+        IntStream.range(0, DirectoryBulkService.BATCH_SIZE + 1)
+            .mapToObj(i -> dto("user" + i + "@example.com"))
+            .toList();
+
+    BulkResult result = bulkService.upsert(items);
+
+    verify(batchWriter, times(2)).writeBatch(anyList());
+    assertEquals(items.size(), result.succeeded());
+    assertEquals(
+        IntStream.range(0, items.size()).boxed().toList(),
+        result.items().stream().map(BulkItemResult::index).toList());
+  }
+
+  @Test
+  void upsert_ClientIds_AreIgnored() {
+    List<DirectoryEntry> written = new ArrayList<>();
+    when(batchWriter.writeBatch(anyList()))
+        .thenAnswer(
+            invocation -> {
+              written.addAll(invocation.getArgument(0));
+              return created(invocation.getArgument(0));
+            });
+    DirectoryEntryDTO withId =
+        new DirectoryEntryDTO(
+            UUID.randomUUID(), "Jane", "individual", "jane@example.com", "555", null, null, null);
+
+    bulkService.upsert(List.of(withId));
+
+    assertNull(written.get(0).getId());
+  }
+
+  @Test
+  void upsert_TooManyItems_ThrowsValidationException() {
+    List<DirectoryEntryDTO> items =
+        Collections.nCopies(DirectoryBulkService.MAX_ITEMS + 1, dto("jane@example.com"));
+
+    assertThrows(ValidationException.class, () -> bulkService.upsert(items));
+    verify(batchWriter, never()).writeBatch(anyList());
+  }
+
+  @Test
+  void upsertNdjson_ParsesOneEntryPerLine() {
+    when(batchWriter.writeBatch(anyList()))
+        .thenAnswer(invocation -> created(invocation.getArgument(0)));
+    String ndjson =
+        """
+        {"name":"Jane","type":"individual","email":"jane@example.com","phone":"555"}
+        {"name":"John","type":"individual","email":"john@example.com","phone":"556"}
+        """;
+
+    BulkResult result =
+        bulkService.upsertNdjson(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+    assertEquals(2, result.succeeded());
+  }
+
+  @Test
+  void upsertNdjson_MalformedLine_ThrowsValidationException() {
+    ByteArrayInputStream body =
+        new ByteArrayInputStream("{\"name\":\"Jane\"}\n{oops\n".getBytes(StandardCharsets.UTF_8));
+
+    assertThrows(ValidationException.class, () -> bulkService.upsertNdjson(body));
+  }
+
+  @Test
+  void delete_DuplicateIds_AreDeletedOnce() {
+    UUID id = UUID.randomUUID();
+    when(batchWriter.deleteBatch(List.of(id)))
+        .thenReturn(List.of(new BulkItemResult(0, id, Status.DELETED, null)));
+
+    BulkResult result = bulkService.delete(List.of(id, id));
+
+    assertEquals(1, result.total());
+    assertEquals(Status.DELETED, result.items().get(0).status());
+  }
+
+  private static List<BulkItemResult> created(List<DirectoryEntry> batch) {
+    return IntStream.range(0, batch.size())
+        .mapToObj(i -> new BulkItemResult(i, UUID.randomUUID(), Status.CREATED, null))
+        .toList();
+  }
+
+  private static DirectoryEntryDTO dto(String email) {
+    return new DirectoryEntryDTO(
+        null, "Jane Doe", "individual", email, "555-1234", null, null, null);
+  }
+}
@@ -0,0 +1,175 @@
+package com.ird0.directory.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.ird0.commons.exception.ValidationException;
+import com.ird0.directory.config.ChangeFeedProperties;
+import com.ird0.directory.dto.ChangeFeedPage;
+import com.ird0.directory.model.DirectoryChange;
+import com.ird0.directory.model.DirectoryEntry;
+import com.ird0.directory.repository.DirectoryChangeRepository;
+import com.ird0.directory.repository.DirectoryEntryRepository;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+
+@ExtendWith(MockitoExtension.class)
+class DirectoryChangeFeedServiceTest {
+
+  @Mock private DirectoryChangeRepository changeRepository;
+
+  @Mock private DirectoryEntryRepository entryRepository;
+
+  @Mock private ApplicationEventPublisher eventPublisher;
+
+  private DirectoryChangeFeedService changeFeedService;
+
+  private DirectoryEntry testEntry;
+
+  @BeforeEach
+  void setUp() {
+    changeFeedService =
+        new DirectoryChangeFeedService(
+            changeRepository, entryRepository, new ChangeFeedProperties(), eventPublisher);
+
+    testEntry = new DirectoryEntry();
+    testEntry.setId(UUID.randomUUID());
+    testEntry.setName("John Doe");
+  }
+
+  @Test
+  void recordDelete_SavesTombstoneAndPublishesEvent() {
+    UUID id = testEntry.getId();
+
+    changeFeedService.recordDelete(id);
+
+    verify(changeRepository).saveAll(anyList());
+    verify(eventPublisher)
+        .publishEvent(new DirectoryEntriesChangedEvent(DirectoryChange.Type.DELETE, List.of(id)));
+  }
+
+  @Test
+  void recordUpserts_NoIds_RecordsNothing() {
+    changeFeedService.recordUpserts(List.of());
+
+    verifyNoInteractions(changeRepository, eventPublisher);
+  }
+
+  @Test
+  void readChanges_NoCursor_ReturnsHeadOnly() {
+    when(changeRepository.findFirstUnsettledSequence(any())).thenReturn(null);
+    when(changeRepository.findHeadSequence()).thenReturn(42L);
+
+    ChangeFeedPage<DirectoryEntry> page = changeFeedService.readChanges(null, 10);
+
+    assertTrue(page.changes().isEmpty());
+    assertEquals(42L, page.nextCursor());
+  }
+
+  @Test
+  void readChanges_NoCursorWithUnsettledChange_ReturnsHeadBelowIt() {
+    when(changeRepository.findFirstUnsettledSequence(any())).thenReturn(40L);
+
+    ChangeFeedPage<DirectoryEntry> page = changeFeedService.readChanges(null, 10);
+
+    assertEquals(39L, page.nextCursor());
+  }
+
+  @Test
+  void readChanges_UnsettledChange_StopsBelowIt() {
+    when(changeRepository.findFirstUnsettledSequence(any())).thenReturn(6L);
+    when(changeRepository.findSince(5L, 6L, Limit.of(11))).thenReturn(List.of());
+
+    ChangeFeedPage<DirectoryEntry> page = changeFeedService.readChanges(5L, 10);
+
+    assertTrue(page.changes().isEmpty());
+    assertEquals(5L, page.nextCursor());
+  }
+
+  @Test
+  void readChanges_SameEntryTwice_KeepsLatestChangeOnly() {
+    UUID id = testEntry.getId();
+    when(changeRepository.findFirstUnsettledSequence(any())).thenReturn(null);
+    when(changeRepository.findSince(5L, Long.MAX_VALUE, Limit.of(11)))
+        .thenReturn(
+            List.of(
+                change(6, id, DirectoryChange.Type.UPSERT),
+                change(7, id, DirectoryChange.Type.UPSERT)));
+    when(entryRepository.findAllById(List.of(id))).thenReturn(List.of(testEntry));
+
+    ChangeFeedPage<DirectoryEntry> page = changeFeedService.readChanges(5L, 10);
+
+    assertEquals(1, page.changes().size());
+    assertEquals(7L, page.changes().get(0).sequence());
+    assertEquals(testEntry, page.changes().get(0).entry());
+    assertEquals(7L, page.nextCursor());
+    assertFalse(page.hasMore());
+  }
+
+  @Test
+  void readChanges_UpsertOfDeletedEntry_ReturnsTombstone() {
+    UUID goneId = UUID.randomUUID();
+    when(changeRepository.findSince(eq(0L), anyLong(), any()))
+        .thenReturn(List.of(change(1, goneId, DirectoryChange.Type.UPSERT)));
+    when(entryRepository.findAllById(List.of(goneId))).thenReturn(List.of());
+
+    ChangeFeedPage<DirectoryEntry> page = changeFeedService.readChanges(0L, 10);
+
+    assertEquals(DirectoryChange.Type.DELETE, page.changes().get(0).type());
+    assertNull(page.changes().get(0).entry());
+  }
+
+  @Test
+  void readChanges_MoreRowsThanLimit_TrimsAndFlagsMore() {
+    when(changeRepository.findSince(eq(0L), anyLong(), eq(Limit.of(2))))
+        .thenReturn(
+            List.of(
+                change(1, UUID.randomUUID(), DirectoryChange.Type.DELETE),
+                change(2, UUID.randomUUID(), DirectoryChange.Type.DELETE)));
+    when(entryRepository.findAllById(List.of())).thenReturn(List.of());
+
+    ChangeFeedPage<DirectoryEntry> page = changeFeedService.readChanges(0L, 1);
+
+    assertEquals(1, page.changes().size());
+    assertEquals(1L, page.nextCursor());
+    assertTrue(page.hasMore());
+  }
+
+  @Test
+  void readChanges_NothingNew_KeepsCursor() {
+    when(changeRepository.findSince(eq(9L), anyLong(), any())).thenReturn(List.of());
+
+    ChangeFeedPage<DirectoryEntry> page = changeFeedService.readChanges(9L, 10);
+
+    assertTrue(page.changes().isEmpty());
+    assertEquals(9L, page.nextCursor());
+  }
+
+  @Test
+  void readChanges_NegativeCursor_ThrowsValidationException() {
+    assertThrows(ValidationException.class, () -> changeFeedService.readChanges(-1L, 10));
+  }
+
+  private static DirectoryChange change(long sequence, UUID entryId, DirectoryChange.Type type) {
+    DirectoryChange change = new DirectoryChange(entryId, type);
+    change.setSequence(sequence);
+    return change;
+  }
+}
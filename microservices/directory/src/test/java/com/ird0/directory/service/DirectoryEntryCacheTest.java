@@ -0,0 +1,91 @@
+package com.ird0.directory.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.ird0.directory.config.EntryCacheProperties;
+import com.ird0.directory.model.DirectoryChange;
+import com.ird0.directory.model.DirectoryEntry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DirectoryEntryCacheTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private DirectoryEntryCache cache;
+  private DirectoryEntry testEntry;
+  private AtomicInteger loads;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    cache = new DirectoryEntryCache(new EntryCacheProperties(), meterRegistry);
+    loads = new AtomicInteger();
+
+    testEntry = new DirectoryEntry();
+    testEntry.setId(UUID.randomUUID());
+    testEntry.setName("John Doe");
+    testEntry.setEmail("john@example.com");
+    testEntry.setVersion(2L);
+  }
+
+  @Test
+  void get_RepeatedLookup_LoadsOnceAndCountsHit() {
+    cache.get(testEntry.getId(), this::load);
+    cache.get(testEntry.getId(), this::load);
+
+    assertEquals(1, loads.get());
+    assertEquals(
+        1.0,
+        meterRegistry
+            .get("cache.gets")
+            .tag("cache", DirectoryEntryCache.METRICS_NAME)
+            .tag("result", "hit")
+            .functionCounter()
+            .count());
+  }
+
+  @Test
+  void get_ReturnsCopyThatDoesNotLeakIntoCache() {
+    DirectoryEntry first = cache.get(testEntry.getId(), this::load).orElseThrow();
+    first.setName("Modified");
+
+    DirectoryEntry second = cache.get(testEntry.getId(), this::load).orElseThrow();
+
+    assertNotSame(first, second);
+    assertEquals("John Doe", second.getName());
+    assertEquals(2L, second.getVersion());
+  }
+
+  @Test
+  void get_MissingEntry_IsNotCached() {
+    UUID unknownId = UUID.randomUUID();
+
+    assertTrue(cache.get(unknownId, this::load).isEmpty());
+    assertTrue(cache.get(unknownId, this::load).isEmpty());
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void onEntriesChanged_InvalidatesWrittenEntries() {
+    cache.get(testEntry.getId(), this::load);
+
+    cache.onEntriesChanged(
+        new DirectoryEntriesChangedEvent(DirectoryChange.Type.UPSERT, List.of(testEntry.getId())));
+    cache.get(testEntry.getId(), this::load);
+
+    assertEquals(2, loads.get());
+  }
+
+  private Optional<DirectoryEntry> load(UUID id) {
+    loads.incrementAndGet();
+    return id.equals(testEntry.getId()) ? Optional.of(testEntry) : Optional.empty();
+  }
+}
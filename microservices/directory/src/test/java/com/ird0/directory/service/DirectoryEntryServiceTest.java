@@ -1,31 +1,51 @@
 package com.ird0.directory.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.ird0.commons.exception.EntityNotFoundException;
+import com.ird0.commons.exception.ValidationException;
+import com.ird0.directory.config.EntryCacheProperties;
+import com.ird0.directory.dto.BatchLookupResult;
+import com.ird0.directory.dto.CursorPage;
 import com.ird0.directory.model.DirectoryEntry;
 import com.ird0.directory.repository.DirectoryEntryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
 
 @ExtendWith(MockitoExtension.class)
 class DirectoryEntryServiceTest {
 
   @Mock private DirectoryEntryRepository repository;
 
+  @Mock private DirectoryChangeFeedService changeFeed;
+
+  @Mock private EntryExistenceFilter existenceFilter;
+
+  @Spy
+  private DirectoryEntryCache cache =
+      new DirectoryEntryCache(new EntryCacheProperties(), new SimpleMeterRegistry());
+
   @InjectMocks private DirectoryEntryService service;
 
   private DirectoryEntry testEntry;
@@ -43,14 +63,86 @@ class DirectoryEntryServiceTest {
   }
 
   @Test
-  void getAll_ReturnsAllEntries() {
-    when(repository.findAll()).thenReturn(List.of(testEntry));
+  void findPage_FewerRowsThanLimit_ReturnsLastPage() {
+    when(repository.findBy(any(Specification.class), any())).thenReturn(List.of(testEntry));
 
-    List<DirectoryEntry> result = service.getAll();
+    CursorPage<DirectoryEntry> page = service.findPage(null, null, DirectoryEntrySort.ID, null, 10);
 
-    assertNotNull(result);
-    assertEquals(1, result.size());
-    assertEquals("John Doe", result.get(0).getName());
+    assertEquals(1, page.content().size());
+    assertEquals("John Doe", page.content().get(0).getName());
+    assertFalse(page.hasNext());
+    assertNull(page.nextCursor());
+  }
+
+  @Test
+  void findPage_MoreRowsThanLimit_TrimsPageAndReturnsCursor() {
+    DirectoryEntry second = new DirectoryEntry();
+    second.setId(UUID.randomUUID());
+    second.setName("Zoe Doe");
+    when(repository.findBy(any(Specification.class), any())).thenReturn(List.of(testEntry, second));
+
+    CursorPage<DirectoryEntry> page =
+        service.findPage(null, null, DirectoryEntrySort.NAME, null, 1);
+
+    assertEquals(1, page.content().size());
+    assertTrue(page.hasNext());
+    KeysetCursor cursor = KeysetCursor.decode(page.nextCursor(), DirectoryEntrySort.NAME);
+    assertEquals(testId, cursor.id());
+    assertEquals("John Doe", cursor.name());
+  }
+
+  @Test
+  void findPage_CursorFromOtherSort_ThrowsValidationException() {
+    String idCursor = KeysetCursor.after(DirectoryEntrySort.ID, testEntry).encode();
+
+    assertThrows(
+        ValidationException.class,
+        () -> service.findPage(null, null, DirectoryEntrySort.NAME, idCursor, 10));
+  }
+
+  @Test
+  void findPage_MalformedCursor_ThrowsValidationException() {
+    assertThrows(
+        ValidationException.class,
+        () -> service.findPage(null, null, DirectoryEntrySort.ID, "not-a-cursor", 10));
+  }
+
+  @Test
+  void findPage_NonPositiveLimit_ThrowsValidationException() {
+    assertThrows(
+        ValidationException.class,
+        () -> service.findPage(null, null, DirectoryEntrySort.ID, null, 0));
+  }
+
+  @Test
+  void getByIds_MixedIds_ReturnsFoundAndMissingInRequestOrder() {
+    UUID missingId = UUID.randomUUID();
+    when(repository.findAllById(any())).thenReturn(List.of(testEntry));
+
+    BatchLookupResult<DirectoryEntry> result =
+        service.getByIds(List.of(missingId, testId, missingId));
+
+    assertEquals(List.of(testEntry), result.found());
+    assertEquals(List.of(missingId), result.missing());
+  }
+
+  @Test
+  void findExistingIds_ReturnsIdsOnly() {
+    UUID missingId = UUID.randomUUID();
+    when(repository.findExistingIds(any())).thenReturn(List.of(testId));
+
+    BatchLookupResult<UUID> result = service.findExistingIds(List.of(testId, missingId));
+
+    assertEquals(List.of(testId), result.found());
+    assertEquals(List.of(missingId), result.missing());
+  }
+
+  @Test
+  void getByIds_TooManyIds_ThrowsValidationException() {
+    List<UUID> ids =
+        Stream.generate(UUID::randomUUID).limit(DirectoryEntryService.MAX_BATCH_SIZE + 1L).toList();
+
+    assertThrows(ValidationException.class, () -> service.getByIds(ids));
   }
 
   @Test
@@ -64,6 +156,16 @@ class DirectoryEntryServiceTest {
     assertEquals("John Doe", result.getName());
   }
 
+  @Test
+  void getById_RepeatedLookup_HitsCache() {
+    when(repository.findById(testId)).thenReturn(Optional.of(testEntry));
+
+    service.getById(testId);
+    service.getById(testId);
+
+    verify(repository, times(1)).findById(testId);
+  }
+
   @Test
   void getById_NonExistingId_ThrowsException() {
     UUID unknownId = UUID.randomUUID();
@@ -72,6 +174,37 @@ class DirectoryEntryServiceTest {
     assertThrows(EntityNotFoundException.class, () -> service.getById(unknownId));
   }
 
+  @Test
+  void exists_FilterRulesOutId_SkipsDatabase() {
+    when(existenceFilter.mightContain(testId)).thenReturn(false);
+
+    assertFalse(service.exists(testId));
+    verify(repository, never()).existsById(any());
+  }
+
+  @Test
+  void exists_FilterPositive_ConfirmsWithDatabase() {
+    when(existenceFilter.mightContain(testId)).thenReturn(true);
+    when(repository.existsById(testId)).thenReturn(false);
+
+    assertFalse(service.exists(testId));
+  }
+
+  @Test
+  void getVersion_ExistingId_ReturnsVersionOnly() {
+    when(repository.findVersionById(testId)).thenReturn(Optional.of(7L));
+
+    assertEquals(7L, service.getVersion(testId));
+    verify(repository, never()).findById(any());
+  }
+
+  @Test
+  void getVersion_NonExistingId_ThrowsException() {
+    when(repository.findVersionById(testId)).thenReturn(Optional.empty());
+
+    assertThrows(EntityNotFoundException.class, () -> service.getVersion(testId));
+  }
+
   @Test
   void create_ValidEntry_ReturnsSavedEntry() {
     DirectoryEntry newEntry = new DirectoryEntry();
@@ -95,6 +228,7 @@ class DirectoryEntryServiceTest {
     assertNotNull(result.getId());
     assertEquals("Jane Doe", result.getName());
     verify(repository, times(1)).save(any(DirectoryEntry.class));
+    verify(changeFeed).recordUpsert(savedEntry.getId());
   }
 
   @Test
@@ -115,6 +249,7 @@ class DirectoryEntryServiceTest {
     assertEquals("John Updated", result.getName());
     assertEquals("corporate", result.getType());
     verify(repository, times(1)).save(any(DirectoryEntry.class));
+    verify(changeFeed).recordUpsert(testId);
   }
 
   @Test
@@ -129,9 +264,22 @@ class DirectoryEntryServiceTest {
   }
 
   @Test
-  void delete_ExistingId_CallsRepositoryDelete() {
+  void delete_ExistingId_DeletesAndRecordsTombstone() {
+    when(repository.findById(testId)).thenReturn(Optional.of(testEntry));
+
+    service.delete(testId);
+
+    verify(repository, times(1)).delete(testEntry);
+    verify(changeFeed).recordDelete(testId);
+  }
+
+  @Test
+  void delete_NonExistingId_RecordsNothing() {
+    when(repository.findById(testId)).thenReturn(Optional.empty());
+
     service.delete(testId);
 
-    verify(repository, times(1)).deleteById(testId);
+    verify(repository, never()).delete(any(DirectoryEntry.class));
+    verify(changeFeed, never()).recordDelete(any());
   }
 }
@@ -0,0 +1,127 @@
+package com.ird0.directory.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ird0.directory.dto.DirectoryEntryDTO;
+import com.ird0.directory.dto.ImportResult;
+import com.ird0.directory.mapper.DirectoryEntryMapper;
+import com.ird0.directory.model.DirectoryEntry;
+import com.ird0.directory.repository.DirectoryEntryRepository;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DirectoryExportServiceTest {
+
+  @Mock private DirectoryEntryRepository repository;
+
+  @Mock private EntityManager entityManager;
+
+  @Mock private CsvBatchWriter batchWriter;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private DirectoryExportService exportService;
+
+  private DirectoryEntry first;
+  private DirectoryEntry second;
+
+  @BeforeEach
+  void setUp() {
+    DirectoryEntryMapper mapper = Mappers.getMapper(DirectoryEntryMapper.class);
+    exportService = new DirectoryExportService(repository, mapper, objectMapper, entityManager);
+
+    first = entry("John Doe", "john@example.com", "12 Main St, Springfield", "VIP \"gold\"");
+    second = entry("Jane Roe", "jane@example.com", null, null);
+  }
+
+  @Test
+  void export_Ndjson_WritesOneDtoPerLineAndDetachesEntities() throws Exception {
+    when(repository.streamAll()).thenReturn(Stream.of(first, second));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    long count = exportService.export(ExportFormat.NDJSON, false, out);
+
+    String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(2, count);
+    assertEquals(2, lines.length);
+    DirectoryEntryDTO dto = objectMapper.readValue(lines[0], DirectoryEntryDTO.class);
+    assertEquals(first.getId(), dto.id());
+    assertEquals("john@example.com", dto.email());
+    verify(entityManager, times(2)).detach(any(DirectoryEntry.class));
+  }
+
+  @Test
+  void export_Csv_RoundTripsThroughCsvImport() throws Exception {
+    when(repository.streamAll()).thenReturn(Stream.of(first, second));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    exportService.export(ExportFormat.CSV, false, out);
+
+    List<DirectoryEntry> imported = new ArrayList<>();
+    when(batchWriter.processBatch(any()))
+        .thenAnswer(
+            invocation -> {
+              List<DirectoryEntry> batch = invocation.getArgument(0);
+              imported.addAll(batch);
+              return new ImportResult(batch.size(), batch.size(), 0, 0, 0);
+            });
+    ImportResult result =
+        new CsvImportService(batchWriter)
+            .importFromCsvWithBatching(new ByteArrayInputStream(out.toByteArray()));
+
+    assertEquals(2, result.newRows());
+    assertEquals(0, result.failedRows());
+    assertEquals(first.getName(), imported.get(0).getName());
+    assertEquals(first.getAddress(), imported.get(0).getAddress());
+    assertEquals(first.getAdditionalInfo(), imported.get(0).getAdditionalInfo());
+    assertEquals(second.getEmail(), imported.get(1).getEmail());
+    assertNull(imported.get(1).getAddress());
+  }
+
+  @Test
+  void export_Gzip_CompressesOutput() throws Exception {
+    when(repository.streamAll()).thenReturn(Stream.of(first));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    exportService.export(ExportFormat.NDJSON, true, out);
+
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+      String content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+      assertEquals(
+          first.getEmail(),
+          objectMapper.readValue(content.trim(), DirectoryEntryDTO.class).email());
+    }
+  }
+
+  private DirectoryEntry entry(String name, String email, String address, String info) {
+    DirectoryEntry entry = new DirectoryEntry();
+    entry.setId(UUID.randomUUID());
+    entry.setName(name);
+    entry.setType("individual");
+    entry.setEmail(email);
+    entry.setPhone("555-1234");
+    entry.setAddress(address);
+    entry.setAdditionalInfo(info);
+    return entry;
+  }
+}
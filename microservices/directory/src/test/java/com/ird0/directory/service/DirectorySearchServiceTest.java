@@ -0,0 +1,106 @@
+package com.ird0.directory.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ird0.commons.exception.ValidationException;
+import com.ird0.directory.model.DirectoryEntry;
+import com.ird0.directory.repository.DirectoryEntryRepository;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+@ExtendWith(MockitoExtension.class)
+class DirectorySearchServiceTest {
+
+  @Mock private DirectoryEntryRepository repository;
+
+  @InjectMocks private DirectorySearchService searchService;
+
+  private DirectoryEntry testEntry;
+
+  @BeforeEach
+  void setUp() {
+    testEntry = new DirectoryEntry();
+    testEntry.setName("John Doe");
+    testEntry.setType("individual");
+    testEntry.setEmail("john@example.com");
+    testEntry.setPhone("555-1234");
+  }
+
+  @Test
+  void searchByName_Prefix_LowercasesAndEscapesPattern() {
+    when(repository.searchByNamePrefix("50\\%\\_a%", Limit.of(10))).thenReturn(List.of(testEntry));
+
+    List<DirectoryEntry> result = searchService.searchByName(" 50%_A ", false, 10);
+
+    assertEquals(List.of(testEntry), result);
+  }
+
+  @Test
+  void searchByName_Fuzzy_UsesSimilarityQuery() {
+    when(repository.searchByNameSimilarity("jhon", 5)).thenReturn(List.of(testEntry));
+
+    List<DirectoryEntry> result = searchService.searchByName("jhon", true, 5);
+
+    assertEquals(List.of(testEntry), result);
+  }
+
+  @Test
+  void searchByName_FuzzyQueryTooShort_ThrowsValidationException() {
+    assertThrows(ValidationException.class, () -> searchService.searchByName("jo", true, 10));
+
+    verify(repository, never()).searchByNameSimilarity(anyString(), anyInt());
+  }
+
+  @Test
+  void searchByName_BlankQuery_ThrowsValidationException() {
+    assertThrows(ValidationException.class, () -> searchService.searchByName("  ", false, 10));
+  }
+
+  @Test
+  void searchByName_LimitAboveMax_IsCapped() {
+    when(repository.searchByNamePrefix("j%", Limit.of(DirectorySearchService.MAX_LIMIT)))
+        .thenReturn(List.of());
+
+    assertTrue(searchService.searchByName("j", false, 10_000).isEmpty());
+  }
+
+  @Test
+  void searchByName_NonPositiveLimit_ThrowsValidationException() {
+    assertThrows(ValidationException.class, () -> searchService.searchByName("john", false, 0));
+  }
+
+  @Test
+  void searchByEmail_Found_ReturnsSingleEntry() {
+    when(repository.findByEmailIgnoringCase("JOHN@example.com")).thenReturn(Optional.of(testEntry));
+
+    assertEquals(List.of(testEntry), searchService.searchByEmail("JOHN@example.com"));
+  }
+
+  @Test
+  void searchByEmail_NotFound_ReturnsEmptyList() {
+    when(repository.findByEmailIgnoringCase("nobody@example.com")).thenReturn(Optional.empty());
+
+    assertTrue(searchService.searchByEmail("nobody@example.com").isEmpty());
+  }
+
+  @Test
+  void searchByPhone_PassesCappedLimit() {
+    when(repository.findByPhoneOrderByName("555-1234", Limit.of(3))).thenReturn(List.of(testEntry));
+
+    assertEquals(List.of(testEntry), searchService.searchByPhone("555-1234", 3));
+  }
+}
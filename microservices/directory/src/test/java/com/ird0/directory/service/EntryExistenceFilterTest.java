@@ -0,0 +1,129 @@
+package com.ird0.directory.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+import com.ird0.directory.config.ExistenceFilterProperties;
+import com.ird0.directory.dto.ChangeFeedPage;
+import com.ird0.directory.dto.DirectoryChangeEvent;
+import com.ird0.directory.model.DirectoryChange;
+import com.ird0.directory.model.DirectoryEntry;
+import com.ird0.directory.model.EntryIds;
+import com.ird0.directory.repository.DirectoryEntryRepository;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class EntryExistenceFilterTest {
+
+  @Mock private DirectoryEntryRepository repository;
+
+  @Mock private DirectoryChangeFeedService changeFeed;
+
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private EntryExistenceFilter existenceFilter;
+
+  private final UUID storedId = UUID.randomUUID();
+
+  @BeforeEach
+  void setUp() {
+    ExistenceFilterProperties properties = new ExistenceFilterProperties();
+    properties.setExpectedEntries(1_000);
+    existenceFilter =
+        new EntryExistenceFilter(repository, changeFeed, properties, transactionManager);
+    lenient()
+        .when(changeFeed.readChanges(null, 1))
+        .thenReturn(new ChangeFeedPage<>(List.of(), 5L, false));
+  }
+
+  @Test
+  void mightContain_BeforeFirstBuild_ReportsEveryIdAsPossible() {
+    assertTrue(existenceFilter.mightContain(UUID.randomUUID()));
+  }
+
+  @Test
+  void rebuild_RejectsUnknownIdsAndKeepsStoredOnes() {
+    when(repository.count()).thenReturn(1L);
+    when(repository.streamAllIds()).thenReturn(Stream.of(storedId));
+
+    existenceFilter.rebuild();
+
+    assertTrue(existenceFilter.mightContain(storedId));
+    assertFalse(existenceFilter.mightContain(UUID.randomUUID()));
+  }
+
+  @Test
+  void onEntriesChanged_Upsert_AddsIdsToBuiltFilter() {
+    when(repository.count()).thenReturn(0L);
+    when(repository.streamAllIds()).thenReturn(Stream.empty());
+    existenceFilter.rebuild();
+    UUID createdId = UUID.randomUUID();
+
+    existenceFilter.onEntriesChanged(
+        new DirectoryEntriesChangedEvent(DirectoryChange.Type.UPSERT, List.of(createdId)));
+
+    assertTrue(existenceFilter.mightContain(createdId));
+  }
+
+  @Test
+  void rebuild_LocalWriteCommittingAfterScan_IsKept() {
+    UUID writtenId = UUID.randomUUID();
+    when(repository.count()).thenReturn(0L);
+    when(repository.streamAllIds()).thenReturn(Stream.empty());
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      // Added before the rebuild starts, committed only after its scan
+      existenceFilter.onEntriesChanged(
+          new DirectoryEntriesChangedEvent(DirectoryChange.Type.UPSERT, List.of(writtenId)));
+      existenceFilter.rebuild();
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertTrue(existenceFilter.mightContain(writtenId));
+  }
+
+  @Test
+  void sync_AddsIdsWrittenOnOtherReplicasSinceTheScan() {
+    UUID remoteId = UUID.randomUUID();
+    when(repository.count()).thenReturn(0L);
+    when(repository.streamAllIds()).thenReturn(Stream.empty());
+    existenceFilter.rebuild();
+    when(changeFeed.readChanges(5L, DirectoryChangeFeedService.MAX_LIMIT))
+        .thenReturn(
+            new ChangeFeedPage<DirectoryEntry>(
+                List.of(
+                    new DirectoryChangeEvent<>(
+                        6L, remoteId, DirectoryChange.Type.UPSERT, new DirectoryEntry())),
+                6L,
+                false));
+
+    existenceFilter.sync();
+
+    assertTrue(existenceFilter.mightContain(remoteId));
+  }
+
+  @Test
+  void mightContain_RecentlyCreatedUnknownId_IsPossible() {
+    when(repository.count()).thenReturn(0L);
+    when(repository.streamAllIds()).thenReturn(Stream.empty());
+    existenceFilter.rebuild();
+
+    assertTrue(existenceFilter.mightContain(EntryIds.next()));
+    assertFalse(existenceFilter.mightContain(UUID.randomUUID()));
+  }
+}
@@ -0,0 +1,54 @@
+package com.ird0.directory.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class UuidBloomFilterTest {
+
+  @Test
+  void mightContain_AddedIds_NeverFalseNegative() {
+    UuidBloomFilter filter = new UuidBloomFilter(10_000, 0.01);
+    List<UUID> ids = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      UUID id = UUID.randomUUID();
+      ids.add(id);
+      filter.put(id);
+    }
+
+    assertTrue(ids.stream().allMatch(filter::mightContain));
+  }
+
+  @Test
+  void mightContain_UnknownIds_StaysNearConfiguredFalsePositiveRate() {
+    UuidBloomFilter filter = new UuidBloomFilter(10_000, 0.01);
+    for (int i = 0; i < 10_000; i++) {
+      filter.put(UUID.randomUUID());
+    }
+
+    long falsePositives = 0;
+    for (int i = 0; i < 100_000; i++) {
+      if (filter.mightContain(UUID.randomUUID())) {
+        falsePositives++;
+      }
+    }
+
+    assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+  }
+
+  @Test
+  void isSaturated_AfterCapacityExceeded_ReturnsTrue() {
+    UuidBloomFilter filter = new UuidBloomFilter(2, 0.01);
+    filter.put(UUID.randomUUID());
+    filter.put(UUID.randomUUID());
+    assertFalse(filter.isSaturated());
+
+    filter.put(UUID.randomUUID());
+
+    assertTrue(filter.isSaturated());
+  }
+}
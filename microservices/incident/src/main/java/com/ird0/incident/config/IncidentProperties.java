@@ -1,5 +1,6 @@
 package com.ird0.incident.config;
 
+import java.time.Duration;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
@@ -12,6 +13,9 @@ public class IncidentProperties {
   private Api api = new Api();
   private Directory directory = new Directory();
   private Notification notification = new Notification();
+  private ReferenceNumber referenceNumber = new ReferenceNumber();
+  private BulkImport bulkImport = new BulkImport();
+  private View view = new View();
 
   @Data
   public static class Api {
@@ -25,11 +29,101 @@ public class IncidentProperties {
     private String insurersUrl = "http://localhost:8084";
     private String expertsUrl = "http://localhost:8082";
     private String providersUrl = "http://localhost:8083";
+
+    /** Bound on all the directory checks of one request together. */
+    private Duration validationTimeout = Duration.ofSeconds(5);
+
+    private Cache cache = new Cache();
+  }
+
+  @Data
+  public static class Cache {
+    private long maximumSize = 10_000;
+    private Duration timeToLive = Duration.ofMinutes(10);
+
+    /** Kept short so that an entry created right after a failed lookup is soon accepted. */
+    private Duration negativeTimeToLive = Duration.ofSeconds(30);
+
+    private ChangeFeed changeFeed = new ChangeFeed();
+  }
+
+  @Data
+  public static class ChangeFeed {
+    private boolean enabled = false;
+    private long fixedDelay = 5000;
+    private int batchSize = 500;
   }
 
   @Data
   public static class Notification {
     private String url = "http://localhost:8086";
     private boolean enabled = true;
+    private Outbox outbox = new Outbox();
+    private WebhookCache webhookCache = new WebhookCache();
+  }
+
+  @Data
+  public static class Outbox {
+    private long fixedDelay = 1000;
+    private int batchSize = 100;
+    private Duration claimTimeout = Duration.ofMinutes(5);
+    private Duration initialRetryDelay = Duration.ofSeconds(1);
+    private Duration maxRetryDelay = Duration.ofMinutes(5);
+  }
+
+  @Data
+  public static class WebhookCache {
+    private long maximumSize = 1_000;
+    private Duration timeToLive = Duration.ofMinutes(10);
+  }
+
+  @Data
+  public static class ReferenceNumber {
+    /**
+     * Numbers reserved per database round trip. Fixed when a year's sequence is created; later
+     * changes apply from the next year on.
+     */
+    private int blockSize = 50;
+  }
+
+  @Data
+  public static class BulkImport {
+    /** Rows validated against the directory, numbered and inserted together. */
+    private int batchSize = 1000;
+
+    private Drop drop = new Drop();
+  }
+
+  @Data
+  public static class Drop {
+    private boolean enabled = false;
+
+    /** Where import files are dropped, e.g. the local copy of an SFTP upload directory. */
+    private String directory = "../../data/incident-imports";
+
+    private long fixedDelay = 60000;
+  }
+
+  @Data
+  public static class View {
+    private long fixedDelay = 500;
+
+    /** Events read per projection transaction. */
+    private int batchSize = 500;
+
+    /**
+     * How long a hole in the event log holds the projection back before it moves past it. The hole
+     * is still looked for afterwards, for {@code gapRetention}.
+     */
+    private Duration gapTimeout = Duration.ofSeconds(10);
+
+    /**
+     * How long a skipped hole is looked for before it is taken as rolled back. Must exceed the
+     * longest transaction that writes events; a later commit only reaches the view by a rebuild.
+     */
+    private Duration gapRetention = Duration.ofHours(1);
+
+    /** Policyholders or insurers whose names are looked up together. */
+    private int nameBatchSize = 500;
   }
 }
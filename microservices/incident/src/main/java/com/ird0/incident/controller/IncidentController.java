@@ -1,33 +1,54 @@
 package com.ird0.incident.controller;
 
+import com.ird0.commons.exception.ValidationException;
+import com.ird0.incident.dto.BulkResult;
+import com.ird0.incident.dto.BulkStatusUpdateRequest;
 import com.ird0.incident.dto.CommentRequest;
 import com.ird0.incident.dto.CommentResponse;
 import com.ird0.incident.dto.CreateIncidentRequest;
+import com.ird0.incident.dto.CursorPage;
 import com.ird0.incident.dto.ExpertAssignmentRequest;
+import com.ird0.incident.dto.ImportResult;
 import com.ird0.incident.dto.IncidentEventResponse;
 import com.ird0.incident.dto.IncidentResponse;
+import com.ird0.incident.dto.IncidentStatisticsResponse;
 import com.ird0.incident.dto.IncidentSummaryResponse;
 import com.ird0.incident.dto.StatusUpdateRequest;
 import com.ird0.incident.dto.UpdateInsurerRequest;
 import com.ird0.incident.mapper.IncidentMapper;
+import com.ird0.incident.model.Comment;
 import com.ird0.incident.model.Incident;
+import com.ird0.incident.model.IncidentEvent;
 import com.ird0.incident.model.IncidentStatus;
 import com.ird0.incident.repository.IncidentEventRepository;
+import com.ird0.incident.service.ImportFormat;
+import com.ird0.incident.service.IncidentBulkService;
+import com.ird0.incident.service.IncidentFilter;
+import com.ird0.incident.service.IncidentImportService;
 import com.ird0.incident.service.IncidentService;
+import com.ird0.incident.service.IncidentStatisticsRollup;
+import com.ird0.incident.service.IncidentTimelineService;
+import com.ird0.incident.service.IncidentViewProjection;
+import com.ird0.incident.service.TotalCount;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -47,6 +68,11 @@ import org.springframework.web.bind.annotation.RestController;
 public class IncidentController {
 
   private final IncidentService incidentService;
+  private final IncidentTimelineService timelineService;
+  private final IncidentStatisticsRollup statisticsRollup;
+  private final IncidentViewProjection viewProjection;
+  private final IncidentBulkService bulkService;
+  private final IncidentImportService importService;
   private final IncidentEventRepository eventRepository;
   private final IncidentMapper incidentMapper;
 
@@ -62,23 +88,54 @@ public class IncidentController {
     return ResponseEntity.status(HttpStatus.CREATED).body(incidentMapper.toResponse(incident));
   }
 
-  @Operation(summary = "Get incident by ID", operationId = "getIncidentById")
+  @Operation(
+      summary = "Import incidents from CSV",
+      description =
+          "Streams a CSV body (or NDJSON, one create request per line, with Content-Type"
+              + " application/x-ndjson) of any size and creates one DECLARED incident per valid"
+              + " row. Rows that are malformed or refer to unknown directory entries are counted"
+              + " and skipped. No notifications are sent.",
+      operationId = "importIncidents")
+  @ApiResponse(responseCode = "200", description = "Import completed")
+  @PostMapping(path = "/import", consumes = "text/csv")
+  public ImportResult importCsv(InputStream body, @RequestParam(required = false) UUID createdBy)
+      throws IOException {
+    return importService.importFile(body, ImportFormat.CSV, createdBy);
+  }
+
+  @Operation(hidden = true)
+  @PostMapping(path = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+  public ImportResult importNdjson(InputStream body, @RequestParam(required = false) UUID createdBy)
+      throws IOException {
+    return importService.importFile(body, ImportFormat.NDJSON, createdBy);
+  }
+
+  @Operation(
+      summary = "Get incident by ID",
+      description =
+          "Returns the incident with its expert assignments and comments. The event history is"
+              + " left out unless recentEvents asks for that many of the latest events; the full"
+              + " history is read from /history.",
+      operationId = "getIncidentById")
   @ApiResponse(responseCode = "200", description = "Incident found")
+  @ApiResponse(responseCode = "400", description = "Invalid recentEvents")
   @ApiResponse(responseCode = "404", description = "Incident not found")
   @GetMapping("/{id}")
-  public ResponseEntity<IncidentResponse> getIncident(@PathVariable UUID id) {
-    Incident incident = incidentService.getById(id);
-    return ResponseEntity.ok(incidentMapper.toResponse(incident));
+  public ResponseEntity<IncidentResponse> getIncident(
+      @PathVariable UUID id, @RequestParam(defaultValue = "0") int recentEvents) {
+    Incident incident = incidentService.getDetail(id);
+    return ResponseEntity.ok(toDetailResponse(incident, recentEvents));
   }
 
   @Operation(summary = "Get incident by reference number", operationId = "getIncidentByReference")
   @ApiResponse(responseCode = "200", description = "Incident found")
+  @ApiResponse(responseCode = "400", description = "Invalid recentEvents")
   @ApiResponse(responseCode = "404", description = "Incident not found")
   @GetMapping("/reference/{referenceNumber}")
   public ResponseEntity<IncidentResponse> getIncidentByReference(
-      @PathVariable String referenceNumber) {
+      @PathVariable String referenceNumber, @RequestParam(defaultValue = "0") int recentEvents) {
     Incident incident = incidentService.getByReferenceNumber(referenceNumber);
-    return ResponseEntity.ok(incidentMapper.toResponse(incident));
+    return ResponseEntity.ok(toDetailResponse(incident, recentEvents));
   }
 
   @Operation(summary = "List incidents with filters", operationId = "listIncidents")
@@ -92,13 +149,88 @@ public class IncidentController {
       @RequestParam(required = false) Instant fromDate,
       @RequestParam(required = false) Instant toDate,
       @ParameterObject @PageableDefault(size = 20, sort = "createdAt") Pageable pageable) {
-    Page<Incident> incidents =
+    Page<IncidentSummaryResponse> response =
         incidentService.findWithFilters(
             policyholderId, insurerId, status, type, fromDate, toDate, pageable);
-    Page<IncidentSummaryResponse> response = incidents.map(incidentMapper::toSummaryResponse);
     return ResponseEntity.ok(response);
   }
 
+  @Operation(
+      summary = "Scroll incidents with filters",
+      description =
+          "Keyset-paginated listing, selected by the limit parameter. Pass the nextCursor of a"
+              + " page back as cursor to get the following page; every page costs the same however"
+              + " deep. Totals are only computed when count is exact or estimated.",
+      operationId = "scrollIncidents")
+  @ApiResponse(responseCode = "200", description = "Page of incidents")
+  @ApiResponse(responseCode = "400", description = "Invalid cursor, direction, count or limit")
+  @GetMapping(params = "limit")
+  public ResponseEntity<CursorPage<IncidentSummaryResponse>> scrollIncidents(
+      @RequestParam(required = false) UUID policyholderId,
+      @RequestParam(required = false) UUID insurerId,
+      @RequestParam(required = false) IncidentStatus status,
+      @RequestParam(required = false) String type,
+      @RequestParam(required = false) Instant fromDate,
+      @RequestParam(required = false) Instant toDate,
+      @RequestParam(defaultValue = "desc") String direction,
+      @RequestParam(required = false) String cursor,
+      @RequestParam int limit,
+      @RequestParam(required = false) String count) {
+    IncidentFilter filter =
+        new IncidentFilter(policyholderId, insurerId, status, type, fromDate, toDate);
+    CursorPage<IncidentSummaryResponse> page =
+        incidentService.findPage(
+            filter, parseDirection(direction), cursor, limit, TotalCount.fromParameter(count));
+    return ResponseEntity.ok(page);
+  }
+
+  @Operation(
+      summary = "Incident statistics",
+      description =
+          "Status and type distributions and dashboard KPIs over all incidents matching the"
+              + " listing filters. Insurer, status and type filters read the statistics rollup;"
+              + " policyholder and date filters group the incidents.",
+      operationId = "getIncidentStatistics")
+  @ApiResponse(responseCode = "200", description = "Incident statistics")
+  @GetMapping("/statistics")
+  public ResponseEntity<IncidentStatisticsResponse> getStatistics(
+      @RequestParam(required = false) UUID policyholderId,
+      @RequestParam(required = false) UUID insurerId,
+      @RequestParam(required = false) IncidentStatus status,
+      @RequestParam(required = false) String type,
+      @RequestParam(required = false) Instant fromDate,
+      @RequestParam(required = false) Instant toDate) {
+    IncidentFilter filter =
+        new IncidentFilter(policyholderId, insurerId, status, type, fromDate, toDate);
+    return ResponseEntity.ok(incidentService.getStatistics(filter));
+  }
+
+  @Operation(
+      summary = "Rebuild incident statistics",
+      description =
+          "Recomputes the statistics rollup from the incidents. The rollup is maintained with every"
+              + " change, so this is only needed to repair it.",
+      operationId = "rebuildIncidentStatistics")
+  @ApiResponse(responseCode = "204", description = "Rollup rebuilt")
+  @PostMapping("/statistics/rebuild")
+  public ResponseEntity<Void> rebuildStatistics() {
+    statisticsRollup.rebuild();
+    return ResponseEntity.noContent().build();
+  }
+
+  @Operation(
+      summary = "Rebuild the incident view",
+      description =
+          "Recopies the incident view, which backs the listings, from the incidents. Display names"
+              + " are looked up again in the background, and show as null until then.",
+      operationId = "rebuildIncidentView")
+  @ApiResponse(responseCode = "204", description = "View rebuilt")
+  @PostMapping("/view/rebuild")
+  public ResponseEntity<Void> rebuildView() {
+    viewProjection.rebuild();
+    return ResponseEntity.noContent().build();
+  }
+
   @Operation(summary = "Update incident status", operationId = "updateIncidentStatus")
   @ApiResponse(responseCode = "200", description = "Status updated")
   @PutMapping("/{id}/status")
@@ -112,6 +244,25 @@ public class IncidentController {
     return ResponseEntity.ok(incidentMapper.toResponse(incident));
   }
 
+  @Operation(
+      summary = "Update the status of incidents in bulk",
+      description =
+          "Moves up to "
+              + IncidentBulkService.MAX_ITEMS
+              + " incidents to the same status. Each transition is checked like a single status"
+              + " update; unknown ids and invalid transitions are reported per id and skipped.",
+      operationId = "bulkUpdateIncidentStatus")
+  @ApiResponse(responseCode = "200", description = "Per-id results")
+  @ApiResponse(responseCode = "400", description = "No ids, no status, or too many ids")
+  @PostMapping("/bulk/status")
+  public BulkResult bulkUpdateStatus(
+      @Valid @RequestBody BulkStatusUpdateRequest request,
+      @RequestParam(required = false) UUID updatedBy) {
+    // In a real app, updatedBy would come from authentication context
+    UUID userId = updatedBy != null ? updatedBy : UUID.randomUUID();
+    return bulkService.transitionStatus(request.ids(), request.status(), request.reason(), userId);
+  }
+
   @Operation(summary = "Update incident insurer", operationId = "updateIncidentInsurer")
   @ApiResponse(responseCode = "200", description = "Insurer updated")
   @PutMapping("/{id}/insurer")
@@ -153,11 +304,32 @@ public class IncidentController {
   @ApiResponse(responseCode = "200", description = "List of comments")
   @GetMapping("/{id}/comments")
   public ResponseEntity<List<CommentResponse>> getComments(@PathVariable UUID id) {
-    Incident incident = incidentService.getById(id);
-    List<CommentResponse> comments = incidentMapper.toCommentResponseList(incident.getComments());
+    List<CommentResponse> comments =
+        incidentMapper.toCommentResponseList(timelineService.findAllComments(id));
     return ResponseEntity.ok(comments);
   }
 
+  @Operation(
+      summary = "Scroll incident comments",
+      description =
+          "Keyset-paginated comments, selected by the limit parameter. Pass the nextCursor of a"
+              + " page back as cursor to get the following page.",
+      operationId = "scrollIncidentComments")
+  @ApiResponse(responseCode = "200", description = "Page of comments")
+  @ApiResponse(responseCode = "400", description = "Invalid cursor, direction or limit")
+  @ApiResponse(responseCode = "404", description = "Incident not found")
+  @GetMapping(value = "/{id}/comments", params = "limit")
+  public ResponseEntity<CursorPage<CommentResponse>> scrollComments(
+      @PathVariable UUID id,
+      @RequestParam(required = false) Instant since,
+      @RequestParam(defaultValue = "desc") String direction,
+      @RequestParam(required = false) String cursor,
+      @RequestParam int limit) {
+    CursorPage<Comment> page =
+        timelineService.findComments(id, since, parseDirection(direction), cursor, limit);
+    return ResponseEntity.ok(page.map(incidentMapper::toCommentResponse));
+  }
+
   @Operation(summary = "Get incident event history", operationId = "getIncidentHistory")
   @ApiResponse(responseCode = "200", description = "Event history")
   @GetMapping("/{id}/history")
@@ -168,6 +340,29 @@ public class IncidentController {
     return ResponseEntity.ok(events);
   }
 
+  @Operation(
+      summary = "Scroll incident event history",
+      description =
+          "Keyset-paginated events, selected by the limit parameter, optionally restricted to some"
+              + " event types and to events since a point in time. Pass the nextCursor of a page"
+              + " back as cursor to get the following page.",
+      operationId = "scrollIncidentHistory")
+  @ApiResponse(responseCode = "200", description = "Page of events")
+  @ApiResponse(responseCode = "400", description = "Invalid cursor, direction or limit")
+  @ApiResponse(responseCode = "404", description = "Incident not found")
+  @GetMapping(value = "/{id}/history", params = "limit")
+  public ResponseEntity<CursorPage<IncidentEventResponse>> scrollHistory(
+      @PathVariable UUID id,
+      @RequestParam(required = false) List<String> eventType,
+      @RequestParam(required = false) Instant since,
+      @RequestParam(defaultValue = "desc") String direction,
+      @RequestParam(required = false) String cursor,
+      @RequestParam int limit) {
+    CursorPage<IncidentEvent> page =
+        timelineService.findHistory(id, eventType, since, parseDirection(direction), cursor, limit);
+    return ResponseEntity.ok(page.map(incidentMapper::toEventResponse));
+  }
+
   @Operation(summary = "Delete incident", operationId = "deleteIncident")
   @ApiResponse(responseCode = "204", description = "Incident deleted")
   @ApiResponse(responseCode = "404", description = "Incident not found")
@@ -176,4 +371,28 @@ public class IncidentController {
     incidentService.deleteIncident(id);
     return ResponseEntity.noContent().build();
   }
+
+  /** Adds the latest events to a detail response when asked for, in one bounded query. */
+  private IncidentResponse toDetailResponse(Incident incident, int recentEvents) {
+    if (recentEvents < 0 || recentEvents > IncidentService.MAX_PAGE_SIZE) {
+      throw new ValidationException(
+          "recentEvents must be between 0 and " + IncidentService.MAX_PAGE_SIZE);
+    }
+    if (recentEvents == 0) {
+      return incidentMapper.toResponse(incident);
+    }
+    List<IncidentEvent> events =
+        eventRepository.findByIncidentIdOrderByOccurredAtDesc(
+            incident.getId(), Limit.of(recentEvents));
+    return incidentMapper.toDetailResponse(incident, events);
+  }
+
+  private static Sort.Direction parseDirection(String direction) {
+    try {
+      return Sort.Direction.fromString(direction);
+    } catch (IllegalArgumentException e) {
+      throw new ValidationException(
+          "Unsupported direction: " + direction + " (expected asc or desc)");
+    }
+  }
 }
@@ -0,0 +1,34 @@
+package com.ird0.incident.dto;
+
+import com.ird0.incident.model.IncidentStatus;
+import java.util.UUID;
+
+/**
+ * Outcome of one item of a bulk request.
+ *
+ * @param index Position of the item in the request
+ * @param id Id of the incident
+ * @param status What happened to the item
+ * @param previousStatus Status of the incident before the request (null if not found)
+ * @param error Why the item was rejected or failed (null on success)
+ */
+public record BulkItemResult(
+    int index, UUID id, Status status, IncidentStatus previousStatus, String error) {
+
+  public enum Status {
+    UPDATED,
+    UNCHANGED,
+    NOT_FOUND,
+    INVALID,
+    FAILED;
+
+    public boolean isSuccess() {
+      return this == UPDATED || this == UNCHANGED;
+    }
+  }
+
+  /** Returns the same outcome at another position, to map batch positions to request positions. */
+  public BulkItemResult atIndex(int newIndex) {
+    return new BulkItemResult(newIndex, id, status, previousStatus, error);
+  }
+}
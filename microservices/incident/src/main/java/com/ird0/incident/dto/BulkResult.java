@@ -0,0 +1,19 @@
+package com.ird0.incident.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk request.
+ *
+ * @param total Number of items in the request
+ * @param succeeded Items applied, or found already up to date
+ * @param failed Items not found, rejected, or failed to persist
+ * @param items Per-item outcomes, in request order
+ */
+public record BulkResult(int total, int succeeded, int failed, List<BulkItemResult> items) {
+
+  public static BulkResult of(List<BulkItemResult> items) {
+    int succeeded = (int) items.stream().filter(item -> item.status().isSuccess()).count();
+    return new BulkResult(items.size(), succeeded, items.size() - succeeded, items);
+  }
+}
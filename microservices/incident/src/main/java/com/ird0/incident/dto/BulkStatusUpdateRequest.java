@@ -0,0 +1,19 @@
+package com.ird0.incident.dto;
+
+import com.ird0.incident.model.IncidentStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves many incidents to the same status.
+ *
+ * @param ids Incidents to transition; duplicates are applied once
+ * @param status Target status, checked against each incident's current status
+ * @param reason Recorded in the status change event of every incident
+ */
+public record BulkStatusUpdateRequest(
+    @NotEmpty(message = "At least one id is required") List<UUID> ids,
+    @NotNull(message = "Status is required") IncidentStatus status,
+    String reason) {}
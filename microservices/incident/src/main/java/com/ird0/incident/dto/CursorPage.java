@@ -0,0 +1,36 @@
+package com.ird0.incident.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A page of results addressed by an opaque keyset cursor instead of an offset.
+ *
+ * @param content Entries of the current page, in sort order
+ * @param nextCursor Cursor to pass back to fetch the next page (null on the last page)
+ * @param hasNext Whether more entries exist after this page
+ * @param totalElements Number of entries matching the filters, only when requested
+ * @param totalEstimated Whether totalElements is a planner estimate rather than an exact count
+ */
+public record CursorPage<T>(
+    List<T> content,
+    String nextCursor,
+    boolean hasNext,
+    Long totalElements,
+    boolean totalEstimated) {
+
+  /**
+   * Converts the content of this page while keeping its cursor and total.
+   *
+   * @param mapper the conversion applied to each entry
+   * @return a new page with converted content
+   */
+  public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+    return new CursorPage<>(
+        content.stream().<R>map(mapper).toList(),
+        nextCursor,
+        hasNext,
+        totalElements,
+        totalEstimated);
+  }
+}
@@ -0,0 +1,16 @@
+package com.ird0.incident.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Answer of a directory service's batch lookup ({@code POST /{base}/batch}). Only the fields the
+ * incident service needs are mapped.
+ *
+ * @param found Requested entries that exist
+ * @param missing Requested ids that do not exist
+ */
+public record DirectoryBatchEntriesResult(List<Entry> found, List<UUID> missing) {
+
+  public record Entry(UUID id, String name) {}
+}
@@ -0,0 +1,12 @@
+package com.ird0.incident.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Answer of a directory service's existence check ({@code POST /{base}/batch/exists}).
+ *
+ * @param found Requested ids that exist
+ * @param missing Requested ids that do not exist
+ */
+public record DirectoryBatchLookupResult(List<UUID> found, List<UUID> missing) {}
@@ -0,0 +1,18 @@
+package com.ird0.incident.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A slice of a directory service's change feed ({@code GET /{base}/changes}). Only the fields the
+ * incident service needs are mapped; entry contents are ignored.
+ */
+public record DirectoryChangeFeedPage(List<Change> changes, long nextCursor, boolean hasMore) {
+
+  public record Change(long sequence, UUID id, String type) {
+
+    public boolean isDelete() {
+      return "DELETE".equals(type);
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package com.ird0.incident.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import.
+ *
+ * @param totalRows Rows read from the input
+ * @param importedRows Rows created as incidents
+ * @param failedRows Rows rejected or failed to persist
+ * @param errors The first {@value #MAX_ERRORS} failed rows, by row number
+ */
+public record ImportResult(
+    long totalRows, long importedRows, long failedRows, List<RowError> errors) {
+
+  public static final int MAX_ERRORS = 100;
+
+  /**
+   * Why a row was not imported.
+   *
+   * @param row Row number in the input, starting at 1 (the CSV header is not counted)
+   * @param error What was wrong with the row, or why its batch failed
+   */
+  public record RowError(long row, String error) {}
+}
@@ -1,5 +1,6 @@
 package com.ird0.incident.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.ird0.incident.model.IncidentStatus;
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -21,4 +22,6 @@ public record IncidentResponse(
     Instant createdAt,
     Instant updatedAt,
     List<ExpertAssignmentResponse> expertAssignments,
-    List<CommentResponse> comments) {}
+    List<CommentResponse> comments,
+    // Only on detail reads that ask for events; the full history is paged through /history
+    @JsonInclude(JsonInclude.Include.NON_NULL) List<IncidentEventResponse> recentEvents) {}
@@ -0,0 +1,22 @@
+package com.ird0.incident.dto;
+
+import com.ird0.incident.model.IncidentStatus;
+import java.util.Map;
+
+/**
+ * Counts over all incidents matching the listing filters.
+ *
+ * @param total Number of matching incidents
+ * @param byStatus Number of incidents in each status; statuses without incidents are left out
+ * @param byType Number of incidents of each type
+ * @param pending Incidents awaiting review: DECLARED or UNDER_REVIEW
+ * @param inProgress Incidents being handled: QUALIFIED or IN_PROGRESS
+ * @param closedThisMonth CLOSED incidents closed since the start of the month (UTC)
+ */
+public record IncidentStatisticsResponse(
+    long total,
+    Map<IncidentStatus, Long> byStatus,
+    Map<String, Long> byType,
+    long pending,
+    long inProgress,
+    long closedThisMonth) {}
@@ -5,11 +5,17 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.UUID;
 
+/**
+ * One incident of a listing, read from the {@code incident_view} read model. The names are null
+ * while the read model has not looked them up yet, and empty if the directory has no such entry.
+ */
 public record IncidentSummaryResponse(
     UUID id,
     String referenceNumber,
     UUID policyholderId,
+    String policyholderName,
     UUID insurerId,
+    String insurerName,
     IncidentStatus status,
     String type,
     Instant incidentDate,
@@ -4,7 +4,6 @@ import com.ird0.incident.dto.CommentResponse;
 import com.ird0.incident.dto.ExpertAssignmentResponse;
 import com.ird0.incident.dto.IncidentEventResponse;
 import com.ird0.incident.dto.IncidentResponse;
-import com.ird0.incident.dto.IncidentSummaryResponse;
 import com.ird0.incident.dto.LocationDTO;
 import com.ird0.incident.model.Comment;
 import com.ird0.incident.model.ExpertAssignment;
@@ -13,6 +12,7 @@ import com.ird0.incident.model.IncidentEvent;
 import com.ird0.incident.model.Location;
 import java.util.List;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 
 @Mapper(
@@ -20,11 +20,11 @@ import org.mapstruct.NullValuePropertyMappingStrategy;
     nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
 public interface IncidentMapper {
 
+  @Mapping(target = "recentEvents", ignore = true)
   IncidentResponse toResponse(Incident incident);
 
-  IncidentSummaryResponse toSummaryResponse(Incident incident);
-
-  List<IncidentSummaryResponse> toSummaryResponseList(List<Incident> incidents);
+  @Mapping(target = "recentEvents", source = "recentEvents")
+  IncidentResponse toDetailResponse(Incident incident, List<IncidentEvent> recentEvents);
 
   ExpertAssignmentResponse toExpertAssignmentResponse(ExpertAssignment assignment);
 
@@ -68,6 +68,10 @@ public class Incident {
   @Column(name = "updated_at", nullable = false)
   private Instant updatedAt;
 
+  /** When the incident entered its current status; buckets it in the statistics rollup. */
+  @Column(name = "status_changed_at", nullable = false)
+  private Instant statusChangedAt;
+
   @Column(name = "created_by", nullable = false, updatable = false)
   private UUID createdBy;
 
@@ -89,6 +93,9 @@ public class Incident {
     }
     this.createdAt = Instant.now();
     this.updatedAt = Instant.now();
+    if (this.statusChangedAt == null) {
+      this.statusChangedAt = this.createdAt;
+    }
   }
 
   @PreUpdate
@@ -101,6 +108,15 @@ public class Incident {
       throw new InvalidStateTransitionException(this.status, newStatus);
     }
     this.status = newStatus;
+    this.statusChangedAt = Instant.now();
+  }
+
+  /**
+   * Records a change made only to rows that belong to the incident, such as a comment appended
+   * through its own repository, so that {@code updatedAt} still moves.
+   */
+  public void touch() {
+    this.updatedAt = Instant.now();
   }
 
   public void addComment(Comment comment) {
@@ -51,6 +51,17 @@ public class IncidentEvent {
   @Column(name = "occurred_at", nullable = false, updatable = false)
   private Instant occurredAt;
 
+  /**
+   * Position in the event log, assigned by the database on insert. Numbers are allocated in insert
+   * order, not commit order, and rolled back inserts leave holes.
+   */
+  @Column(
+      name = "sequence_number",
+      insertable = false,
+      updatable = false,
+      columnDefinition = "bigint generated by default as identity")
+  private Long sequenceNumber;
+
   @PrePersist
   public void prePersist() {
     if (this.id == null) {
@@ -0,0 +1,52 @@
+package com.ird0.incident.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The number of incidents of one insurer that are currently in a status, by type and by the UTC
+ * date they entered that status. Maintained by {@code IncidentStatisticsRollup} in the transaction
+ * of every change that moves an incident between buckets, so statistics read the buckets instead of
+ * the incidents. Buckets whose incidents all moved on stay behind with a count of zero.
+ */
+@Data
+@Entity
+@Table(name = "incident_statistics")
+public class IncidentStatisticsBucket {
+
+  @EmbeddedId private Key id;
+
+  @Column(name = "incident_count", nullable = false)
+  private long incidentCount;
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @Embeddable
+  public static class Key implements Serializable {
+
+    @Column(name = "insurer_id", nullable = false)
+    private UUID insurerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private IncidentStatus status;
+
+    @Column(nullable = false)
+    private String type;
+
+    @Column(name = "status_date", nullable = false)
+    private LocalDate statusDate;
+  }
+}
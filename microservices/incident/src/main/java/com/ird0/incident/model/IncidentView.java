@@ -0,0 +1,67 @@
+package com.ird0.incident.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.Data;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Read model of an incident for listings: its summary columns plus the display names of its
+ * policyholder and insurer. Written only by {@code IncidentViewProjection}, which follows the
+ * {@code incident_event} log, so a row may briefly lag behind its incident. Names are null until
+ * the projection has looked them up, and empty if the directory has no such entry.
+ */
+@Data
+@Entity
+@Immutable
+@Table(name = "incident_view")
+public class IncidentView {
+
+  @Id
+  @Column(columnDefinition = "uuid", updatable = false, nullable = false)
+  private UUID id;
+
+  @Column(name = "reference_number", nullable = false)
+  private String referenceNumber;
+
+  @Column(name = "policyholder_id", nullable = false)
+  private UUID policyholderId;
+
+  @Column(name = "policyholder_name")
+  private String policyholderName;
+
+  @Column(name = "insurer_id", nullable = false)
+  private UUID insurerId;
+
+  @Column(name = "insurer_name")
+  private String insurerName;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private IncidentStatus status;
+
+  @Column(nullable = false)
+  private String type;
+
+  @Column(name = "incident_date", nullable = false)
+  private Instant incidentDate;
+
+  @Column(name = "estimated_damage", precision = 12, scale = 2)
+  private BigDecimal estimatedDamage;
+
+  @Column(length = 3)
+  private String currency;
+
+  @Column(name = "created_at", nullable = false)
+  private Instant createdAt;
+
+  @Column(name = "updated_at", nullable = false)
+  private Instant updatedAt;
+}
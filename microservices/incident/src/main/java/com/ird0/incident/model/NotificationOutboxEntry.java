@@ -0,0 +1,70 @@
+package com.ird0.incident.model;
+
+import io.hypersistence.utils.hibernate.type.json.JsonType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import lombok.Data;
+import org.hibernate.annotations.Type;
+
+/**
+ * A notification recorded with the incident change it describes, waiting for the relay to hand it
+ * to the notification service. The identity column gives the delivery order within an incident.
+ */
+@Data
+@Entity
+@Table(name = "notification_outbox")
+public class NotificationOutboxEntry {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "event_id", nullable = false, updatable = false)
+  private UUID eventId;
+
+  @Column(name = "event_type", nullable = false, updatable = false, length = 50)
+  private String eventType;
+
+  @Column(name = "incident_id", nullable = false, updatable = false)
+  private UUID incidentId;
+
+  @Column(name = "insurer_id", nullable = false, updatable = false)
+  private UUID insurerId;
+
+  @Type(JsonType.class)
+  @Column(columnDefinition = "jsonb", nullable = false, updatable = false)
+  private Map<String, Object> payload;
+
+  @Column(nullable = false)
+  private int attempts;
+
+  @Column(name = "next_attempt_at", nullable = false)
+  private Instant nextAttemptAt;
+
+  @Column(name = "last_error", columnDefinition = "TEXT")
+  private String lastError;
+
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private Instant createdAt;
+
+  @PrePersist
+  public void prePersist() {
+    if (this.eventId == null) {
+      this.eventId = UUID.randomUUID();
+    }
+    if (this.createdAt == null) {
+      this.createdAt = Instant.now();
+    }
+    if (this.nextAttemptAt == null) {
+      this.nextAttemptAt = this.createdAt;
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package com.ird0.incident.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Data;
+
+/**
+ * How far a projection has read the {@code incident_event} log: every event up to {@code
+ * lastSequenceNumber} is reflected in its read model. The row is also the projection's lock, so
+ * that only one instance projects at a time.
+ */
+@Data
+@Entity
+@Table(name = "projection_checkpoint")
+public class ProjectionCheckpoint {
+
+  @Id
+  @Column(length = 100)
+  private String name;
+
+  @Column(name = "last_sequence_number", nullable = false)
+  private long lastSequenceNumber;
+
+  @Column(name = "updated_at", nullable = false)
+  private Instant updatedAt;
+}
@@ -0,0 +1,41 @@
+package com.ird0.incident.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A sequence number a projection moved past while no event had it. The event may still commit, so
+ * the projection looks for it again on every round until {@code skippedAt} is older than the gap
+ * retention, and then takes it as rolled back.
+ */
+@Data
+@Entity
+@Table(name = "projection_gap")
+public class ProjectionGap {
+
+  @EmbeddedId private Key id;
+
+  @Column(name = "skipped_at", nullable = false)
+  private Instant skippedAt;
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @Embeddable
+  public static class Key implements Serializable {
+
+    @Column(length = 100, nullable = false)
+    private String name;
+
+    @Column(name = "sequence_number", nullable = false)
+    private long sequenceNumber;
+  }
+}
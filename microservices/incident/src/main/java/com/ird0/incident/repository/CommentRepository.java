@@ -4,10 +4,12 @@ import com.ird0.incident.model.Comment;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface CommentRepository extends JpaRepository<Comment, UUID> {
+public interface CommentRepository
+    extends JpaRepository<Comment, UUID>, JpaSpecificationExecutor<Comment> {
 
   List<Comment> findByIncidentIdOrderByCreatedAtDesc(UUID incidentId);
 }
@@ -3,16 +3,21 @@ package com.ird0.incident.repository;
 import com.ird0.incident.model.IncidentEvent;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface IncidentEventRepository extends JpaRepository<IncidentEvent, UUID> {
+public interface IncidentEventRepository
+    extends JpaRepository<IncidentEvent, UUID>, JpaSpecificationExecutor<IncidentEvent> {
 
   List<IncidentEvent> findByIncidentIdOrderByOccurredAtDesc(UUID incidentId);
 
+  List<IncidentEvent> findByIncidentIdOrderByOccurredAtDesc(UUID incidentId, Limit limit);
+
   Page<IncidentEvent> findByIncidentId(UUID incidentId, Pageable pageable);
 
   List<IncidentEvent> findByEventType(String eventType);
@@ -2,23 +2,45 @@ package com.ird0.incident.repository;
 
 import com.ird0.incident.model.Incident;
 import com.ird0.incident.model.IncidentStatus;
+import jakarta.persistence.LockModeType;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface IncidentRepository
-    extends JpaRepository<Incident, UUID>, JpaSpecificationExecutor<Incident> {
+    extends JpaRepository<Incident, UUID>,
+        JpaSpecificationExecutor<Incident>,
+        IncidentStatisticsRepository {
 
   Optional<Incident> findByReferenceNumber(String referenceNumber);
 
+  /**
+   * Loads an incident for its detail view, joining in the expert assignments. Together with the
+   * comments this makes two queries, however many rows either collection holds.
+   */
+  @EntityGraph(attributePaths = "expertAssignments")
+  Optional<Incident> findDetailById(UUID id);
+
+  @EntityGraph(attributePaths = "expertAssignments")
+  Optional<Incident> findDetailByReferenceNumber(String referenceNumber);
+
+  /**
+   * Loads an incident and locks its row ({@code FOR UPDATE}) until the transaction ends, so that
+   * concurrent changes to it, including bulk ones, read its state one after the other.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  Optional<Incident> findForUpdateById(UUID id);
+
   List<Incident> findByPolicyholderId(UUID policyholderId);
 
   List<Incident> findByInsurerId(UUID insurerId);
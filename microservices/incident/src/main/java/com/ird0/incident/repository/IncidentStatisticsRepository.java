@@ -0,0 +1,46 @@
+package com.ird0.incident.repository;
+
+import com.ird0.incident.model.Incident;
+import com.ird0.incident.model.IncidentStatus;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Aggregate queries over the incidents matching a {@link Specification}, computed by the database
+ * with {@code GROUP BY} instead of by reading the incidents.
+ */
+public interface IncidentStatisticsRepository {
+
+  /**
+   * Counts the matching incidents per status and type, in one pass.
+   *
+   * @param spec the filters
+   * @param closedSince lower bound on {@code statusChangedAt} for {@link
+   *     StatusTypeCount#closedSince}
+   * @return one row per status and type that has incidents
+   */
+  List<StatusTypeCount> countByStatusAndType(Specification<Incident> spec, Instant closedSince);
+
+  /**
+   * Same counts as {@link #countByStatusAndType}, summed from the statistics rollup: the cost
+   * depends on the number of buckets, not of incidents. Only the filters the rollup is keyed by are
+   * available.
+   *
+   * @param insurerId only this insurer's incidents, or null for all
+   * @param status only incidents in this status, or null for all
+   * @param type only incidents of this type, or null for all
+   * @param closedSince first UTC date counted in {@link StatusTypeCount#closedSince}
+   * @return one row per status and type that has incidents
+   */
+  List<StatusTypeCount> sumBucketsByStatusAndType(
+      UUID insurerId, IncidentStatus status, String type, LocalDate closedSince);
+
+  /**
+   * @param incidents number of incidents with this status and type
+   * @param closedSince how many of them are CLOSED and were closed at or after the given time
+   */
+  record StatusTypeCount(IncidentStatus status, String type, long incidents, long closedSince) {}
+}
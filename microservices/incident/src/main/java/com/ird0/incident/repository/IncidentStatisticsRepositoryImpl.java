@@ -0,0 +1,95 @@
+package com.ird0.incident.repository;
+
+import com.ird0.incident.model.Incident;
+import com.ird0.incident.model.IncidentStatisticsBucket;
+import com.ird0.incident.model.IncidentStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+
+@RequiredArgsConstructor
+class IncidentStatisticsRepositoryImpl implements IncidentStatisticsRepository {
+
+  private final EntityManager entityManager;
+
+  @Override
+  public List<StatusTypeCount> countByStatusAndType(
+      Specification<Incident> spec, Instant closedSince) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<StatusTypeCount> query = cb.createQuery(StatusTypeCount.class);
+    Root<Incident> root = query.from(Incident.class);
+    Expression<Long> closed =
+        cb.<Long>selectCase()
+            .when(
+                cb.and(
+                    cb.equal(root.get("status"), IncidentStatus.CLOSED),
+                    cb.greaterThanOrEqualTo(root.get("statusChangedAt"), closedSince)),
+                1L)
+            .otherwise(0L);
+    query.select(
+        cb.construct(
+            StatusTypeCount.class,
+            root.get("status"),
+            root.get("type"),
+            cb.count(root),
+            cb.sum(closed)));
+    Predicate predicate = spec.toPredicate(root, query, cb);
+    if (predicate != null) {
+      query.where(predicate);
+    }
+    query.groupBy(root.get("status"), root.get("type"));
+    return entityManager.createQuery(query).getResultList();
+  }
+
+  @Override
+  public List<StatusTypeCount> sumBucketsByStatusAndType(
+      UUID insurerId, IncidentStatus status, String type, LocalDate closedSince) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<StatusTypeCount> query = cb.createQuery(StatusTypeCount.class);
+    Root<IncidentStatisticsBucket> root = query.from(IncidentStatisticsBucket.class);
+    Path<IncidentStatisticsBucket.Key> key = root.get("id");
+    Path<Long> count = root.get("incidentCount");
+    Expression<Long> closed =
+        cb.<Long>selectCase()
+            .when(
+                cb.and(
+                    cb.equal(key.get("status"), IncidentStatus.CLOSED),
+                    cb.greaterThanOrEqualTo(key.get("statusDate"), closedSince)),
+                count)
+            .otherwise(0L);
+    query.select(
+        cb.construct(
+            StatusTypeCount.class,
+            key.get("status"),
+            key.get("type"),
+            cb.sum(count),
+            cb.sum(closed)));
+
+    List<Predicate> predicates = new ArrayList<>();
+    if (insurerId != null) {
+      predicates.add(cb.equal(key.get("insurerId"), insurerId));
+    }
+    if (status != null) {
+      predicates.add(cb.equal(key.get("status"), status));
+    }
+    if (type != null) {
+      predicates.add(cb.equal(key.get("type"), type));
+    }
+    query.where(predicates.toArray(Predicate[]::new));
+    query.groupBy(key.get("status"), key.get("type"));
+    // Emptied buckets are kept, so a status and type can sum to zero
+    query.having(cb.greaterThan(cb.sum(count), 0L));
+    return entityManager.createQuery(query).getResultList();
+  }
+}
@@ -0,0 +1,22 @@
+package com.ird0.incident.repository;
+
+import com.ird0.incident.dto.IncidentSummaryResponse;
+import com.ird0.incident.model.IncidentView;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Listing queries over the {@link IncidentView} read model, selecting the summary columns into
+ * {@link IncidentSummaryResponse} with {@link Specification} filters. No entity is hydrated:
+ * nothing enters the persistence context and no dirty-checking snapshot is kept.
+ */
+public interface IncidentSummaryRepository {
+
+  Page<IncidentSummaryResponse> findSummaries(Specification<IncidentView> spec, Pageable pageable);
+
+  List<IncidentSummaryResponse> findSummaries(
+      Specification<IncidentView> spec, Sort sort, int limit);
+}
@@ -0,0 +1,84 @@
+package com.ird0.incident.repository;
+
+import com.ird0.incident.dto.IncidentSummaryResponse;
+import com.ird0.incident.model.IncidentView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+@RequiredArgsConstructor
+class IncidentSummaryRepositoryImpl implements IncidentSummaryRepository {
+
+  private final EntityManager entityManager;
+
+  @Override
+  public Page<IncidentSummaryResponse> findSummaries(
+      Specification<IncidentView> spec, Pageable pageable) {
+    TypedQuery<IncidentSummaryResponse> query = summaryQuery(spec, pageable.getSort());
+    if (pageable.isPaged()) {
+      query.setFirstResult((int) pageable.getOffset());
+      query.setMaxResults(pageable.getPageSize());
+    }
+    // The count only runs when the page alone cannot tell the total
+    return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(spec));
+  }
+
+  @Override
+  public List<IncidentSummaryResponse> findSummaries(
+      Specification<IncidentView> spec, Sort sort, int limit) {
+    return summaryQuery(spec, sort).setMaxResults(limit).getResultList();
+  }
+
+  private TypedQuery<IncidentSummaryResponse> summaryQuery(
+      Specification<IncidentView> spec, Sort sort) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<IncidentSummaryResponse> query = cb.createQuery(IncidentSummaryResponse.class);
+    Root<IncidentView> root = query.from(IncidentView.class);
+    query.select(
+        cb.construct(
+            IncidentSummaryResponse.class,
+            root.get("id"),
+            root.get("referenceNumber"),
+            root.get("policyholderId"),
+            root.get("policyholderName"),
+            root.get("insurerId"),
+            root.get("insurerName"),
+            root.get("status"),
+            root.get("type"),
+            root.get("incidentDate"),
+            root.get("estimatedDamage"),
+            root.get("currency"),
+            root.get("createdAt")));
+    Predicate predicate = spec.toPredicate(root, query, cb);
+    if (predicate != null) {
+      query.where(predicate);
+    }
+    if (sort.isSorted()) {
+      query.orderBy(QueryUtils.toOrders(sort, root, cb));
+    }
+    return entityManager.createQuery(query);
+  }
+
+  private long count(Specification<IncidentView> spec) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Long> query = cb.createQuery(Long.class);
+    Root<IncidentView> root = query.from(IncidentView.class);
+    query.select(cb.count(root));
+    Predicate predicate = spec.toPredicate(root, query, cb);
+    if (predicate != null) {
+      query.where(predicate);
+    }
+    return entityManager.createQuery(query).getSingleResult();
+  }
+}
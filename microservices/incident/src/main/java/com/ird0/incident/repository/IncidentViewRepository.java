@@ -0,0 +1,14 @@
+package com.ird0.incident.repository;
+
+import com.ird0.incident.model.IncidentView;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Repository;
+
+/** Reads the {@code incident_view} read model, which only {@code IncidentViewProjection} writes. */
+@Repository
+public interface IncidentViewRepository
+    extends JpaRepository<IncidentView, UUID>,
+        JpaSpecificationExecutor<IncidentView>,
+        IncidentSummaryRepository {}
@@ -0,0 +1,28 @@
+package com.ird0.incident.repository;
+
+import com.ird0.incident.model.NotificationOutboxEntry;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutboxEntry, Long> {
+
+  /**
+   * Locks the oldest pending entry of each incident, if it is due. Later entries of an incident
+   * wait until the earlier ones are gone, which keeps per-incident order even across relays: a
+   * second relay skips the locked heads and cannot see past them.
+   */
+  @Query(
+      value =
+          "SELECT o.* FROM notification_outbox o "
+              + "WHERE o.next_attempt_at <= :now "
+              + "AND NOT EXISTS (SELECT 1 FROM notification_outbox e "
+              + "WHERE e.incident_id = o.incident_id AND e.id < o.id) "
+              + "ORDER BY o.id LIMIT :limit FOR UPDATE SKIP LOCKED",
+      nativeQuery = true)
+  List<NotificationOutboxEntry> lockDueHeads(@Param("now") Instant now, @Param("limit") int limit);
+}
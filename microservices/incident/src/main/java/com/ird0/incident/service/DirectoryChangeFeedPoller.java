@@ -0,0 +1,103 @@
+package com.ird0.incident.service;
+
+import com.ird0.incident.config.IncidentProperties;
+import com.ird0.incident.dto.DirectoryChangeFeedPage;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Keeps {@link DirectoryReferenceCache} current by following the change feed of every directory
+ * service: created entries become known to exist and deleted ones known to be missing, without
+ * waiting for their cache entries to expire. Changed insurers also have their cached webhook URL
+ * ({@link InsurerWebhookCache}) invalidated, and changed policyholders and insurers their display
+ * names refreshed in the incident view ({@link IncidentViewProjection}).
+ *
+ * <p>Each feed is first read without a cursor, which only returns its current position; changes
+ * made before that are left to the cache's time to live. A feed that cannot be reached is retried
+ * from the same cursor on the next run.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "incident.directory.cache.change-feed", name = "enabled")
+public class DirectoryChangeFeedPoller {
+
+  private final IncidentProperties properties;
+  private final RestTemplate restTemplate;
+  private final DirectoryReferenceCache cache;
+  private final InsurerWebhookCache webhookCache;
+  private final IncidentViewProjection viewProjection;
+
+  private final Map<DirectoryEntityType, Long> cursors = new EnumMap<>(DirectoryEntityType.class);
+
+  @Scheduled(fixedDelayString = "${incident.directory.cache.change-feed.fixed-delay:5000}")
+  public void poll() {
+    for (DirectoryEntityType type : DirectoryEntityType.values()) {
+      try {
+        follow(type);
+      } catch (RestClientException e) {
+        log.warn("Could not read the {} change feed: {}", type.getDisplayName(), e.getMessage());
+      }
+    }
+  }
+
+  private void follow(DirectoryEntityType type) {
+    Long cursor = cursors.get(type);
+    DirectoryChangeFeedPage page;
+    do {
+      page = fetch(type, cursor);
+      if (cursor != null) {
+        apply(type, page);
+      }
+      cursor = page.nextCursor();
+      cursors.put(type, cursor);
+    } while (page.hasMore());
+  }
+
+  private DirectoryChangeFeedPage fetch(DirectoryEntityType type, Long since) {
+    String url =
+        type.entriesUrl(properties.getDirectory())
+            + "/changes?limit="
+            + properties.getDirectory().getCache().getChangeFeed().getBatchSize()
+            + (since != null ? "&since=" + since : "");
+    DirectoryChangeFeedPage page = restTemplate.getForObject(url, DirectoryChangeFeedPage.class);
+    if (page == null) {
+      throw new RestClientException("Empty change feed response from " + url);
+    }
+    return page;
+  }
+
+  private void apply(DirectoryEntityType type, DirectoryChangeFeedPage page) {
+    List<UUID> changed = new ArrayList<>();
+    for (DirectoryChangeFeedPage.Change change : page.changes()) {
+      if (change.isDelete()) {
+        cache.markMissing(type, change.id());
+      } else {
+        cache.markExisting(type, change.id());
+        changed.add(change.id());
+      }
+      if (type == DirectoryEntityType.INSURER) {
+        // The webhook URL may be what changed
+        webhookCache.invalidate(change.id());
+        if (change.isDelete()) {
+          webhookCache.forget(change.id());
+        }
+      }
+    }
+    // The name may be what changed
+    viewProjection.refreshNames(type, changed);
+    if (!page.changes().isEmpty()) {
+      log.debug("Applied {} {} changes", page.changes().size(), type.getDisplayName());
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package com.ird0.incident.service;
+
+import com.ird0.incident.config.IncidentProperties;
+import java.util.function.Function;
+
+/** The directory services an incident refers to, with where to reach each of them. */
+public enum DirectoryEntityType {
+  POLICYHOLDER(
+      "Policyholder", "/api/policyholders", IncidentProperties.Directory::getPolicyholdersUrl),
+  INSURER("Insurer", "/api/insurers", IncidentProperties.Directory::getInsurersUrl),
+  EXPERT("Expert", "/api/experts", IncidentProperties.Directory::getExpertsUrl),
+  PROVIDER("Provider", "/api/providers", IncidentProperties.Directory::getProvidersUrl);
+
+  private final String displayName;
+  private final String basePath;
+  private final Function<IncidentProperties.Directory, String> serviceUrl;
+
+  DirectoryEntityType(
+      String displayName,
+      String basePath,
+      Function<IncidentProperties.Directory, String> serviceUrl) {
+    this.displayName = displayName;
+    this.basePath = basePath;
+    this.serviceUrl = serviceUrl;
+  }
+
+  public String getDisplayName() {
+    return displayName;
+  }
+
+  /** Base URL of this directory's entries, e.g. {@code http://host:8081/api/policyholders}. */
+  public String entriesUrl(IncidentProperties.Directory directory) {
+    return serviceUrl.apply(directory) + basePath;
+  }
+}
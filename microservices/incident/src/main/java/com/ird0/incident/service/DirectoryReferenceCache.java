@@ -0,0 +1,93 @@
+package com.ird0.incident.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.ird0.incident.config.IncidentProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.UUID;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers which directory entries exist, so that validating a known policyholder, insurer, expert
+ * or provider needs no network round trip.
+ *
+ * <p>Entries found in the directory are kept for the configured time to live; entries the directory
+ * answered 404 for are kept for the much shorter negative time to live. When {@link
+ * DirectoryChangeFeedPoller} is enabled, creations and deletions are applied as they happen and the
+ * time to live only bounds staleness if the feed stops. Hit, miss and eviction counts are published
+ * as the {@code cache.*} metrics with {@code cache=incident.directory.references}.
+ */
+@Component
+public class DirectoryReferenceCache {
+
+  static final String METRICS_NAME = "incident.directory.references";
+
+  private record Key(DirectoryEntityType type, UUID id) {}
+
+  private final Cache<Key, Boolean> cache;
+
+  public DirectoryReferenceCache(
+      IncidentProperties properties, @Nullable MeterRegistry meterRegistry) {
+    IncidentProperties.Cache config = properties.getDirectory().getCache();
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(config.getMaximumSize())
+            .expireAfter(
+                new ExistenceExpiry(config.getTimeToLive(), config.getNegativeTimeToLive()))
+            .recordStats()
+            .build();
+    if (meterRegistry != null) {
+      CaffeineCacheMetrics.monitor(meterRegistry, cache, METRICS_NAME);
+    }
+  }
+
+  /**
+   * Looks up what is known about an entry.
+   *
+   * @return true if it exists, false if it was recently found missing, null if unknown
+   */
+  @Nullable
+  public Boolean exists(DirectoryEntityType type, UUID id) {
+    return cache.getIfPresent(new Key(type, id));
+  }
+
+  public boolean isKnownToExist(DirectoryEntityType type, UUID id) {
+    return Boolean.TRUE.equals(exists(type, id));
+  }
+
+  public void markExisting(DirectoryEntityType type, UUID id) {
+    cache.put(new Key(type, id), Boolean.TRUE);
+  }
+
+  public void markMissing(DirectoryEntityType type, UUID id) {
+    cache.put(new Key(type, id), Boolean.FALSE);
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  /** Gives existing and missing entries their own time to live, restarted on every write. */
+  private record ExistenceExpiry(Duration positive, Duration negative)
+      implements Expiry<Key, Boolean> {
+
+    @Override
+    public long expireAfterCreate(Key key, Boolean exists, long currentTime) {
+      return (exists ? positive : negative).toNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(Key key, Boolean exists, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, exists, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(Key key, Boolean exists, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package com.ird0.incident.service;
+
+import com.ird0.incident.config.IncidentProperties;
+import com.ird0.incident.exception.DirectoryValidationException;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the directory checks of one request concurrently, one virtual thread each, under a single
+ * deadline ({@code incident.directory.validation-timeout}). A request with two references then
+ * waits for the slower check instead of both in turn.
+ *
+ * <p>Callers must not hold a transaction: a slow directory would otherwise keep a pooled connection
+ * busy for the whole wait.
+ */
+@Component
+public class DirectoryValidationRunner {
+
+  private final Duration timeout;
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  public DirectoryValidationRunner(IncidentProperties properties) {
+    this.timeout = properties.getDirectory().getValidationTimeout();
+  }
+
+  /**
+   * Runs all checks and returns once every one has passed.
+   *
+   * @param checks the validations, typically {@link DirectoryValidationService} calls
+   * @throws RuntimeException the failure of the first check, in argument order, that failed
+   * @throws DirectoryValidationException if the checks did not all finish within the timeout
+   */
+  public void validate(Runnable... checks) {
+    List<Future<?>> futures = Arrays.stream(checks).<Future<?>>map(executor::submit).toList();
+    long deadline = System.nanoTime() + timeout.toNanos();
+    try {
+      for (Future<?> future : futures) {
+        future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+      }
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new DirectoryValidationException("Directory validation failed: " + e.getCause());
+    } catch (TimeoutException e) {
+      throw new DirectoryValidationException(
+          "Directory validation did not complete within " + timeout.toMillis() + " ms");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new DirectoryValidationException("Directory validation was interrupted");
+    } finally {
+      futures.forEach(future -> future.cancel(true));
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdownNow();
+  }
+}
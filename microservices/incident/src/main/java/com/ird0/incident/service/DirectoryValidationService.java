@@ -1,8 +1,19 @@
 package com.ird0.incident.service;
 
 import com.ird0.incident.config.IncidentProperties;
+import com.ird0.incident.dto.DirectoryBatchEntriesResult;
+import com.ird0.incident.dto.DirectoryBatchLookupResult;
 import com.ird0.incident.exception.DirectoryValidationException;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,6 +23,13 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+/**
+ * Checks that the directory entries an incident refers to exist.
+ *
+ * <p>Answers come from {@link DirectoryReferenceCache} when it knows the entry, so hot
+ * policyholders and insurers cost no round trip. While the circuit breaker is open, entries the
+ * cache knows to exist are still accepted.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -19,32 +37,128 @@ public class DirectoryValidationService {
 
   private static final String DIRECTORY_SERVICE = "directoryService";
 
+  /** Most ids a directory service accepts in one batch lookup. */
+  static final int MAX_LOOKUP_IDS = 1000;
+
   private final IncidentProperties properties;
   private final RestTemplate restTemplate;
+  private final DirectoryReferenceCache referenceCache;
+  private final InsurerWebhookCache webhookCache;
 
   @CircuitBreaker(name = DIRECTORY_SERVICE, fallbackMethod = "validatePolicyholderFallback")
   public void validatePolicyholder(UUID policyholderId) {
-    validateEntity("Policyholder", properties.getDirectory().getPolicyholdersUrl(), policyholderId);
+    validateEntity(DirectoryEntityType.POLICYHOLDER, policyholderId);
   }
 
   @CircuitBreaker(name = DIRECTORY_SERVICE, fallbackMethod = "validateInsurerFallback")
   public void validateInsurer(UUID insurerId) {
-    validateEntity("Insurer", properties.getDirectory().getInsurersUrl(), insurerId);
+    validateEntity(DirectoryEntityType.INSURER, insurerId);
   }
 
   @CircuitBreaker(name = DIRECTORY_SERVICE, fallbackMethod = "validateExpertFallback")
   public void validateExpert(UUID expertId) {
-    validateEntity("Expert", properties.getDirectory().getExpertsUrl(), expertId);
+    validateEntity(DirectoryEntityType.EXPERT, expertId);
   }
 
   @CircuitBreaker(name = DIRECTORY_SERVICE, fallbackMethod = "validateProviderFallback")
   public void validateProvider(UUID providerId) {
-    validateEntity("Provider", properties.getDirectory().getProvidersUrl(), providerId);
+    validateEntity(DirectoryEntityType.PROVIDER, providerId);
+  }
+
+  /**
+   * Checks a set of entries at once, for imports. Ids the cache knows are answered from it; the
+   * others are looked up with one {@code /batch/exists} call per {@value #MAX_LOOKUP_IDS} ids, and
+   * the answers are cached. While the circuit breaker is open, the cache's answers are used if it
+   * knows every id.
+   *
+   * @return the ids that do not exist
+   */
+  @CircuitBreaker(name = DIRECTORY_SERVICE, fallbackMethod = "findMissingFallback")
+  public Set<UUID> findMissing(DirectoryEntityType type, Collection<UUID> ids) {
+    Set<UUID> missing = new HashSet<>();
+    List<UUID> unknown = new ArrayList<>();
+    for (UUID id : new LinkedHashSet<>(ids)) {
+      Boolean known = referenceCache.exists(type, id);
+      if (known == null) {
+        unknown.add(id);
+      } else if (!known) {
+        missing.add(id);
+      }
+    }
+
+    String url = type.entriesUrl(properties.getDirectory()) + "/batch/exists";
+    for (int from = 0; from < unknown.size(); from += MAX_LOOKUP_IDS) {
+      List<UUID> chunk = unknown.subList(from, Math.min(from + MAX_LOOKUP_IDS, unknown.size()));
+      DirectoryBatchLookupResult result;
+      try {
+        result =
+            restTemplate.postForObject(url, Map.of("ids", chunk), DirectoryBatchLookupResult.class);
+      } catch (RestClientException e) {
+        log.error("Error validating {} entries: {}", type.getDisplayName(), e.getMessage());
+        throw new DirectoryValidationException(
+            "Unable to connect to " + type.getDisplayName() + " service: " + e.getMessage());
+      }
+      if (result == null) {
+        throw new DirectoryValidationException(
+            "Empty batch lookup answer from " + type.getDisplayName() + " service");
+      }
+      result.found().forEach(id -> referenceCache.markExisting(type, id));
+      result.missing().forEach(id -> referenceCache.markMissing(type, id));
+      missing.addAll(result.missing());
+    }
+    return missing;
+  }
+
+  /**
+   * Looks up the display names of a set of entries, for the incident read model, with one {@code
+   * /batch} call per {@value #MAX_LOOKUP_IDS} ids. Which entries exist is cached on the way.
+   *
+   * @return the name of each id that exists; missing ids have no key
+   */
+  @CircuitBreaker(name = DIRECTORY_SERVICE, fallbackMethod = "findNamesFallback")
+  public Map<UUID, String> findNames(DirectoryEntityType type, Collection<UUID> ids) {
+    List<UUID> distinct = List.copyOf(new LinkedHashSet<>(ids));
+    Map<UUID, String> names = new HashMap<>();
+    String url = type.entriesUrl(properties.getDirectory()) + "/batch";
+    for (int from = 0; from < distinct.size(); from += MAX_LOOKUP_IDS) {
+      List<UUID> chunk = distinct.subList(from, Math.min(from + MAX_LOOKUP_IDS, distinct.size()));
+      DirectoryBatchEntriesResult result;
+      try {
+        result =
+            restTemplate.postForObject(
+                url, Map.of("ids", chunk), DirectoryBatchEntriesResult.class);
+      } catch (RestClientException e) {
+        log.error("Error looking up {} entries: {}", type.getDisplayName(), e.getMessage());
+        throw new DirectoryValidationException(
+            "Unable to connect to " + type.getDisplayName() + " service: " + e.getMessage());
+      }
+      if (result == null) {
+        throw new DirectoryValidationException(
+            "Empty batch lookup answer from " + type.getDisplayName() + " service");
+      }
+      for (DirectoryBatchEntriesResult.Entry entry : result.found()) {
+        referenceCache.markExisting(type, entry.id());
+        names.put(entry.id(), entry.name() != null ? entry.name() : "");
+      }
+      result.missing().forEach(id -> referenceCache.markMissing(type, id));
+    }
+    return names;
   }
 
+  /**
+   * Returns the insurer's webhook URL, from {@link InsurerWebhookCache} when it has a fresh answer.
+   * While the circuit breaker is open, the last known URL is served however old it is.
+   *
+   * @return the URL, or null if the insurer has none configured
+   */
   @CircuitBreaker(name = DIRECTORY_SERVICE, fallbackMethod = "getInsurerWebhookUrlFallback")
   public String getInsurerWebhookUrl(UUID insurerId) {
-    String url = properties.getDirectory().getInsurersUrl() + "/api/insurers/" + insurerId;
+    return webhookCache.get(insurerId, this::fetchInsurerWebhookUrl);
+  }
+
+  private String fetchInsurerWebhookUrl(UUID insurerId) {
+    String url =
+        DirectoryEntityType.INSURER.entriesUrl(properties.getDirectory()) + "/" + insurerId;
     try {
       InsurerResponse response = restTemplate.getForObject(url, InsurerResponse.class);
       if (response != null && response.getWebhookUrl() != null) {
@@ -54,6 +168,8 @@ public class DirectoryValidationService {
       return null;
     } catch (HttpClientErrorException e) {
       if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
+        // Outages must not resurrect a deleted insurer's URL
+        webhookCache.forget(insurerId);
         throw new DirectoryValidationException("Insurer", insurerId);
       }
       throw new DirectoryValidationException("Failed to fetch insurer details: " + e.getMessage());
@@ -64,15 +180,30 @@ public class DirectoryValidationService {
     }
   }
 
-  private void validateEntity(String entityType, String baseUrl, UUID id) {
-    String url = baseUrl + "/api/" + entityType.toLowerCase() + "s/" + id;
+  /**
+   * Checks that an entry exists, answering from {@link DirectoryReferenceCache} when possible.
+   * Found and not-found answers are cached; errors are not.
+   */
+  private void validateEntity(DirectoryEntityType type, UUID id) {
+    String entityType = type.getDisplayName();
+    Boolean known = referenceCache.exists(type, id);
+    if (known != null) {
+      if (!known) {
+        throw new DirectoryValidationException(entityType, id);
+      }
+      return;
+    }
+
+    String url = type.entriesUrl(properties.getDirectory()) + "/" + id;
     log.debug("Validating {} at URL: {}", entityType, url);
 
     try {
       restTemplate.headForHeaders(url);
+      referenceCache.markExisting(type, id);
       log.debug("{} {} validated successfully", entityType, id);
     } catch (HttpClientErrorException e) {
       if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
+        referenceCache.markMissing(type, id);
         throw new DirectoryValidationException(entityType, id);
       }
       throw new DirectoryValidationException(
@@ -86,6 +217,9 @@ public class DirectoryValidationService {
 
   @SuppressWarnings("java:S1144") // Used by Resilience4j @CircuitBreaker via reflection
   private void validatePolicyholderFallback(UUID policyholderId, Exception e) {
+    if (referenceCache.isKnownToExist(DirectoryEntityType.POLICYHOLDER, policyholderId)) {
+      return;
+    }
     log.warn(
         "Circuit breaker open for directory service. Skipping policyholder validation for: {}. Error: {}",
         policyholderId,
@@ -96,6 +230,9 @@ public class DirectoryValidationService {
 
   @SuppressWarnings("java:S1144") // Used by Resilience4j @CircuitBreaker via reflection
   private void validateInsurerFallback(UUID insurerId, Exception e) {
+    if (referenceCache.isKnownToExist(DirectoryEntityType.INSURER, insurerId)) {
+      return;
+    }
     log.warn(
         "Circuit breaker open for directory service. Skipping insurer validation for: {}. Error: {}",
         insurerId,
@@ -106,6 +243,9 @@ public class DirectoryValidationService {
 
   @SuppressWarnings("java:S1144") // Used by Resilience4j @CircuitBreaker via reflection
   private void validateExpertFallback(UUID expertId, Exception e) {
+    if (referenceCache.isKnownToExist(DirectoryEntityType.EXPERT, expertId)) {
+      return;
+    }
     log.warn(
         "Circuit breaker open for directory service. Skipping expert validation for: {}. Error: {}",
         expertId,
@@ -116,6 +256,9 @@ public class DirectoryValidationService {
 
   @SuppressWarnings("java:S1144") // Used by Resilience4j @CircuitBreaker via reflection
   private void validateProviderFallback(UUID providerId, Exception e) {
+    if (referenceCache.isKnownToExist(DirectoryEntityType.PROVIDER, providerId)) {
+      return;
+    }
     log.warn(
         "Circuit breaker open for directory service. Skipping provider validation for: {}. Error: {}",
         providerId,
@@ -124,13 +267,62 @@ public class DirectoryValidationService {
         "Directory service unavailable. Cannot validate provider.");
   }
 
+  @SuppressWarnings("java:S1144") // Used by Resilience4j @CircuitBreaker via reflection
+  private Set<UUID> findMissingFallback(
+      DirectoryEntityType type, Collection<UUID> ids, Exception e) {
+    Set<UUID> missing = new HashSet<>();
+    for (UUID id : ids) {
+      Boolean known = referenceCache.exists(type, id);
+      if (known == null) {
+        log.warn(
+            "Directory service unavailable. Cannot validate {} entries. Error: {}",
+            type.getDisplayName(),
+            e.getMessage());
+        throw new DirectoryValidationException(
+            "Directory service unavailable. Cannot validate "
+                + type.getDisplayName().toLowerCase(Locale.ROOT)
+                + " entries.");
+      }
+      if (!known) {
+        missing.add(id);
+      }
+    }
+    return missing;
+  }
+
+  @SuppressWarnings("java:S1144") // Used by Resilience4j @CircuitBreaker via reflection
+  private Map<UUID, String> findNamesFallback(
+      DirectoryEntityType type, Collection<UUID> ids, Exception e) {
+    log.warn(
+        "Directory service unavailable. Cannot look up {} names. Error: {}",
+        type.getDisplayName(),
+        e.getMessage());
+    throw new DirectoryValidationException(
+        "Directory service unavailable. Cannot look up "
+            + type.getDisplayName().toLowerCase(Locale.ROOT)
+            + " names.");
+  }
+
   @SuppressWarnings("java:S1144") // Used by Resilience4j @CircuitBreaker via reflection
   private String getInsurerWebhookUrlFallback(UUID insurerId, Exception e) {
+    InsurerWebhookCache.Webhook lastKnown = webhookCache.lastKnown(insurerId);
+    if (lastKnown != null) {
+      log.warn(
+          "Directory service unavailable, using last known webhook URL for insurer: {}. Error: {}",
+          insurerId,
+          e.getMessage());
+      return lastKnown.url();
+    }
     log.warn(
         "Circuit breaker open for directory service. Cannot fetch webhook URL for insurer: {}. Error: {}",
         insurerId,
         e.getMessage());
-    return null;
+    // Not null: that means "no webhook configured" and the notification would be dropped
+    if (e instanceof DirectoryValidationException validationException) {
+      throw validationException;
+    }
+    throw new DirectoryValidationException(
+        "Directory service unavailable. Cannot fetch webhook URL for insurer.");
   }
 
   private static class InsurerResponse {
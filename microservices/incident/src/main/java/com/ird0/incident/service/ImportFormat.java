@@ -0,0 +1,35 @@
+package com.ird0.incident.service;
+
+import com.ird0.commons.exception.ValidationException;
+import java.util.Locale;
+
+/** Input formats of the incident import. */
+public enum ImportFormat {
+  CSV("csv"),
+  NDJSON("ndjson");
+
+  private final String fileExtension;
+
+  ImportFormat(String fileExtension) {
+    this.fileExtension = fileExtension;
+  }
+
+  public String getFileExtension() {
+    return fileExtension;
+  }
+
+  /**
+   * Resolves a format from a file name's extension, ignoring case.
+   *
+   * @throws ValidationException if the extension does not name a supported format
+   */
+  public static ImportFormat fromFilename(String filename) {
+    String lower = filename.toLowerCase(Locale.ROOT);
+    for (ImportFormat format : values()) {
+      if (lower.endsWith("." + format.fileExtension)) {
+        return format;
+      }
+    }
+    throw new ValidationException("Unsupported file: " + filename + " (expected .csv or .ndjson)");
+  }
+}
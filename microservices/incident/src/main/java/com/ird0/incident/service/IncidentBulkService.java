@@ -0,0 +1,236 @@
+package com.ird0.incident.service;
+
+import com.ird0.commons.exception.ValidationException;
+import com.ird0.incident.dto.BulkItemResult;
+import com.ird0.incident.dto.BulkItemResult.Status;
+import com.ird0.incident.dto.BulkResult;
+import com.ird0.incident.model.Incident;
+import com.ird0.incident.model.IncidentEvent;
+import com.ird0.incident.model.IncidentStatus;
+import com.ird0.incident.repository.IncidentEventRepository;
+import com.ird0.incident.repository.IncidentRepository;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Bulk status transitions for claims teams closing or abandoning many incidents at once.
+ *
+ * <p>Ids are processed in batches of {@value #BATCH_SIZE}, each in its own transaction. A batch
+ * locks its incidents with one query, checks every transition with {@link
+ * IncidentStatus#canTransitionTo}, and applies the valid ones with one JDBC batch of updates, one
+ * batch of status change events, one adjustment of the statistics rollup and one batch of outbox
+ * notifications. Invalid transitions and unknown ids are reported per id, never failing the
+ * request.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IncidentBulkService {
+
+  public static final int MAX_ITEMS = 10_000;
+  static final int BATCH_SIZE = 500;
+
+  /** Locks in id order, so that overlapping bulk requests cannot deadlock. */
+  static final String LOCK_SQL =
+      """
+      SELECT id, status, insurer_id, type, status_changed_at
+      FROM incident
+      WHERE id IN (:ids)
+      ORDER BY id
+      FOR UPDATE
+      """;
+
+  static final String UPDATE_SQL =
+      """
+      UPDATE incident
+      SET status = :status, status_changed_at = :changedAt, updated_at = :changedAt
+      WHERE id = :id
+      """;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final IncidentRepository incidentRepository;
+  private final IncidentEventRepository eventRepository;
+  private final IncidentStatisticsRollup statisticsRollup;
+  private final TransactionOperations transactionOperations;
+  private final Optional<NotificationOutbox> notificationOutbox;
+
+  /** The columns a transition needs, read without loading the incident. */
+  private record LockedIncident(
+      UUID id, IncidentStatus status, UUID insurerId, String type, Instant statusChangedAt) {}
+
+  /**
+   * Moves incidents to a status.
+   *
+   * @param ids the incidents; duplicates are reported once, at their first position
+   * @param status the target status
+   * @param reason recorded in every status change event; may be null
+   * @param triggeredBy the user making the change
+   * @return one result per distinct id, in request order
+   * @throws ValidationException if there are more than {@value #MAX_ITEMS} ids
+   */
+  public BulkResult transitionStatus(
+      List<UUID> ids, IncidentStatus status, String reason, UUID triggeredBy) {
+    Set<UUID> distinct = new LinkedHashSet<>(ids);
+    distinct.remove(null);
+    if (distinct.size() > MAX_ITEMS) {
+      throw new ValidationException("Bulk requests are limited to " + MAX_ITEMS + " items");
+    }
+    List<UUID> ordered = List.copyOf(distinct);
+
+    List<BulkItemResult> results = new ArrayList<>(ordered.size());
+    for (int from = 0; from < ordered.size(); from += BATCH_SIZE) {
+      List<UUID> chunk = ordered.subList(from, Math.min(from + BATCH_SIZE, ordered.size()));
+      int offset = from;
+      transitionBatch(chunk, status, reason, triggeredBy).stream()
+          .map(result -> result.atIndex(offset + result.index()))
+          .forEach(results::add);
+    }
+
+    BulkResult result = BulkResult.of(results);
+    log.info(
+        "Bulk transition to {} completed: {} total, {} succeeded, {} failed",
+        status,
+        result.total(),
+        result.succeeded(),
+        result.failed());
+    return result;
+  }
+
+  private List<BulkItemResult> transitionBatch(
+      List<UUID> ids, IncidentStatus status, String reason, UUID triggeredBy) {
+    try {
+      return transactionOperations.execute(tx -> apply(ids, status, reason, triggeredBy));
+    } catch (DataAccessException e) {
+      log.warn("Failed to transition batch of {} incidents: {}", ids.size(), e.getMessage());
+      String message = e.getMostSpecificCause().getMessage();
+      List<BulkItemResult> failed = new ArrayList<>(ids.size());
+      for (int i = 0; i < ids.size(); i++) {
+        failed.add(new BulkItemResult(i, ids.get(i), Status.FAILED, null, message));
+      }
+      return failed;
+    }
+  }
+
+  private List<BulkItemResult> apply(
+      List<UUID> ids, IncidentStatus status, String reason, UUID triggeredBy) {
+    Map<UUID, LockedIncident> locked = lock(ids);
+    Instant now = Instant.now();
+
+    List<BulkItemResult> results = new ArrayList<>(ids.size());
+    List<LockedIncident> transitioned = new ArrayList<>();
+    IncidentStatisticsRollup.Changes changes = IncidentStatisticsRollup.changes();
+    for (int i = 0; i < ids.size(); i++) {
+      UUID id = ids.get(i);
+      LockedIncident incident = locked.get(id);
+      if (incident == null) {
+        results.add(new BulkItemResult(i, id, Status.NOT_FOUND, null, "Incident not found"));
+      } else if (incident.status() == status) {
+        results.add(new BulkItemResult(i, id, Status.UNCHANGED, incident.status(), null));
+      } else if (!incident.status().canTransitionTo(status)) {
+        results.add(
+            new BulkItemResult(
+                i,
+                id,
+                Status.INVALID,
+                incident.status(),
+                "Cannot transition from " + incident.status() + " to " + status));
+      } else {
+        results.add(new BulkItemResult(i, id, Status.UPDATED, incident.status(), null));
+        transitioned.add(incident);
+        changes.statusChanged(
+            incident.insurerId(),
+            incident.type(),
+            incident.status(),
+            incident.statusChangedAt(),
+            status,
+            now);
+      }
+    }
+    if (transitioned.isEmpty()) {
+      return results;
+    }
+
+    Timestamp changedAt = Timestamp.from(now);
+    jdbcTemplate.batchUpdate(
+        UPDATE_SQL,
+        transitioned.stream()
+            .map(
+                incident ->
+                    new MapSqlParameterSource()
+                        .addValue("id", incident.id())
+                        .addValue("status", status.name())
+                        .addValue("changedAt", changedAt))
+            .toArray(SqlParameterSource[]::new));
+
+    Map<String, Object> payload = Map.of("reason", reason != null ? reason : "", "bulk", true);
+    eventRepository.saveAll(
+        transitioned.stream()
+            .map(
+                incident -> {
+                  IncidentEvent event =
+                      IncidentEvent.createStatusChangeEvent(
+                          incidentRepository.getReferenceById(incident.id()),
+                          incident.status(),
+                          status,
+                          triggeredBy,
+                          payload);
+                  event.setOccurredAt(now);
+                  return event;
+                })
+            .toList());
+
+    statisticsRollup.apply(changes);
+    notifyTransitioned(transitioned, status);
+    return results;
+  }
+
+  private Map<UUID, LockedIncident> lock(List<UUID> ids) {
+    Map<UUID, LockedIncident> locked = new HashMap<>();
+    jdbcTemplate.query(
+        LOCK_SQL,
+        Map.of("ids", ids),
+        rs -> {
+          UUID id = rs.getObject("id", UUID.class);
+          locked.put(
+              id,
+              new LockedIncident(
+                  id,
+                  IncidentStatus.valueOf(rs.getString("status")),
+                  rs.getObject("insurer_id", UUID.class),
+                  rs.getString("type"),
+                  rs.getTimestamp("status_changed_at").toInstant()));
+        });
+    return locked;
+  }
+
+  /** Loads the notified incidents in one query, after the update, so they carry the new status. */
+  private void notifyTransitioned(List<LockedIncident> transitioned, IncidentStatus status) {
+    if (notificationOutbox.isEmpty()
+        || (status != IncidentStatus.QUALIFIED && status != IncidentStatus.ABANDONED)) {
+      return;
+    }
+    List<Incident> incidents =
+        incidentRepository.findAllById(transitioned.stream().map(LockedIncident::id).toList());
+    if (status == IncidentStatus.QUALIFIED) {
+      notificationOutbox.get().incidentsQualified(incidents);
+    } else {
+      notificationOutbox.get().incidentsAbandoned(incidents);
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package com.ird0.incident.service;
+
+import com.ird0.commons.exception.ValidationException;
+import com.ird0.incident.dto.IncidentSummaryResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Position of the last row returned by a keyset-paginated listing, which is ordered by a timestamp
+ * and then the id: {@code (createdAt, id)} for incidents and comments, {@code (occurredAt, id)} for
+ * events.
+ *
+ * <p>The cursor is serialized as an opaque URL-safe token carrying the direction it was issued for
+ * and the timestamp and id of the last row. Clients must treat the token as opaque.
+ */
+record IncidentCursor(Sort.Direction direction, Instant timestamp, UUID id) {
+
+  private static final char SEPARATOR = '|';
+
+  static IncidentCursor after(Sort.Direction direction, IncidentSummaryResponse last) {
+    return new IncidentCursor(direction, last.createdAt(), last.id());
+  }
+
+  /**
+   * Rows strictly after this cursor in {@code (timestampAttribute, id)} order. The redundant
+   * inclusive bound on the timestamp alone is what PostgreSQL can use as an index condition; the
+   * disjunction only filters the few rows that share the cursor's timestamp.
+   */
+  <T> Specification<T> seek(String timestampAttribute) {
+    boolean ascending = direction.isAscending();
+    return (root, query, cb) ->
+        cb.and(
+            ascending
+                ? cb.greaterThanOrEqualTo(root.get(timestampAttribute), timestamp)
+                : cb.lessThanOrEqualTo(root.get(timestampAttribute), timestamp),
+            cb.or(
+                ascending
+                    ? cb.greaterThan(root.get(timestampAttribute), timestamp)
+                    : cb.lessThan(root.get(timestampAttribute), timestamp),
+                cb.and(
+                    cb.equal(root.get(timestampAttribute), timestamp),
+                    ascending
+                        ? cb.greaterThan(root.get("id"), id)
+                        : cb.lessThan(root.get("id"), id))));
+  }
+
+  String encode() {
+    String raw = direction.name() + SEPARATOR + timestamp + SEPARATOR + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decodes a cursor token and checks it was issued for the requested direction.
+   *
+   * @throws ValidationException if the token is malformed or belongs to the other direction
+   */
+  static IncidentCursor decode(String token, Sort.Direction expectedDirection) {
+    String[] parts;
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      parts = raw.split("\\" + SEPARATOR, 3);
+    } catch (IllegalArgumentException e) {
+      throw new ValidationException("Invalid cursor");
+    }
+    if (parts.length != 3) {
+      throw new ValidationException("Invalid cursor");
+    }
+
+    IncidentCursor cursor;
+    try {
+      cursor =
+          new IncidentCursor(
+              Sort.Direction.valueOf(parts[0]), Instant.parse(parts[1]), UUID.fromString(parts[2]));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new ValidationException("Invalid cursor");
+    }
+    if (cursor.direction() != expectedDirection) {
+      throw new ValidationException(
+          "Cursor was issued for direction " + cursor.direction().name().toLowerCase());
+    }
+    return cursor;
+  }
+}
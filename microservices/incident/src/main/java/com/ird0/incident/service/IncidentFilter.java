@@ -0,0 +1,47 @@
+package com.ird0.incident.service;
+
+import com.ird0.incident.model.IncidentStatus;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * The filters of the incident listing; null fields do not filter. Dates bound {@code createdAt},
+ * both inclusive. They apply to incidents and to their {@code IncidentView} rows alike, which share
+ * the attribute names.
+ */
+public record IncidentFilter(
+    UUID policyholderId,
+    UUID insurerId,
+    IncidentStatus status,
+    String type,
+    Instant fromDate,
+    Instant toDate) {
+
+  public <T> Specification<T> toSpecification() {
+    List<Specification<T>> filters = new ArrayList<>();
+
+    if (policyholderId != null) {
+      filters.add((root, query, cb) -> cb.equal(root.get("policyholderId"), policyholderId));
+    }
+    if (insurerId != null) {
+      filters.add((root, query, cb) -> cb.equal(root.get("insurerId"), insurerId));
+    }
+    if (status != null) {
+      filters.add((root, query, cb) -> cb.equal(root.get("status"), status));
+    }
+    if (type != null) {
+      filters.add((root, query, cb) -> cb.equal(root.get("type"), type));
+    }
+    if (fromDate != null) {
+      filters.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), fromDate));
+    }
+    if (toDate != null) {
+      filters.add((root, query, cb) -> cb.lessThanOrEqualTo(root.get("createdAt"), toDate));
+    }
+
+    return Specification.allOf(filters);
+  }
+}
@@ -0,0 +1,96 @@
+package com.ird0.incident.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ird0.incident.config.IncidentProperties;
+import com.ird0.incident.dto.ImportResult;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Imports the files dropped in {@code incident.bulk-import.drop.directory}, such as the local copy
+ * of an SFTP upload directory. Files ending in {@code .csv} or {@code .ndjson} are imported in name
+ * order, then moved to {@code processed/} with their {@link ImportResult} alongside, or to {@code
+ * failed/} if the file could not be read. Uploaders should write under another name and rename when
+ * done, so that a partial file is never picked up.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "incident.bulk-import.drop", name = "enabled")
+public class IncidentImportDropPoller {
+
+  static final String PROCESSED = "processed";
+  static final String FAILED = "failed";
+
+  private final IncidentImportService importService;
+  private final IncidentProperties properties;
+  private final ObjectMapper objectMapper;
+
+  @Scheduled(fixedDelayString = "${incident.bulk-import.drop.fixed-delay:60000}")
+  public void poll() {
+    Path directory = Path.of(properties.getBulkImport().getDrop().getDirectory());
+    if (!Files.isDirectory(directory)) {
+      return;
+    }
+    List<Path> files;
+    try (Stream<Path> listing = Files.list(directory)) {
+      files = listing.filter(Files::isRegularFile).filter(this::isImportFile).sorted().toList();
+    } catch (IOException e) {
+      log.warn("Could not list the import drop directory {}: {}", directory, e.getMessage());
+      return;
+    }
+    files.forEach(this::importFile);
+  }
+
+  private boolean isImportFile(Path file) {
+    String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+    return Arrays.stream(ImportFormat.values())
+        .anyMatch(format -> name.endsWith("." + format.getFileExtension()));
+  }
+
+  private void importFile(Path file) {
+    String filename = file.getFileName().toString();
+    ImportResult result;
+    try (InputStream input = Files.newInputStream(file)) {
+      result = importService.importFile(input, ImportFormat.fromFilename(filename), null);
+    } catch (IOException | RuntimeException e) {
+      log.error("Failed to import dropped file {}: {}", filename, e.getMessage(), e);
+      moveTo(file, FAILED);
+      return;
+    }
+
+    Path processed = moveTo(file, PROCESSED);
+    if (processed != null) {
+      try {
+        objectMapper.writeValue(
+            processed.resolveSibling(filename + ".result.json").toFile(), result);
+      } catch (IOException e) {
+        log.warn("Could not write the import result of {}: {}", filename, e.getMessage());
+      }
+    }
+  }
+
+  /** Returns the new path, or null if the file could not be moved. */
+  private Path moveTo(Path file, String subdirectory) {
+    Path target = file.resolveSibling(subdirectory).resolve(file.getFileName());
+    try {
+      Files.createDirectories(target.getParent());
+      return Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      log.error("Could not move {} to {}: {}", file, subdirectory, e.getMessage());
+      return null;
+    }
+  }
+}
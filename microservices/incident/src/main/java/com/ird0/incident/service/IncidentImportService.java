@@ -0,0 +1,340 @@
+package com.ird0.incident.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ird0.incident.config.IncidentProperties;
+import com.ird0.incident.dto.CreateIncidentRequest;
+import com.ird0.incident.dto.ImportResult;
+import com.ird0.incident.dto.ImportResult.RowError;
+import com.ird0.incident.dto.LocationDTO;
+import com.ird0.incident.exception.DirectoryValidationException;
+import com.ird0.incident.model.Incident;
+import com.ird0.incident.repository.IncidentRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Imports incidents in bulk from CSV or NDJSON, for migrations and partner feeds.
+ *
+ * <p>The input is streamed: rows are read and handled in batches of {@code
+ * incident.bulk-import.batch-size}, so memory use does not grow with the file. Each batch costs one
+ * directory lookup per referenced service, for the set of ids the batch uses, one {@code nextval}
+ * query for all its reference numbers, and one transaction in which the incidents and their initial
+ * events are inserted with JDBC batching and the statistics rollup is adjusted once.
+ *
+ * <p>Rows that are malformed, fail validation or refer to unknown directory entries are reported
+ * and skipped. A batch that fails to persist is reported row by row; other batches still commit, so
+ * an import can partly succeed. Imported incidents are DECLARED like created ones, but no
+ * notification is sent for them.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IncidentImportService {
+
+  /** CSV header understood by the import; only the first three and incidentDate are required. */
+  public static final String[] CSV_COLUMNS = {
+    "policyholderId",
+    "insurerId",
+    "type",
+    "description",
+    "incidentDate",
+    "estimatedDamage",
+    "currency",
+    "address",
+    "latitude",
+    "longitude"
+  };
+
+  private static final Map<String, Object> EVENT_PAYLOAD =
+      Map.of("action", "INCIDENT_CREATED", "imported", true);
+
+  private final IncidentRepository incidentRepository;
+  private final ReferenceNumberGenerator referenceNumberGenerator;
+  private final DirectoryValidationService directoryValidationService;
+  private final IncidentStatisticsRollup statisticsRollup;
+  private final TransactionOperations transactionOperations;
+  private final Validator validator;
+  private final ObjectMapper objectMapper;
+  private final IncidentProperties properties;
+
+  /** One input row that parsed into a request. */
+  private record Row(long number, CreateIncidentRequest request) {}
+
+  /**
+   * Imports every row of the input.
+   *
+   * @param input the file contents, read once and closed
+   * @param format how the rows are encoded
+   * @param createdBy recorded as creator of every incident; each row's policyholder if null
+   * @return the row counts and the first failures
+   * @throws IOException if the input cannot be read
+   */
+  public ImportResult importFile(InputStream input, ImportFormat format, UUID createdBy)
+      throws IOException {
+    log.info("Starting {} incident import", format);
+    Batches batches = new Batches(createdBy);
+    try (Reader reader = new InputStreamReader(input, StandardCharsets.UTF_8)) {
+      switch (format) {
+        case CSV -> readCsv(reader, batches);
+        case NDJSON -> readNdjson(reader, batches);
+      }
+    }
+    batches.flush();
+
+    ImportResult result = batches.result();
+    log.info(
+        "Incident import completed: {} total, {} imported, {} failed",
+        result.totalRows(),
+        result.importedRows(),
+        result.failedRows());
+    return result;
+  }
+
+  private void readCsv(Reader reader, Batches batches) throws IOException {
+    try (CSVParser parser =
+        CSVFormat.DEFAULT
+            .builder()
+            .setHeader()
+            .setSkipHeaderRecord(true)
+            .setTrim(true)
+            .build()
+            .parse(reader)) {
+      for (CSVRecord csvRecord : parser) {
+        try {
+          batches.add(csvRecord.getRecordNumber(), parseRecord(csvRecord));
+        } catch (IllegalArgumentException | DateTimeException e) {
+          batches.reject(csvRecord.getRecordNumber(), e.getMessage());
+        }
+      }
+    }
+  }
+
+  /** Reads one JSON object per line; blank lines are skipped but counted in row numbers. */
+  private void readNdjson(Reader reader, Batches batches) throws IOException {
+    BufferedReader lines = new BufferedReader(reader);
+    long number = 0;
+    String line;
+    while ((line = lines.readLine()) != null) {
+      number++;
+      if (line.isBlank()) {
+        continue;
+      }
+      try {
+        CreateIncidentRequest request = objectMapper.readValue(line, CreateIncidentRequest.class);
+        if (request == null) {
+          batches.reject(number, "Row must be a JSON object");
+        } else {
+          batches.add(number, request);
+        }
+      } catch (JsonProcessingException e) {
+        batches.reject(number, "Malformed JSON: " + e.getOriginalMessage());
+      }
+    }
+  }
+
+  private static CreateIncidentRequest parseRecord(CSVRecord csvRecord) {
+    String address = field(csvRecord, "address", Function.identity());
+    Double latitude = field(csvRecord, "latitude", Double::valueOf);
+    Double longitude = field(csvRecord, "longitude", Double::valueOf);
+    LocationDTO location =
+        address != null || latitude != null || longitude != null
+            ? new LocationDTO(address, latitude, longitude)
+            : null;
+    return new CreateIncidentRequest(
+        field(csvRecord, "policyholderId", UUID::fromString),
+        field(csvRecord, "insurerId", UUID::fromString),
+        field(csvRecord, "type", Function.identity()),
+        field(csvRecord, "description", Function.identity()),
+        field(csvRecord, "incidentDate", Instant::parse),
+        location,
+        field(csvRecord, "estimatedDamage", BigDecimal::new),
+        field(csvRecord, "currency", Function.identity()));
+  }
+
+  /** Returns null for absent or empty columns, which validation then reports if required. */
+  private static <T> T field(CSVRecord csvRecord, String name, Function<String, T> parser) {
+    if (!csvRecord.isMapped(name) || !csvRecord.isSet(name) || csvRecord.get(name).isEmpty()) {
+      return null;
+    }
+    String value = csvRecord.get(name);
+    try {
+      return parser.apply(value);
+    } catch (IllegalArgumentException | DateTimeException e) {
+      throw new IllegalArgumentException("Invalid " + name + ": " + value, e);
+    }
+  }
+
+  private void importBatch(List<Row> rows, Batches batches) {
+    List<Row> valid = new ArrayList<>(rows.size());
+    for (Row row : rows) {
+      String violations = validate(row.request());
+      if (violations != null) {
+        batches.fail(row.number(), violations);
+      } else {
+        valid.add(row);
+      }
+    }
+    valid = withExistingReferences(valid, batches);
+    if (valid.isEmpty()) {
+      return;
+    }
+
+    List<Row> inserted = valid;
+    try {
+      List<String> referenceNumbers = referenceNumberGenerator.generate(inserted.size());
+      transactionOperations.executeWithoutResult(
+          status -> insert(inserted, referenceNumbers, batches.createdBy));
+      batches.imported(inserted.size());
+    } catch (DataAccessException e) {
+      log.warn("Failed to import batch of {} incidents: {}", inserted.size(), e.getMessage());
+      String message = e.getMostSpecificCause().getMessage();
+      inserted.forEach(row -> batches.fail(row.number(), message));
+    }
+  }
+
+  private String validate(CreateIncidentRequest request) {
+    Set<ConstraintViolation<CreateIncidentRequest>> violations = validator.validate(request);
+    if (violations.isEmpty()) {
+      return null;
+    }
+    return violations.stream()
+        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+        .sorted()
+        .collect(Collectors.joining("; "));
+  }
+
+  /**
+   * Keeps the rows whose policyholder and insurer exist, checking each set of ids at once. If the
+   * directory cannot answer, the whole batch is reported failed.
+   */
+  private List<Row> withExistingReferences(List<Row> rows, Batches batches) {
+    if (rows.isEmpty()) {
+      return rows;
+    }
+    Set<UUID> missingPolicyholders;
+    Set<UUID> missingInsurers;
+    try {
+      missingPolicyholders =
+          directoryValidationService.findMissing(
+              DirectoryEntityType.POLICYHOLDER,
+              rows.stream().map(row -> row.request().policyholderId()).toList());
+      missingInsurers =
+          directoryValidationService.findMissing(
+              DirectoryEntityType.INSURER,
+              rows.stream().map(row -> row.request().insurerId()).toList());
+    } catch (DirectoryValidationException e) {
+      rows.forEach(row -> batches.fail(row.number(), e.getMessage()));
+      return List.of();
+    }
+
+    List<Row> existing = new ArrayList<>(rows.size());
+    for (Row row : rows) {
+      UUID policyholderId = row.request().policyholderId();
+      UUID insurerId = row.request().insurerId();
+      if (missingPolicyholders.contains(policyholderId)) {
+        batches.fail(row.number(), "Policyholder not found with id: " + policyholderId);
+      } else if (missingInsurers.contains(insurerId)) {
+        batches.fail(row.number(), "Insurer not found with id: " + insurerId);
+      } else {
+        existing.add(row);
+      }
+    }
+    return existing;
+  }
+
+  private void insert(List<Row> rows, List<String> referenceNumbers, UUID createdBy) {
+    List<Incident> incidents = new ArrayList<>(rows.size());
+    for (int i = 0; i < rows.size(); i++) {
+      CreateIncidentRequest request = rows.get(i).request();
+      incidents.add(
+          IncidentService.newIncident(
+              request,
+              referenceNumbers.get(i),
+              createdBy != null ? createdBy : request.policyholderId(),
+              EVENT_PAYLOAD));
+    }
+    incidentRepository.saveAll(incidents);
+
+    IncidentStatisticsRollup.Changes changes = IncidentStatisticsRollup.changes();
+    incidents.forEach(changes::created);
+    statisticsRollup.apply(changes);
+  }
+
+  /** Groups rows into batches as they are read, and tallies their outcome. */
+  private final class Batches {
+
+    private final UUID createdBy;
+    private final int batchSize = properties.getBulkImport().getBatchSize();
+    private final List<Row> pending = new ArrayList<>();
+    private final List<RowError> errors = new ArrayList<>();
+    private long total;
+    private long imported;
+    private long failed;
+
+    Batches(UUID createdBy) {
+      this.createdBy = createdBy;
+    }
+
+    void add(long number, CreateIncidentRequest request) {
+      total++;
+      pending.add(new Row(number, request));
+      if (pending.size() >= batchSize) {
+        flush();
+      }
+    }
+
+    void imported(int rows) {
+      imported += rows;
+    }
+
+    void reject(long number, String error) {
+      total++;
+      fail(number, error);
+    }
+
+    void fail(long number, String error) {
+      failed++;
+      if (errors.size() < ImportResult.MAX_ERRORS) {
+        errors.add(new RowError(number, error));
+      }
+    }
+
+    void flush() {
+      if (!pending.isEmpty()) {
+        importBatch(List.copyOf(pending), this);
+        pending.clear();
+      }
+    }
+
+    ImportResult result() {
+      errors.sort(Comparator.comparingLong(RowError::row));
+      return new ImportResult(total, imported, failed, List.copyOf(errors));
+    }
+  }
+}
@@ -1,7 +1,11 @@
 package com.ird0.incident.service;
 
+import com.ird0.commons.exception.ValidationException;
 import com.ird0.incident.dto.CreateIncidentRequest;
+import com.ird0.incident.dto.CursorPage;
 import com.ird0.incident.dto.ExpertAssignmentRequest;
+import com.ird0.incident.dto.IncidentStatisticsResponse;
+import com.ird0.incident.dto.IncidentSummaryResponse;
 import com.ird0.incident.dto.StatusUpdateRequest;
 import com.ird0.incident.exception.IncidentNotFoundException;
 import com.ird0.incident.model.Comment;
@@ -9,40 +13,93 @@ import com.ird0.incident.model.ExpertAssignment;
 import com.ird0.incident.model.Incident;
 import com.ird0.incident.model.IncidentEvent;
 import com.ird0.incident.model.IncidentStatus;
+import com.ird0.incident.model.IncidentView;
 import com.ird0.incident.model.Location;
+import com.ird0.incident.repository.CommentRepository;
+import com.ird0.incident.repository.ExpertAssignmentRepository;
+import com.ird0.incident.repository.IncidentEventRepository;
 import com.ird0.incident.repository.IncidentRepository;
+import com.ird0.incident.repository.IncidentStatisticsRepository.StatusTypeCount;
+import com.ird0.incident.repository.IncidentViewRepository;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class IncidentService {
 
+  public static final int DEFAULT_PAGE_SIZE = 20;
+  public static final int MAX_PAGE_SIZE = 100;
+
   private final IncidentRepository incidentRepository;
+  private final IncidentViewRepository viewRepository;
+  private final IncidentEventRepository eventRepository;
+  private final CommentRepository commentRepository;
+  private final ExpertAssignmentRepository expertAssignmentRepository;
   private final ReferenceNumberGenerator referenceNumberGenerator;
   private final DirectoryValidationService directoryValidationService;
-  private final Optional<NotificationClient> notificationClient;
+  private final DirectoryValidationRunner directoryValidationRunner;
+  private final TransactionOperations transactionOperations;
+  private final IncidentCountEstimator countEstimator;
+  private final IncidentStatisticsRollup statisticsRollup;
+  private final IncidentViewProjection viewProjection;
+  private final Optional<NotificationOutbox> notificationOutbox;
 
   @Transactional(readOnly = true)
   public Incident getById(UUID id) {
     return incidentRepository.findById(id).orElseThrow(() -> new IncidentNotFoundException(id));
   }
 
+  /**
+   * Loads an incident for a change that adjusts the statistics rollup. The row lock keeps two
+   * changes from both moving the incident out of the same previous bucket.
+   */
+  private Incident getForUpdate(UUID id) {
+    return incidentRepository
+        .findForUpdateById(id)
+        .orElseThrow(() -> new IncidentNotFoundException(id));
+  }
+
+  /**
+   * Loads an incident with its expert assignments and comments, in two queries. The event history
+   * is left out: it is read a page at a time through {@code IncidentEventRepository}.
+   */
+  @Transactional(readOnly = true)
+  public Incident getDetail(UUID id) {
+    Incident incident =
+        incidentRepository.findDetailById(id).orElseThrow(() -> new IncidentNotFoundException(id));
+    Hibernate.initialize(incident.getComments());
+    return incident;
+  }
+
+  /** Like {@link #getDetail(UUID)}, by reference number. */
   @Transactional(readOnly = true)
   public Incident getByReferenceNumber(String referenceNumber) {
-    return incidentRepository
-        .findByReferenceNumber(referenceNumber)
-        .orElseThrow(() -> new IncidentNotFoundException(referenceNumber));
+    Incident incident =
+        incidentRepository
+            .findDetailByReferenceNumber(referenceNumber)
+            .orElseThrow(() -> new IncidentNotFoundException(referenceNumber));
+    Hibernate.initialize(incident.getComments());
+    return incident;
   }
 
   @Transactional(readOnly = true)
@@ -50,8 +107,12 @@ public class IncidentService {
     return incidentRepository.findAll(pageable);
   }
 
+  /**
+   * Lists incident summaries by offset page, from the {@code incident_view} read model. Changes
+   * show up once {@link IncidentViewProjection} has projected them, usually within a second.
+   */
   @Transactional(readOnly = true)
-  public Page<Incident> findWithFilters(
+  public Page<IncidentSummaryResponse> findWithFilters(
       UUID policyholderId,
       UUID insurerId,
       IncidentStatus status,
@@ -59,32 +120,110 @@ public class IncidentService {
       Instant fromDate,
       Instant toDate,
       Pageable pageable) {
-    Specification<Incident> spec = Specification.where(null);
+    IncidentFilter filter =
+        new IncidentFilter(policyholderId, insurerId, status, type, fromDate, toDate);
+    return viewRepository.findSummaries(filter.toSpecification(), pageable);
+  }
 
-    if (policyholderId != null) {
-      spec = spec.and((root, query, cb) -> cb.equal(root.get("policyholderId"), policyholderId));
-    }
-    if (insurerId != null) {
-      spec = spec.and((root, query, cb) -> cb.equal(root.get("insurerId"), insurerId));
+  /**
+   * Returns one page of incidents using keyset pagination on {@code (createdAt, id)}, from the
+   * {@code incident_view} read model.
+   *
+   * <p>The next page starts strictly after the incident identified by the cursor, so the database
+   * seeks into the filter's {@code (column, created_at)} index instead of skipping an offset:
+   * fetching page N costs the same as fetching page 1. One extra row is read to detect whether a
+   * next page exists. No count query runs unless {@code totalCount} asks for one.
+   *
+   * @param filter the listing filters
+   * @param direction {@code DESC} for newest first, {@code ASC} for oldest first
+   * @param cursor the cursor returned with the previous page, or null for the first page
+   * @param limit maximum number of incidents to return, capped at {@value #MAX_PAGE_SIZE}
+   * @param totalCount whether and how to report the number of matching incidents
+   * @return the page of incident summaries and the cursor of the next page
+   */
+  @Transactional(readOnly = true)
+  public CursorPage<IncidentSummaryResponse> findPage(
+      IncidentFilter filter,
+      Sort.Direction direction,
+      String cursor,
+      int limit,
+      TotalCount totalCount) {
+    if (limit < 1) {
+      throw new ValidationException("limit must be at least 1");
     }
-    if (status != null) {
-      spec = spec.and((root, query, cb) -> cb.equal(root.get("status"), status));
+    int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+
+    Specification<IncidentView> spec = filter.toSpecification();
+    if (cursor != null && !cursor.isBlank()) {
+      spec = spec.and(IncidentCursor.decode(cursor, direction).seek("createdAt"));
     }
-    if (type != null) {
-      spec = spec.and((root, query, cb) -> cb.equal(root.get("type"), type));
+
+    Sort sort = Sort.by(direction, "createdAt", "id");
+    List<IncidentSummaryResponse> rows = viewRepository.findSummaries(spec, sort, pageSize + 1);
+
+    boolean hasNext = rows.size() > pageSize;
+    List<IncidentSummaryResponse> content = hasNext ? rows.subList(0, pageSize) : rows;
+    String nextCursor =
+        hasNext ? IncidentCursor.after(direction, content.getLast()).encode() : null;
+
+    Long total = null;
+    boolean estimated = false;
+    if (totalCount == TotalCount.ESTIMATED) {
+      total = countEstimator.estimate(filter);
+      estimated = total != null;
     }
-    if (fromDate != null) {
-      spec =
-          spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), fromDate));
+    if (totalCount == TotalCount.EXACT || (totalCount == TotalCount.ESTIMATED && total == null)) {
+      // Also the fallback when the database has no planner statistics to offer
+      total = viewRepository.count(filter.toSpecification());
     }
-    if (toDate != null) {
-      spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("createdAt"), toDate));
+    return new CursorPage<>(content, nextCursor, hasNext, total, estimated);
+  }
+
+  /**
+   * Counts the incidents matching the listing filters by status and type; the KPIs are sums over
+   * the counts. Filters on insurer, status and type are answered from the statistics rollup, at a
+   * cost independent of the number of incidents. Policyholder and date filters need the incidents
+   * themselves and run a single {@code GROUP BY} query over them.
+   */
+  @Transactional(readOnly = true)
+  public IncidentStatisticsResponse getStatistics(IncidentFilter filter) {
+    LocalDate monthStart = YearMonth.now(ZoneOffset.UTC).atDay(1);
+    List<StatusTypeCount> counts;
+    if (filter.policyholderId() == null && filter.fromDate() == null && filter.toDate() == null) {
+      counts =
+          incidentRepository.sumBucketsByStatusAndType(
+              filter.insurerId(), filter.status(), filter.type(), monthStart);
+    } else {
+      counts =
+          incidentRepository.countByStatusAndType(
+              filter.toSpecification(), monthStart.atStartOfDay(ZoneOffset.UTC).toInstant());
     }
 
-    return incidentRepository.findAll(spec, pageable);
+    Map<IncidentStatus, Long> byStatus = new EnumMap<>(IncidentStatus.class);
+    Map<String, Long> byType = new TreeMap<>();
+    long total = 0;
+    long closedThisMonth = 0;
+    for (StatusTypeCount count : counts) {
+      byStatus.merge(count.status(), count.incidents(), Long::sum);
+      byType.merge(count.type(), count.incidents(), Long::sum);
+      total += count.incidents();
+      closedThisMonth += count.closedSince();
+    }
+    long pending =
+        byStatus.getOrDefault(IncidentStatus.DECLARED, 0L)
+            + byStatus.getOrDefault(IncidentStatus.UNDER_REVIEW, 0L);
+    long inProgress =
+        byStatus.getOrDefault(IncidentStatus.QUALIFIED, 0L)
+            + byStatus.getOrDefault(IncidentStatus.IN_PROGRESS, 0L);
+    return new IncidentStatisticsResponse(
+        total, byStatus, byType, pending, inProgress, closedThisMonth);
   }
 
-  @Transactional
+  /**
+   * Creates an incident. The directory references are validated concurrently and the reference
+   * number issued before the transaction starts, so a database connection is only held for the
+   * insert.
+   */
   public Incident createIncident(CreateIncidentRequest request, UUID createdBy) {
     log.info(
         "Creating incident for policyholder {} with insurer {}",
@@ -92,11 +231,44 @@ public class IncidentService {
         request.insurerId());
 
     // Validate references exist in directory services
-    directoryValidationService.validatePolicyholder(request.policyholderId());
-    directoryValidationService.validateInsurer(request.insurerId());
+    directoryValidationRunner.validate(
+        () -> directoryValidationService.validatePolicyholder(request.policyholderId()),
+        () -> directoryValidationService.validateInsurer(request.insurerId()));
+
+    // Before the transaction too: reserving a new block takes a connection of its own, which
+    // must not be awaited while holding one
+    String referenceNumber = referenceNumberGenerator.generate();
+
+    Incident saved =
+        transactionOperations.execute(
+            status -> insertIncident(request, referenceNumber, createdBy));
+    log.info("Created incident with reference number: {}", saved.getReferenceNumber());
+
+    return saved;
+  }
+
+  private Incident insertIncident(
+      CreateIncidentRequest request, String referenceNumber, UUID createdBy) {
+    Incident incident =
+        newIncident(request, referenceNumber, createdBy, Map.of("action", "INCIDENT_CREATED"));
+
+    Incident saved = incidentRepository.save(incident);
+    statisticsRollup.incidentCreated(saved);
+
+    // Notify the insurer once the incident is committed
+    notificationOutbox.ifPresent(outbox -> outbox.incidentDeclared(saved));
 
+    return saved;
+  }
+
+  /** Builds a DECLARED incident with its initial event, shared with the bulk import. */
+  static Incident newIncident(
+      CreateIncidentRequest request,
+      String referenceNumber,
+      UUID createdBy,
+      Map<String, Object> eventPayload) {
     Incident incident = new Incident();
-    incident.setReferenceNumber(referenceNumberGenerator.generate());
+    incident.setReferenceNumber(referenceNumber);
     incident.setPolicyholderId(request.policyholderId());
     incident.setInsurerId(request.insurerId());
     incident.setType(request.type());
@@ -118,26 +290,16 @@ public class IncidentService {
     // Create initial event
     IncidentEvent event =
         IncidentEvent.createStatusChangeEvent(
-            incident,
-            null,
-            IncidentStatus.DECLARED,
-            createdBy,
-            Map.of("action", "INCIDENT_CREATED"));
+            incident, null, IncidentStatus.DECLARED, createdBy, eventPayload);
     incident.addEvent(event);
-
-    Incident saved = incidentRepository.save(incident);
-    log.info("Created incident with reference number: {}", saved.getReferenceNumber());
-
-    // Send notification to insurer
-    notificationClient.ifPresent(client -> client.sendIncidentDeclaredNotification(saved));
-
-    return saved;
+    return incident;
   }
 
   @Transactional
   public Incident updateStatus(UUID incidentId, StatusUpdateRequest request, UUID updatedBy) {
-    Incident incident = getById(incidentId);
+    Incident incident = getForUpdate(incidentId);
     IncidentStatus previousStatus = incident.getStatus();
+    Instant previousStatusChangedAt = incident.getStatusChangedAt();
     IncidentStatus newStatus = request.status();
 
     log.info(
@@ -147,6 +309,7 @@ public class IncidentService {
         newStatus);
 
     incident.transitionTo(newStatus);
+    statisticsRollup.statusChanged(incident, previousStatus, previousStatusChangedAt);
 
     // Create status change event
     Map<String, Object> payload =
@@ -156,26 +319,33 @@ public class IncidentService {
             "qualificationDetails",
             request.qualificationDetails() != null ? request.qualificationDetails() : "");
 
-    IncidentEvent event =
+    eventRepository.save(
         IncidentEvent.createStatusChangeEvent(
-            incident, previousStatus, newStatus, updatedBy, payload);
-    incident.addEvent(event);
+            incident, previousStatus, newStatus, updatedBy, payload));
 
     Incident saved = incidentRepository.save(incident);
 
-    // Send notifications based on status change
+    // Queue notifications based on status change
     if (newStatus == IncidentStatus.QUALIFIED) {
-      notificationClient.ifPresent(client -> client.sendIncidentQualifiedNotification(saved));
+      notificationOutbox.ifPresent(outbox -> outbox.incidentQualified(saved));
     } else if (newStatus == IncidentStatus.ABANDONED) {
-      notificationClient.ifPresent(client -> client.sendIncidentAbandonedNotification(saved));
+      notificationOutbox.ifPresent(outbox -> outbox.incidentAbandoned(saved));
     }
 
     return saved;
   }
 
-  @Transactional
+  /** Validates the new insurer before the transaction starts, like {@link #createIncident}. */
   public Incident updateInsurer(UUID incidentId, UUID insurerId, String reason, UUID updatedBy) {
-    Incident incident = getById(incidentId);
+    // Validate insurer exists
+    directoryValidationRunner.validate(() -> directoryValidationService.validateInsurer(insurerId));
+
+    return transactionOperations.execute(
+        status -> changeInsurer(incidentId, insurerId, reason, updatedBy));
+  }
+
+  private Incident changeInsurer(UUID incidentId, UUID insurerId, String reason, UUID updatedBy) {
+    Incident incident = getForUpdate(incidentId);
     UUID previousInsurerId = incident.getInsurerId();
 
     log.info(
@@ -184,16 +354,13 @@ public class IncidentService {
         previousInsurerId,
         insurerId);
 
-    // Validate insurer exists
-    directoryValidationService.validateInsurer(insurerId);
-
     incident.setInsurerId(insurerId);
+    statisticsRollup.insurerChanged(incident, previousInsurerId);
 
     // Create insurer change event
-    IncidentEvent event =
+    eventRepository.save(
         IncidentEvent.createInsurerUpdatedEvent(
-            incident, previousInsurerId, insurerId, updatedBy, reason);
-    incident.addEvent(event);
+            incident, previousInsurerId, insurerId, updatedBy, reason));
 
     Incident saved = incidentRepository.save(incident);
     log.info("Updated insurer for incident {}", saved.getReferenceNumber());
@@ -201,12 +368,18 @@ public class IncidentService {
     return saved;
   }
 
-  @Transactional
+  /** Validates the expert before the transaction starts, like {@link #createIncident}. */
   public Incident assignExpert(UUID incidentId, ExpertAssignmentRequest request, UUID assignedBy) {
-    Incident incident = getById(incidentId);
-
     // Validate expert exists
-    directoryValidationService.validateExpert(request.expertId());
+    directoryValidationRunner.validate(
+        () -> directoryValidationService.validateExpert(request.expertId()));
+
+    return transactionOperations.execute(status -> addAssignment(incidentId, request, assignedBy));
+  }
+
+  private Incident addAssignment(
+      UUID incidentId, ExpertAssignmentRequest request, UUID assignedBy) {
+    Incident incident = getForUpdate(incidentId);
 
     log.info(
         "Assigning expert {} to incident {}", request.expertId(), incident.getReferenceNumber());
@@ -217,33 +390,34 @@ public class IncidentService {
     assignment.setScheduledDate(request.scheduledDate());
     assignment.setNotes(request.notes());
 
-    incident.addExpertAssignment(assignment);
+    assignment.setIncident(incident);
+    expertAssignmentRepository.save(assignment);
 
     // Create event
-    IncidentEvent event =
-        IncidentEvent.createExpertAssignedEvent(incident, request.expertId(), assignedBy);
-    incident.addEvent(event);
+    eventRepository.save(
+        IncidentEvent.createExpertAssignedEvent(incident, request.expertId(), assignedBy));
 
     // If incident is QUALIFIED, transition to IN_PROGRESS
     if (incident.getStatus() == IncidentStatus.QUALIFIED) {
       IncidentStatus previousStatus = incident.getStatus();
+      Instant previousStatusChangedAt = incident.getStatusChangedAt();
       incident.transitionTo(IncidentStatus.IN_PROGRESS);
+      statisticsRollup.statusChanged(incident, previousStatus, previousStatusChangedAt);
 
-      IncidentEvent statusEvent =
+      eventRepository.save(
           IncidentEvent.createStatusChangeEvent(
               incident,
               previousStatus,
               IncidentStatus.IN_PROGRESS,
               assignedBy,
-              Map.of("reason", "Expert assigned, processing started"));
-      incident.addEvent(statusEvent);
+              Map.of("reason", "Expert assigned, processing started")));
     }
+    incident.touch();
 
     Incident saved = incidentRepository.save(incident);
 
-    // Send notification about expert assignment
-    notificationClient.ifPresent(
-        client -> client.sendExpertAssignedNotification(saved, request.expertId()));
+    // Queue notification about expert assignment
+    notificationOutbox.ifPresent(outbox -> outbox.expertAssigned(saved, request.expertId()));
 
     return saved;
   }
@@ -260,22 +434,24 @@ public class IncidentService {
     comment.setAuthorType(authorType);
     comment.setContent(content);
 
-    incident.addComment(comment);
+    comment.setIncident(incident);
+    commentRepository.save(comment);
 
     // Create event
-    IncidentEvent event =
-        IncidentEvent.createCommentAddedEvent(incident, authorId, authorType.name());
-    incident.addEvent(event);
+    eventRepository.save(
+        IncidentEvent.createCommentAddedEvent(incident, authorId, authorType.name()));
 
+    incident.touch();
     return incidentRepository.save(incident);
   }
 
   @Transactional
   public void deleteIncident(UUID id) {
-    if (!incidentRepository.existsById(id)) {
-      throw new IncidentNotFoundException(id);
-    }
-    incidentRepository.deleteById(id);
+    Incident incident = getForUpdate(id);
+    incidentRepository.delete(incident);
+    statisticsRollup.incidentDeleted(incident);
+    // Its events are gone with it, so the projection would never learn of the deletion
+    viewProjection.incidentDeleted(id);
     log.info("Deleted incident with id: {}", id);
   }
 }
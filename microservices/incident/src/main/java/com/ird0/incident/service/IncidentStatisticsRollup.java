@@ -0,0 +1,196 @@
+package com.ird0.incident.service;
+
+import com.ird0.incident.model.Incident;
+import com.ird0.incident.model.IncidentStatus;
+import java.sql.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Maintains the {@code incident_statistics} rollup: how many incidents of each insurer are in each
+ * status, by type and by the UTC date they entered the status. Every change that moves an incident
+ * to another bucket calls in here within its own transaction, so the rollup commits or rolls back
+ * with the change. The change must have locked the incident row before reading the bucket it
+ * leaves: otherwise two concurrent changes could both leave the same bucket, and the rollup would
+ * drift from the incident table.
+ *
+ * <p>Each change adjusts the counts of the buckets it leaves and enters. Adjustments are merged per
+ * bucket and applied in key order, so that concurrent transactions lock the buckets they share in
+ * the same order and cannot deadlock on them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class IncidentStatisticsRollup {
+
+  static final String UPDATE_SQL =
+      "UPDATE incident_statistics SET incident_count = incident_count + ?"
+          + " WHERE insurer_id = ? AND status = ? AND type = ? AND status_date = ?";
+
+  static final String INSERT_SQL =
+      "INSERT INTO incident_statistics (incident_count, insurer_id, status, type, status_date)"
+          + " VALUES (?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+
+  private static final Comparator<Bucket> BUCKET_ORDER =
+      Comparator.comparing(Bucket::insurerId)
+          .thenComparing(Bucket::status)
+          .thenComparing(Bucket::type)
+          .thenComparing(Bucket::statusDate);
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /** One row of the rollup. */
+  record Bucket(UUID insurerId, IncidentStatus status, String type, LocalDate statusDate) {
+
+    static Bucket of(Incident incident) {
+      return of(
+          incident.getInsurerId(),
+          incident.getStatus(),
+          incident.getType(),
+          incident.getStatusChangedAt());
+    }
+
+    static Bucket of(UUID insurerId, IncidentStatus status, String type, Instant statusChangedAt) {
+      return new Bucket(
+          insurerId, status, type, LocalDate.ofInstant(statusChangedAt, ZoneOffset.UTC));
+    }
+  }
+
+  /** Collects the adjustments of one or more incident changes, to apply them together. */
+  public static class Changes {
+
+    private final Map<Bucket, Long> deltas = new TreeMap<>(BUCKET_ORDER);
+
+    public Changes created(Incident incident) {
+      return add(Bucket.of(incident), 1);
+    }
+
+    public Changes deleted(Incident incident) {
+      return add(Bucket.of(incident), -1);
+    }
+
+    /** The incident has already transitioned; the arguments describe where it came from. */
+    public Changes statusChanged(
+        Incident incident, IncidentStatus previousStatus, Instant previousStatusChangedAt) {
+      return statusChanged(
+          incident.getInsurerId(),
+          incident.getType(),
+          previousStatus,
+          previousStatusChangedAt,
+          incident.getStatus(),
+          incident.getStatusChangedAt());
+    }
+
+    /** A transition of an incident that was not loaded as an entity. */
+    public Changes statusChanged(
+        UUID insurerId,
+        String type,
+        IncidentStatus previousStatus,
+        Instant previousStatusChangedAt,
+        IncidentStatus status,
+        Instant statusChangedAt) {
+      add(Bucket.of(insurerId, previousStatus, type, previousStatusChangedAt), -1);
+      return add(Bucket.of(insurerId, status, type, statusChangedAt), 1);
+    }
+
+    /** The incident already has its new insurer. */
+    public Changes insurerChanged(Incident incident, UUID previousInsurerId) {
+      add(
+          Bucket.of(
+              previousInsurerId,
+              incident.getStatus(),
+              incident.getType(),
+              incident.getStatusChangedAt()),
+          -1);
+      return add(Bucket.of(incident), 1);
+    }
+
+    private Changes add(Bucket bucket, long delta) {
+      deltas.merge(bucket, delta, Long::sum);
+      return this;
+    }
+  }
+
+  public static Changes changes() {
+    return new Changes();
+  }
+
+  public void incidentCreated(Incident incident) {
+    apply(changes().created(incident));
+  }
+
+  public void incidentDeleted(Incident incident) {
+    apply(changes().deleted(incident));
+  }
+
+  public void statusChanged(
+      Incident incident, IncidentStatus previousStatus, Instant previousStatusChangedAt) {
+    apply(changes().statusChanged(incident, previousStatus, previousStatusChangedAt));
+  }
+
+  public void insurerChanged(Incident incident, UUID previousInsurerId) {
+    apply(changes().insurerChanged(incident, previousInsurerId));
+  }
+
+  /** Applies the merged adjustments; buckets whose adjustments cancel out are not touched. */
+  public void apply(Changes changes) {
+    changes.deltas.forEach(
+        (bucket, delta) -> {
+          if (delta != 0) {
+            adjust(bucket, delta);
+          }
+        });
+  }
+
+  /**
+   * Adds to a bucket's count, creating the bucket if needed. When a concurrent transaction creates
+   * the same bucket first, the insert does nothing and the update is retried against its row.
+   */
+  private void adjust(Bucket bucket, long delta) {
+    Object[] args = {
+      delta,
+      bucket.insurerId(),
+      bucket.status().name(),
+      bucket.type(),
+      Date.valueOf(bucket.statusDate())
+    };
+    if (jdbcTemplate.update(UPDATE_SQL, args) == 0 && jdbcTemplate.update(INSERT_SQL, args) == 0) {
+      jdbcTemplate.update(UPDATE_SQL, args);
+    }
+  }
+
+  /**
+   * Recomputes the whole rollup from the incident table, whose {@code status_changed_at} follows
+   * the latest status change of the {@code incident_event} log. Meant for repairs: changes
+   * committed while the rebuild runs are either counted by it or applied on top of it.
+   *
+   * @return the number of buckets written
+   */
+  @Transactional
+  public int rebuild() {
+    jdbcTemplate.update("DELETE FROM incident_statistics");
+    int buckets =
+        jdbcTemplate.update(
+            """
+            INSERT INTO incident_statistics (insurer_id, status, type, status_date, incident_count)
+            SELECT insurer_id, status, type, CAST(status_changed_at AT TIME ZONE 'UTC' AS date),
+                   count(*)
+            FROM incident
+            GROUP BY insurer_id, status, type, CAST(status_changed_at AT TIME ZONE 'UTC' AS date)
+            """);
+    log.info("Rebuilt incident statistics rollup: {} buckets", buckets);
+    return buckets;
+  }
+}
@@ -0,0 +1,145 @@
+package com.ird0.incident.service;
+
+import com.ird0.commons.exception.ValidationException;
+import com.ird0.incident.dto.CursorPage;
+import com.ird0.incident.exception.IncidentNotFoundException;
+import com.ird0.incident.model.Comment;
+import com.ird0.incident.model.IncidentEvent;
+import com.ird0.incident.repository.CommentRepository;
+import com.ird0.incident.repository.IncidentEventRepository;
+import com.ird0.incident.repository.IncidentRepository;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Reads the event history and the comments of one incident a page at a time, straight from their
+ * tables: the incident itself is only checked for existence, never loaded.
+ *
+ * <p>Pages use keyset pagination on {@code (occurredAt, id)} for events and {@code (createdAt, id)}
+ * for comments, with the same opaque cursors as the incident listing.
+ */
+@Service
+@RequiredArgsConstructor
+public class IncidentTimelineService {
+
+  private final IncidentRepository incidentRepository;
+  private final IncidentEventRepository eventRepository;
+  private final CommentRepository commentRepository;
+
+  /**
+   * Returns one page of an incident's events.
+   *
+   * @param incidentId the incident
+   * @param eventTypes only return events of these types; null or empty for all
+   * @param since only return events that occurred at or after this time; null for all
+   * @param direction {@code DESC} for newest first, {@code ASC} for oldest first
+   * @param cursor the cursor returned with the previous page, or null for the first page
+   * @param limit maximum number of events to return, capped at {@value
+   *     IncidentService#MAX_PAGE_SIZE}
+   * @throws IncidentNotFoundException if the incident does not exist
+   */
+  @Transactional(readOnly = true)
+  public CursorPage<IncidentEvent> findHistory(
+      UUID incidentId,
+      Collection<String> eventTypes,
+      Instant since,
+      Sort.Direction direction,
+      String cursor,
+      int limit) {
+    requireIncident(incidentId);
+    Specification<IncidentEvent> spec = ofIncident(incidentId, "occurredAt", since);
+    if (eventTypes != null && !eventTypes.isEmpty()) {
+      spec = spec.and((root, query, cb) -> root.get("eventType").in(eventTypes));
+    }
+    return page(
+        eventRepository,
+        spec,
+        "occurredAt",
+        event -> new IncidentCursor(direction, event.getOccurredAt(), event.getId()),
+        direction,
+        cursor,
+        limit);
+  }
+
+  /**
+   * Returns one page of an incident's comments.
+   *
+   * @param incidentId the incident
+   * @param since only return comments created at or after this time; null for all
+   * @param direction {@code DESC} for newest first, {@code ASC} for oldest first
+   * @param cursor the cursor returned with the previous page, or null for the first page
+   * @param limit maximum number of comments to return, capped at {@value
+   *     IncidentService#MAX_PAGE_SIZE}
+   * @throws IncidentNotFoundException if the incident does not exist
+   */
+  @Transactional(readOnly = true)
+  public CursorPage<Comment> findComments(
+      UUID incidentId, Instant since, Sort.Direction direction, String cursor, int limit) {
+    requireIncident(incidentId);
+    return page(
+        commentRepository,
+        ofIncident(incidentId, "createdAt", since),
+        "createdAt",
+        comment -> new IncidentCursor(direction, comment.getCreatedAt(), comment.getId()),
+        direction,
+        cursor,
+        limit);
+  }
+
+  /** Returns all comments of an incident, newest first. */
+  @Transactional(readOnly = true)
+  public List<Comment> findAllComments(UUID incidentId) {
+    requireIncident(incidentId);
+    return commentRepository.findByIncidentIdOrderByCreatedAtDesc(incidentId);
+  }
+
+  private static <T> Specification<T> ofIncident(UUID incidentId, String timestamp, Instant since) {
+    Specification<T> spec =
+        (root, query, cb) -> cb.equal(root.get("incident").get("id"), incidentId);
+    if (since != null) {
+      spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get(timestamp), since));
+    }
+    return spec;
+  }
+
+  private void requireIncident(UUID incidentId) {
+    if (!incidentRepository.existsById(incidentId)) {
+      throw new IncidentNotFoundException(incidentId);
+    }
+  }
+
+  /** Reads one extra row to tell whether a next page exists, like the incident listing. */
+  private static <T> CursorPage<T> page(
+      JpaSpecificationExecutor<T> repository,
+      Specification<T> spec,
+      String timestamp,
+      Function<T, IncidentCursor> position,
+      Sort.Direction direction,
+      String cursor,
+      int limit) {
+    if (limit < 1) {
+      throw new ValidationException("limit must be at least 1");
+    }
+    int pageSize = Math.min(limit, IncidentService.MAX_PAGE_SIZE);
+
+    if (cursor != null && !cursor.isBlank()) {
+      spec = spec.and(IncidentCursor.decode(cursor, direction).seek(timestamp));
+    }
+    Sort sort = Sort.by(direction, timestamp, "id");
+    List<T> rows = repository.findBy(spec, query -> query.sortBy(sort).limit(pageSize + 1).all());
+
+    boolean hasNext = rows.size() > pageSize;
+    List<T> content = hasNext ? rows.subList(0, pageSize) : rows;
+    String nextCursor = hasNext ? position.apply(content.getLast()).encode() : null;
+    return new CursorPage<>(content, nextCursor, hasNext, null, false);
+  }
+}
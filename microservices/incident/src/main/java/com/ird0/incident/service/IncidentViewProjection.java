@@ -0,0 +1,494 @@
+package com.ird0.incident.service;
+
+import com.ird0.incident.config.IncidentProperties;
+import com.ird0.incident.exception.DirectoryValidationException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Maintains {@code incident_view}, the read model the incident listings query: the summary columns
+ * of every incident plus the display names of its policyholder and insurer, so that listings read
+ * neither the incident table nor the directory.
+ *
+ * <p>The view follows the {@code incident_event} log asynchronously. Each round locks the
+ * checkpoint, reads the next events in {@code sequence_number} order, copies the current row of
+ * every incident they touch into the view and advances the checkpoint, all in one transaction, so a
+ * round that fails is simply run again. Sequence numbers are allocated at insert, not at commit: a
+ * hole in the log may be a transaction that has not committed yet, so a round stops before it and
+ * only moves past it once the event after it is older than {@code incident.view.gap-timeout}. The
+ * skipped numbers are recorded in {@code projection_gap}, and every round projects those whose
+ * event has committed since, so a slow transaction is late rather than lost; after {@code
+ * incident.view.gap-retention} they are taken as rolled back. Deleted incidents take their events
+ * with them and are removed from the view by the deleting transaction instead.
+ *
+ * <p>Names are not looked up while the checkpoint is locked. New rows start without names, which
+ * are filled in after the rounds with one directory lookup per batch of policyholders or insurers;
+ * while the directory is unavailable they stay empty and are retried on the next run. Changes from
+ * the directory change feed refresh the names they concern.
+ *
+ * <p>How far the view lags behind is published as {@code incident.view.lag.events} and {@code
+ * incident.view.lag.seconds}, the age of the oldest event not projected yet.
+ */
+@Slf4j
+@Component
+public class IncidentViewProjection {
+
+  /** The checkpoint of this projection. */
+  static final String NAME = "incident_view";
+
+  static final String LOCK_CHECKPOINT_SQL =
+      "SELECT last_sequence_number FROM projection_checkpoint WHERE name = :name FOR UPDATE";
+
+  static final String CREATE_CHECKPOINT_SQL =
+      "INSERT INTO projection_checkpoint (name, last_sequence_number, updated_at)"
+          + " VALUES (:name, 0, :now) ON CONFLICT DO NOTHING";
+
+  static final String SAVE_CHECKPOINT_SQL =
+      "UPDATE projection_checkpoint SET last_sequence_number = :position, updated_at = :now"
+          + " WHERE name = :name";
+
+  static final String EVENTS_SQL =
+      """
+      SELECT sequence_number, incident_id, occurred_at
+      FROM incident_event
+      WHERE sequence_number > :after
+      ORDER BY sequence_number
+      LIMIT :limit
+      """;
+
+  static final String FILLED_GAPS_SQL =
+      """
+      SELECT e.sequence_number, e.incident_id
+      FROM projection_gap g
+      JOIN incident_event e ON e.sequence_number = g.sequence_number
+      WHERE g.name = :name
+      """;
+
+  static final String INSERT_GAP_SQL =
+      "INSERT INTO projection_gap (name, sequence_number, skipped_at)"
+          + " VALUES (:name, :sequenceNumber, :now)";
+
+  static final String INCIDENTS_SQL =
+      """
+      SELECT id, reference_number, policyholder_id, insurer_id, status, type, incident_date,
+             estimated_damage, currency, created_at, updated_at
+      FROM incident
+      WHERE id IN (:ids)
+      """;
+
+  /** Names are kept unless the row moves to another policyholder or insurer. */
+  static final String UPDATE_SQL =
+      """
+      UPDATE incident_view
+      SET reference_number = :referenceNumber,
+          policyholder_name = CASE WHEN policyholder_id = :policyholderId
+                                   THEN policyholder_name END,
+          policyholder_id = :policyholderId,
+          insurer_name = CASE WHEN insurer_id = :insurerId THEN insurer_name END,
+          insurer_id = :insurerId,
+          status = :status,
+          type = :type,
+          incident_date = :incidentDate,
+          estimated_damage = :estimatedDamage,
+          currency = :currency,
+          created_at = :createdAt,
+          updated_at = :updatedAt
+      WHERE id = :id
+      """;
+
+  static final String INSERT_SQL =
+      """
+      INSERT INTO incident_view (id, reference_number, policyholder_id, insurer_id, status, type,
+                                 incident_date, estimated_damage, currency, created_at,
+                                 updated_at)
+      VALUES (:id, :referenceNumber, :policyholderId, :insurerId, :status, :type, :incidentDate,
+              :estimatedDamage, :currency, :createdAt, :updatedAt)
+      """;
+
+  static final String REBUILD_SQL =
+      """
+      INSERT INTO incident_view (id, reference_number, policyholder_id, insurer_id, status, type,
+                                 incident_date, estimated_damage, currency, created_at,
+                                 updated_at)
+      SELECT id, reference_number, policyholder_id, insurer_id, status, type, incident_date,
+             estimated_damage, currency, created_at, updated_at
+      FROM incident
+      """;
+
+  static final String LAG_SQL =
+      """
+      SELECT c.last_sequence_number,
+             (SELECT max(e.sequence_number) FROM incident_event e) AS last_event,
+             (SELECT e.occurred_at FROM incident_event e
+              WHERE e.sequence_number > c.last_sequence_number
+              ORDER BY e.sequence_number LIMIT 1) AS oldest_pending
+      FROM projection_checkpoint c
+      WHERE c.name = :name
+      """;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final DirectoryValidationService directoryValidationService;
+  private final TransactionOperations transactionOperations;
+  private final IncidentProperties.View config;
+
+  private final AtomicLong lagEvents = new AtomicLong();
+  private final AtomicReference<Instant> oldestPending = new AtomicReference<>();
+
+  public IncidentViewProjection(
+      NamedParameterJdbcTemplate jdbcTemplate,
+      DirectoryValidationService directoryValidationService,
+      TransactionOperations transactionOperations,
+      IncidentProperties properties,
+      @Nullable MeterRegistry meterRegistry) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.directoryValidationService = directoryValidationService;
+    this.transactionOperations = transactionOperations;
+    this.config = properties.getView();
+    if (meterRegistry != null) {
+      Gauge.builder("incident.view.lag.events", lagEvents, AtomicLong::get)
+          .description("Incident events not yet projected into incident_view")
+          .register(meterRegistry);
+      Gauge.builder("incident.view.lag.seconds", this, p -> p.lagTime().toMillis() / 1000.0)
+          .description("Age of the oldest incident event not yet projected into incident_view")
+          .baseUnit("seconds")
+          .register(meterRegistry);
+    }
+  }
+
+  /** Runs rounds until the view has caught up, then fills in missing names. */
+  @Scheduled(fixedDelayString = "${incident.view.fixed-delay:500}")
+  public void project() {
+    try {
+      Integer projected;
+      do {
+        projected = transactionOperations.execute(status -> projectBatch());
+      } while (projected != null && projected > 0);
+      fillNames();
+    } finally {
+      updateLag();
+    }
+  }
+
+  /**
+   * Runs one round.
+   *
+   * @return the number of events projected; 0 if there were none, if the next one is behind a hole,
+   *     or if another instance holds the checkpoint
+   */
+  int projectBatch() {
+    Long checkpoint = lockCheckpoint(false);
+    if (checkpoint == null) {
+      return 0;
+    }
+
+    Instant now = Instant.now();
+    Set<UUID> incidentIds = new HashSet<>();
+    int projected = projectFilledGaps(incidentIds, now);
+    Instant holeDeadline = now.minus(config.getGapTimeout());
+    long position = checkpoint;
+    List<Long> skipped = new ArrayList<>();
+    for (EventPosition event : nextEvents(checkpoint)) {
+      if (event.sequenceNumber() != position + 1) {
+        if (event.occurredAt().isAfter(holeDeadline)) {
+          // The missing numbers may belong to a transaction that has yet to commit
+          break;
+        }
+        for (long missing = position + 1; missing < event.sequenceNumber(); missing++) {
+          skipped.add(missing);
+        }
+      }
+      incidentIds.add(event.incidentId());
+      position = event.sequenceNumber();
+      projected++;
+    }
+    if (projected == 0) {
+      return 0;
+    }
+
+    copyIncidents(incidentIds);
+    saveGaps(skipped, now);
+    jdbcTemplate.update(
+        SAVE_CHECKPOINT_SQL,
+        Map.of("name", NAME, "position", position, "now", Timestamp.from(now)));
+    log.debug(
+        "Projected {} events of {} incidents, up to {}", projected, incidentIds.size(), position);
+    return projected;
+  }
+
+  /**
+   * Removes a deleted incident from the view, within the deleting transaction. Waits for a running
+   * round or rebuild first, so that neither can write the row back after it is gone.
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void incidentDeleted(UUID incidentId) {
+    lockCheckpoint(true);
+    jdbcTemplate.update("DELETE FROM incident_view WHERE id = :id", Map.of("id", incidentId));
+  }
+
+  /**
+   * Recreates the view from the incident table, without names; the following runs look them up.
+   * Meant for repairs. The checkpoint stays where it is: events after it are projected on top of
+   * the copy, which already reflects them, so applying them again changes nothing.
+   *
+   * @return the number of rows written
+   */
+  @Transactional
+  public int rebuild() {
+    lockCheckpoint(true);
+    jdbcTemplate.update("DELETE FROM incident_view", Map.of());
+    int rows = jdbcTemplate.update(REBUILD_SQL, Map.of());
+    log.info("Rebuilt incident view: {} incidents", rows);
+    return rows;
+  }
+
+  /**
+   * Writes the current names of changed directory entries to the rows that show them. Other
+   * directory types do not appear in the view and are ignored.
+   */
+  public void refreshNames(DirectoryEntityType type, Collection<UUID> ids) {
+    String prefix = namePrefix(type);
+    if (prefix == null || ids.isEmpty()) {
+      return;
+    }
+    try {
+      // Deleted entries keep the name they last had
+      writeNames(prefix, directoryValidationService.findNames(type, ids));
+    } catch (DirectoryValidationException e) {
+      log.warn("Could not refresh {} names: {}", type.getDisplayName(), e.getMessage());
+    }
+  }
+
+  /** Events not projected yet, as of the last run; holes in the log are counted too. */
+  public long lagEvents() {
+    return lagEvents.get();
+  }
+
+  /** Age of the oldest event not projected yet, or zero if the view has caught up. */
+  public Duration lagTime() {
+    Instant oldest = oldestPending.get();
+    return oldest != null ? Duration.between(oldest, Instant.now()) : Duration.ZERO;
+  }
+
+  private record EventPosition(long sequenceNumber, UUID incidentId, Instant occurredAt) {}
+
+  /**
+   * Locks the checkpoint, creating it at the start of the log if needed.
+   *
+   * @param wait whether to wait for another transaction holding it, rather than give up
+   * @return the last projected sequence number, or null if another transaction holds it
+   */
+  private Long lockCheckpoint(boolean wait) {
+    List<Long> positions =
+        jdbcTemplate.queryForList(
+            LOCK_CHECKPOINT_SQL + (wait ? "" : " SKIP LOCKED"), Map.of("name", NAME), Long.class);
+    if (!positions.isEmpty()) {
+      return positions.getFirst();
+    }
+    if (jdbcTemplate.update(
+            CREATE_CHECKPOINT_SQL, Map.of("name", NAME, "now", Timestamp.from(Instant.now())))
+        == 1) {
+      return 0L;
+    }
+    // Created concurrently by another instance
+    return wait ? lockCheckpoint(true) : null;
+  }
+
+  /**
+   * Collects the incidents of events that committed after the projection skipped their number, and
+   * forgets those gaps, as well as the ones older than the gap retention.
+   *
+   * @return the number of such events
+   */
+  private int projectFilledGaps(Set<UUID> incidentIds, Instant now) {
+    List<Long> filled = new ArrayList<>();
+    jdbcTemplate.query(
+        FILLED_GAPS_SQL,
+        Map.of("name", NAME),
+        rs -> {
+          filled.add(rs.getLong("sequence_number"));
+          incidentIds.add(rs.getObject("incident_id", UUID.class));
+        });
+    if (!filled.isEmpty()) {
+      jdbcTemplate.update(
+          "DELETE FROM projection_gap WHERE name = :name AND sequence_number IN (:filled)",
+          Map.of("name", NAME, "filled", filled));
+      log.info("Projected {} events that committed after being skipped", filled.size());
+    }
+    jdbcTemplate.update(
+        "DELETE FROM projection_gap WHERE name = :name AND skipped_at < :expiry",
+        Map.of("name", NAME, "expiry", Timestamp.from(now.minus(config.getGapRetention()))));
+    return filled.size();
+  }
+
+  private void saveGaps(List<Long> skipped, Instant now) {
+    if (skipped.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(
+        INSERT_GAP_SQL,
+        skipped.stream()
+            .map(
+                sequenceNumber ->
+                    new MapSqlParameterSource()
+                        .addValue("name", NAME)
+                        .addValue("sequenceNumber", sequenceNumber)
+                        .addValue("now", Timestamp.from(now)))
+            .toArray(SqlParameterSource[]::new));
+  }
+
+  private List<EventPosition> nextEvents(long checkpoint) {
+    return jdbcTemplate.query(
+        EVENTS_SQL,
+        Map.of("after", checkpoint, "limit", config.getBatchSize()),
+        (rs, rowNum) ->
+            new EventPosition(
+                rs.getLong("sequence_number"),
+                rs.getObject("incident_id", UUID.class),
+                rs.getTimestamp("occurred_at").toInstant()));
+  }
+
+  /** Writes the current state of the incidents, updating rows the view has and adding the rest. */
+  private void copyIncidents(Set<UUID> incidentIds) {
+    List<MapSqlParameterSource> rows =
+        jdbcTemplate.query(
+            INCIDENTS_SQL,
+            Map.of("ids", incidentIds),
+            (rs, rowNum) ->
+                new MapSqlParameterSource()
+                    .addValue("id", rs.getObject("id", UUID.class))
+                    .addValue("referenceNumber", rs.getString("reference_number"))
+                    .addValue("policyholderId", rs.getObject("policyholder_id", UUID.class))
+                    .addValue("insurerId", rs.getObject("insurer_id", UUID.class))
+                    .addValue("status", rs.getString("status"))
+                    .addValue("type", rs.getString("type"))
+                    .addValue("incidentDate", rs.getTimestamp("incident_date"))
+                    .addValue(
+                        "estimatedDamage", rs.getBigDecimal("estimated_damage"), Types.NUMERIC)
+                    .addValue("currency", rs.getString("currency"), Types.VARCHAR)
+                    .addValue("createdAt", rs.getTimestamp("created_at"))
+                    .addValue("updatedAt", rs.getTimestamp("updated_at")));
+    if (rows.isEmpty()) {
+      return;
+    }
+
+    Set<UUID> existing =
+        new HashSet<>(
+            jdbcTemplate.queryForList(
+                "SELECT id FROM incident_view WHERE id IN (:ids)",
+                Map.of("ids", incidentIds),
+                UUID.class));
+    List<SqlParameterSource> updates = new ArrayList<>();
+    List<SqlParameterSource> inserts = new ArrayList<>();
+    for (MapSqlParameterSource row : rows) {
+      (existing.contains((UUID) row.getValue("id")) ? updates : inserts).add(row);
+    }
+    if (!updates.isEmpty()) {
+      jdbcTemplate.batchUpdate(UPDATE_SQL, updates.toArray(SqlParameterSource[]::new));
+    }
+    if (!inserts.isEmpty()) {
+      jdbcTemplate.batchUpdate(INSERT_SQL, inserts.toArray(SqlParameterSource[]::new));
+    }
+  }
+
+  /** Looks up the names the view is missing, batch by batch, until none are left. */
+  void fillNames() {
+    fillNames(DirectoryEntityType.POLICYHOLDER);
+    fillNames(DirectoryEntityType.INSURER);
+  }
+
+  private void fillNames(DirectoryEntityType type) {
+    String prefix = namePrefix(type);
+    String sql =
+        "SELECT DISTINCT "
+            + prefix
+            + "_id FROM incident_view WHERE "
+            + prefix
+            + "_name IS NULL LIMIT :limit";
+    List<UUID> ids;
+    do {
+      ids = jdbcTemplate.queryForList(sql, Map.of("limit", config.getNameBatchSize()), UUID.class);
+      if (ids.isEmpty()) {
+        return;
+      }
+      Map<UUID, String> found;
+      try {
+        found = directoryValidationService.findNames(type, ids);
+      } catch (DirectoryValidationException e) {
+        log.warn("Could not look up {} names: {}", type.getDisplayName(), e.getMessage());
+        return;
+      }
+      // Entries the directory does not have get an empty name, so they are not looked up again
+      Map<UUID, String> names = new HashMap<>();
+      ids.forEach(id -> names.put(id, found.getOrDefault(id, "")));
+      writeNames(prefix, names);
+    } while (ids.size() == config.getNameBatchSize());
+  }
+
+  private void writeNames(String prefix, Map<UUID, String> names) {
+    if (names.isEmpty()) {
+      return;
+    }
+    String sql =
+        "UPDATE incident_view SET "
+            + prefix
+            + "_name = :name WHERE "
+            + prefix
+            + "_id = :id AND "
+            + prefix
+            + "_name IS DISTINCT FROM :name";
+    jdbcTemplate.batchUpdate(
+        sql,
+        names.entrySet().stream()
+            .map(
+                name ->
+                    new MapSqlParameterSource()
+                        .addValue("id", name.getKey())
+                        .addValue("name", name.getValue()))
+            .toArray(SqlParameterSource[]::new));
+  }
+
+  /** Column prefix of the type's id and name in the view, or null if it has none. */
+  private static String namePrefix(DirectoryEntityType type) {
+    return switch (type) {
+      case POLICYHOLDER -> "policyholder";
+      case INSURER -> "insurer";
+      default -> null;
+    };
+  }
+
+  private void updateLag() {
+    jdbcTemplate.query(
+        LAG_SQL,
+        Map.of("name", NAME),
+        rs -> {
+          long lastEvent = rs.getLong("last_event");
+          lagEvents.set(Math.max(0, lastEvent - rs.getLong("last_sequence_number")));
+          Timestamp oldest = rs.getTimestamp("oldest_pending");
+          oldestPending.set(oldest != null ? oldest.toInstant() : null);
+        });
+  }
+}
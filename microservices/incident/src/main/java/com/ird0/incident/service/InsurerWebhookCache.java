@@ -0,0 +1,97 @@
+package com.ird0.incident.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.ird0.incident.config.IncidentProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.UUID;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers the webhook URL of each insurer, so that relaying a notification does not fetch the
+ * insurer every time.
+ *
+ * <p>Answers are served for the configured time to live, or until {@link #invalidate} is called,
+ * which {@link DirectoryChangeFeedPoller} does when an insurer changes. The last answer for each
+ * insurer is also kept without expiry, for {@link #lastKnown} to serve while the directory is
+ * unreachable. Hit, miss and eviction counts are published as the {@code cache.*} metrics with
+ * {@code cache=incident.insurer.webhooks}.
+ */
+@Component
+public class InsurerWebhookCache {
+
+  static final String METRICS_NAME = "incident.insurer.webhooks";
+
+  /** What the directory said; {@code url} is null when the insurer has no webhook configured. */
+  public record Webhook(@Nullable String url) {}
+
+  private final Cache<UUID, Webhook> cache;
+  private final Cache<UUID, Webhook> lastKnown;
+
+  @Autowired
+  public InsurerWebhookCache(IncidentProperties properties, @Nullable MeterRegistry meterRegistry) {
+    this(properties, meterRegistry, Ticker.systemTicker());
+  }
+
+  InsurerWebhookCache(
+      IncidentProperties properties, @Nullable MeterRegistry meterRegistry, Ticker ticker) {
+    IncidentProperties.WebhookCache config = properties.getNotification().getWebhookCache();
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(config.getMaximumSize())
+            .expireAfterWrite(config.getTimeToLive())
+            .ticker(ticker)
+            .recordStats()
+            .build();
+    this.lastKnown = Caffeine.newBuilder().maximumSize(config.getMaximumSize()).build();
+    if (meterRegistry != null) {
+      CaffeineCacheMetrics.monitor(meterRegistry, cache, METRICS_NAME);
+    }
+  }
+
+  /**
+   * Returns the insurer's webhook URL, calling {@code fetch} if it is not cached. Exceptions from
+   * {@code fetch} propagate and nothing is cached.
+   *
+   * @return the URL, or null if the insurer has none
+   */
+  @Nullable
+  public String get(UUID insurerId, Function<UUID, String> fetch) {
+    return cache
+        .get(
+            insurerId,
+            id -> {
+              Webhook webhook = new Webhook(fetch.apply(id));
+              lastKnown.put(id, webhook);
+              return webhook;
+            })
+        .url();
+  }
+
+  /**
+   * @return the last answer fetched for the insurer, however old, or null if there was none
+   */
+  @Nullable
+  public Webhook lastKnown(UUID insurerId) {
+    return lastKnown.getIfPresent(insurerId);
+  }
+
+  /** Makes the next {@link #get} fetch again; the last known answer stays for outages. */
+  public void invalidate(UUID insurerId) {
+    cache.invalidate(insurerId);
+  }
+
+  /** Drops the last known answer, for insurers that no longer exist. */
+  public void forget(UUID insurerId) {
+    lastKnown.invalidate(insurerId);
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+}
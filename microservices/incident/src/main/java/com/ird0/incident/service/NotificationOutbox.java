@@ -0,0 +1,100 @@
+package com.ird0.incident.service;
+
+import com.ird0.incident.model.Incident;
+import com.ird0.incident.model.NotificationOutboxEntry;
+import com.ird0.incident.repository.NotificationOutboxRepository;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records incident notifications in the outbox table, in the transaction of the change they
+ * describe: a notification exists if and only if its change was committed. {@link
+ * NotificationOutboxRelay} delivers them afterwards, so no notification I/O happens on the request
+ * path.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "incident.notification", name = "enabled", havingValue = "true")
+@Transactional(propagation = Propagation.MANDATORY)
+public class NotificationOutbox {
+
+  private final NotificationOutboxRepository outboxRepository;
+
+  public void incidentDeclared(Incident incident) {
+    enqueue(incident, "INCIDENT_DECLARED", Map.of());
+  }
+
+  public void incidentQualified(Incident incident) {
+    enqueue(incident, "INCIDENT_QUALIFIED", Map.of());
+  }
+
+  public void incidentAbandoned(Incident incident) {
+    enqueue(incident, "INCIDENT_ABANDONED", Map.of());
+  }
+
+  public void expertAssigned(Incident incident, UUID expertId) {
+    enqueue(incident, "EXPERT_ASSIGNED", Map.of("expertId", expertId.toString()));
+  }
+
+  /** Queues the notifications of a bulk transition together. */
+  public void incidentsQualified(Collection<Incident> incidents) {
+    enqueueAll(incidents, "INCIDENT_QUALIFIED");
+  }
+
+  /** Queues the notifications of a bulk transition together. */
+  public void incidentsAbandoned(Collection<Incident> incidents) {
+    enqueueAll(incidents, "INCIDENT_ABANDONED");
+  }
+
+  private void enqueue(Incident incident, String eventType, Map<String, Object> details) {
+    outboxRepository.save(entry(incident, eventType, details));
+    log.debug("Queued {} notification for incident {}", eventType, incident.getReferenceNumber());
+  }
+
+  private void enqueueAll(Collection<Incident> incidents, String eventType) {
+    outboxRepository.saveAll(
+        incidents.stream().map(incident -> entry(incident, eventType, Map.of())).toList());
+    log.debug("Queued {} {} notifications", incidents.size(), eventType);
+  }
+
+  private NotificationOutboxEntry entry(
+      Incident incident, String eventType, Map<String, Object> details) {
+    NotificationOutboxEntry entry = new NotificationOutboxEntry();
+    entry.setEventId(UUID.randomUUID());
+    entry.setEventType(eventType);
+    entry.setIncidentId(incident.getId());
+    entry.setInsurerId(incident.getInsurerId());
+
+    Map<String, Object> payload = new LinkedHashMap<>();
+    payload.put("eventId", entry.getEventId().toString());
+    payload.put("eventType", eventType);
+    payload.put("timestamp", Instant.now().toString());
+    payload.put("incident", buildIncidentPayload(incident));
+    payload.putAll(details);
+    entry.setPayload(payload);
+    return entry;
+  }
+
+  private Map<String, Object> buildIncidentPayload(Incident incident) {
+    return Map.of(
+        "id", incident.getId().toString(),
+        "referenceNumber", incident.getReferenceNumber(),
+        "policyholderId", incident.getPolicyholderId().toString(),
+        "type", incident.getType(),
+        "description", incident.getDescription() != null ? incident.getDescription() : "",
+        "incidentDate", incident.getIncidentDate().toString(),
+        "status", incident.getStatus().name(),
+        "estimatedDamage",
+            incident.getEstimatedDamage() != null ? incident.getEstimatedDamage().toString() : "0");
+  }
+}
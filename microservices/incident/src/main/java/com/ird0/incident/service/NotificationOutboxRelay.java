@@ -0,0 +1,163 @@
+package com.ird0.incident.service;
+
+import com.ird0.incident.config.IncidentProperties;
+import com.ird0.incident.exception.DirectoryValidationException;
+import com.ird0.incident.model.NotificationOutboxEntry;
+import com.ird0.incident.repository.NotificationOutboxRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Drains {@link NotificationOutbox} to the notification service, at least once and in order per
+ * incident.
+ *
+ * <p>Each round claims up to {@code batch-size} due entries, at most one per incident, by pushing
+ * their next attempt {@code claim-timeout} ahead, and commits before calling the directory and the
+ * notification service, so no row lock is held across HTTP calls. A second transaction then deletes
+ * the entries that are done and reschedules the others; a crash before it leaves the claim to
+ * expire and the entries are sent again, which the notification service ignores by event id. Failed
+ * entries are retried with exponential backoff, and until they succeed the later entries of their
+ * incident wait. Only entries the notification service rejects outright (a 4xx other than 408 and
+ * 429) or whose insurer has no webhook URL are dropped. Rounds repeat while they make progress, so
+ * a burst is drained in one run.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "incident.notification", name = "enabled", havingValue = "true")
+public class NotificationOutboxRelay {
+
+  private final IncidentProperties properties;
+  private final NotificationOutboxRepository outboxRepository;
+  private final DirectoryValidationService directoryValidationService;
+  private final RestTemplate restTemplate;
+  private final TransactionOperations transactionOperations;
+
+  @Scheduled(fixedDelayString = "${incident.notification.outbox.fixed-delay:1000}")
+  public void relay() {
+    int removed;
+    do {
+      removed = relayBatch();
+    } while (removed > 0);
+  }
+
+  /**
+   * Runs one round.
+   *
+   * @return the number of entries delivered or dropped
+   */
+  int relayBatch() {
+    List<NotificationOutboxEntry> batch = transactionOperations.execute(status -> claim());
+    if (batch == null || batch.isEmpty()) {
+      return 0;
+    }
+    List<Long> done = new ArrayList<>();
+    List<NotificationOutboxEntry> rescheduled = new ArrayList<>();
+    for (NotificationOutboxEntry entry : batch) {
+      if (deliver(entry)) {
+        done.add(entry.getId());
+      } else {
+        rescheduled.add(entry);
+      }
+    }
+    transactionOperations.executeWithoutResult(
+        status -> {
+          if (!done.isEmpty()) {
+            outboxRepository.deleteAllByIdInBatch(done);
+          }
+          outboxRepository.saveAll(rescheduled);
+        });
+    log.debug("Relayed {} of {} outbox notifications", done.size(), batch.size());
+    return done.size();
+  }
+
+  /**
+   * Locks the due heads and moves their next attempt past the claim timeout, which hides them, and
+   * the later entries of their incidents, from other relays once this transaction commits.
+   */
+  private List<NotificationOutboxEntry> claim() {
+    IncidentProperties.Outbox config = properties.getNotification().getOutbox();
+    Instant now = Instant.now();
+    List<NotificationOutboxEntry> batch = outboxRepository.lockDueHeads(now, config.getBatchSize());
+    for (NotificationOutboxEntry entry : batch) {
+      entry.setNextAttemptAt(now.plus(config.getClaimTimeout()));
+    }
+    return batch;
+  }
+
+  /**
+   * @return true if the entry is done with, false if it was rescheduled
+   */
+  private boolean deliver(NotificationOutboxEntry entry) {
+    try {
+      String webhookUrl = directoryValidationService.getInsurerWebhookUrl(entry.getInsurerId());
+      if (webhookUrl == null) {
+        log.warn(
+            "No webhook URL for insurer {}, dropping {} notification for incident {}",
+            entry.getInsurerId(),
+            entry.getEventType(),
+            entry.getIncidentId());
+        return true;
+      }
+
+      String notificationUrl =
+          properties.getNotification().getUrl() + "/api/v1/notifications/webhook";
+      Map<String, Object> request = Map.of("webhookUrl", webhookUrl, "payload", entry.getPayload());
+      restTemplate.postForEntity(notificationUrl, request, Void.class);
+      log.info("Notification {} sent successfully to {}", entry.getEventId(), webhookUrl);
+      return true;
+    } catch (HttpClientErrorException e) {
+      if (isTransient(e.getStatusCode())) {
+        scheduleRetry(entry, e.getMessage());
+        return false;
+      }
+      // Rejected as invalid; sending it again would not help
+      log.error(
+          "Notification service rejected notification {}, dropping it: {}",
+          entry.getEventId(),
+          e.getMessage());
+      return true;
+    } catch (RestClientException | DirectoryValidationException e) {
+      scheduleRetry(entry, e.getMessage());
+      return false;
+    }
+  }
+
+  /** Timed out or rate limited: the request itself was fine and may succeed later. */
+  private static boolean isTransient(HttpStatusCode status) {
+    return status.isSameCodeAs(HttpStatus.REQUEST_TIMEOUT)
+        || status.isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
+  }
+
+  private void scheduleRetry(NotificationOutboxEntry entry, String reason) {
+    IncidentProperties.Outbox config = properties.getNotification().getOutbox();
+    Duration delay =
+        config.getInitialRetryDelay().multipliedBy(1L << Math.min(entry.getAttempts(), 20));
+    if (delay.compareTo(config.getMaxRetryDelay()) > 0) {
+      delay = config.getMaxRetryDelay();
+    }
+    entry.setAttempts(entry.getAttempts() + 1);
+    entry.setNextAttemptAt(Instant.now().plus(delay));
+    entry.setLastError(reason);
+    log.warn(
+        "Failed to send notification {} (attempt {}), retrying in {}: {}",
+        entry.getEventId(),
+        entry.getAttempts(),
+        delay,
+        reason);
+  }
+}
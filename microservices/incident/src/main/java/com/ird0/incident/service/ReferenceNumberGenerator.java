@@ -1,25 +1,110 @@
 package com.ird0.incident.service;
 
-import com.ird0.incident.repository.IncidentRepository;
+import com.ird0.incident.config.IncidentProperties;
+import java.time.Clock;
 import java.time.Year;
-import lombok.RequiredArgsConstructor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Issues {@code INC-YYYY-NNNNN} reference numbers. The number part restarts at 1 every year and
+ * widens past five digits when needed.
+ *
+ * <p>Numbers are handed out from an in-memory block reserved through {@link
+ * ReferenceNumberSequence} (hi/lo), so only one create in every block goes to the database. Numbers
+ * are unique across replicas but only roughly chronological, and a restart leaves the rest of its
+ * block unused.
+ */
 @Service
-@RequiredArgsConstructor
 public class ReferenceNumberGenerator {
 
-  private final IncidentRepository incidentRepository;
+  private final ReferenceNumberSequence sequence;
+  private final IncidentProperties properties;
+  private final Clock clock;
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private int blockYear;
+  private long next;
+  private long limit;
+
+  @Autowired
+  public ReferenceNumberGenerator(ReferenceNumberSequence sequence, IncidentProperties properties) {
+    this(sequence, properties, Clock.systemDefaultZone());
+  }
+
+  ReferenceNumberGenerator(
+      ReferenceNumberSequence sequence, IncidentProperties properties, Clock clock) {
+    this.sequence = sequence;
+    this.properties = properties;
+    this.clock = clock;
+  }
 
-  @Transactional
   public String generate() {
-    int year = Year.now().getValue();
-    String prefix = "INC-" + year + "-%";
+    int year = Year.now(clock).getValue();
+    long number;
+    lock.lock();
+    try {
+      if (year != blockYear || next >= limit) {
+        ReferenceNumberSequence.Block block = allocate(year);
+        blockYear = year;
+        next = block.start();
+        limit = block.start() + block.size();
+      }
+      number = next++;
+    } finally {
+      lock.unlock();
+    }
+    return format(year, number);
+  }
+
+  /**
+   * Issues {@code count} reference numbers at once, for imports. They are reserved straight from
+   * the sequence, in as many blocks as needed but with a single {@code nextval} query, and do not
+   * use the block of {@link #generate()}. Numbers left in the last block are not issued.
+   *
+   * @return the numbers, in increasing order
+   */
+  public List<String> generate(int count) {
+    if (count == 0) {
+      return List.of();
+    }
+    int year = Year.now(clock).getValue();
+    int blockSize = properties.getReferenceNumber().getBlockSize();
+    List<ReferenceNumberSequence.Block> blocks;
+    try {
+      blocks = sequence.allocateNumbers(year, blockSize, count);
+    } catch (DataAccessException e) {
+      // Same race as in allocate(int)
+      blocks = sequence.allocateNumbers(year, blockSize, count);
+    }
+    List<String> numbers = new ArrayList<>(count);
+    for (ReferenceNumberSequence.Block block : blocks) {
+      long end = block.start() + block.size();
+      for (long n = block.start(); n < end && numbers.size() < count; n++) {
+        numbers.add(format(year, n));
+      }
+    }
+    return numbers;
+  }
 
-    Integer maxNumber = incidentRepository.findMaxReferenceNumberForPrefix(prefix);
-    int nextNumber = (maxNumber != null ? maxNumber : 0) + 1;
+  private static String format(int year, long number) {
+    return String.format("INC-%d-%05d", year, number);
+  }
 
-    return String.format("INC-%d-%05d", year, nextNumber);
+  /**
+   * Two replicas creating the same year's sequence at the same moment can make one of them fail;
+   * the sequence exists by then, so a single retry succeeds.
+   */
+  private ReferenceNumberSequence.Block allocate(int year) {
+    int blockSize = properties.getReferenceNumber().getBlockSize();
+    try {
+      return sequence.allocate(year, blockSize);
+    } catch (DataAccessException e) {
+      return sequence.allocate(year, blockSize);
+    }
   }
 }
@@ -0,0 +1,116 @@
+package com.ird0.incident.service;
+
+import com.ird0.incident.repository.IncidentRepository;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Reserves blocks of incident reference numbers from one database sequence per year.
+ *
+ * <p>Each sequence increments by the block size, so a single {@code nextval} reserves a whole block
+ * for the caller. Sequences are never rolled back and never hand out a value twice, which makes
+ * blocks unique across threads and replicas. A year's sequence is created by the first allocation
+ * of that year and starts after any number already issued for it. Imports reserve all the blocks a
+ * batch needs with one query.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReferenceNumberSequence {
+
+  private final JdbcTemplate jdbcTemplate;
+  private final IncidentRepository incidentRepository;
+
+  /**
+   * A reserved range of reference numbers.
+   *
+   * @param start first number of the block
+   * @param size number of values in the block
+   */
+  public record Block(long start, long size) {}
+
+  /**
+   * Reserves the next block of numbers for a year. Runs in its own transaction so that creating the
+   * sequence does not hold locks for the rest of the caller's transaction.
+   *
+   * @param year the reference number year
+   * @param blockSize increment used if the sequence has to be created
+   * @return the reserved block, sized by the sequence's actual increment
+   */
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public Block allocate(int year, int blockSize) {
+    String name = sequenceName(year);
+    return allocate(name, increment(name, year, blockSize), 1).get(0);
+  }
+
+  /**
+   * Reserves enough blocks for at least {@code count} numbers of a year, with a single {@code
+   * nextval} query. The blocks are consecutive unless another allocation interleaves with them.
+   *
+   * @param year the reference number year
+   * @param blockSize increment used if the sequence has to be created
+   * @param count how many numbers are needed
+   * @return the reserved blocks, in increasing order
+   */
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public List<Block> allocateNumbers(int year, int blockSize, long count) {
+    String name = sequenceName(year);
+    long size = increment(name, year, blockSize);
+    return allocate(name, size, (int) ((count + size - 1) / size));
+  }
+
+  private List<Block> allocate(String name, long size, int blocks) {
+    return jdbcTemplate
+        .queryForList(
+            "SELECT nextval('" + name + "') FROM generate_series(1, ?)", Long.class, blocks)
+        .stream()
+        .sorted()
+        .map(start -> new Block(start, size))
+        .toList();
+  }
+
+  /**
+   * Returns the increment of a year's sequence, creating the sequence if needed. The increment is
+   * read back after creating it, since another replica may have created it first with another block
+   * size.
+   */
+  private long increment(String name, int year, int blockSize) {
+    List<Long> increment = findIncrement(name);
+    if (increment.isEmpty()) {
+      create(name, year, blockSize);
+      increment = findIncrement(name);
+    }
+    return increment.get(0);
+  }
+
+  private List<Long> findIncrement(String name) {
+    return jdbcTemplate.queryForList(
+        "SELECT increment FROM information_schema.sequences"
+            + " WHERE sequence_schema = current_schema() AND sequence_name = ?",
+        Long.class,
+        name);
+  }
+
+  private void create(String name, int year, int blockSize) {
+    Integer maxIssued = incidentRepository.findMaxReferenceNumberForPrefix("INC-" + year + "-%");
+    long start = (maxIssued != null ? maxIssued : 0) + 1L;
+    log.info("Creating reference number sequence {} starting at {}", name, start);
+    jdbcTemplate.execute(
+        "CREATE SEQUENCE IF NOT EXISTS "
+            + name
+            + " START WITH "
+            + start
+            + " INCREMENT BY "
+            + blockSize);
+  }
+
+  /** The year is the only variable part, so the name is safe to inline into SQL. */
+  static String sequenceName(int year) {
+    return "incident_reference_seq_" + year;
+  }
+}
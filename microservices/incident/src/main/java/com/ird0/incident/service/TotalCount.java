@@ -0,0 +1,34 @@
+package com.ird0.incident.service;
+
+import com.ird0.commons.exception.ValidationException;
+import java.util.Locale;
+
+/** Whether a keyset-paginated listing also reports how many incidents match its filters. */
+public enum TotalCount {
+  /** No total: each page costs one index range read. */
+  NONE,
+  /** {@code COUNT(*)} over the filters, as expensive as reading every match. */
+  EXACT,
+  /** The row estimate of the PostgreSQL planner, from table statistics; no rows are read. */
+  ESTIMATED;
+
+  /**
+   * Resolves a mode from its request parameter value, ignoring case.
+   *
+   * @param value the parameter value ({@code none}, {@code exact} or {@code estimated}), null for
+   *     the default
+   * @return the matching mode, {@link #NONE} when value is null
+   * @throws ValidationException if the value does not name a mode
+   */
+  public static TotalCount fromParameter(String value) {
+    if (value == null || value.isBlank()) {
+      return NONE;
+    }
+    try {
+      return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new ValidationException(
+          "Unsupported count: " + value + " (expected none, exact or estimated)");
+    }
+  }
+}
@@ -0,0 +1,58 @@
+-- Schema as previously created by Hibernate's ddl-auto=update. Existing databases are
+-- baselined at this version (spring.flyway.baseline-on-migrate), so it only runs on empty ones.
+
+CREATE TABLE incident (
+    id               uuid                        NOT NULL,
+    reference_number varchar(255)                NOT NULL,
+    policyholder_id  uuid                        NOT NULL,
+    insurer_id       uuid                        NOT NULL,
+    status           varchar(255)                NOT NULL,
+    type             varchar(255)                NOT NULL,
+    description      text,
+    incident_date    timestamp(6) with time zone NOT NULL,
+    location         jsonb,
+    estimated_damage numeric(12, 2),
+    currency         varchar(3),
+    created_at       timestamp(6) with time zone NOT NULL,
+    updated_at       timestamp(6) with time zone NOT NULL,
+    created_by       uuid                        NOT NULL,
+    CONSTRAINT incident_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_incident_reference_number UNIQUE (reference_number)
+);
+
+CREATE TABLE expert_assignment (
+    id             uuid                        NOT NULL,
+    incident_id    uuid                        NOT NULL,
+    expert_id      uuid                        NOT NULL,
+    assigned_at    timestamp(6) with time zone NOT NULL,
+    assigned_by    uuid                        NOT NULL,
+    scheduled_date timestamp(6) with time zone,
+    status         varchar(255)                NOT NULL,
+    notes          text,
+    CONSTRAINT expert_assignment_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_expert_assignment_incident FOREIGN KEY (incident_id) REFERENCES incident (id)
+);
+
+CREATE TABLE comment (
+    id          uuid                        NOT NULL,
+    incident_id uuid                        NOT NULL,
+    author_id   uuid                        NOT NULL,
+    author_type varchar(255)                NOT NULL,
+    content     text                        NOT NULL,
+    created_at  timestamp(6) with time zone NOT NULL,
+    CONSTRAINT comment_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_comment_incident FOREIGN KEY (incident_id) REFERENCES incident (id)
+);
+
+CREATE TABLE incident_event (
+    id              uuid                        NOT NULL,
+    incident_id     uuid                        NOT NULL,
+    event_type      varchar(255)                NOT NULL,
+    previous_status varchar(255),
+    new_status      varchar(255),
+    payload         jsonb,
+    triggered_by    uuid                        NOT NULL,
+    occurred_at     timestamp(6) with time zone NOT NULL,
+    CONSTRAINT incident_event_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_incident_event_incident FOREIGN KEY (incident_id) REFERENCES incident (id)
+);
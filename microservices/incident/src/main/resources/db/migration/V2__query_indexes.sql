@@ -0,0 +1,20 @@
+-- Indexes for the incident listing filters (IncidentService.findWithFilters) and the per-incident
+-- child lookups. The listing is ordered by created_at, so every filter column is paired with it:
+-- an equality filter plus an optional created_at range then reads one contiguous index range, in
+-- order, and the page count is an index-only scan of the same range. Type has only a handful of
+-- values and is not indexed: type-filtered pages walk idx_incident_created and filter.
+
+CREATE INDEX idx_incident_policyholder_created ON incident (policyholder_id, created_at);
+CREATE INDEX idx_incident_insurer_created ON incident (insurer_id, created_at);
+CREATE INDEX idx_incident_status_created ON incident (status, created_at);
+CREATE INDEX idx_incident_created ON incident (created_at);
+
+-- Insurer work queues: only open incidents, which stay a small fraction of the table
+CREATE INDEX idx_incident_open_insurer_status_created ON incident (insurer_id, status, created_at)
+    WHERE status NOT IN ('CLOSED', 'ABANDONED');
+
+-- History, comments and assignments of one incident; also keeps cascades off sequential scans
+CREATE INDEX idx_incident_event_incident_occurred ON incident_event (incident_id, occurred_at);
+CREATE INDEX idx_comment_incident_created ON comment (incident_id, created_at);
+CREATE INDEX idx_expert_assignment_incident ON expert_assignment (incident_id);
+CREATE INDEX idx_expert_assignment_expert ON expert_assignment (expert_id);
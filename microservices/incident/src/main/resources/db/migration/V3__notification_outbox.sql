@@ -0,0 +1,20 @@
+-- Notifications waiting to be relayed to the notification service. Rows are written in the
+-- transaction of the incident change they describe and deleted once delivered, so the table stays
+-- small. The relay only picks the oldest row of each incident, which idx_notification_outbox_incident
+-- answers; there is no foreign key so that deleting an incident cannot lose its last notifications.
+
+CREATE TABLE notification_outbox (
+    id              bigserial                   NOT NULL,
+    event_id        uuid                        NOT NULL,
+    event_type      varchar(50)                 NOT NULL,
+    incident_id     uuid                        NOT NULL,
+    insurer_id      uuid                        NOT NULL,
+    payload         jsonb                       NOT NULL,
+    attempts        integer                     NOT NULL,
+    next_attempt_at timestamp(6) with time zone NOT NULL,
+    last_error      text,
+    created_at      timestamp(6) with time zone NOT NULL,
+    CONSTRAINT notification_outbox_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_notification_outbox_incident ON notification_outbox (incident_id, id);
@@ -0,0 +1,8 @@
+-- Covering indexes for the statistics endpoint (IncidentService.getStatistics), which groups the
+-- matching incidents by status and type and sums the CLOSED ones updated this month. With
+-- updated_at included, the unfiltered and the per-insurer aggregates are index-only scans of a
+-- structure much narrower than the table.
+
+CREATE INDEX idx_incident_status_type ON incident (status, type) INCLUDE (updated_at);
+CREATE INDEX idx_incident_insurer_status_type ON incident (insurer_id, status, type)
+    INCLUDE (updated_at);
@@ -0,0 +1,61 @@
+-- Incident read model (IncidentViewProjection): the listing columns of every incident plus the
+-- display names of its policyholder and insurer, maintained asynchronously from the event log so
+-- that listings neither query the incident table nor need per-row directory calls.
+
+-- Order of the event log. Numbers are allocated at insert, so they can commit out of order; the
+-- projection waits for holes to fill (or to age into rollbacks) before moving past them.
+ALTER TABLE incident_event ADD COLUMN sequence_number bigint GENERATED BY DEFAULT AS IDENTITY;
+
+CREATE UNIQUE INDEX idx_incident_event_sequence ON incident_event (sequence_number);
+
+CREATE TABLE incident_view (
+    id                uuid                        NOT NULL,
+    reference_number  varchar(255)                NOT NULL,
+    policyholder_id   uuid                        NOT NULL,
+    policyholder_name varchar(255),
+    insurer_id        uuid                        NOT NULL,
+    insurer_name      varchar(255),
+    status            varchar(255)                NOT NULL,
+    type              varchar(255)                NOT NULL,
+    incident_date     timestamp(6) with time zone NOT NULL,
+    estimated_damage  numeric(12, 2),
+    currency          varchar(3),
+    created_at        timestamp(6) with time zone NOT NULL,
+    updated_at        timestamp(6) with time zone NOT NULL,
+    CONSTRAINT incident_view_pkey PRIMARY KEY (id)
+);
+
+-- The listing indexes of V2, now on the table the listings read
+CREATE INDEX idx_incident_view_policyholder_created ON incident_view (policyholder_id, created_at);
+CREATE INDEX idx_incident_view_insurer_created ON incident_view (insurer_id, created_at);
+CREATE INDEX idx_incident_view_status_created ON incident_view (status, created_at);
+CREATE INDEX idx_incident_view_created ON incident_view (created_at);
+CREATE INDEX idx_incident_view_open_insurer_status_created
+    ON incident_view (insurer_id, status, created_at)
+    WHERE status NOT IN ('CLOSED', 'ABANDONED');
+
+-- Rows whose names are still to be looked up in the directory
+CREATE INDEX idx_incident_view_policyholder_unnamed ON incident_view (policyholder_id)
+    WHERE policyholder_name IS NULL;
+CREATE INDEX idx_incident_view_insurer_unnamed ON incident_view (insurer_id)
+    WHERE insurer_name IS NULL;
+
+-- How far each projection has read the event log
+CREATE TABLE projection_checkpoint (
+    name                 varchar(100)                NOT NULL,
+    last_sequence_number bigint                      NOT NULL,
+    updated_at           timestamp(6) with time zone NOT NULL,
+    CONSTRAINT projection_checkpoint_pkey PRIMARY KEY (name)
+);
+
+-- Start from the current incidents, read at the position the log has reached; names are filled in
+-- by the projection once the service runs
+INSERT INTO incident_view (id, reference_number, policyholder_id, insurer_id, status, type,
+                           incident_date, estimated_damage, currency, created_at, updated_at)
+SELECT id, reference_number, policyholder_id, insurer_id, status, type,
+       incident_date, estimated_damage, currency, created_at, updated_at
+FROM incident;
+
+INSERT INTO projection_checkpoint (name, last_sequence_number, updated_at)
+SELECT 'incident_view', COALESCE(max(sequence_number), 0), now()
+FROM incident_event;
@@ -0,0 +1,11 @@
+-- Sequence numbers a projection skipped while no event had them (IncidentViewProjection). A
+-- transaction that commits after the projection moved past its number is still picked up: every
+-- round projects the gaps whose event has appeared, and forgets the ones older than
+-- incident.view.gap-retention as rolled back.
+
+CREATE TABLE projection_gap (
+    name            varchar(100)                NOT NULL,
+    sequence_number bigint                      NOT NULL,
+    skipped_at      timestamp(6) with time zone NOT NULL,
+    CONSTRAINT projection_gap_pkey PRIMARY KEY (name, sequence_number)
+);
@@ -0,0 +1,154 @@
+package com.ird0.incident.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.ird0.commons.exception.ValidationException;
+import com.ird0.incident.dto.BulkItemResult;
+import com.ird0.incident.dto.BulkItemResult.Status;
+import com.ird0.incident.dto.BulkResult;
+import com.ird0.incident.model.Incident;
+import com.ird0.incident.model.IncidentEvent;
+import com.ird0.incident.model.IncidentStatus;
+import com.ird0.incident.service.IncidentBulkService;
+import com.ird0.incident.service.IncidentStatisticsRollup;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionOperations;
+
+/** Uses the profile's H2 URL, which declares the JSONB domain. */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class IncidentBulkRepositoryTest {
+
+  private static final UUID INSURER_ID = UUID.randomUUID();
+
+  @Autowired private IncidentRepository incidentRepository;
+
+  @Autowired private IncidentEventRepository eventRepository;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Autowired private TestEntityManager entityManager;
+
+  private IncidentStatisticsRollup rollup;
+
+  private IncidentBulkService bulkService;
+
+  @BeforeEach
+  void setUp() {
+    rollup = new IncidentStatisticsRollup(jdbcTemplate);
+    bulkService =
+        new IncidentBulkService(
+            new NamedParameterJdbcTemplate(jdbcTemplate),
+            incidentRepository,
+            eventRepository,
+            rollup,
+            TransactionOperations.withoutTransaction(),
+            Optional.empty());
+  }
+
+  @Test
+  void transitionStatus_MixedIds_ReportsEachAndAppliesValidOnes() {
+    Incident underReview = save("INC-1", IncidentStatus.UNDER_REVIEW);
+    Incident qualified = save("INC-2", IncidentStatus.QUALIFIED);
+    Incident declared = save("INC-3", IncidentStatus.DECLARED);
+    Incident abandoned = save("INC-4", IncidentStatus.ABANDONED);
+    UUID unknown = UUID.randomUUID();
+    entityManager.clear();
+
+    BulkResult result =
+        bulkService.transitionStatus(
+            List.of(
+                underReview.getId(),
+                qualified.getId(),
+                declared.getId(),
+                abandoned.getId(),
+                unknown,
+                underReview.getId()),
+            IncidentStatus.ABANDONED,
+            "Duplicate claims",
+            UUID.randomUUID());
+
+    assertEquals(5, result.total());
+    assertEquals(3, result.succeeded());
+    assertEquals(
+        List.of(Status.UPDATED, Status.UPDATED, Status.INVALID, Status.UNCHANGED, Status.NOT_FOUND),
+        result.items().stream().map(BulkItemResult::status).toList());
+    assertEquals(
+        List.of(0, 1, 2, 3, 4), result.items().stream().map(BulkItemResult::index).toList());
+    assertEquals(IncidentStatus.DECLARED, result.items().get(2).previousStatus());
+    assertNull(result.items().get(4).previousStatus());
+
+    assertEquals(IncidentStatus.ABANDONED, status(underReview));
+    assertEquals(IncidentStatus.ABANDONED, status(qualified));
+    assertEquals(IncidentStatus.DECLARED, status(declared));
+
+    List<IncidentEvent> events =
+        eventRepository.findByIncidentIdOrderByOccurredAtDesc(underReview.getId());
+    assertEquals(1, events.size());
+    assertEquals(IncidentStatus.UNDER_REVIEW, events.getFirst().getPreviousStatus());
+    assertEquals(IncidentStatus.ABANDONED, events.getFirst().getNewStatus());
+    assertEquals("Duplicate claims", events.getFirst().getPayload().get("reason"));
+    assertEquals(0, eventRepository.findByIncidentIdOrderByOccurredAtDesc(declared.getId()).size());
+
+    // The rebuild reads the incident table over JDBC
+    entityManager.flush();
+    List<Map<String, Object>> incremental = buckets();
+    rollup.rebuild();
+    assertEquals(buckets(), incremental);
+  }
+
+  @Test
+  void transitionStatus_TooManyIds_IsRejected() {
+    List<UUID> ids =
+        Collections.nCopies(IncidentBulkService.MAX_ITEMS + 1, null).stream()
+            .map(ignored -> UUID.randomUUID())
+            .toList();
+
+    assertThrows(
+        ValidationException.class,
+        () -> bulkService.transitionStatus(ids, IncidentStatus.CLOSED, null, UUID.randomUUID()));
+  }
+
+  private Incident save(String referenceNumber, IncidentStatus status) {
+    Incident incident = new Incident();
+    incident.setReferenceNumber(referenceNumber);
+    incident.setPolicyholderId(UUID.randomUUID());
+    incident.setInsurerId(INSURER_ID);
+    incident.setStatus(status);
+    incident.setType("FIRE");
+    incident.setIncidentDate(Instant.now());
+    incident.setCreatedBy(UUID.randomUUID());
+    Incident saved = incidentRepository.saveAndFlush(incident);
+    rollup.incidentCreated(saved);
+    return saved;
+  }
+
+  private IncidentStatus status(Incident incident) {
+    return IncidentStatus.valueOf(
+        jdbcTemplate.queryForObject(
+            "SELECT status FROM incident WHERE id = ?", String.class, incident.getId()));
+  }
+
+  private List<Map<String, Object>> buckets() {
+    return jdbcTemplate.queryForList(
+        "SELECT insurer_id, status, type, status_date, incident_count FROM incident_statistics"
+            + " WHERE incident_count <> 0 ORDER BY insurer_id, status, type, status_date");
+  }
+}
@@ -0,0 +1,185 @@
+package com.ird0.incident.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.ird0.incident.config.IncidentProperties;
+import com.ird0.incident.dto.StatusUpdateRequest;
+import com.ird0.incident.exception.InvalidStateTransitionException;
+import com.ird0.incident.model.Incident;
+import com.ird0.incident.model.IncidentStatus;
+import com.ird0.incident.service.IncidentCountEstimator;
+import com.ird0.incident.service.IncidentService;
+import com.ird0.incident.service.IncidentStatisticsRollup;
+import com.ird0.incident.service.IncidentViewProjection;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs outside a test transaction, since each change commits in its own transaction on its own
+ * thread. Uses the profile's H2 URL, which declares the JSONB domain.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IncidentConcurrentChangeTest {
+
+  private static final UUID INSURER_ID = UUID.randomUUID();
+
+  @Autowired private IncidentRepository incidentRepository;
+
+  @Autowired private IncidentViewRepository viewRepository;
+
+  @Autowired private IncidentEventRepository eventRepository;
+
+  @Autowired private CommentRepository commentRepository;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  private TransactionTemplate transactionTemplate;
+
+  private IncidentStatisticsRollup rollup;
+
+  private IncidentService incidentService;
+
+  @BeforeEach
+  void setUp() {
+    transactionTemplate = new TransactionTemplate(transactionManager);
+    rollup = new IncidentStatisticsRollup(jdbcTemplate);
+    incidentService =
+        new IncidentService(
+            incidentRepository,
+            viewRepository,
+            eventRepository,
+            commentRepository,
+            null,
+            null,
+            null,
+            null,
+            transactionTemplate,
+            new IncidentCountEstimator(jdbcTemplate),
+            rollup,
+            new IncidentViewProjection(
+                new NamedParameterJdbcTemplate(jdbcTemplate),
+                null,
+                TransactionOperations.withoutTransaction(),
+                new IncidentProperties(),
+                null),
+            Optional.empty());
+  }
+
+  @AfterEach
+  void tearDown() {
+    incidentRepository.deleteAll();
+    jdbcTemplate.update("DELETE FROM incident_statistics");
+  }
+
+  @Test
+  void updateStatus_ConcurrentSameTransition_MovesTheIncidentOnce() throws Exception {
+    UUID id = create();
+    CountDownLatch transitioned = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    CompletableFuture<Void> first =
+        CompletableFuture.runAsync(
+            () ->
+                transactionTemplate.executeWithoutResult(
+                    status -> {
+                      transition(id);
+                      transitioned.countDown();
+                      await(release);
+                    }));
+    assertTrue(transitioned.await(5, TimeUnit.SECONDS));
+    // Reads the incident while the first transition holds its row, uncommitted
+    CompletableFuture<Void> second =
+        CompletableFuture.runAsync(
+            () -> transactionTemplate.executeWithoutResult(status -> transition(id)));
+    Thread.sleep(200);
+    release.countDown();
+    first.get(5, TimeUnit.SECONDS);
+
+    // It waited for the first to commit, so it saw UNDER_REVIEW and was refused
+    ExecutionException failure =
+        assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+    assertInstanceOf(InvalidStateTransitionException.class, failure.getCause());
+    assertEquals(Map.of("UNDER_REVIEW", 1L), counts());
+    List<Map<String, Object>> incremental = buckets();
+    transactionTemplate.executeWithoutResult(status -> rollup.rebuild());
+    assertEquals(buckets(), incremental);
+  }
+
+  private UUID create() {
+    return transactionTemplate.execute(
+        status -> {
+          Incident incident = new Incident();
+          incident.setReferenceNumber("INC-1");
+          incident.setPolicyholderId(UUID.randomUUID());
+          incident.setInsurerId(INSURER_ID);
+          incident.setType("FIRE");
+          incident.setIncidentDate(Instant.now());
+          incident.setCreatedBy(UUID.randomUUID());
+          Incident saved = incidentRepository.saveAndFlush(incident);
+          rollup.incidentCreated(saved);
+          return saved.getId();
+        });
+  }
+
+  private void transition(UUID id) {
+    incidentService.updateStatus(
+        id, new StatusUpdateRequest(IncidentStatus.UNDER_REVIEW, null, null), UUID.randomUUID());
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Incidents per status according to the rollup. */
+  private Map<String, Long> counts() {
+    Map<String, Long> counts = new HashMap<>();
+    for (Map<String, Object> bucket : buckets()) {
+      counts.merge(
+          (String) bucket.get("status"),
+          ((Number) bucket.get("incident_count")).longValue(),
+          Long::sum);
+    }
+    return counts;
+  }
+
+  /** The non-empty buckets, in key order. */
+  private List<Map<String, Object>> buckets() {
+    return jdbcTemplate.queryForList(
+        "SELECT insurer_id, status, type, status_date, incident_count FROM incident_statistics"
+            + " WHERE incident_count <> 0 ORDER BY insurer_id, status, type, status_date");
+  }
+}
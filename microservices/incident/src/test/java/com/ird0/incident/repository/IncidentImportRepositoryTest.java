@@ -0,0 +1,183 @@
+package com.ird0.incident.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ird0.incident.config.IncidentProperties;
+import com.ird0.incident.dto.ImportResult;
+import com.ird0.incident.model.Incident;
+import com.ird0.incident.model.IncidentEvent;
+import com.ird0.incident.model.IncidentStatus;
+import com.ird0.incident.service.DirectoryEntityType;
+import com.ird0.incident.service.DirectoryValidationService;
+import com.ird0.incident.service.ImportFormat;
+import com.ird0.incident.service.IncidentImportService;
+import com.ird0.incident.service.IncidentStatisticsRollup;
+import com.ird0.incident.service.ReferenceNumberGenerator;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionOperations;
+
+/** Uses the profile's H2 URL, which declares the JSONB domain. */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class IncidentImportRepositoryTest {
+
+  private static final UUID POLICYHOLDER_ID = UUID.randomUUID();
+  private static final UUID UNKNOWN_POLICYHOLDER_ID = UUID.randomUUID();
+  private static final UUID INSURER_ID = UUID.randomUUID();
+
+  @Autowired private IncidentRepository incidentRepository;
+
+  @Autowired private IncidentEventRepository eventRepository;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Autowired private TestEntityManager entityManager;
+
+  private IncidentStatisticsRollup rollup;
+
+  private IncidentImportService importService;
+
+  @BeforeEach
+  void setUp() {
+    rollup = new IncidentStatisticsRollup(jdbcTemplate);
+
+    ReferenceNumberGenerator generator = mock(ReferenceNumberGenerator.class);
+    AtomicInteger issued = new AtomicInteger();
+    when(generator.generate(anyInt()))
+        .thenAnswer(
+            invocation ->
+                IntStream.range(0, invocation.<Integer>getArgument(0))
+                    .mapToObj(i -> String.format("INC-2026-%05d", issued.incrementAndGet()))
+                    .toList());
+
+    DirectoryValidationService directory = mock(DirectoryValidationService.class);
+    when(directory.findMissing(eq(DirectoryEntityType.POLICYHOLDER), any()))
+        .thenAnswer(
+            invocation ->
+                invocation.<Collection<UUID>>getArgument(1).contains(UNKNOWN_POLICYHOLDER_ID)
+                    ? Set.of(UNKNOWN_POLICYHOLDER_ID)
+                    : Set.of());
+    when(directory.findMissing(eq(DirectoryEntityType.INSURER), any())).thenReturn(Set.of());
+
+    IncidentProperties properties = new IncidentProperties();
+    properties.getBulkImport().setBatchSize(2);
+    importService =
+        new IncidentImportService(
+            incidentRepository,
+            generator,
+            directory,
+            rollup,
+            TransactionOperations.withoutTransaction(),
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            new ObjectMapper().findAndRegisterModules(),
+            properties);
+  }
+
+  @Test
+  void importFile_Csv_ImportsValidRowsAndReportsTheOthers() throws IOException {
+    String csv =
+        String.join(
+            "\n",
+            "policyholderId,insurerId,type,description,incidentDate,estimatedDamage",
+            POLICYHOLDER_ID + "," + INSURER_ID + ",FIRE,Kitchen fire,2019-03-01T10:00:00Z,1200.50",
+            "not-a-uuid," + INSURER_ID + ",FIRE,,2019-03-02T10:00:00Z,",
+            POLICYHOLDER_ID + "," + INSURER_ID + ",,No type,2019-03-03T10:00:00Z,",
+            UNKNOWN_POLICYHOLDER_ID + "," + INSURER_ID + ",THEFT,,2019-03-04T10:00:00Z,",
+            POLICYHOLDER_ID + "," + INSURER_ID + ",THEFT,Bicycle,2019-03-05T10:00:00Z,");
+
+    ImportResult result = importService.importFile(input(csv), ImportFormat.CSV, null);
+
+    assertEquals(5, result.totalRows());
+    assertEquals(2, result.importedRows());
+    assertEquals(3, result.failedRows());
+    assertEquals(
+        List.of(2L, 3L, 4L), result.errors().stream().map(ImportResult.RowError::row).toList());
+    assertTrue(result.errors().get(0).error().contains("policyholderId"));
+    assertTrue(result.errors().get(1).error().startsWith("type:"));
+    assertTrue(result.errors().get(2).error().contains(UNKNOWN_POLICYHOLDER_ID.toString()));
+
+    List<Incident> incidents = incidentRepository.findAll();
+    assertEquals(2, incidents.size());
+    assertEquals(
+        Set.of("INC-2026-00001", "INC-2026-00002"),
+        Set.copyOf(incidents.stream().map(Incident::getReferenceNumber).toList()));
+    Incident fire =
+        incidents.stream().filter(incident -> "FIRE".equals(incident.getType())).findFirst().get();
+    assertEquals(IncidentStatus.DECLARED, fire.getStatus());
+    assertEquals(POLICYHOLDER_ID, fire.getCreatedBy());
+    assertEquals(0, fire.getEstimatedDamage().compareTo(new BigDecimal("1200.50")));
+
+    List<IncidentEvent> events =
+        eventRepository.findByIncidentIdOrderByOccurredAtDesc(fire.getId());
+    assertEquals(1, events.size());
+    assertEquals(IncidentStatus.DECLARED, events.getFirst().getNewStatus());
+    assertEquals(true, events.getFirst().getPayload().get("imported"));
+
+    // The rebuild reads the incident table over JDBC
+    entityManager.flush();
+    List<Map<String, Object>> incremental = buckets();
+    rollup.rebuild();
+    assertEquals(buckets(), incremental);
+  }
+
+  @Test
+  void importFile_Ndjson_SkipsBlankLinesAndReportsMalformedOnes() throws IOException {
+    UUID createdBy = UUID.randomUUID();
+    String ndjson =
+        String.join(
+            "\n",
+            "{\"policyholderId\":\""
+                + POLICYHOLDER_ID
+                + "\",\"insurerId\":\""
+                + INSURER_ID
+                + "\",\"type\":\"WATER_DAMAGE\",\"incidentDate\":\"2020-01-20T08:30:00Z\"}",
+            "{\"policyholderId\": oops}",
+            "",
+            "null");
+
+    ImportResult result = importService.importFile(input(ndjson), ImportFormat.NDJSON, createdBy);
+
+    assertEquals(3, result.totalRows());
+    assertEquals(1, result.importedRows());
+    assertEquals(
+        List.of(2L, 4L), result.errors().stream().map(ImportResult.RowError::row).toList());
+    assertEquals(createdBy, incidentRepository.findAll().getFirst().getCreatedBy());
+  }
+
+  private static ByteArrayInputStream input(String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private List<Map<String, Object>> buckets() {
+    return jdbcTemplate.queryForList(
+        "SELECT insurer_id, status, type, status_date, incident_count FROM incident_statistics"
+            + " WHERE incident_count <> 0 ORDER BY insurer_id, status, type, status_date");
+  }
+}
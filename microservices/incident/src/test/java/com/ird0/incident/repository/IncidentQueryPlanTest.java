@@ -0,0 +1,253 @@
+package com.ird0.incident.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.ird0.incident.model.IncidentStatus;
+import com.ird0.incident.service.IncidentCountEstimator;
+import com.ird0.incident.service.IncidentFilter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs the Flyway migrations against PostgreSQL, validates the entity mappings against the
+ * resulting schema, and checks with EXPLAIN that the incident listing filters (on the incident
+ * view) and per-incident lookups use the indexes the migrations create. Every listing page also
+ * runs a count query with the same filters, so counts are checked too. Skipped when Docker is not
+ * available.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class IncidentQueryPlanTest {
+
+  private static final int INCIDENTS = 50_000;
+
+  @Container
+  static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  @DynamicPropertySource
+  static void postgresProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+    registry.add("spring.datasource.username", POSTGRES::getUsername);
+    registry.add("spring.datasource.password", POSTGRES::getPassword);
+    registry.add("spring.datasource.driver-class-name", POSTGRES::getDriverClassName);
+    registry.add("spring.flyway.enabled", () -> "true");
+    registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+  }
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  /**
+   * Seeds a realistic distribution: 20 insurers, 10,000 policyholders, most incidents closed, and a
+   * couple of events per incident. Ids are derived from md5 so queries can name them.
+   */
+  @BeforeAll
+  void seed() {
+    jdbcTemplate.update(
+        """
+        INSERT INTO incident (id, reference_number, policyholder_id, insurer_id, status, type,
+                              incident_date, currency, created_at, updated_at,
+                              status_changed_at, created_by)
+        SELECT md5('incident' || i)::uuid,
+               'INC-' || i,
+               md5('policyholder' || i % 10000)::uuid,
+               md5('insurer' || i % 20)::uuid,
+               CASE WHEN i % 10 < 6 THEN 'CLOSED'
+                    WHEN i % 10 = 6 THEN 'ABANDONED'
+                    WHEN i % 10 = 7 THEN 'IN_PROGRESS'
+                    WHEN i % 10 = 8 THEN 'UNDER_REVIEW'
+                    ELSE 'DECLARED' END,
+               (ARRAY['WATER_DAMAGE', 'FIRE', 'THEFT', 'LIABILITY', 'PROPERTY_DAMAGE',
+                      'NATURAL_DISASTER', 'OTHER'])[1 + i % 7],
+               now() - i * interval '1 hour',
+               'EUR',
+               now() - i * interval '1 hour',
+               now() - i * interval '1 hour',
+               now() - i * interval '1 hour',
+               md5('policyholder' || i % 10000)::uuid
+        FROM generate_series(1, ?) AS i
+        """,
+        INCIDENTS);
+    jdbcTemplate.update(
+        """
+        INSERT INTO incident_event (id, incident_id, event_type, triggered_by, occurred_at)
+        SELECT gen_random_uuid(), id, event_type, created_by, created_at
+        FROM incident, unnest(ARRAY['STATUS_CHANGE', 'COMMENT_ADDED']) AS event_type
+        """);
+    jdbcTemplate.update(
+        """
+        INSERT INTO comment (id, incident_id, author_id, author_type, content, created_at)
+        SELECT gen_random_uuid(), id, created_by, 'POLICYHOLDER', 'Comment', created_at
+        FROM incident
+        """);
+    jdbcTemplate.update(
+        """
+        INSERT INTO expert_assignment (id, incident_id, expert_id, assigned_at, assigned_by, status)
+        SELECT gen_random_uuid(), id, md5('expert' || row_number() OVER () % 500)::uuid,
+               created_at, insurer_id, 'PENDING'
+        FROM incident
+        """);
+    jdbcTemplate.update(
+        """
+        INSERT INTO incident_view (id, reference_number, policyholder_id, policyholder_name,
+                                   insurer_id, insurer_name, status, type, incident_date,
+                                   currency, created_at, updated_at)
+        SELECT id, reference_number, policyholder_id, 'Policyholder ' || reference_number,
+               insurer_id, 'Insurer', status, type, incident_date, currency, created_at,
+               updated_at
+        FROM incident
+        """);
+    jdbcTemplate.execute("VACUUM ANALYZE");
+  }
+
+  @Test
+  void filterByPolicyholder_UsesPolicyholderIndex() {
+    assertUsesIndex(
+        "idx_incident_view_policyholder_created",
+        "SELECT * FROM incident_view WHERE policyholder_id = md5('policyholder42')::uuid"
+            + " ORDER BY created_at LIMIT 20");
+  }
+
+  @Test
+  void countByInsurer_UsesInsurerIndex() {
+    assertUsesIndex(
+        "idx_incident_view_insurer_created",
+        "SELECT count(*) FROM incident_view WHERE insurer_id = md5('insurer7')::uuid");
+  }
+
+  @Test
+  void filterByInsurerAndOpenStatus_UsesPartialOpenIndexInOrder() {
+    String plan =
+        explain(
+            "SELECT * FROM incident_view WHERE insurer_id = md5('insurer7')::uuid"
+                + " AND status = 'UNDER_REVIEW' ORDER BY created_at LIMIT 20");
+
+    assertTrue(plan.contains("idx_incident_view_open_insurer_status_created"), plan);
+    assertFalse(plan.contains("Sort"), plan);
+  }
+
+  @Test
+  void countByStatus_UsesStatusIndex() {
+    assertUsesIndex(
+        "idx_incident_view_status_created",
+        "SELECT count(*) FROM incident_view WHERE status = 'DECLARED'");
+  }
+
+  @Test
+  void filterByDateRange_UsesCreatedAtIndex() {
+    assertUsesIndex(
+        "idx_incident_view_created",
+        "SELECT * FROM incident_view WHERE created_at >= now() - interval '7 days'"
+            + " ORDER BY created_at LIMIT 20");
+  }
+
+  @Test
+  void filterByType_WalksCreatedAtIndex() {
+    assertUsesIndex(
+        "idx_incident_view_created",
+        "SELECT * FROM incident_view WHERE type = 'FIRE'"
+            + " AND created_at BETWEEN now() - interval '90 days' AND now() - interval '60 days'"
+            + " ORDER BY created_at LIMIT 20");
+  }
+
+  @Test
+  void keysetPageDeepInListing_SeeksToCursor() {
+    // Deep page (newest first) for one insurer: the planner may walk either the insurer or the
+    // created_at index, but starts at the cursor's creation time instead of reading up to it
+    String plan =
+        explain(
+            "SELECT * FROM incident_view WHERE insurer_id = md5('insurer7')::uuid"
+                + " AND created_at <= now() - interval '40000 hours'"
+                + " AND (created_at < now() - interval '40000 hours'"
+                + " OR (created_at = now() - interval '40000 hours'"
+                + " AND id < md5('incident40000')::uuid))"
+                + " ORDER BY created_at DESC, id DESC LIMIT 21");
+
+    assertTrue(plan.matches("(?s).*Index Cond: [^\\n]*created_at <=.*"), plan);
+    assertFalse(plan.contains("Seq Scan"), plan);
+  }
+
+  @Test
+  void estimatedCount_ComesFromPlannerStatistics() {
+    Long estimate =
+        new IncidentCountEstimator(jdbcTemplate)
+            .estimate(new IncidentFilter(null, null, IncidentStatus.DECLARED, null, null, null));
+
+    // 10% of the incidents are DECLARED
+    assertTrue(
+        estimate != null && Math.abs(estimate - INCIDENTS / 10) < INCIDENTS / 100, "" + estimate);
+  }
+
+  @Test
+  void statisticsByPolicyholder_UsesPolicyholderIndex() {
+    // Policyholders are not in the statistics rollup, so their statistics group the incidents
+    assertUsesIndex(
+        "idx_incident_policyholder_created",
+        "SELECT status, type, count(*) FROM incident"
+            + " WHERE policyholder_id = md5('policyholder42')::uuid GROUP BY status, type");
+  }
+
+  @Test
+  void unnamedViewRows_UsePartialNameIndexes() {
+    assertUsesIndex(
+        "idx_incident_view_insurer_unnamed",
+        "SELECT DISTINCT insurer_id FROM incident_view WHERE insurer_name IS NULL LIMIT 500");
+  }
+
+  @Test
+  void eventsAfterCheckpoint_UseSequenceIndex() {
+    assertUsesIndex(
+        "idx_incident_event_sequence",
+        "SELECT sequence_number, incident_id, occurred_at FROM incident_event"
+            + " WHERE sequence_number > 90000 ORDER BY sequence_number LIMIT 500");
+  }
+
+  @Test
+  void incidentHistory_UsesEventIndex() {
+    assertUsesIndex(
+        "idx_incident_event_incident_occurred",
+        "SELECT * FROM incident_event WHERE incident_id = md5('incident42')::uuid"
+            + " ORDER BY occurred_at DESC");
+  }
+
+  @Test
+  void incidentComments_UsesCommentIndex() {
+    assertUsesIndex(
+        "idx_comment_incident_created",
+        "SELECT * FROM comment WHERE incident_id = md5('incident42')::uuid"
+            + " ORDER BY created_at DESC");
+  }
+
+  @Test
+  void expertAssignments_UseIncidentAndExpertIndexes() {
+    assertUsesIndex(
+        "idx_expert_assignment_incident",
+        "SELECT * FROM expert_assignment WHERE incident_id = md5('incident42')::uuid");
+    assertUsesIndex(
+        "idx_expert_assignment_expert",
+        "SELECT * FROM expert_assignment WHERE expert_id = md5('expert42')::uuid");
+  }
+
+  private void assertUsesIndex(String index, String sql) {
+    String plan = explain(sql);
+    assertTrue(plan.contains(index), plan);
+  }
+
+  private String explain(String sql) {
+    return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+  }
+}
@@ -0,0 +1,373 @@
+package com.ird0.incident.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.ird0.commons.exception.ValidationException;
+import com.ird0.incident.config.IncidentProperties;
+import com.ird0.incident.dto.CursorPage;
+import com.ird0.incident.dto.IncidentResponse;
+import com.ird0.incident.dto.IncidentStatisticsResponse;
+import com.ird0.incident.dto.IncidentSummaryResponse;
+import com.ird0.incident.mapper.IncidentMapper;
+import com.ird0.incident.mapper.IncidentMapperImpl;
+import com.ird0.incident.model.Comment;
+import com.ird0.incident.model.Comment.AuthorType;
+import com.ird0.incident.model.ExpertAssignment;
+import com.ird0.incident.model.Incident;
+import com.ird0.incident.model.IncidentEvent;
+import com.ird0.incident.model.IncidentStatus;
+import com.ird0.incident.service.IncidentCountEstimator;
+import com.ird0.incident.service.IncidentFilter;
+import com.ird0.incident.service.IncidentService;
+import com.ird0.incident.service.IncidentStatisticsRollup;
+import com.ird0.incident.service.IncidentViewProjection;
+import com.ird0.incident.service.TotalCount;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionOperations;
+
+/** Uses the profile's H2 URL, which declares the JSONB domain. */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class IncidentRepositoryTest {
+
+  private static final Instant BASE = Instant.parse("2026-01-01T00:00:00Z");
+  private static final UUID INSURER_ID = UUID.randomUUID();
+
+  @Autowired private IncidentRepository incidentRepository;
+
+  @Autowired private IncidentViewRepository viewRepository;
+
+  @Autowired private IncidentEventRepository eventRepository;
+
+  @Autowired private CommentRepository commentRepository;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Autowired private TestEntityManager entityManager;
+
+  private final IncidentMapper incidentMapper = new IncidentMapperImpl();
+
+  private IncidentViewProjection viewProjection;
+
+  private IncidentService incidentService;
+
+  @BeforeEach
+  void setUp() {
+    viewProjection =
+        new IncidentViewProjection(
+            new NamedParameterJdbcTemplate(jdbcTemplate),
+            null,
+            TransactionOperations.withoutTransaction(),
+            new IncidentProperties(),
+            null);
+    incidentService =
+        new IncidentService(
+            incidentRepository,
+            viewRepository,
+            eventRepository,
+            commentRepository,
+            null,
+            null,
+            null,
+            null,
+            TransactionOperations.withoutTransaction(),
+            new IncidentCountEstimator(jdbcTemplate),
+            new IncidentStatisticsRollup(jdbcTemplate),
+            viewProjection,
+            Optional.empty());
+  }
+
+  @Test
+  void findPage_AcrossPages_VisitsEveryIncidentOnceNewestFirst() {
+    // Two incidents share a creation time, so the id has to break the tie
+    List<Incident> incidents =
+        List.of(
+            save("INC-1", INSURER_ID, 1),
+            save("INC-2", INSURER_ID, 2),
+            save("INC-3", INSURER_ID, 2),
+            save("INC-4", INSURER_ID, 3),
+            save("INC-5", INSURER_ID, 4));
+    // Listings read the view; its projection follows events, which these incidents have none of
+    viewProjection.rebuild();
+    List<UUID> expected =
+        incidents.stream()
+            .sorted(
+                (a, b) ->
+                    a.getCreatedAt().equals(b.getCreatedAt())
+                        // The database orders uuids bytewise, like their text form
+                        ? b.getId().toString().compareTo(a.getId().toString())
+                        : b.getCreatedAt().compareTo(a.getCreatedAt()))
+            .map(Incident::getId)
+            .toList();
+
+    List<UUID> visited = new ArrayList<>();
+    String cursor = null;
+    int pages = 0;
+    do {
+      CursorPage<IncidentSummaryResponse> page =
+          incidentService.findPage(filter(null), Sort.Direction.DESC, cursor, 2, TotalCount.NONE);
+      page.content().forEach(incident -> visited.add(incident.id()));
+      assertNull(page.totalElements());
+      cursor = page.nextCursor();
+      pages++;
+    } while (cursor != null);
+
+    assertEquals(expected, visited);
+    assertEquals(3, pages);
+  }
+
+  @Test
+  void findPage_FilterAndExactCount_CountsAllMatches() {
+    save("INC-1", INSURER_ID, 1);
+    save("INC-2", INSURER_ID, 2);
+    save("INC-3", UUID.randomUUID(), 3);
+    viewProjection.rebuild();
+
+    CursorPage<IncidentSummaryResponse> page =
+        incidentService.findPage(filter(INSURER_ID), Sort.Direction.ASC, null, 1, TotalCount.EXACT);
+
+    assertEquals("INC-1", page.content().getFirst().referenceNumber());
+    assertEquals(2L, page.totalElements());
+    assertFalse(page.totalEstimated());
+  }
+
+  @Test
+  void findPage_EstimateUnavailable_FallsBackToExactCount() {
+    save("INC-1", INSURER_ID, 1);
+    viewProjection.rebuild();
+
+    // H2 has no planner row estimates
+    CursorPage<IncidentSummaryResponse> page =
+        incidentService.findPage(filter(null), Sort.Direction.DESC, null, 10, TotalCount.ESTIMATED);
+
+    assertEquals(1L, page.totalElements());
+    assertFalse(page.totalEstimated());
+  }
+
+  @Test
+  void findWithFilters_ReadsSummariesWithoutLoadingEntities() {
+    save("INC-1", INSURER_ID, 1);
+    save("INC-2", INSURER_ID, 2);
+    save("INC-3", UUID.randomUUID(), 3);
+    viewProjection.rebuild();
+    entityManager.clear();
+    Statistics statistics = statistics();
+
+    Page<IncidentSummaryResponse> page =
+        incidentService.findWithFilters(
+            null, INSURER_ID, null, null, null, null, PageRequest.of(0, 1, Sort.by("createdAt")));
+
+    assertEquals("INC-1", page.getContent().getFirst().referenceNumber());
+    assertEquals(2, page.getTotalElements());
+    assertEquals(0, statistics.getEntityLoadCount());
+    assertEquals(
+        0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+  }
+
+  @Test
+  void getDetail_LoadsAssignmentsAndCommentsInTwoQueries() {
+    Incident incident = newIncident("INC-1", INSURER_ID);
+    for (int i = 0; i < 3; i++) {
+      ExpertAssignment assignment = new ExpertAssignment();
+      assignment.setExpertId(UUID.randomUUID());
+      assignment.setAssignedBy(UUID.randomUUID());
+      incident.addExpertAssignment(assignment);
+      Comment comment = new Comment();
+      comment.setAuthorId(UUID.randomUUID());
+      comment.setAuthorType(Comment.AuthorType.INSURER);
+      comment.setContent("Comment " + i);
+      incident.addComment(comment);
+    }
+    for (int i = 0; i < 50; i++) {
+      IncidentEvent event = new IncidentEvent();
+      event.setEventType("STATUS_CHANGED");
+      event.setTriggeredBy(UUID.randomUUID());
+      event.setOccurredAt(BASE.plusSeconds(i));
+      incident.addEvent(event);
+    }
+    UUID id = incidentRepository.saveAndFlush(incident).getId();
+    entityManager.clear();
+    Statistics statistics = statistics();
+
+    IncidentResponse response = incidentMapper.toResponse(incidentService.getDetail(id));
+
+    assertEquals(3, response.expertAssignments().size());
+    assertEquals(3, response.comments().size());
+    assertNull(response.recentEvents());
+    assertEquals(2, statistics.getPrepareStatementCount());
+
+    List<IncidentEvent> recentEvents =
+        eventRepository.findByIncidentIdOrderByOccurredAtDesc(id, Limit.of(5));
+
+    assertEquals(5, recentEvents.size());
+    assertEquals(BASE.plusSeconds(49), recentEvents.getFirst().getOccurredAt());
+    assertEquals(3, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  void addComment_LongHistory_AppendsWithoutLoadingIt() {
+    Incident incident = newIncident("INC-1", INSURER_ID);
+    for (int i = 0; i < 200; i++) {
+      IncidentEvent event = new IncidentEvent();
+      event.setEventType("STATUS_CHANGED");
+      event.setTriggeredBy(UUID.randomUUID());
+      incident.addEvent(event);
+    }
+    UUID id = incidentRepository.saveAndFlush(incident).getId();
+    Instant updatedAt = incident.getUpdatedAt();
+    entityManager.clear();
+    Statistics statistics = statistics();
+
+    Incident updated =
+        incidentService.addComment(id, "Photos attached", UUID.randomUUID(), AuthorType.INSURER);
+    entityManager.flush();
+
+    assertFalse(Hibernate.isInitialized(updated.getEvents()));
+    assertFalse(Hibernate.isInitialized(updated.getComments()));
+    assertEquals(0, statistics.getCollectionLoadCount());
+    assertTrue(updated.getUpdatedAt().isAfter(updatedAt));
+    assertEquals(201, eventRepository.findByIncidentIdOrderByOccurredAtDesc(id).size());
+    assertEquals(1, commentRepository.findByIncidentIdOrderByCreatedAtDesc(id).size());
+  }
+
+  @Test
+  void getStatistics_RollupFilters_SumsBuckets() {
+    saveStatisticsFixture();
+    new IncidentStatisticsRollup(jdbcTemplate).rebuild();
+
+    assertStatisticsFixture(incidentService.getStatistics(filter(INSURER_ID)));
+  }
+
+  @Test
+  void getStatistics_DateFilter_GroupsMatchingIncidents() {
+    saveStatisticsFixture();
+
+    // Creation dates are not in the rollup, so this reads the incidents
+    IncidentStatisticsResponse statistics =
+        incidentService.getStatistics(
+            new IncidentFilter(null, INSURER_ID, null, null, BASE.minusSeconds(3600), null));
+
+    assertStatisticsFixture(statistics);
+  }
+
+  private void saveStatisticsFixture() {
+    saveWithStatus("INC-1", IncidentStatus.DECLARED, "FIRE");
+    saveWithStatus("INC-2", IncidentStatus.UNDER_REVIEW, "FIRE");
+    saveWithStatus("INC-3", IncidentStatus.IN_PROGRESS, "THEFT");
+    saveWithStatus("INC-4", IncidentStatus.CLOSED, "THEFT");
+    Incident closedLongAgo = saveWithStatus("INC-5", IncidentStatus.CLOSED, "THEFT");
+    jdbcTemplate.update(
+        "UPDATE incident SET status_changed_at = ? WHERE id = ?",
+        Timestamp.from(BASE.minusSeconds(366L * 24 * 3600)),
+        closedLongAgo.getId());
+    save("INC-6", UUID.randomUUID(), 1);
+  }
+
+  private static void assertStatisticsFixture(IncidentStatisticsResponse statistics) {
+    assertEquals(5, statistics.total());
+    assertEquals(
+        Map.of(
+            IncidentStatus.DECLARED, 1L,
+            IncidentStatus.UNDER_REVIEW, 1L,
+            IncidentStatus.IN_PROGRESS, 1L,
+            IncidentStatus.CLOSED, 2L),
+        statistics.byStatus());
+    assertEquals(Map.of("FIRE", 2L, "THEFT", 3L), statistics.byType());
+    assertEquals(2, statistics.pending());
+    assertEquals(1, statistics.inProgress());
+    assertEquals(1, statistics.closedThisMonth());
+  }
+
+  @Test
+  void findPage_CursorOfOtherDirection_IsRejected() {
+    save("INC-1", INSURER_ID, 1);
+    save("INC-2", INSURER_ID, 2);
+    viewProjection.rebuild();
+    String cursor =
+        incidentService
+            .findPage(filter(null), Sort.Direction.DESC, null, 1, TotalCount.NONE)
+            .nextCursor();
+
+    assertThrows(
+        ValidationException.class,
+        () ->
+            incidentService.findPage(filter(null), Sort.Direction.ASC, cursor, 1, TotalCount.NONE));
+  }
+
+  private static IncidentFilter filter(UUID insurerId) {
+    return new IncidentFilter(null, insurerId, null, null, null, null);
+  }
+
+  /** Starts counting statements and entity loads from zero. */
+  private Statistics statistics() {
+    Statistics statistics =
+        entityManager
+            .getEntityManager()
+            .getEntityManagerFactory()
+            .unwrap(SessionFactory.class)
+            .getStatistics();
+    statistics.setStatisticsEnabled(true);
+    statistics.clear();
+    return statistics;
+  }
+
+  private static Incident newIncident(String referenceNumber, UUID insurerId) {
+    Incident incident = new Incident();
+    incident.setReferenceNumber(referenceNumber);
+    incident.setPolicyholderId(UUID.randomUUID());
+    incident.setInsurerId(insurerId);
+    incident.setStatus(IncidentStatus.DECLARED);
+    incident.setType("WATER_DAMAGE");
+    incident.setIncidentDate(BASE);
+    incident.setCreatedBy(UUID.randomUUID());
+    return incident;
+  }
+
+  private Incident saveWithStatus(String referenceNumber, IncidentStatus status, String type) {
+    Incident incident = newIncident(referenceNumber, INSURER_ID);
+    incident.setStatus(status);
+    incident.setType(type);
+    return incidentRepository.saveAndFlush(incident);
+  }
+
+  private Incident save(String referenceNumber, UUID insurerId, int hours) {
+    Incident saved = incidentRepository.saveAndFlush(newIncident(referenceNumber, insurerId));
+
+    // createdAt is set on persist; pin it so the order is known
+    Instant createdAt = BASE.plusSeconds(hours * 3600L);
+    jdbcTemplate.update(
+        "UPDATE incident SET created_at = ? WHERE id = ?",
+        Timestamp.from(createdAt),
+        saved.getId());
+    saved.setCreatedAt(createdAt);
+    return saved;
+  }
+}
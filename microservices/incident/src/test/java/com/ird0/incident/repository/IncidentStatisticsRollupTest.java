@@ -0,0 +1,157 @@
+package com.ird0.incident.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.ird0.incident.config.IncidentProperties;
+import com.ird0.incident.dto.IncidentStatisticsResponse;
+import com.ird0.incident.dto.StatusUpdateRequest;
+import com.ird0.incident.model.Incident;
+import com.ird0.incident.model.IncidentStatus;
+import com.ird0.incident.service.IncidentCountEstimator;
+import com.ird0.incident.service.IncidentFilter;
+import com.ird0.incident.service.IncidentService;
+import com.ird0.incident.service.IncidentStatisticsRollup;
+import com.ird0.incident.service.IncidentViewProjection;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionOperations;
+
+/** Uses the profile's H2 URL, which declares the JSONB domain. */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class IncidentStatisticsRollupTest {
+
+  private static final UUID INSURER_ID = UUID.randomUUID();
+
+  @Autowired private IncidentRepository incidentRepository;
+
+  @Autowired private IncidentViewRepository viewRepository;
+
+  @Autowired private IncidentEventRepository eventRepository;
+
+  @Autowired private CommentRepository commentRepository;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Autowired private TestEntityManager entityManager;
+
+  private IncidentStatisticsRollup rollup;
+
+  private IncidentService incidentService;
+
+  @BeforeEach
+  void setUp() {
+    rollup = new IncidentStatisticsRollup(jdbcTemplate);
+    IncidentViewProjection viewProjection =
+        new IncidentViewProjection(
+            new NamedParameterJdbcTemplate(jdbcTemplate),
+            null,
+            TransactionOperations.withoutTransaction(),
+            new IncidentProperties(),
+            null);
+    incidentService =
+        new IncidentService(
+            incidentRepository,
+            viewRepository,
+            eventRepository,
+            commentRepository,
+            null,
+            null,
+            null,
+            null,
+            TransactionOperations.withoutTransaction(),
+            new IncidentCountEstimator(jdbcTemplate),
+            rollup,
+            viewProjection,
+            Optional.empty());
+  }
+
+  @Test
+  void changes_KeepRollupEqualToRebuild() {
+    Incident closed = create("INC-1", "FIRE");
+    Incident abandoned = create("INC-2", "FIRE");
+    Incident moved = create("INC-3", "THEFT");
+    Incident deleted = create("INC-4", "THEFT");
+    create("INC-5", "THEFT");
+
+    transition(closed, IncidentStatus.UNDER_REVIEW);
+    transition(closed, IncidentStatus.QUALIFIED);
+    transition(closed, IncidentStatus.IN_PROGRESS);
+    transition(closed, IncidentStatus.CLOSED);
+    transition(abandoned, IncidentStatus.UNDER_REVIEW);
+    transition(abandoned, IncidentStatus.ABANDONED);
+    moved.setInsurerId(UUID.randomUUID());
+    rollup.insurerChanged(moved, INSURER_ID);
+    incidentRepository.saveAndFlush(moved);
+    incidentService.deleteIncident(deleted.getId());
+    // The rebuild reads the incident table over JDBC
+    entityManager.flush();
+
+    IncidentStatisticsResponse statistics = statistics();
+    assertEquals(3, statistics.total());
+    assertEquals(
+        Map.of(
+            IncidentStatus.DECLARED, 1L,
+            IncidentStatus.CLOSED, 1L,
+            IncidentStatus.ABANDONED, 1L),
+        statistics.byStatus());
+    assertEquals(1, statistics.closedThisMonth());
+
+    List<Map<String, Object>> incremental = buckets();
+    rollup.rebuild();
+    assertEquals(buckets(), incremental);
+  }
+
+  @Test
+  void apply_OpposingChanges_CancelOut() {
+    Incident incident = create("INC-1", "FIRE");
+    List<Map<String, Object>> before = buckets();
+
+    rollup.apply(IncidentStatisticsRollup.changes().deleted(incident).created(incident));
+
+    assertEquals(before, buckets());
+  }
+
+  private Incident create(String referenceNumber, String type) {
+    Incident incident = new Incident();
+    incident.setReferenceNumber(referenceNumber);
+    incident.setPolicyholderId(UUID.randomUUID());
+    incident.setInsurerId(INSURER_ID);
+    incident.setType(type);
+    incident.setIncidentDate(Instant.now());
+    incident.setCreatedBy(UUID.randomUUID());
+    Incident saved = incidentRepository.saveAndFlush(incident);
+    rollup.incidentCreated(saved);
+    return saved;
+  }
+
+  private void transition(Incident incident, IncidentStatus status) {
+    incidentService.updateStatus(
+        incident.getId(), new StatusUpdateRequest(status, null, null), UUID.randomUUID());
+  }
+
+  private IncidentStatisticsResponse statistics() {
+    return incidentService.getStatistics(
+        new IncidentFilter(null, INSURER_ID, null, null, null, null));
+  }
+
+  /** The non-empty buckets, in key order. */
+  private List<Map<String, Object>> buckets() {
+    return jdbcTemplate.queryForList(
+        "SELECT insurer_id, status, type, status_date, incident_count FROM incident_statistics"
+            + " WHERE incident_count <> 0 ORDER BY insurer_id, status, type, status_date");
+  }
+}
@@ -0,0 +1,117 @@
+package com.ird0.incident.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.ird0.incident.dto.CursorPage;
+import com.ird0.incident.exception.IncidentNotFoundException;
+import com.ird0.incident.model.Comment;
+import com.ird0.incident.model.Incident;
+import com.ird0.incident.model.IncidentEvent;
+import com.ird0.incident.model.IncidentStatus;
+import com.ird0.incident.service.IncidentTimelineService;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+/** Uses the profile's H2 URL, which declares the JSONB domain. */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class IncidentTimelineRepositoryTest {
+
+  private static final Instant BASE = Instant.parse("2026-01-01T00:00:00Z");
+
+  @Autowired private IncidentRepository incidentRepository;
+
+  @Autowired private IncidentEventRepository eventRepository;
+
+  @Autowired private CommentRepository commentRepository;
+
+  private IncidentTimelineService timelineService;
+
+  @BeforeEach
+  void setUp() {
+    timelineService =
+        new IncidentTimelineService(incidentRepository, eventRepository, commentRepository);
+  }
+
+  @Test
+  void findHistory_TypeAndSinceFilters_PagesNewestFirst() {
+    Incident incident = newIncident();
+    for (int i = 0; i < 10; i++) {
+      IncidentEvent event = new IncidentEvent();
+      event.setEventType(i % 2 == 0 ? "STATUS_CHANGED" : "COMMENT_ADDED");
+      event.setTriggeredBy(UUID.randomUUID());
+      event.setOccurredAt(BASE.plusSeconds(i));
+      incident.addEvent(event);
+    }
+    UUID id = incidentRepository.saveAndFlush(incident).getId();
+
+    List<Instant> visited = new ArrayList<>();
+    String cursor = null;
+    do {
+      CursorPage<IncidentEvent> page =
+          timelineService.findHistory(
+              id, List.of("STATUS_CHANGED"), BASE.plusSeconds(2), Sort.Direction.DESC, cursor, 2);
+      page.content().forEach(event -> visited.add(event.getOccurredAt()));
+      cursor = page.nextCursor();
+    } while (cursor != null);
+
+    assertEquals(
+        List.of(BASE.plusSeconds(8), BASE.plusSeconds(6), BASE.plusSeconds(4), BASE.plusSeconds(2)),
+        visited);
+  }
+
+  @Test
+  void findComments_OldestFirst_ContinuesFromCursor() {
+    Incident incident = newIncident();
+    for (int i = 0; i < 3; i++) {
+      Comment comment = new Comment();
+      comment.setAuthorId(UUID.randomUUID());
+      comment.setAuthorType(Comment.AuthorType.EXPERT);
+      comment.setContent("Comment " + i);
+      comment.setCreatedAt(BASE.plusSeconds(i));
+      incident.addComment(comment);
+    }
+    UUID id = incidentRepository.saveAndFlush(incident).getId();
+
+    CursorPage<Comment> first = timelineService.findComments(id, null, Sort.Direction.ASC, null, 2);
+    CursorPage<Comment> second =
+        timelineService.findComments(id, null, Sort.Direction.ASC, first.nextCursor(), 2);
+
+    assertEquals(
+        List.of("Comment 0", "Comment 1"),
+        first.content().stream().map(Comment::getContent).toList());
+    assertEquals(List.of("Comment 2"), second.content().stream().map(Comment::getContent).toList());
+    assertNull(second.nextCursor());
+  }
+
+  @Test
+  void findComments_UnknownIncident_Throws() {
+    assertThrows(
+        IncidentNotFoundException.class,
+        () -> timelineService.findComments(UUID.randomUUID(), null, Sort.Direction.DESC, null, 10));
+  }
+
+  private static Incident newIncident() {
+    Incident incident = new Incident();
+    incident.setReferenceNumber("INC-1");
+    incident.setPolicyholderId(UUID.randomUUID());
+    incident.setInsurerId(UUID.randomUUID());
+    incident.setStatus(IncidentStatus.DECLARED);
+    incident.setType("WATER_DAMAGE");
+    incident.setIncidentDate(BASE);
+    incident.setCreatedBy(UUID.randomUUID());
+    return incident;
+  }
+}
@@ -0,0 +1,237 @@
+package com.ird0.incident.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ird0.incident.config.IncidentProperties;
+import com.ird0.incident.model.Incident;
+import com.ird0.incident.model.IncidentEvent;
+import com.ird0.incident.model.IncidentStatus;
+import com.ird0.incident.model.IncidentView;
+import com.ird0.incident.service.DirectoryEntityType;
+import com.ird0.incident.service.DirectoryValidationService;
+import com.ird0.incident.service.IncidentViewProjection;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Uses the profile's H2 URL, which declares the JSONB domain. Events are dated in the past unless a
+ * test needs a recent one: sequence numbers of earlier, rolled back tests leave a hole at the start
+ * of the log, which the projection only skips once the event after it is old enough.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class IncidentViewProjectionTest {
+
+  private static final Instant BASE = Instant.parse("2026-01-01T00:00:00Z");
+  private static final UUID POLICYHOLDER_ID = UUID.randomUUID();
+  private static final UUID INSURER_ID = UUID.randomUUID();
+  private static final UUID UNKNOWN_INSURER_ID = UUID.randomUUID();
+
+  @Autowired private IncidentRepository incidentRepository;
+
+  @Autowired private IncidentViewRepository viewRepository;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Autowired private TestEntityManager entityManager;
+
+  private DirectoryValidationService directory;
+
+  private IncidentViewProjection projection;
+
+  @BeforeEach
+  void setUp() {
+    directory = mock(DirectoryValidationService.class);
+    Map<UUID, String> names = Map.of(POLICYHOLDER_ID, "Jane Doe", INSURER_ID, "Acme Insurance");
+    when(directory.findNames(any(), any()))
+        .thenAnswer(
+            invocation ->
+                invocation.<Collection<UUID>>getArgument(1).stream()
+                    .filter(names::containsKey)
+                    .collect(Collectors.toMap(id -> id, names::get)));
+
+    projection =
+        new IncidentViewProjection(
+            new NamedParameterJdbcTemplate(jdbcTemplate),
+            directory,
+            TransactionOperations.withoutTransaction(),
+            new IncidentProperties(),
+            null);
+  }
+
+  @Test
+  void project_CopiesTouchedIncidentsWithTheirNames() {
+    Incident known = save("INC-1", INSURER_ID);
+    Incident unknown = save("INC-2", UNKNOWN_INSURER_ID);
+
+    projection.project();
+
+    IncidentView view = view(known.getId());
+    assertEquals("INC-1", view.getReferenceNumber());
+    assertEquals(IncidentStatus.DECLARED, view.getStatus());
+    assertEquals("Jane Doe", view.getPolicyholderName());
+    assertEquals("Acme Insurance", view.getInsurerName());
+    // Not in the directory: named empty, so that it is not looked up again
+    assertEquals("", view(unknown.getId()).getInsurerName());
+    assertEquals(0, projection.lagEvents());
+    assertEquals(Duration.ZERO, projection.lagTime());
+
+    known = incidentRepository.findById(known.getId()).orElseThrow();
+    known.setStatus(IncidentStatus.UNDER_REVIEW);
+    known.addEvent(event(known, IncidentStatus.DECLARED, IncidentStatus.UNDER_REVIEW, BASE));
+    incidentRepository.saveAndFlush(known);
+
+    projection.project();
+
+    view = view(known.getId());
+    assertEquals(IncidentStatus.UNDER_REVIEW, view.getStatus());
+    assertEquals("Jane Doe", view.getPolicyholderName());
+    verify(directory, times(1)).findNames(eq(DirectoryEntityType.POLICYHOLDER), any());
+  }
+
+  @Test
+  void project_RecentHoleInTheLog_WaitsUntilItIsOld() {
+    Incident incident = save("INC-1", INSURER_ID);
+    projection.project();
+    long position = checkpoint();
+
+    // Number position + 1 is held by a transaction that has not committed, or has rolled back
+    Instant occurredAt = Instant.now();
+    insertEvent(incident.getId(), position + 2, occurredAt);
+
+    projection.project();
+
+    assertEquals(position, checkpoint());
+    assertEquals(2, projection.lagEvents());
+    assertFalse(projection.lagTime().isNegative());
+
+    jdbcTemplate.update(
+        "UPDATE incident_event SET occurred_at = ? WHERE sequence_number = ?",
+        Timestamp.from(occurredAt.minus(Duration.ofMinutes(1))),
+        position + 2);
+
+    projection.project();
+
+    assertEquals(position + 2, checkpoint());
+    assertEquals(0, projection.lagEvents());
+  }
+
+  @Test
+  void project_HoleCommittingAfterItWasSkipped_IsStillProjected() {
+    Incident incident = save("INC-1", INSURER_ID);
+    projection.project();
+    long position = checkpoint();
+    insertEvent(incident.getId(), position + 2, BASE);
+
+    // The hole is old enough to be skipped
+    projection.project();
+
+    assertEquals(position + 2, checkpoint());
+    assertEquals(1, gaps(position + 1));
+    assertEquals(IncidentStatus.DECLARED, view(incident.getId()).getStatus());
+
+    // The transaction holding position + 1 commits only now
+    jdbcTemplate.update(
+        "UPDATE incident SET status = 'UNDER_REVIEW' WHERE id = ?", incident.getId());
+    insertEvent(incident.getId(), position + 1, BASE);
+
+    projection.project();
+
+    assertEquals(IncidentStatus.UNDER_REVIEW, view(incident.getId()).getStatus());
+    assertEquals(0, gaps(position + 1));
+  }
+
+  @Test
+  void rebuild_RestoresTheViewFromTheIncidents() {
+    Incident first = save("INC-1", INSURER_ID);
+    Incident second = save("INC-2", INSURER_ID);
+    projection.project();
+    jdbcTemplate.update("UPDATE incident_view SET status = 'CLOSED'");
+    projection.incidentDeleted(second.getId());
+
+    projection.rebuild();
+
+    assertEquals(2, viewRepository.count());
+    IncidentView view = view(first.getId());
+    assertEquals(IncidentStatus.DECLARED, view.getStatus());
+    assertNull(view.getPolicyholderName());
+
+    projection.project();
+
+    assertEquals("Jane Doe", view(second.getId()).getPolicyholderName());
+  }
+
+  private Incident save(String referenceNumber, UUID insurerId) {
+    Incident incident = new Incident();
+    incident.setReferenceNumber(referenceNumber);
+    incident.setPolicyholderId(POLICYHOLDER_ID);
+    incident.setInsurerId(insurerId);
+    incident.setType("FIRE");
+    incident.setIncidentDate(BASE);
+    incident.setCreatedBy(POLICYHOLDER_ID);
+    incident.addEvent(event(incident, null, IncidentStatus.DECLARED, BASE));
+    return incidentRepository.saveAndFlush(incident);
+  }
+
+  private int gaps(long sequenceNumber) {
+    return jdbcTemplate.queryForObject(
+        "SELECT count(*) FROM projection_gap WHERE sequence_number = ?",
+        Integer.class,
+        sequenceNumber);
+  }
+
+  private void insertEvent(UUID incidentId, long sequenceNumber, Instant occurredAt) {
+    jdbcTemplate.update(
+        "INSERT INTO incident_event (id, incident_id, event_type, triggered_by, occurred_at,"
+            + " sequence_number) VALUES (?, ?, 'COMMENT_ADDED', ?, ?, ?)",
+        UUID.randomUUID(),
+        incidentId,
+        UUID.randomUUID(),
+        Timestamp.from(occurredAt),
+        sequenceNumber);
+  }
+
+  private static IncidentEvent event(
+      Incident incident, IncidentStatus previous, IncidentStatus status, Instant occurredAt) {
+    IncidentEvent event =
+        IncidentEvent.createStatusChangeEvent(incident, previous, status, UUID.randomUUID(), null);
+    event.setOccurredAt(occurredAt);
+    return event;
+  }
+
+  /** Reads the row as the listings do, past the persistence context. */
+  private IncidentView view(UUID id) {
+    entityManager.clear();
+    return viewRepository.findById(id).orElseThrow();
+  }
+
+  private long checkpoint() {
+    return jdbcTemplate.queryForObject(
+        "SELECT last_sequence_number FROM projection_checkpoint WHERE name = 'incident_view'",
+        Long.class);
+  }
+}
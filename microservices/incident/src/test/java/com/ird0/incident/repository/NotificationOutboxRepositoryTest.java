@@ -0,0 +1,58 @@
+package com.ird0.incident.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.ird0.incident.model.NotificationOutboxEntry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/** Uses the profile's H2 URL, which declares the JSONB domain. */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class NotificationOutboxRepositoryTest {
+
+  @Autowired private NotificationOutboxRepository outboxRepository;
+
+  @Test
+  void lockDueHeads_ReturnsOldestEntryOfEachIncident() {
+    UUID first = UUID.randomUUID();
+    UUID second = UUID.randomUUID();
+    NotificationOutboxEntry firstDeclared = save(first, "INCIDENT_DECLARED", Instant.now());
+    save(first, "INCIDENT_QUALIFIED", Instant.now());
+    NotificationOutboxEntry secondDeclared = save(second, "INCIDENT_DECLARED", Instant.now());
+
+    List<NotificationOutboxEntry> heads = outboxRepository.lockDueHeads(Instant.now(), 10);
+
+    assertEquals(
+        List.of(firstDeclared.getId(), secondDeclared.getId()),
+        heads.stream().map(NotificationOutboxEntry::getId).toList());
+  }
+
+  @Test
+  void lockDueHeads_HeadAwaitingRetry_HoldsBackLaterEntries() {
+    UUID incident = UUID.randomUUID();
+    save(incident, "INCIDENT_DECLARED", Instant.now().plus(Duration.ofMinutes(1)));
+    save(incident, "INCIDENT_QUALIFIED", Instant.now());
+
+    assertEquals(List.of(), outboxRepository.lockDueHeads(Instant.now(), 10));
+  }
+
+  private NotificationOutboxEntry save(UUID incidentId, String eventType, Instant nextAttemptAt) {
+    NotificationOutboxEntry entry = new NotificationOutboxEntry();
+    entry.setEventType(eventType);
+    entry.setIncidentId(incidentId);
+    entry.setInsurerId(UUID.randomUUID());
+    entry.setPayload(Map.of("eventType", eventType));
+    entry.setNextAttemptAt(nextAttemptAt);
+    return outboxRepository.saveAndFlush(entry);
+  }
+}
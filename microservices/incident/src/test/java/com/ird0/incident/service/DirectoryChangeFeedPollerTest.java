@@ -0,0 +1,108 @@
+package com.ird0.incident.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ird0.incident.config.IncidentProperties;
+import com.ird0.incident.dto.DirectoryChangeFeedPage;
+import com.ird0.incident.dto.DirectoryChangeFeedPage.Change;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class DirectoryChangeFeedPollerTest {
+
+  private static final String INSURERS_FEED =
+      "http://localhost:8084/api/insurers/changes?limit=500";
+
+  @Mock private RestTemplate restTemplate;
+  @Mock private IncidentViewProjection viewProjection;
+
+  private DirectoryReferenceCache cache;
+  private InsurerWebhookCache webhookCache;
+  private DirectoryChangeFeedPoller poller;
+
+  @BeforeEach
+  void setUp() {
+    IncidentProperties properties = new IncidentProperties();
+    cache = new DirectoryReferenceCache(properties, null);
+    webhookCache = new InsurerWebhookCache(properties, null);
+    poller =
+        new DirectoryChangeFeedPoller(
+            properties, restTemplate, cache, webhookCache, viewProjection);
+    // Other directories have no changes
+    lenient()
+        .when(restTemplate.getForObject(anyString(), eq(DirectoryChangeFeedPage.class)))
+        .thenReturn(new DirectoryChangeFeedPage(List.of(), 0, false));
+  }
+
+  @Test
+  void poll_FirstRun_OnlyPositionsCursor() {
+    UUID created = UUID.randomUUID();
+    when(restTemplate.getForObject(INSURERS_FEED, DirectoryChangeFeedPage.class))
+        .thenReturn(
+            new DirectoryChangeFeedPage(List.of(new Change(10, created, "UPSERT")), 10, false));
+
+    poller.poll();
+
+    assertNull(cache.exists(DirectoryEntityType.INSURER, created));
+  }
+
+  @Test
+  void poll_AfterFirstRun_AppliesUpsertsAndDeletesAcrossPages() {
+    UUID created = UUID.randomUUID();
+    UUID deleted = UUID.randomUUID();
+    cache.markExisting(DirectoryEntityType.INSURER, deleted);
+    webhookCache.get(deleted, id -> "https://insurer.example.com/webhook");
+    when(restTemplate.getForObject(INSURERS_FEED, DirectoryChangeFeedPage.class))
+        .thenReturn(new DirectoryChangeFeedPage(List.of(), 40, false));
+    when(restTemplate.getForObject(INSURERS_FEED + "&since=40", DirectoryChangeFeedPage.class))
+        .thenReturn(
+            new DirectoryChangeFeedPage(List.of(new Change(41, created, "UPSERT")), 41, true));
+    when(restTemplate.getForObject(INSURERS_FEED + "&since=41", DirectoryChangeFeedPage.class))
+        .thenReturn(
+            new DirectoryChangeFeedPage(List.of(new Change(42, deleted, "DELETE")), 42, false));
+
+    poller.poll();
+    poller.poll();
+
+    assertTrue(cache.isKnownToExist(DirectoryEntityType.INSURER, created));
+    assertFalse(cache.exists(DirectoryEntityType.INSURER, deleted));
+    verify(viewProjection).refreshNames(DirectoryEntityType.INSURER, List.of(created));
+    assertNull(webhookCache.lastKnown(deleted));
+    assertEquals(
+        "https://insurer.example.com/changed",
+        webhookCache.get(deleted, id -> "https://insurer.example.com/changed"));
+  }
+
+  @Test
+  void poll_FeedUnreachable_RetriesFromSameCursor() {
+    UUID created = UUID.randomUUID();
+    when(restTemplate.getForObject(INSURERS_FEED, DirectoryChangeFeedPage.class))
+        .thenReturn(new DirectoryChangeFeedPage(List.of(), 40, false));
+    when(restTemplate.getForObject(INSURERS_FEED + "&since=40", DirectoryChangeFeedPage.class))
+        .thenThrow(new ResourceAccessException("Connection refused"))
+        .thenReturn(
+            new DirectoryChangeFeedPage(List.of(new Change(41, created, "UPSERT")), 41, false));
+
+    poller.poll();
+    poller.poll();
+    poller.poll();
+
+    assertTrue(cache.isKnownToExist(DirectoryEntityType.INSURER, created));
+  }
+}
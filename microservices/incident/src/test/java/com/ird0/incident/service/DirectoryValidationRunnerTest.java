@@ -0,0 +1,84 @@
+package com.ird0.incident.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.ird0.incident.config.IncidentProperties;
+import com.ird0.incident.exception.DirectoryValidationException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DirectoryValidationRunnerTest {
+
+  private DirectoryValidationRunner runner;
+
+  @BeforeEach
+  void setUp() {
+    IncidentProperties properties = new IncidentProperties();
+    properties.getDirectory().setValidationTimeout(Duration.ofMillis(500));
+    runner = new DirectoryValidationRunner(properties);
+  }
+
+  @AfterEach
+  void tearDown() {
+    runner.shutdown();
+  }
+
+  @Test
+  void validate_SlowChecks_RunConcurrently() {
+    AtomicInteger completed = new AtomicInteger();
+    Runnable slowCheck =
+        () -> {
+          sleep(200);
+          completed.incrementAndGet();
+        };
+
+    long start = System.nanoTime();
+    runner.validate(slowCheck, slowCheck);
+    long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+    assertEquals(2, completed.get());
+    assertTrue(elapsedMillis < 400, "took " + elapsedMillis + " ms");
+  }
+
+  @Test
+  void validate_CheckFails_RethrowsItsException() {
+    DirectoryValidationException failure =
+        new DirectoryValidationException("Insurer", UUID.randomUUID());
+
+    DirectoryValidationException thrown =
+        assertThrows(
+            DirectoryValidationException.class,
+            () ->
+                runner.validate(
+                    () -> sleep(50),
+                    () -> {
+                      throw failure;
+                    }));
+
+    assertEquals(failure, thrown);
+  }
+
+  @Test
+  void validate_ChecksExceedTimeout_Fails() {
+    DirectoryValidationException thrown =
+        assertThrows(
+            DirectoryValidationException.class,
+            () -> runner.validate(() -> sleep(100), () -> sleep(5_000)));
+
+    assertTrue(thrown.getMessage().contains("500 ms"));
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
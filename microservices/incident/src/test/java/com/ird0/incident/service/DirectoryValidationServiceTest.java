@@ -0,0 +1,172 @@
+package com.ird0.incident.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ird0.incident.config.IncidentProperties;
+import com.ird0.incident.dto.DirectoryBatchLookupResult;
+import com.ird0.incident.exception.DirectoryValidationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class DirectoryValidationServiceTest {
+
+  private static final UUID POLICYHOLDER_ID = UUID.randomUUID();
+  private static final String POLICYHOLDER_URL =
+      "http://localhost:8081/api/policyholders/" + POLICYHOLDER_ID;
+
+  @Mock private RestTemplate restTemplate;
+
+  private SimpleMeterRegistry meterRegistry;
+  private DirectoryReferenceCache referenceCache;
+  private InsurerWebhookCache webhookCache;
+  private DirectoryValidationService validationService;
+
+  @BeforeEach
+  void setUp() {
+    IncidentProperties properties = new IncidentProperties();
+    meterRegistry = new SimpleMeterRegistry();
+    referenceCache = new DirectoryReferenceCache(properties, meterRegistry);
+    webhookCache = new InsurerWebhookCache(properties, meterRegistry);
+    validationService =
+        new DirectoryValidationService(properties, restTemplate, referenceCache, webhookCache);
+  }
+
+  @Test
+  void validatePolicyholder_FoundOnce_AnswersLaterCallsFromCache() {
+    when(restTemplate.headForHeaders(POLICYHOLDER_URL)).thenReturn(new HttpHeaders());
+
+    validationService.validatePolicyholder(POLICYHOLDER_ID);
+    validationService.validatePolicyholder(POLICYHOLDER_ID);
+
+    verify(restTemplate, times(1)).headForHeaders(POLICYHOLDER_URL);
+    assertEquals(
+        1.0,
+        meterRegistry
+            .get("cache.gets")
+            .tag("cache", DirectoryReferenceCache.METRICS_NAME)
+            .tag("result", "hit")
+            .functionCounter()
+            .count());
+  }
+
+  @Test
+  void validatePolicyholder_NotFound_CachesNegativeAnswer() {
+    when(restTemplate.headForHeaders(POLICYHOLDER_URL))
+        .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+    assertThrows(
+        DirectoryValidationException.class,
+        () -> validationService.validatePolicyholder(POLICYHOLDER_ID));
+    assertThrows(
+        DirectoryValidationException.class,
+        () -> validationService.validatePolicyholder(POLICYHOLDER_ID));
+
+    verify(restTemplate, times(1)).headForHeaders(POLICYHOLDER_URL);
+    assertFalse(referenceCache.exists(DirectoryEntityType.POLICYHOLDER, POLICYHOLDER_ID));
+  }
+
+  @Test
+  void validatePolicyholder_Unreachable_DoesNotCache() {
+    when(restTemplate.headForHeaders(POLICYHOLDER_URL))
+        .thenThrow(new ResourceAccessException("Connection refused"));
+
+    assertThrows(
+        DirectoryValidationException.class,
+        () -> validationService.validatePolicyholder(POLICYHOLDER_ID));
+
+    assertNull(referenceCache.exists(DirectoryEntityType.POLICYHOLDER, POLICYHOLDER_ID));
+  }
+
+  @Test
+  void validateInsurer_KnownFromChangeFeed_MakesNoCall() {
+    UUID insurerId = UUID.randomUUID();
+    referenceCache.markExisting(DirectoryEntityType.INSURER, insurerId);
+
+    validationService.validateInsurer(insurerId);
+
+    verify(restTemplate, never()).headForHeaders("http://localhost:8084/api/insurers/" + insurerId);
+  }
+
+  @Test
+  void findMissing_MixedIds_LooksUpOnlyUnknownOnesInOneCall() {
+    UUID known = UUID.randomUUID();
+    UUID knownMissing = UUID.randomUUID();
+    UUID found = UUID.randomUUID();
+    UUID missing = UUID.randomUUID();
+    referenceCache.markExisting(DirectoryEntityType.POLICYHOLDER, known);
+    referenceCache.markMissing(DirectoryEntityType.POLICYHOLDER, knownMissing);
+    when(restTemplate.postForObject(
+            "http://localhost:8081/api/policyholders/batch/exists",
+            Map.of("ids", List.of(found, missing)),
+            DirectoryBatchLookupResult.class))
+        .thenReturn(new DirectoryBatchLookupResult(List.of(found), List.of(missing)));
+
+    Set<UUID> result =
+        validationService.findMissing(
+            DirectoryEntityType.POLICYHOLDER, List.of(known, knownMissing, found, missing, found));
+
+    assertEquals(Set.of(knownMissing, missing), result);
+    assertTrue(referenceCache.isKnownToExist(DirectoryEntityType.POLICYHOLDER, found));
+    assertFalse(referenceCache.exists(DirectoryEntityType.POLICYHOLDER, missing));
+  }
+
+  @Test
+  void getInsurerWebhookUrl_FetchedOnce_AnswersLaterCallsFromCache() {
+    UUID insurerId = UUID.randomUUID();
+    String insurerUrl = "http://localhost:8084/api/insurers/" + insurerId;
+    // An insurer without a webhook URL: the answer is cached like any other
+    when(restTemplate.getForObject(eq(insurerUrl), any())).thenReturn(null);
+
+    assertNull(validationService.getInsurerWebhookUrl(insurerId));
+    assertNull(validationService.getInsurerWebhookUrl(insurerId));
+
+    verify(restTemplate, times(1)).getForObject(eq(insurerUrl), any());
+    assertEquals(
+        1.0,
+        meterRegistry
+            .get("cache.gets")
+            .tag("cache", InsurerWebhookCache.METRICS_NAME)
+            .tag("result", "hit")
+            .functionCounter()
+            .count());
+  }
+
+  @Test
+  void getInsurerWebhookUrl_NotFound_ForgetsLastKnownUrl() {
+    UUID insurerId = UUID.randomUUID();
+    webhookCache.get(insurerId, id -> "https://insurer.example.com/webhook");
+    webhookCache.invalidate(insurerId);
+    when(restTemplate.getForObject(eq("http://localhost:8084/api/insurers/" + insurerId), any()))
+        .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+    assertThrows(
+        DirectoryValidationException.class,
+        () -> validationService.getInsurerWebhookUrl(insurerId));
+
+    assertNull(webhookCache.lastKnown(insurerId));
+  }
+}
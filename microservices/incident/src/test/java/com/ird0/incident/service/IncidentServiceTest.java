@@ -9,13 +9,19 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.ird0.incident.config.IncidentProperties;
 import com.ird0.incident.dto.CreateIncidentRequest;
 import com.ird0.incident.dto.LocationDTO;
 import com.ird0.incident.dto.StatusUpdateRequest;
 import com.ird0.incident.exception.IncidentNotFoundException;
 import com.ird0.incident.model.Incident;
+import com.ird0.incident.model.IncidentEvent;
 import com.ird0.incident.model.IncidentStatus;
+import com.ird0.incident.repository.CommentRepository;
+import com.ird0.incident.repository.ExpertAssignmentRepository;
+import com.ird0.incident.repository.IncidentEventRepository;
 import com.ird0.incident.repository.IncidentRepository;
+import com.ird0.incident.repository.IncidentViewRepository;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Optional;
@@ -25,16 +31,31 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
 
 @ExtendWith(MockitoExtension.class)
 class IncidentServiceTest {
 
   @Mock private IncidentRepository incidentRepository;
 
+  @Mock private IncidentViewRepository viewRepository;
+
+  @Mock private IncidentEventRepository eventRepository;
+
+  @Mock private CommentRepository commentRepository;
+
+  @Mock private ExpertAssignmentRepository expertAssignmentRepository;
+
   @Mock private ReferenceNumberGenerator referenceNumberGenerator;
 
   @Mock private DirectoryValidationService directoryValidationService;
 
+  @Mock private IncidentCountEstimator countEstimator;
+
+  @Mock private IncidentStatisticsRollup statisticsRollup;
+
+  @Mock private IncidentViewProjection viewProjection;
+
   private IncidentService incidentService;
 
   private UUID testIncidentId;
@@ -47,8 +68,17 @@ class IncidentServiceTest {
     incidentService =
         new IncidentService(
             incidentRepository,
+            viewRepository,
+            eventRepository,
+            commentRepository,
+            expertAssignmentRepository,
             referenceNumberGenerator,
             directoryValidationService,
+            new DirectoryValidationRunner(new IncidentProperties()),
+            TransactionOperations.withoutTransaction(),
+            countEstimator,
+            statisticsRollup,
+            viewProjection,
             Optional.empty());
 
     testIncidentId = UUID.randomUUID();
@@ -89,7 +119,7 @@ class IncidentServiceTest {
 
   @Test
   void getByReferenceNumber_ExistingIncident_ReturnsIncident() {
-    when(incidentRepository.findByReferenceNumber("INC-2026-000001"))
+    when(incidentRepository.findDetailByReferenceNumber("INC-2026-000001"))
         .thenReturn(Optional.of(testIncident));
 
     Incident result = incidentService.getByReferenceNumber("INC-2026-000001");
@@ -100,7 +130,7 @@ class IncidentServiceTest {
 
   @Test
   void getByReferenceNumber_NonExistingIncident_ThrowsException() {
-    when(incidentRepository.findByReferenceNumber("UNKNOWN")).thenReturn(Optional.empty());
+    when(incidentRepository.findDetailByReferenceNumber("UNKNOWN")).thenReturn(Optional.empty());
 
     assertThrows(
         IncidentNotFoundException.class, () -> incidentService.getByReferenceNumber("UNKNOWN"));
@@ -140,12 +170,16 @@ class IncidentServiceTest {
     verify(directoryValidationService, times(1)).validatePolicyholder(testPolicyholderId);
     verify(directoryValidationService, times(1)).validateInsurer(testInsurerId);
     verify(incidentRepository, times(1)).save(any(Incident.class));
+    verify(statisticsRollup).incidentCreated(result);
   }
 
   @Test
   void updateStatus_ValidTransition_UpdatesStatus() {
+    Instant declaredAt = Instant.parse("2026-01-20T09:00:00Z");
     testIncident.setStatus(IncidentStatus.DECLARED);
-    when(incidentRepository.findById(testIncidentId)).thenReturn(Optional.of(testIncident));
+    testIncident.setStatusChangedAt(declaredAt);
+    when(incidentRepository.findForUpdateById(testIncidentId))
+        .thenReturn(Optional.of(testIncident));
     when(incidentRepository.save(any(Incident.class)))
         .thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -156,21 +190,26 @@ class IncidentServiceTest {
 
     assertNotNull(result);
     assertEquals(IncidentStatus.UNDER_REVIEW, result.getStatus());
+    verify(eventRepository, times(1)).save(any(IncidentEvent.class));
+    verify(statisticsRollup).statusChanged(testIncident, IncidentStatus.DECLARED, declaredAt);
   }
 
   @Test
   void deleteIncident_ExistingIncident_DeletesSuccessfully() {
-    when(incidentRepository.existsById(testIncidentId)).thenReturn(true);
+    when(incidentRepository.findForUpdateById(testIncidentId))
+        .thenReturn(Optional.of(testIncident));
 
     incidentService.deleteIncident(testIncidentId);
 
-    verify(incidentRepository, times(1)).deleteById(testIncidentId);
+    verify(incidentRepository, times(1)).delete(testIncident);
+    verify(statisticsRollup).incidentDeleted(testIncident);
+    verify(viewProjection).incidentDeleted(testIncidentId);
   }
 
   @Test
   void deleteIncident_NonExistingIncident_ThrowsException() {
     UUID unknownId = UUID.randomUUID();
-    when(incidentRepository.existsById(unknownId)).thenReturn(false);
+    when(incidentRepository.findForUpdateById(unknownId)).thenReturn(Optional.empty());
 
     assertThrows(IncidentNotFoundException.class, () -> incidentService.deleteIncident(unknownId));
   }
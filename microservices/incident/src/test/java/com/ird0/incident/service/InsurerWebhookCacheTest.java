@@ -0,0 +1,93 @@
+package com.ird0.incident.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.ird0.incident.config.IncidentProperties;
+import com.ird0.incident.exception.DirectoryValidationException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InsurerWebhookCacheTest {
+
+  private static final UUID INSURER_ID = UUID.randomUUID();
+  private static final String WEBHOOK_URL = "https://insurer.example.com/webhook";
+
+  private final AtomicLong nanos = new AtomicLong();
+  private final AtomicInteger fetches = new AtomicInteger();
+
+  private InsurerWebhookCache cache;
+
+  @BeforeEach
+  void setUp() {
+    cache = new InsurerWebhookCache(new IncidentProperties(), null, nanos::get);
+  }
+
+  @Test
+  void get_WithinTimeToLive_FetchesOnce() {
+    cache.get(INSURER_ID, this::fetch);
+    advance(Duration.ofMinutes(9));
+
+    assertEquals(WEBHOOK_URL, cache.get(INSURER_ID, this::fetch));
+    assertEquals(1, fetches.get());
+  }
+
+  @Test
+  void get_AfterTimeToLive_FetchesAgain() {
+    cache.get(INSURER_ID, this::fetch);
+    advance(Duration.ofMinutes(11));
+
+    cache.get(INSURER_ID, this::fetch);
+
+    assertEquals(2, fetches.get());
+  }
+
+  @Test
+  void get_AfterInvalidate_FetchesAgain() {
+    cache.get(INSURER_ID, this::fetch);
+    cache.invalidate(INSURER_ID);
+
+    cache.get(INSURER_ID, this::fetch);
+
+    assertEquals(2, fetches.get());
+  }
+
+  @Test
+  void lastKnown_SurvivesExpiryAndFailedFetch() {
+    cache.get(INSURER_ID, this::fetch);
+    advance(Duration.ofHours(1));
+
+    assertThrows(
+        DirectoryValidationException.class,
+        () ->
+            cache.get(
+                INSURER_ID,
+                id -> {
+                  throw new DirectoryValidationException("Unable to connect to insurer service");
+                }));
+
+    assertEquals(WEBHOOK_URL, cache.lastKnown(INSURER_ID).url());
+  }
+
+  @Test
+  void lastKnown_AfterForget_IsUnknown() {
+    cache.get(INSURER_ID, this::fetch);
+    cache.forget(INSURER_ID);
+
+    assertNull(cache.lastKnown(INSURER_ID));
+  }
+
+  private String fetch(UUID insurerId) {
+    fetches.incrementAndGet();
+    return WEBHOOK_URL;
+  }
+
+  private void advance(Duration duration) {
+    nanos.addAndGet(duration.toNanos());
+  }
+}
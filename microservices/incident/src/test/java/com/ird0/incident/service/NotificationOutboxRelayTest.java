@@ -0,0 +1,175 @@
+package com.ird0.incident.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ird0.incident.config.IncidentProperties;
+import com.ird0.incident.exception.DirectoryValidationException;
+import com.ird0.incident.model.NotificationOutboxEntry;
+import com.ird0.incident.repository.NotificationOutboxRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxRelayTest {
+
+  private static final String NOTIFICATION_URL =
+      "http://localhost:8086/api/v1/notifications/webhook";
+  private static final String WEBHOOK_URL = "https://insurer.example.com/webhook";
+
+  @Mock private NotificationOutboxRepository outboxRepository;
+
+  @Mock private DirectoryValidationService directoryValidationService;
+
+  @Mock private RestTemplate restTemplate;
+
+  private NotificationOutboxRelay relay;
+  private NotificationOutboxEntry entry;
+
+  @BeforeEach
+  void setUp() {
+    relay =
+        new NotificationOutboxRelay(
+            new IncidentProperties(),
+            outboxRepository,
+            directoryValidationService,
+            restTemplate,
+            TransactionOperations.withoutTransaction());
+
+    entry = new NotificationOutboxEntry();
+    entry.setId(1L);
+    entry.setEventId(UUID.randomUUID());
+    entry.setEventType("INCIDENT_DECLARED");
+    entry.setIncidentId(UUID.randomUUID());
+    entry.setInsurerId(UUID.randomUUID());
+    entry.setPayload(Map.of("eventType", "INCIDENT_DECLARED"));
+    when(outboxRepository.lockDueHeads(any(Instant.class), eq(100)))
+        .thenReturn(List.of(entry), List.of());
+  }
+
+  @Test
+  void relayBatch_Delivered_DeletesEntry() {
+    when(directoryValidationService.getInsurerWebhookUrl(entry.getInsurerId()))
+        .thenReturn(WEBHOOK_URL);
+
+    assertEquals(1, relay.relayBatch());
+
+    verify(restTemplate)
+        .postForEntity(
+            NOTIFICATION_URL,
+            Map.of("webhookUrl", WEBHOOK_URL, "payload", entry.getPayload()),
+            Void.class);
+    verify(outboxRepository).deleteAllByIdInBatch(List.of(1L));
+  }
+
+  @Test
+  void relayBatch_ClaimsEntriesBeforeDelivering() {
+    when(directoryValidationService.getInsurerWebhookUrl(entry.getInsurerId()))
+        .thenAnswer(
+            invocation -> {
+              // Committed as claimed before any HTTP call, so other relays skip it meanwhile
+              assertTrue(entry.getNextAttemptAt().isAfter(Instant.now().plusSeconds(60)));
+              return WEBHOOK_URL;
+            });
+
+    assertEquals(1, relay.relayBatch());
+  }
+
+  @Test
+  void relayBatch_NotificationServiceDown_ReschedulesWithBackoff() {
+    when(directoryValidationService.getInsurerWebhookUrl(entry.getInsurerId()))
+        .thenReturn(WEBHOOK_URL);
+    when(restTemplate.postForEntity(eq(NOTIFICATION_URL), any(), eq(Void.class)))
+        .thenThrow(new ResourceAccessException("Connection refused"));
+    entry.setAttempts(3);
+
+    Instant before = Instant.now();
+    assertEquals(0, relay.relayBatch());
+
+    verify(outboxRepository, never()).deleteAllByIdInBatch(any());
+    verify(outboxRepository).saveAll(List.of(entry));
+    assertEquals(4, entry.getAttempts());
+    assertEquals("Connection refused", entry.getLastError());
+    // 1s doubled three times
+    assertTrue(!entry.getNextAttemptAt().isBefore(before.plus(Duration.ofSeconds(8))));
+  }
+
+  @Test
+  void relayBatch_DirectoryUnavailable_ReschedulesEntry() {
+    when(directoryValidationService.getInsurerWebhookUrl(entry.getInsurerId()))
+        .thenThrow(new DirectoryValidationException("Directory service unavailable."));
+
+    assertEquals(0, relay.relayBatch());
+
+    verify(outboxRepository, never()).deleteAllByIdInBatch(any());
+    verify(restTemplate, never()).postForEntity(anyString(), any(), eq(Void.class));
+    assertEquals(1, entry.getAttempts());
+  }
+
+  @Test
+  void relayBatch_Rejected_DropsEntry() {
+    when(directoryValidationService.getInsurerWebhookUrl(entry.getInsurerId()))
+        .thenReturn(WEBHOOK_URL);
+    when(restTemplate.postForEntity(eq(NOTIFICATION_URL), any(), eq(Void.class)))
+        .thenThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST));
+
+    assertEquals(1, relay.relayBatch());
+
+    verify(outboxRepository).deleteAllByIdInBatch(List.of(1L));
+  }
+
+  @Test
+  void relayBatch_RateLimited_ReschedulesEntry() {
+    when(directoryValidationService.getInsurerWebhookUrl(entry.getInsurerId()))
+        .thenReturn(WEBHOOK_URL);
+    when(restTemplate.postForEntity(eq(NOTIFICATION_URL), any(), eq(Void.class)))
+        .thenThrow(new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS));
+
+    assertEquals(0, relay.relayBatch());
+
+    verify(outboxRepository, never()).deleteAllByIdInBatch(any());
+    assertEquals(1, entry.getAttempts());
+  }
+
+  @Test
+  void relayBatch_RequestTimeout_ReschedulesEntry() {
+    when(directoryValidationService.getInsurerWebhookUrl(entry.getInsurerId()))
+        .thenReturn(WEBHOOK_URL);
+    when(restTemplate.postForEntity(eq(NOTIFICATION_URL), any(), eq(Void.class)))
+        .thenThrow(new HttpClientErrorException(HttpStatus.REQUEST_TIMEOUT));
+
+    assertEquals(0, relay.relayBatch());
+
+    verify(outboxRepository, never()).deleteAllByIdInBatch(any());
+    assertEquals(1, entry.getAttempts());
+  }
+
+  @Test
+  void relay_RepeatsRoundsUntilNothingIsDelivered() {
+    when(directoryValidationService.getInsurerWebhookUrl(entry.getInsurerId()))
+        .thenReturn(WEBHOOK_URL);
+
+    relay.relay();
+
+    verify(outboxRepository).deleteAllByIdInBatch(List.of(1L));
+  }
+}
@@ -0,0 +1,154 @@
+package com.ird0.incident.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ird0.incident.config.IncidentProperties;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceNumberGeneratorTest {
+
+  @Mock private ReferenceNumberSequence sequence;
+
+  private IncidentProperties properties;
+
+  @BeforeEach
+  void setUp() {
+    properties = new IncidentProperties();
+    properties.getReferenceNumber().setBlockSize(3);
+  }
+
+  @Test
+  void generate_WithinBlock_AllocatesOnce() {
+    when(sequence.allocate(2026, 3)).thenReturn(new ReferenceNumberSequence.Block(1, 3));
+    ReferenceNumberGenerator generator = generatorAt("2026-06-01T10:00:00Z");
+
+    assertEquals("INC-2026-00001", generator.generate());
+    assertEquals("INC-2026-00002", generator.generate());
+    assertEquals("INC-2026-00003", generator.generate());
+
+    verify(sequence, times(1)).allocate(2026, 3);
+  }
+
+  @Test
+  void generate_BlockExhausted_AllocatesNextBlock() {
+    when(sequence.allocate(2026, 3))
+        .thenReturn(new ReferenceNumberSequence.Block(1, 3))
+        .thenReturn(new ReferenceNumberSequence.Block(7, 3));
+    ReferenceNumberGenerator generator = generatorAt("2026-06-01T10:00:00Z");
+
+    generator.generate();
+    generator.generate();
+    generator.generate();
+
+    assertEquals("INC-2026-00007", generator.generate());
+    verify(sequence, times(2)).allocate(2026, 3);
+  }
+
+  @Test
+  void generate_SequenceIncrementDiffersFromConfig_UsesSequenceIncrement() {
+    when(sequence.allocate(2026, 3)).thenReturn(new ReferenceNumberSequence.Block(1, 50));
+    ReferenceNumberGenerator generator = generatorAt("2026-06-01T10:00:00Z");
+
+    for (int i = 0; i < 49; i++) {
+      generator.generate();
+    }
+
+    assertEquals("INC-2026-00050", generator.generate());
+    verify(sequence, times(1)).allocate(2026, 3);
+  }
+
+  @Test
+  void generate_YearRollover_SwitchesToNewYearSequence() {
+    MutableClock clock = new MutableClock(Instant.parse("2026-12-31T23:59:59Z"));
+    when(sequence.allocate(2026, 3)).thenReturn(new ReferenceNumberSequence.Block(412, 3));
+    when(sequence.allocate(2027, 3)).thenReturn(new ReferenceNumberSequence.Block(1, 3));
+    ReferenceNumberGenerator generator = new ReferenceNumberGenerator(sequence, properties, clock);
+
+    assertEquals("INC-2026-00412", generator.generate());
+    clock.instant = Instant.parse("2027-01-01T00:00:01Z");
+
+    assertEquals("INC-2027-00001", generator.generate());
+  }
+
+  @Test
+  void generate_PastFiveDigits_Widens() {
+    when(sequence.allocate(2026, 3)).thenReturn(new ReferenceNumberSequence.Block(123_456, 3));
+
+    assertEquals("INC-2026-123456", generatorAt("2026-06-01T10:00:00Z").generate());
+  }
+
+  @Test
+  void generate_ConcurrentSequenceCreationFails_RetriesOnce() {
+    when(sequence.allocate(2026, 3))
+        .thenThrow(new DuplicateKeyException("pg_type_typname_nsp_index"))
+        .thenReturn(new ReferenceNumberSequence.Block(1, 3));
+
+    assertEquals("INC-2026-00001", generatorAt("2026-06-01T10:00:00Z").generate());
+  }
+
+  @Test
+  void generateCount_SpansBlocks_AllocatesOnceAndKeepsBlockOfSingleGenerate() {
+    when(sequence.allocateNumbers(2026, 3, 5))
+        .thenReturn(
+            List.of(
+                new ReferenceNumberSequence.Block(10, 3),
+                new ReferenceNumberSequence.Block(16, 3)));
+    when(sequence.allocate(2026, 3)).thenReturn(new ReferenceNumberSequence.Block(1, 3));
+    ReferenceNumberGenerator generator = generatorAt("2026-06-01T10:00:00Z");
+
+    assertEquals("INC-2026-00001", generator.generate());
+    assertEquals(
+        List.of(
+            "INC-2026-00010",
+            "INC-2026-00011",
+            "INC-2026-00012",
+            "INC-2026-00016",
+            "INC-2026-00017"),
+        generator.generate(5));
+    assertEquals("INC-2026-00002", generator.generate());
+    verify(sequence, times(1)).allocateNumbers(2026, 3, 5);
+  }
+
+  private ReferenceNumberGenerator generatorAt(String instant) {
+    return new ReferenceNumberGenerator(
+        sequence, properties, Clock.fixed(Instant.parse(instant), ZoneOffset.UTC));
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private Instant instant;
+
+    private MutableClock(Instant instant) {
+      this.instant = instant;
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+}
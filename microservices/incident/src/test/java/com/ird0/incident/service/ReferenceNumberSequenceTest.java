@@ -0,0 +1,89 @@
+package com.ird0.incident.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.ird0.incident.model.Incident;
+import com.ird0.incident.repository.IncidentRepository;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Runs outside a test transaction, since blocks are allocated in their own transactions. Uses the
+ * profile's H2 URL, which declares the JSONB domain.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ReferenceNumberSequence.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReferenceNumberSequenceTest {
+
+  @Autowired private ReferenceNumberSequence sequence;
+
+  @Autowired private IncidentRepository incidentRepository;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @AfterEach
+  void tearDown() {
+    incidentRepository.deleteAll();
+    jdbcTemplate.execute("DROP SEQUENCE IF EXISTS " + ReferenceNumberSequence.sequenceName(2031));
+    jdbcTemplate.execute("DROP SEQUENCE IF EXISTS " + ReferenceNumberSequence.sequenceName(2032));
+  }
+
+  @Test
+  void allocate_NewYear_CreatesSequenceAndReturnsConsecutiveBlocks() {
+    assertEquals(new ReferenceNumberSequence.Block(1, 50), sequence.allocate(2031, 50));
+    assertEquals(new ReferenceNumberSequence.Block(51, 50), sequence.allocate(2031, 50));
+  }
+
+  @Test
+  void allocate_ExistingSequence_KeepsItsIncrement() {
+    sequence.allocate(2031, 50);
+
+    assertEquals(new ReferenceNumberSequence.Block(51, 50), sequence.allocate(2031, 10));
+  }
+
+  @Test
+  void allocateNumbers_SpanningBlocks_ReservesThemInOneCall() {
+    sequence.allocate(2031, 50);
+
+    assertEquals(
+        List.of(
+            new ReferenceNumberSequence.Block(51, 50),
+            new ReferenceNumberSequence.Block(101, 50),
+            new ReferenceNumberSequence.Block(151, 50)),
+        sequence.allocateNumbers(2031, 50, 120));
+    assertEquals(new ReferenceNumberSequence.Block(201, 50), sequence.allocate(2031, 50));
+  }
+
+  @Test
+  void allocate_NumbersAlreadyIssued_StartsAfterHighestOne() {
+    incidentRepository.save(incident("INC-2032-00041"));
+    incidentRepository.save(incident("INC-2032-00007"));
+
+    assertEquals(42, sequence.allocate(2032, 50).start());
+  }
+
+  private static Incident incident(String referenceNumber) {
+    Incident incident = new Incident();
+    incident.setReferenceNumber(referenceNumber);
+    incident.setPolicyholderId(UUID.randomUUID());
+    incident.setInsurerId(UUID.randomUUID());
+    incident.setCreatedBy(UUID.randomUUID());
+    incident.setType("FIRE");
+    incident.setIncidentDate(Instant.now());
+    return incident;
+  }
+}
@@ -23,7 +23,7 @@ public class Notification {
   @Column(columnDefinition = "uuid", updatable = false, nullable = false)
   private UUID id;
 
-  @Column(name = "event_id", nullable = false)
+  @Column(name = "event_id", nullable = false, unique = true)
   private UUID eventId;
 
   @Column(name = "event_type", nullable = false)
@@ -4,6 +4,7 @@ import com.ird0.notification.model.Notification;
 import com.ird0.notification.model.NotificationStatus;
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -17,6 +18,8 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
 
   List<Notification> findByIncidentId(UUID incidentId);
 
+  Optional<Notification> findByEventId(UUID eventId);
+
   @Query(
       "SELECT n FROM Notification n WHERE n.status = :status "
           + "AND (n.nextRetryAt IS NULL OR n.nextRetryAt <= :now) "
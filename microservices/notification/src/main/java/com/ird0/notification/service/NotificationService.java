@@ -7,6 +7,7 @@ import com.ird0.notification.model.NotificationStatus;
 import com.ird0.notification.repository.NotificationRepository;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -50,6 +51,19 @@ public class NotificationService {
       notification.setEventType("WEBHOOK");
     }
 
+    // Senders deliver at least once; a repeated event gets the notification already created
+    if (notification.getEventId() != null) {
+      Optional<Notification> existing =
+          notificationRepository.findByEventId(notification.getEventId());
+      if (existing.isPresent()) {
+        log.info(
+            "Notification for event {} already exists with id: {}",
+            notification.getEventId(),
+            existing.get().getId());
+        return existing.get();
+      }
+    }
+
     Notification saved = notificationRepository.save(notification);
     log.info("Created notification with id: {}", saved.getId());
 
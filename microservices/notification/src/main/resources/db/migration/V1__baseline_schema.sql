@@ -0,0 +1,21 @@
+-- Schema as previously created by Hibernate's ddl-auto=update. Existing databases are
+-- baselined at this version (spring.flyway.baseline-on-migrate), so it only runs on empty ones.
+
+CREATE TABLE notification (
+    id             uuid                        NOT NULL,
+    event_id       uuid                        NOT NULL,
+    event_type     varchar(255)                NOT NULL,
+    incident_id    uuid,
+    recipient_id   uuid,
+    webhook_url    varchar(500)                NOT NULL,
+    status         varchar(255)                NOT NULL,
+    payload        jsonb                       NOT NULL,
+    sent_at        timestamp(6) with time zone,
+    response_code  integer,
+    response_body  text,
+    retry_count    integer,
+    next_retry_at  timestamp(6) with time zone,
+    failure_reason text,
+    created_at     timestamp(6) with time zone NOT NULL,
+    CONSTRAINT notification_pkey PRIMARY KEY (id)
+);
@@ -0,0 +1,11 @@
+-- Dispatcher poll (NotificationRepository.findReadyToSend): pending rows in creation order. Only
+-- pending notifications are indexed, so the index stays as small as the backlog however many
+-- notifications have been delivered; next_retry_at is filtered on the few rows it returns.
+CREATE INDEX idx_notification_pending_created ON notification (created_at)
+    WHERE status = 'PENDING';
+
+-- Status listings (findByStatus, findPendingNotifications)
+CREATE INDEX idx_notification_status_created ON notification (status, created_at);
+
+-- Notifications of one incident (findByIncidentId)
+CREATE INDEX idx_notification_incident ON notification (incident_id);
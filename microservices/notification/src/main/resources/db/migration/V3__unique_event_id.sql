@@ -0,0 +1,4 @@
+-- The incident service relays its outbox at least once, so the same event can arrive again after
+-- a lost response. One notification per event id makes the webhook endpoint idempotent; the index
+-- also serves the duplicate lookup in NotificationService.createNotification.
+CREATE UNIQUE INDEX uq_notification_event_id ON notification (event_id);
@@ -0,0 +1,107 @@
+package com.ird0.notification.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs the Flyway migrations against PostgreSQL, validates the entity mappings against the
+ * resulting schema, and checks with EXPLAIN that the dispatcher poll and the notification lookups
+ * use the indexes the migrations create. Skipped when Docker is not available.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class NotificationQueryPlanTest {
+
+  private static final int NOTIFICATIONS = 50_000;
+
+  @Container
+  static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  @DynamicPropertySource
+  static void postgresProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+    registry.add("spring.datasource.username", POSTGRES::getUsername);
+    registry.add("spring.datasource.password", POSTGRES::getPassword);
+    registry.add("spring.datasource.driver-class-name", POSTGRES::getDriverClassName);
+    registry.add("spring.flyway.enabled", () -> "true");
+    registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+  }
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  /** Seeds a delivered history with a small pending backlog, as on a healthy dispatcher. */
+  @BeforeAll
+  void seed() {
+    jdbcTemplate.update(
+        """
+        INSERT INTO notification (id, event_id, event_type, incident_id, webhook_url, status,
+                                  payload, retry_count, next_retry_at, created_at)
+        SELECT gen_random_uuid(),
+               gen_random_uuid(),
+               'INCIDENT_DECLARED',
+               md5('incident' || i / 3)::uuid,
+               'https://insurer.example.com/webhook',
+               CASE WHEN i % 100 = 0 THEN 'PENDING'
+                    WHEN i % 100 = 1 THEN 'FAILED'
+                    ELSE 'DELIVERED' END,
+               '{}'::jsonb,
+               0,
+               CASE WHEN i % 200 = 0 THEN now() + interval '1 minute' END,
+               now() - i * interval '1 minute'
+        FROM generate_series(1, ?) AS i
+        """,
+        NOTIFICATIONS);
+    jdbcTemplate.execute("VACUUM ANALYZE notification");
+  }
+
+  @Test
+  void findReadyToSend_UsesPartialPendingIndexInOrder() {
+    String plan =
+        explain(
+            "SELECT * FROM notification WHERE status = 'PENDING'"
+                + " AND (next_retry_at IS NULL OR next_retry_at <= now())"
+                + " ORDER BY created_at");
+
+    assertTrue(plan.contains("idx_notification_pending_created"), plan);
+    assertFalse(plan.contains("Seq Scan"), plan);
+  }
+
+  @Test
+  void findByStatus_UsesStatusIndex() {
+    assertUsesIndex(
+        "idx_notification_status_created", "SELECT * FROM notification WHERE status = 'FAILED'");
+  }
+
+  @Test
+  void findByIncidentId_UsesIncidentIndex() {
+    assertUsesIndex(
+        "idx_notification_incident",
+        "SELECT * FROM notification WHERE incident_id = md5('incident42')::uuid");
+  }
+
+  private void assertUsesIndex(String index, String sql) {
+    String plan = explain(sql);
+    assertTrue(plan.contains(index), plan);
+  }
+
+  private String explain(String sql) {
+    return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+  }
+}
@@ -3,12 +3,17 @@ package com.ird0.portal.client;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.ird0.portal.config.PortalProperties;
 import com.ird0.portal.dto.response.ActorDTO;
+import com.ird0.portal.dto.response.ActorPageDTO;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 
@@ -16,6 +21,9 @@ import org.springframework.web.client.RestClient;
 @Component
 public class DirectoryClient {
 
+  // The directory's maximum page size
+  public static final int MAX_PAGE_SIZE = 500;
+
   private final RestClient policyholdersClient;
   private final RestClient expertsClient;
   private final RestClient insurersClient;
@@ -72,29 +80,106 @@ public class DirectoryClient {
         });
   }
 
-  @CircuitBreaker(name = "directoryService", fallbackMethod = "getAllPolicyholdersFallback")
-  public List<ActorDTO> getAllPolicyholders() {
-    JsonNode response =
-        policyholdersClient.get().uri("/api/policyholders").retrieve().body(JsonNode.class);
-    return mapToActorDTOList(response);
+  /**
+   * Reads one page of the policyholders, in name order.
+   *
+   * @param namePrefix case-sensitive name prefix to filter on, or null
+   * @param cursor the cursor of the previous page, or null for the first page
+   * @param size the page size, capped at {@value #MAX_PAGE_SIZE}
+   */
+  @CircuitBreaker(name = "directoryService", fallbackMethod = "listPageFallback")
+  public ActorPageDTO getPolicyholders(String namePrefix, String cursor, int size) {
+    return listPage(policyholdersClient, "policyholders", namePrefix, cursor, size);
+  }
+
+  /** Reads one page of the experts, see {@link #getPolicyholders(String, String, int)}. */
+  @CircuitBreaker(name = "directoryService", fallbackMethod = "listPageFallback")
+  public ActorPageDTO getExperts(String namePrefix, String cursor, int size) {
+    return listPage(expertsClient, "experts", namePrefix, cursor, size);
+  }
+
+  /** Reads one page of the insurers, see {@link #getPolicyholders(String, String, int)}. */
+  @CircuitBreaker(name = "directoryService", fallbackMethod = "listPageFallback")
+  public ActorPageDTO getInsurers(String namePrefix, String cursor, int size) {
+    return listPage(insurersClient, "insurers", namePrefix, cursor, size);
+  }
+
+  /**
+   * Resolves the given policyholders with one batch request and caches them, so that subsequent
+   * {@link #getPolicyholder(UUID)} calls for these ids are served from memory.
+   */
+  @CircuitBreaker(name = "directoryService", fallbackMethod = "prefetchFallback")
+  public void prefetchPolicyholders(Collection<UUID> ids) {
+    prefetch(policyholdersClient, "policyholders", "policyholder", ids);
   }
 
-  @CircuitBreaker(name = "directoryService", fallbackMethod = "getAllExpertsFallback")
-  public List<ActorDTO> getAllExperts() {
-    JsonNode response = expertsClient.get().uri("/api/experts").retrieve().body(JsonNode.class);
-    return mapToActorDTOList(response);
+  /** Batch counterpart of {@link #getExpert(UUID)}, see {@link #prefetchPolicyholders}. */
+  @CircuitBreaker(name = "directoryService", fallbackMethod = "prefetchFallback")
+  public void prefetchExperts(Collection<UUID> ids) {
+    prefetch(expertsClient, "experts", "expert", ids);
   }
 
-  @CircuitBreaker(name = "directoryService", fallbackMethod = "getAllInsurersFallback")
-  public List<ActorDTO> getAllInsurers() {
-    JsonNode response = insurersClient.get().uri("/api/insurers").retrieve().body(JsonNode.class);
-    return mapToActorDTOList(response);
+  /** Batch counterpart of {@link #getInsurer(UUID)}, see {@link #prefetchPolicyholders}. */
+  @CircuitBreaker(name = "directoryService", fallbackMethod = "prefetchFallback")
+  public void prefetchInsurers(Collection<UUID> ids) {
+    prefetch(insurersClient, "insurers", "insurer", ids);
   }
 
   public void clearCache() {
     cache.clear();
   }
 
+  private void prefetch(
+      RestClient client, String directory, String cachePrefix, Collection<UUID> ids) {
+    List<UUID> uncached =
+        ids.stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .filter(id -> !cache.containsKey(cachePrefix + ":" + id))
+            .toList();
+    if (uncached.isEmpty()) {
+      return;
+    }
+
+    JsonNode response =
+        client
+            .post()
+            .uri("/api/{directory}/batch", directory)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(Map.of("ids", uncached))
+            .retrieve()
+            .body(JsonNode.class);
+    if (response == null || !response.has("found")) {
+      return;
+    }
+    for (JsonNode node : response.get("found")) {
+      ActorDTO actor = mapToActorDTO(node);
+      cache.put(cachePrefix + ":" + actor.id(), actor);
+    }
+  }
+
+  private ActorPageDTO listPage(
+      RestClient client, String directory, String namePrefix, String cursor, int size) {
+    JsonNode page =
+        client
+            .get()
+            .uri(
+                uri ->
+                    uri.path("/api/{directory}")
+                        .queryParam("sort", "name")
+                        .queryParam("limit", Math.clamp(size, 1, MAX_PAGE_SIZE))
+                        .queryParamIfPresent(
+                            "namePrefix", Optional.ofNullable(namePrefix).filter(p -> !p.isEmpty()))
+                        .queryParamIfPresent(
+                            "cursor", Optional.ofNullable(cursor).filter(c -> !c.isEmpty()))
+                        .build(directory))
+            .retrieve()
+            .body(JsonNode.class);
+    String nextCursor =
+        page != null && page.hasNonNull("nextCursor") ? page.get("nextCursor").asText() : null;
+    return new ActorPageDTO(mapToActorDTOList(page), nextCursor, nextCursor != null);
+  }
+
   private ActorDTO mapToActorDTO(JsonNode node) {
     if (node == null) {
       return null;
@@ -109,10 +194,12 @@ public class DirectoryClient {
   }
 
   private List<ActorDTO> mapToActorDTOList(JsonNode node) {
-    if (node == null || !node.isArray()) {
+    // Directory listings are keyset-paginated: entries are wrapped in a page object
+    JsonNode entries = node != null && node.has("content") ? node.get("content") : node;
+    if (entries == null || !entries.isArray()) {
       return List.of();
     }
-    return java.util.stream.StreamSupport.stream(node.spliterator(), false)
+    return java.util.stream.StreamSupport.stream(entries.spliterator(), false)
         .map(this::mapToActorDTO)
         .toList();
   }
@@ -137,20 +224,15 @@ public class DirectoryClient {
   }
 
   @SuppressWarnings("unused")
-  private List<ActorDTO> getAllPolicyholdersFallback(Throwable t) {
-    log.warn("Circuit breaker fallback for getAllPolicyholders: {}", t.getMessage());
-    return List.of();
-  }
-
-  @SuppressWarnings("unused")
-  private List<ActorDTO> getAllExpertsFallback(Throwable t) {
-    log.warn("Circuit breaker fallback for getAllExperts: {}", t.getMessage());
-    return List.of();
+  private void prefetchFallback(Collection<UUID> ids, Throwable t) {
+    // Entries that could not be prefetched are resolved one by one on demand
+    log.warn(
+        "Circuit breaker fallback for batch prefetch of {} ids: {}", ids.size(), t.getMessage());
   }
 
   @SuppressWarnings("unused")
-  private List<ActorDTO> getAllInsurersFallback(Throwable t) {
-    log.warn("Circuit breaker fallback for getAllInsurers: {}", t.getMessage());
-    return List.of();
+  private ActorPageDTO listPageFallback(String namePrefix, String cursor, int size, Throwable t) {
+    log.warn("Circuit breaker fallback for directory listing: {}", t.getMessage());
+    return ActorPageDTO.empty();
   }
 }
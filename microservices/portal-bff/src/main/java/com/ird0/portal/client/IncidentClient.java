@@ -66,6 +66,11 @@ public class IncidentClient {
     return restClient.get().uri(uriBuilder.build().toUriString()).retrieve().body(JsonNode.class);
   }
 
+  @CircuitBreaker(name = "incidentService", fallbackMethod = "getStatisticsFallback")
+  public JsonNode getStatistics() {
+    return restClient.get().uri("/api/v1/incidents/statistics").retrieve().body(JsonNode.class);
+  }
+
   @CircuitBreaker(name = "incidentService", fallbackMethod = "getIncidentByIdFallback")
   public JsonNode getIncidentById(UUID id) {
     return restClient.get().uri("/api/v1/incidents/{id}", id).retrieve().body(JsonNode.class);
@@ -150,6 +155,12 @@ public class IncidentClient {
     throw new ServiceUnavailableException("Incident service is currently unavailable");
   }
 
+  @SuppressWarnings("unused")
+  private JsonNode getStatisticsFallback(Throwable t) {
+    log.error("Circuit breaker fallback for getStatistics: {}", t.getMessage());
+    throw new ServiceUnavailableException("Incident service is currently unavailable");
+  }
+
   @SuppressWarnings("unused")
   private JsonNode getIncidentByIdFallback(UUID id, Throwable t) {
     log.error("Circuit breaker fallback for getIncidentById: {}", t.getMessage());
@@ -4,7 +4,7 @@ import com.ird0.portal.dto.request.CommentRequestDTO;
 import com.ird0.portal.dto.request.CreateClaimRequestDTO;
 import com.ird0.portal.dto.request.ExpertAssignmentRequestDTO;
 import com.ird0.portal.dto.request.StatusUpdateRequestDTO;
-import com.ird0.portal.dto.response.ActorDTO;
+import com.ird0.portal.dto.response.ActorPageDTO;
 import com.ird0.portal.dto.response.ClaimDetailDTO;
 import com.ird0.portal.dto.response.ClaimSummaryDTO;
 import com.ird0.portal.dto.response.CommentDTO;
@@ -135,35 +135,44 @@ public class ClaimsController {
   }
 
   @Operation(summary = "Get available experts", operationId = "getExperts")
-  @ApiResponse(responseCode = "200", description = "List of experts")
+  @ApiResponse(responseCode = "200", description = "One page of experts, in name order")
   @Tag(name = "Actors", description = "Policyholders, insurers, and experts")
   @GetMapping("/experts")
   @PreAuthorize("hasRole('claims-viewer')")
-  public ResponseEntity<List<ActorDTO>> getExperts() {
-    log.debug("Getting available experts");
-    List<ActorDTO> experts = claimsService.getExperts();
+  public ResponseEntity<ActorPageDTO> getExperts(
+      @RequestParam(required = false) String name,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "50") int size) {
+    log.debug("Getting available experts - name: {}", name);
+    ActorPageDTO experts = claimsService.getExperts(name, cursor, size);
     return ResponseEntity.ok(experts);
   }
 
   @Operation(summary = "Get policyholders list", operationId = "getPolicyholders")
-  @ApiResponse(responseCode = "200", description = "List of policyholders")
+  @ApiResponse(responseCode = "200", description = "One page of policyholders, in name order")
   @Tag(name = "Actors", description = "Policyholders, insurers, and experts")
   @GetMapping("/policyholders")
   @PreAuthorize("hasRole('claims-viewer')")
-  public ResponseEntity<List<ActorDTO>> getPolicyholders() {
-    log.debug("Getting policyholders");
-    List<ActorDTO> policyholders = claimsService.getPolicyholders();
+  public ResponseEntity<ActorPageDTO> getPolicyholders(
+      @RequestParam(required = false) String name,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "50") int size) {
+    log.debug("Getting policyholders - name: {}", name);
+    ActorPageDTO policyholders = claimsService.getPolicyholders(name, cursor, size);
     return ResponseEntity.ok(policyholders);
   }
 
   @Operation(summary = "Get insurers list", operationId = "getInsurers")
-  @ApiResponse(responseCode = "200", description = "List of insurers")
+  @ApiResponse(responseCode = "200", description = "One page of insurers, in name order")
   @Tag(name = "Actors", description = "Policyholders, insurers, and experts")
   @GetMapping("/insurers")
   @PreAuthorize("hasRole('claims-viewer')")
-  public ResponseEntity<List<ActorDTO>> getInsurers() {
-    log.debug("Getting insurers");
-    List<ActorDTO> insurers = claimsService.getInsurers();
+  public ResponseEntity<ActorPageDTO> getInsurers(
+      @RequestParam(required = false) String name,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "50") int size) {
+    log.debug("Getting insurers - name: {}", name);
+    ActorPageDTO insurers = claimsService.getInsurers(name, cursor, size);
     return ResponseEntity.ok(insurers);
   }
 }
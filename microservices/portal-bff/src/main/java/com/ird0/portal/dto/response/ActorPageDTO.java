@@ -0,0 +1,11 @@
+package com.ird0.portal.dto.response;
+
+import java.util.List;
+
+/** One page of a directory listing; pass {@code nextCursor} back to read the next one. */
+public record ActorPageDTO(List<ActorDTO> content, String nextCursor, boolean hasNext) {
+
+  public static ActorPageDTO empty() {
+    return new ActorPageDTO(List.of(), null, false);
+  }
+}
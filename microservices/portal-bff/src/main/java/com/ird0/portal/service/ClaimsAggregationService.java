@@ -57,6 +57,7 @@ public class ClaimsAggregationService {
     List<ClaimSummaryDTO> claims = new ArrayList<>();
     JsonNode content = response.get("content");
     if (content != null && content.isArray()) {
+      prefetchActors(content);
       for (JsonNode incident : content) {
         claims.add(mapToClaimSummary(incident));
       }
@@ -171,16 +172,36 @@ public class ClaimsAggregationService {
     return result;
   }
 
-  public List<ActorDTO> getExperts() {
-    return directoryClient.getAllExperts();
+  public ActorPageDTO getExperts(String namePrefix, String cursor, int size) {
+    return directoryClient.getExperts(namePrefix, cursor, size);
   }
 
-  public List<ActorDTO> getPolicyholders() {
-    return directoryClient.getAllPolicyholders();
+  public ActorPageDTO getPolicyholders(String namePrefix, String cursor, int size) {
+    return directoryClient.getPolicyholders(namePrefix, cursor, size);
   }
 
-  public List<ActorDTO> getInsurers() {
-    return directoryClient.getAllInsurers();
+  public ActorPageDTO getInsurers(String namePrefix, String cursor, int size) {
+    return directoryClient.getInsurers(namePrefix, cursor, size);
+  }
+
+  /**
+   * Resolves the policyholders and insurers of a page of incidents with one batch call per
+   * directory, instead of one call per row. Only incidents the listing could not name yet need
+   * their actors from the directory.
+   */
+  private void prefetchActors(JsonNode incidents) {
+    Set<UUID> policyholderIds = new HashSet<>();
+    Set<UUID> insurerIds = new HashSet<>();
+    for (JsonNode incident : incidents) {
+      if (incident.hasNonNull("policyholderId") && !incident.hasNonNull("policyholderName")) {
+        policyholderIds.add(UUID.fromString(incident.get("policyholderId").asText()));
+      }
+      if (incident.hasNonNull("insurerId") && !incident.hasNonNull("insurerName")) {
+        insurerIds.add(UUID.fromString(incident.get("insurerId").asText()));
+      }
+    }
+    directoryClient.prefetchPolicyholders(policyholderIds);
+    directoryClient.prefetchInsurers(insurerIds);
   }
 
   private ClaimSummaryDTO mapToClaimSummary(JsonNode incident) {
@@ -191,20 +212,27 @@ public class ClaimsAggregationService {
     UUID insurerId =
         incident.has("insurerId") ? UUID.fromString(incident.get("insurerId").asText()) : null;
 
-    String policyholderName = "Unknown";
-    String insurerName = "Unknown";
-
-    if (policyholderId != null) {
-      ActorDTO policyholder = directoryClient.getPolicyholder(policyholderId);
-      if (policyholder != null) {
-        policyholderName = policyholder.name();
+    // The incident listing carries the names once it has looked them up; empty if not found
+    String policyholderName = listedName(incident, "policyholderName");
+    String insurerName = listedName(incident, "insurerName");
+
+    if (policyholderName == null) {
+      policyholderName = "Unknown";
+      if (policyholderId != null) {
+        ActorDTO policyholder = directoryClient.getPolicyholder(policyholderId);
+        if (policyholder != null) {
+          policyholderName = policyholder.name();
+        }
       }
     }
 
-    if (insurerId != null) {
-      ActorDTO insurer = directoryClient.getInsurer(insurerId);
-      if (insurer != null) {
-        insurerName = insurer.name();
+    if (insurerName == null) {
+      insurerName = "Unknown";
+      if (insurerId != null) {
+        ActorDTO insurer = directoryClient.getInsurer(insurerId);
+        if (insurer != null) {
+          insurerName = insurer.name();
+        }
       }
     }
 
@@ -223,6 +251,14 @@ public class ClaimsAggregationService {
         incident.has("createdAt") ? Instant.parse(incident.get("createdAt").asText()) : null);
   }
 
+  private static String listedName(JsonNode incident, String field) {
+    if (!incident.hasNonNull(field)) {
+      return null;
+    }
+    String name = incident.get(field).asText();
+    return name.isEmpty() ? "Unknown" : name;
+  }
+
   private ClaimDetailDTO mapToClaimDetail(JsonNode incident) {
     UUID policyholderId =
         incident.has("policyholderId")
@@ -6,8 +6,6 @@ import com.ird0.portal.dto.response.DashboardDTO;
 import com.ird0.portal.dto.response.DashboardDTO.KpiDTO;
 import com.ird0.portal.dto.response.DashboardDTO.RecentActivityDTO;
 import java.time.Instant;
-import java.time.YearMonth;
-import java.time.ZoneOffset;
 import java.util.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,63 +16,32 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class DashboardService {
 
+  private static final int RECENT_ACTIVITY_SIZE = 10;
+
   private final IncidentClient incidentClient;
 
   public DashboardDTO getDashboard() {
-    // Fetch all incidents for statistics (first 1000 for now)
-    JsonNode allIncidents =
-        incidentClient.getIncidents(null, null, null, null, null, null, 0, 1000, "createdAt,desc");
-
-    if (allIncidents == null || !allIncidents.has("content")) {
-      return new DashboardDTO(new KpiDTO(0, 0, 0, 0), Map.of(), Map.of(), List.of());
-    }
+    // KPIs and distributions are aggregated by the incident service over all incidents
+    JsonNode statistics = incidentClient.getStatistics();
+    JsonNode recentIncidents =
+        incidentClient.getIncidents(
+            null, null, null, null, null, null, 0, RECENT_ACTIVITY_SIZE, "createdAt,desc");
+
+    KpiDTO kpis =
+        statistics == null
+            ? new KpiDTO(0, 0, 0, 0)
+            : new KpiDTO(
+                statistics.path("total").asLong(),
+                statistics.path("pending").asLong(),
+                statistics.path("inProgress").asLong(),
+                statistics.path("closedThisMonth").asLong());
+    Map<String, Long> statusDistribution = toCounts(statistics, "byStatus");
+    Map<String, Long> claimsByType = toCounts(statistics, "byType");
 
-    JsonNode content = allIncidents.get("content");
-    long totalClaims =
-        allIncidents.has("totalElements") ? allIncidents.get("totalElements").asLong() : 0;
-
-    // Calculate KPIs and distributions
-    Map<String, Long> statusDistribution = new HashMap<>();
-    Map<String, Long> claimsByType = new HashMap<>();
     List<RecentActivityDTO> recentActivity = new ArrayList<>();
-    long pendingCount = 0;
-    long inProgressCount = 0;
-    long closedThisMonth = 0;
-
-    YearMonth currentMonth = YearMonth.now();
-    Instant monthStart = currentMonth.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
-
-    int activityCount = 0;
-    for (JsonNode incident : content) {
-      String status = incident.has("status") ? incident.get("status").asText() : "UNKNOWN";
-      String type = incident.has("type") ? incident.get("type").asText() : "OTHER";
-
-      // Status distribution
-      statusDistribution.merge(status, 1L, Long::sum);
-
-      // Type distribution
-      claimsByType.merge(type, 1L, Long::sum);
-
-      // Pending count (DECLARED, UNDER_REVIEW)
-      if ("DECLARED".equals(status) || "UNDER_REVIEW".equals(status)) {
-        pendingCount++;
-      }
-
-      // In progress count
-      if ("IN_PROGRESS".equals(status) || "QUALIFIED".equals(status)) {
-        inProgressCount++;
-      }
-
-      // Closed this month
-      if ("CLOSED".equals(status) && incident.has("updatedAt")) {
-        Instant updatedAt = Instant.parse(incident.get("updatedAt").asText());
-        if (updatedAt.isAfter(monthStart)) {
-          closedThisMonth++;
-        }
-      }
-
-      // Recent activity (last 10)
-      if (activityCount < 10) {
+    if (recentIncidents != null && recentIncidents.has("content")) {
+      for (JsonNode incident : recentIncidents.get("content")) {
+        String status = incident.has("status") ? incident.get("status").asText() : "UNKNOWN";
         String referenceNumber =
             incident.has("referenceNumber") ? incident.get("referenceNumber").asText() : "N/A";
         Instant createdAt =
@@ -86,12 +53,20 @@ public class DashboardService {
                 "Claim " + referenceNumber + " is " + status.toLowerCase().replace("_", " "),
                 referenceNumber,
                 createdAt));
-        activityCount++;
       }
     }
 
-    KpiDTO kpis = new KpiDTO(totalClaims, pendingCount, inProgressCount, closedThisMonth);
-
     return new DashboardDTO(kpis, statusDistribution, claimsByType, recentActivity);
   }
+
+  private Map<String, Long> toCounts(JsonNode statistics, String field) {
+    Map<String, Long> counts = new HashMap<>();
+    if (statistics != null && statistics.has(field)) {
+      statistics
+          .get(field)
+          .fields()
+          .forEachRemaining(entry -> counts.put(entry.getKey(), entry.getValue().asLong()));
+    }
+    return counts;
+  }
 }
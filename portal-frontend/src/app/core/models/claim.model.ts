@@ -40,6 +40,13 @@ export interface Actor {
   address?: string;
 }
 
+/** One page of a directory listing, in name order; pass nextCursor back for the next one. */
+export interface ActorPage {
+  content: Actor[];
+  nextCursor?: string;
+  hasNext: boolean;
+}
+
 export interface Location {
   address?: string;
   latitude?: number;
@@ -32,6 +32,11 @@ export interface AssignExpertDialogData {
   template: `
     <h2 mat-dialog-title>Assign Expert</h2>
     <mat-dialog-content>
+      <mat-form-field appearance="outline" class="full-width">
+        <mat-label>Search experts by name</mat-label>
+        <input matInput [(ngModel)]="expertSearch" (change)="loadExperts()">
+      </mat-form-field>
+
       <mat-form-field appearance="outline" class="full-width">
         <mat-label>Expert</mat-label>
         <mat-select [(ngModel)]="expertId" required>
@@ -40,6 +45,11 @@ export interface AssignExpertDialogData {
           }
         </mat-select>
       </mat-form-field>
+      @if (expertsCursor) {
+        <button mat-button type="button" class="load-more" (click)="loadMoreExperts()">
+          Load more experts
+        </button>
+      }
 
       <mat-form-field appearance="outline" class="full-width">
         <mat-label>Scheduled Date</mat-label>
@@ -69,10 +79,16 @@ export interface AssignExpertDialogData {
     mat-dialog-content {
       min-width: 300px;
     }
+
+    .load-more {
+      margin-bottom: 8px;
+    }
   `]
 })
 export class AssignExpertDialogComponent implements OnInit {
   experts: Actor[] = [];
+  expertSearch = '';
+  expertsCursor?: string;
   expertId = '';
   scheduledDate: Date | null = null;
   notes = '';
@@ -84,9 +100,23 @@ export class AssignExpertDialogComponent implements OnInit {
   ) {}
 
   ngOnInit(): void {
-    this.claimsService.getExperts().subscribe({
-      next: (experts) => {
-        this.experts = experts;
+    this.loadExperts();
+  }
+
+  loadExperts(): void {
+    this.claimsService.getExperts(this.expertSearch.trim() || undefined).subscribe({
+      next: (page) => {
+        this.experts = page.content;
+        this.expertsCursor = page.nextCursor;
+      }
+    });
+  }
+
+  loadMoreExperts(): void {
+    this.claimsService.getExperts(this.expertSearch.trim() || undefined, this.expertsCursor).subscribe({
+      next: (page) => {
+        this.experts = [...this.experts, ...page.content];
+        this.expertsCursor = page.nextCursor;
       }
     });
   }
@@ -50,7 +50,12 @@ import { Actor, ClaimType, CLAIM_TYPE_LABELS, CreateClaimRequest } from '../../.
         <mat-card-content>
           <form [formGroup]="claimForm" (ngSubmit)="onSubmit()">
             <div class="form-grid">
-              <mat-form-field appearance="outline" class="full-width">
+              <mat-form-field appearance="outline">
+                <mat-label>Search policyholders by name</mat-label>
+                <input matInput #policyholderSearch (change)="loadPolicyholders(policyholderSearch.value)">
+              </mat-form-field>
+
+              <mat-form-field appearance="outline">
                 <mat-label>Policyholder</mat-label>
                 <mat-select formControlName="policyholderId" required>
                   @for (ph of policyholders; track ph.id) {
@@ -61,8 +66,18 @@ import { Actor, ClaimType, CLAIM_TYPE_LABELS, CreateClaimRequest } from '../../.
                   <mat-error>Policyholder is required</mat-error>
                 }
               </mat-form-field>
+              @if (policyholdersCursor) {
+                <button mat-button type="button" class="full-width" (click)="loadMorePolicyholders()">
+                  Load more policyholders
+                </button>
+              }
 
-              <mat-form-field appearance="outline" class="full-width">
+              <mat-form-field appearance="outline">
+                <mat-label>Search insurers by name</mat-label>
+                <input matInput #insurerSearch (change)="loadInsurers(insurerSearch.value)">
+              </mat-form-field>
+
+              <mat-form-field appearance="outline">
                 <mat-label>Insurer</mat-label>
                 <mat-select formControlName="insurerId" required>
                   @for (ins of insurers; track ins.id) {
@@ -73,6 +88,11 @@ import { Actor, ClaimType, CLAIM_TYPE_LABELS, CreateClaimRequest } from '../../.
                   <mat-error>Insurer is required</mat-error>
                 }
               </mat-form-field>
+              @if (insurersCursor) {
+                <button mat-button type="button" class="full-width" (click)="loadMoreInsurers()">
+                  Load more insurers
+                </button>
+              }
 
               <mat-form-field appearance="outline">
                 <mat-label>Claim Type</mat-label>
@@ -178,6 +198,10 @@ export class ClaimCreatePageComponent implements OnInit {
   isSubmitting = false;
   policyholders: Actor[] = [];
   insurers: Actor[] = [];
+  policyholdersCursor?: string;
+  insurersCursor?: string;
+  private policyholderName?: string;
+  private insurerName?: string;
 
   claimTypes: ClaimType[] = [
     'WATER_DAMAGE',
@@ -207,19 +231,45 @@ export class ClaimCreatePageComponent implements OnInit {
   }
 
   ngOnInit(): void {
-    this.loadActors();
+    this.loadPolicyholders();
+    this.loadInsurers();
   }
 
-  loadActors(): void {
-    this.claimsService.getPolicyholders().subscribe({
-      next: (policyholders) => {
-        this.policyholders = policyholders;
+  // The directories are listed one page at a time, narrowed by the name typed in the search field
+  loadPolicyholders(name?: string): void {
+    this.policyholderName = name?.trim() || undefined;
+    this.claimsService.getPolicyholders(this.policyholderName).subscribe({
+      next: (page) => {
+        this.policyholders = page.content;
+        this.policyholdersCursor = page.nextCursor;
       }
     });
+  }
+
+  loadMorePolicyholders(): void {
+    this.claimsService.getPolicyholders(this.policyholderName, this.policyholdersCursor).subscribe({
+      next: (page) => {
+        this.policyholders = [...this.policyholders, ...page.content];
+        this.policyholdersCursor = page.nextCursor;
+      }
+    });
+  }
+
+  loadInsurers(name?: string): void {
+    this.insurerName = name?.trim() || undefined;
+    this.claimsService.getInsurers(this.insurerName).subscribe({
+      next: (page) => {
+        this.insurers = page.content;
+        this.insurersCursor = page.nextCursor;
+      }
+    });
+  }
 
-    this.claimsService.getInsurers().subscribe({
-      next: (insurers) => {
-        this.insurers = insurers;
+  loadMoreInsurers(): void {
+    this.claimsService.getInsurers(this.insurerName, this.insurersCursor).subscribe({
+      next: (page) => {
+        this.insurers = [...this.insurers, ...page.content];
+        this.insurersCursor = page.nextCursor;
       }
     });
   }
@@ -9,7 +9,7 @@ import {
   CommentRequest,
   Comment,
   Event,
-  Actor,
+  ActorPage,
   Page
 } from '../../../core/models/claim.model';
 import { ClaimsService as GeneratedClaimsService } from '../../../generated/api';
@@ -180,16 +180,17 @@ export class ClaimsService {
     return this.api.getClaimHistory(id, 'body', false, jsonOptions as any) as Observable<Event[]>;
   }
 
-  getExperts(): Observable<Actor[]> {
-    return this.api.getExperts('body', false, jsonOptions as any) as Observable<Actor[]>;
+  // Directory listings are read one page at a time, optionally narrowed to a name prefix
+  getExperts(name?: string, cursor?: string): Observable<ActorPage> {
+    return this.api.getExperts(name, cursor, undefined, 'body', false, jsonOptions as any) as Observable<ActorPage>;
   }
 
-  getPolicyholders(): Observable<Actor[]> {
-    return this.api.getPolicyholders('body', false, jsonOptions as any) as Observable<Actor[]>;
+  getPolicyholders(name?: string, cursor?: string): Observable<ActorPage> {
+    return this.api.getPolicyholders(name, cursor, undefined, 'body', false, jsonOptions as any) as Observable<ActorPage>;
   }
 
-  getInsurers(): Observable<Actor[]> {
-    return this.api.getInsurers('body', false, jsonOptions as any) as Observable<Actor[]>;
+  getInsurers(name?: string, cursor?: string): Observable<ActorPage> {
+    return this.api.getInsurers(name, cursor, undefined, 'body', false, jsonOptions as any) as Observable<ActorPage>;
   }
 
   clearSelectedClaim(): void {